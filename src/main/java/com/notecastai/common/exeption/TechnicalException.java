@@ -15,7 +15,9 @@ public class TechnicalException extends RuntimeException {
 
     public enum Code {
         AI_SERVICE_ERROR("Error during AI service call "),
+        AI_SERVICE_OVERLOADED("AI provider {provider} is over capacity, request was shed "),
         S3_ERROR("Exception during S3 service call "),
+        STORAGE_ERROR("Exception during local storage access "),
         EXTERNAL_SERVICE_ERROR("External service error: {service}"),
         INTERNAL_ERROR("Internal error");
 
@@ -0,0 +1,52 @@
+package com.notecastai.common.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import lombok.experimental.UtilityClass;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 helpers for content-addressed keys (response cache, request coalescing, de-duplication).
+ */
+@UtilityClass
+public class ContentHashUtil {
+
+    /**
+     * Map entries and bean properties are written in sorted order, so structurally equal objects always
+     * serialize to the same bytes (e.g. schemas built with {@code Map.of}, whose iteration order is not stable).
+     */
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .build();
+
+    public static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static String sha256Hex(byte[] content) {
+        return HexFormat.of().formatHex(newSha256().digest(content));
+    }
+
+    /**
+     * Hash of the canonical JSON form of the given parts.
+     */
+    public static String canonicalSha256Hex(Object... parts) {
+        try {
+            return sha256Hex(CANONICAL_MAPPER.writeValueAsBytes(Arrays.asList(parts)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize content for hashing", e);
+        }
+    }
+}
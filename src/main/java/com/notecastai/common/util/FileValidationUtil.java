@@ -4,7 +4,6 @@ import com.notecastai.common.exeption.BusinessException;
 import lombok.experimental.UtilityClass;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
 import java.util.Set;
 
 import static com.notecastai.common.exeption.BusinessException.BusinessCode.INVALID_REQUEST;
@@ -27,80 +26,87 @@ public class FileValidationUtil {
 
     private static final long MAX_FILE_SIZE = 30 * 1024 * 1024; // 30 MB
 
+    /** Bytes {@link #detectAudioType} looks at; the WAVE marker at offset 8 is the furthest in. */
+    public static final int AUDIO_HEADER_BYTES = 12;
+
     public static void validateAudioFile(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw BusinessException.of(INVALID_REQUEST.append(" File is required"));
         }
+        validateAudioMetadata(file.getOriginalFilename(), file.getContentType(), file.getSize());
+    }
 
-        String contentType = file.getContentType();
+    /**
+     * Checks what a client declares about an audio file, for uploads whose bytes are not seen yet.
+     */
+    public static void validateAudioMetadata(String filename, String contentType, long size) {
         if (contentType == null || !ALLOWED_AUDIO_TYPES.contains(contentType.toLowerCase())) {
             throw BusinessException.of(INVALID_REQUEST.append(
                     " Invalid file type. Allowed types: MP3, WAV, M4A, WEBM, OGG, FLAC. Used type: " + contentType
             ));
         }
 
-        if (file.getSize() > MAX_FILE_SIZE) {
+        if (size > MAX_FILE_SIZE) {
             throw BusinessException.of(INVALID_REQUEST.append(
                     " File size exceeds maximum allowed size of 30 MB"
             ));
         }
 
-        String filename = file.getOriginalFilename();
         if (filename == null || filename.isBlank()) {
             throw BusinessException.of(INVALID_REQUEST.append(" Filename is required"));
         }
     }
 
-    private void debugAudioFile(MultipartFile file) {
-        try {
-            System.out.println("DEBUG audio contentType = " + file.getContentType());
-            System.out.println("DEBUG audio originalFilename = " + file.getOriginalFilename());
-            System.out.println("DEBUG audio size = " + file.getSize());
-
-            byte[] bytes = file.getBytes();
-            int len = Math.min(bytes.length, 16);
-            StringBuilder sb = new StringBuilder();
-            for (int i = 0; i < len; i++) {
-                sb.append(String.format("%02X ", bytes[i]));
-            }
-            System.out.println("DEBUG audio first bytes (hex): " + sb);
-
-            // optional: dump to file so you can play it locally
-            java.nio.file.Path dump = java.nio.file.Files.createTempFile("openai-debug-", ".bin");
-            java.nio.file.Files.write(dump, bytes);
-            System.out.println("DEBUG dumped audio to: " + dump.toAbsolutePath());
-        } catch (Exception e) {
-            e.printStackTrace();
+    /**
+     * Identifies the audio container from the magic bytes at the start of a file; null if none matches.
+     * The first {@link #AUDIO_HEADER_BYTES} bytes are enough for every supported format.
+     */
+    public static String detectAudioType(byte[] header) {
+        if (startsWith(header, 0, "ID3") || header.length >= 2 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xE0) == 0xE0) {
+            return "audio/mpeg";
+        }
+        if (startsWith(header, 0, "RIFF") && startsWith(header, 8, "WAVE")) {
+            return "audio/wav";
+        }
+        if (startsWith(header, 4, "ftyp")) {
+            return "audio/mp4";
         }
+        if (header.length >= 4 && (header[0] & 0xFF) == 0x1A && (header[1] & 0xFF) == 0x45
+                && (header[2] & 0xFF) == 0xDF && (header[3] & 0xFF) == 0xA3) {
+            return "audio/webm";
+        }
+        if (startsWith(header, 0, "OggS")) {
+            return "audio/ogg";
+        }
+        if (startsWith(header, 0, "fLaC")) {
+            return "audio/flac";
+        }
+        return null;
     }
 
-    public static MultipartFile validateAndNormalizeIfNeeded(MultipartFile file) {
-        debugAudioFile(file);
-        validateAudioFile(file);
+    /**
+     * {@code audio/x-m4a} is sent as {@code audio/mp4}, the type transcription providers accept for the same
+     * container; other types are returned lower-cased.
+     */
+    public static String normalizeContentType(String contentType) {
+        String normalized = contentType != null ? contentType.toLowerCase() : "";
+        return "audio/x-m4a".equals(normalized) ? "audio/mp4" : normalized;
+    }
 
-        String contentType = file.getContentType() != null
-                ? file.getContentType().toLowerCase()
-                : "";
+    public static String normalizeFilename(String filename, String contentType) {
+        return "audio/x-m4a".equalsIgnoreCase(contentType) ? changeExtensionToMp4(filename) : filename;
+    }
 
-        if (!"audio/x-m4a".equals(contentType)) {
-            return file;
+    private static boolean startsWith(byte[] header, int offset, String magic) {
+        if (header.length < offset + magic.length()) {
+            return false;
         }
-
-        try {
-            byte[] bytes = file.getBytes();
-
-            String originalFilename = file.getOriginalFilename();
-            String mp4Filename = changeExtensionToMp4(originalFilename);
-
-            return new InMemoryMultipartFile(
-                    file.getName(),           // form field name
-                    mp4Filename,              // new filename
-                    "audio/mp4",              // new content type
-                    bytes
-            );
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read audio file bytes", e);
+        for (int i = 0; i < magic.length(); i++) {
+            if (header[offset + i] != (byte) magic.charAt(i)) {
+                return false;
+            }
         }
+        return true;
     }
 
     private static String changeExtensionToMp4(String filename) {
@@ -113,62 +119,4 @@ public class FileValidationUtil {
         }
         return filename.substring(0, dot) + ".mp4";
     }
-
-    private static class InMemoryMultipartFile implements MultipartFile {
-
-        private final String name;
-        private final String originalFilename;
-        private final String contentType;
-        private final byte[] bytes;
-
-        private InMemoryMultipartFile(String name,
-                                      String originalFilename,
-                                      String contentType,
-                                      byte[] bytes) {
-            this.name = name;
-            this.originalFilename = originalFilename;
-            this.contentType = contentType;
-            this.bytes = bytes != null ? bytes : new byte[0];
-        }
-
-        @Override
-        public String getName() {
-            return name;
-        }
-
-        @Override
-        public String getOriginalFilename() {
-            return originalFilename;
-        }
-
-        @Override
-        public String getContentType() {
-            return contentType;
-        }
-
-        @Override
-        public boolean isEmpty() {
-            return bytes.length == 0;
-        }
-
-        @Override
-        public long getSize() {
-            return bytes.length;
-        }
-
-        @Override
-        public byte[] getBytes() {
-            return bytes;
-        }
-
-        @Override
-        public java.io.InputStream getInputStream() {
-            return new java.io.ByteArrayInputStream(bytes);
-        }
-
-        @Override
-        public void transferTo(java.io.File dest) throws IOException {
-            java.nio.file.Files.write(dest.toPath(), bytes);
-        }
-    }
 }
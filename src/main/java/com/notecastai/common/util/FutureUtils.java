@@ -0,0 +1,64 @@
+package com.notecastai.common.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Helpers for code that sits between {@link CompletableFuture} chains and callers expecting plain exceptions.
+ */
+@UtilityClass
+public class FutureUtils {
+
+    /**
+     * Strips the {@link CompletionException} / {@link ExecutionException} wrappers added by future composition.
+     */
+    public static Throwable unwrap(Throwable error) {
+        Throwable current = error;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    /**
+     * Waits for {@code future} and rethrows a failure as the original runtime exception, so callers at a
+     * synchronous boundary see the same exceptions as before the call went async.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw propagate(e);
+        }
+    }
+
+    /**
+     * Cancels {@code source} when {@code dependent} is cancelled. Cancellation does not flow upstream through
+     * {@code thenApply}/{@code whenComplete}, so chains whose work should stop with them opt in here.
+     *
+     * @return {@code dependent}
+     */
+    public static <T> CompletableFuture<T> cancelling(CompletableFuture<?> source, CompletableFuture<T> dependent) {
+        dependent.whenComplete((value, error) -> {
+            if (dependent.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return dependent;
+    }
+
+    public static RuntimeException propagate(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error fatal) {
+            throw fatal;
+        }
+        return new CompletionException(cause);
+    }
+}
@@ -0,0 +1,47 @@
+package com.notecastai.config;
+
+import com.notecastai.integration.ai.AiOperation;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "ai.cache")
+public class AiCacheProperties {
+
+    private boolean enabled = true;
+
+    /** Operations that always go to the provider, e.g. while tuning a prompt. */
+    private Set<AiOperation> disabledOperations = EnumSet.noneOf(AiOperation.class);
+
+    private Local local = new Local();
+    private Persistent persistent = new Persistent();
+
+    public boolean isEnabledFor(AiOperation operation) {
+        return enabled && !disabledOperations.contains(operation);
+    }
+
+    @Getter
+    @Setter
+    public static class Local {
+        /** Upper bound for the summed size of cached payloads (in characters, roughly bytes for JSON). */
+        private long maxBytes = 64L * 1024 * 1024;
+        private Duration ttl = Duration.ofHours(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Persistent {
+        private boolean enabled = true;
+        private Duration ttl = Duration.ofDays(7);
+        /** Rows beyond this count are evicted, least recently used first. */
+        private long maxEntries = 50_000;
+    }
+}
@@ -0,0 +1,54 @@
+package com.notecastai.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The one JDK {@link HttpClient} shared by all AI provider clients. Requests are sent with
+ * {@code sendAsync}, so an in-flight call holds a pooled connection (or an HTTP/2 stream) but no thread.
+ */
+@Slf4j
+@Configuration
+public class AiHttpClientConfig {
+
+    private static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+    private static final String POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService aiHttpCompletionExecutor(AiHttpClientProperties properties) {
+        return Executors.newFixedThreadPool(
+                Math.max(1, properties.getCompletionThreads()),
+                new CustomizableThreadFactory("ai-http-"));
+    }
+
+    @Bean
+    public HttpClient aiHttpClient(AiHttpClientProperties properties, ExecutorService aiHttpCompletionExecutor) {
+        // Pool tuning is only exposed through system properties read when the JDK client pool is first used
+        setIfAbsent(KEEP_ALIVE_PROPERTY, String.valueOf(properties.getKeepAlive().toSeconds()));
+        setIfAbsent(POOL_SIZE_PROPERTY, String.valueOf(properties.getMaxPooledConnections()));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(properties.getVersion())
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(aiHttpCompletionExecutor)
+                .build();
+
+        log.info("AI HTTP client initialized: version={}, connectTimeout={}, completionThreads={}",
+                properties.getVersion(), properties.getConnectTimeout(), properties.getCompletionThreads());
+
+        return client;
+    }
+
+    private static void setIfAbsent(String property, String value) {
+        if (System.getProperty(property) == null) {
+            System.setProperty(property, value);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.notecastai.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "ai.http")
+public class AiHttpClientProperties {
+
+    /** HTTP_2 multiplexes concurrent calls over one connection per provider; falls back to HTTP/1.1 per host. */
+    private HttpClient.Version version = HttpClient.Version.HTTP_2;
+
+    private Duration connectTimeout = Duration.ofSeconds(10);
+
+    /** Threads that complete response futures. Keep small: no call blocks on them while waiting for a provider. */
+    private int completionThreads = 8;
+
+    /** Idle time after which pooled connections are closed. */
+    private Duration keepAlive = Duration.ofMinutes(5);
+
+    /** Upper bound for idle HTTP/1.1 connections kept in the pool, 0 for unbounded. */
+    private int maxPooledConnections = 200;
+}
@@ -0,0 +1,50 @@
+package com.notecastai.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "ai.limiter")
+public class AiLimiterProperties {
+
+    private boolean enabled = true;
+
+    /** Used for every provider without an explicit entry in {@link #providers}. */
+    private Settings defaults = new Settings();
+
+    /** Per-provider overrides keyed by provider name (openrouter, openai, groq). */
+    private Map<String, Settings> providers = new HashMap<>();
+
+    public Settings settingsFor(String provider) {
+        return providers.getOrDefault(provider, defaults);
+    }
+
+    @Getter
+    @Setter
+    public static class Settings {
+        private int initialLimit = 10;
+        private int minLimit = 2;
+        private int maxLimit = 50;
+
+        /** Callers allowed to wait for a permit; 0 sheds load immediately once the limit is reached. */
+        private int maxQueue = 100;
+        private Duration queueTimeout = Duration.ofSeconds(30);
+
+        /** Multiplicative decrease applied on 429, 5xx, I/O failures and slow calls. */
+        private double backoffRatio = 0.7;
+
+        /** A call slower than this multiple of the smoothed latency counts as congestion. */
+        private double slowCallFactor = 3.0;
+
+        /** Upper bound for a provider supplied Retry-After pause. */
+        private Duration maxRetryAfter = Duration.ofSeconds(60);
+    }
+}
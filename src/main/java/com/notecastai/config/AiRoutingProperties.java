@@ -0,0 +1,60 @@
+package com.notecastai.config;
+
+import com.notecastai.integration.ai.AiOperation;
+import com.notecastai.integration.ai.provider.openrouter.dto.OpenRouterModel;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "ai.routing")
+public class AiRoutingProperties {
+
+    /** Model chain for operations without an explicit entry in {@link #chains}. */
+    private List<OpenRouterModel> defaultChain = List.of(
+            OpenRouterModel.GROK_FAST_1,
+            OpenRouterModel.GPT_4O_mini,
+            OpenRouterModel.GEMINI_2_5_FLASH
+    );
+
+    /** Ordered model chains per operation; the first model is the primary. */
+    private Map<AiOperation, List<OpenRouterModel>> chains = new EnumMap<>(AiOperation.class);
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Hedging hedging = new Hedging();
+
+    public List<OpenRouterModel> chainFor(AiOperation operation) {
+        List<OpenRouterModel> chain = chains.get(operation);
+        return chain != null && !chain.isEmpty() ? chain : defaultChain;
+    }
+
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        private float failureRateThreshold = 50;
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 5;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpenState = 2;
+    }
+
+    @Getter
+    @Setter
+    public static class Hedging {
+        private boolean enabled = false;
+
+        /** Successful calls a model needs on an operation before its p95 is trusted as the hedge delay. */
+        private int minSamples = 20;
+
+        /** Lower bound for the hedge delay, so fast models are not hedged on noise. */
+        private Duration minDelay = Duration.ofSeconds(2);
+    }
+}
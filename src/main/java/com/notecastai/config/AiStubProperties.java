@@ -0,0 +1,49 @@
+package com.notecastai.config;
+
+import com.notecastai.integration.ai.AiOperation;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Behaviour of the fake AI providers active under the {@code stub} profile.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "ai.stub")
+public class AiStubProperties {
+
+    /** Used for every operation without an explicit entry in {@link #operations}. */
+    private Behavior defaults = new Behavior();
+
+    /** Per-operation overrides, e.g. a slower NOTECAST_TRANSCRIPT. */
+    private Map<AiOperation, Behavior> operations = new EnumMap<>(AiOperation.class);
+
+    public Behavior behaviorFor(AiOperation operation) {
+        return operations.getOrDefault(operation, defaults);
+    }
+
+    @Getter
+    @Setter
+    public static class Behavior {
+        /** Latency is log-normal with this median and 99th percentile. */
+        private Duration medianLatency = Duration.ofMillis(800);
+        private Duration p99Latency = Duration.ofSeconds(5);
+
+        /** Share of calls failing with 503 Service Unavailable. */
+        private double errorRate = 0.0;
+
+        /** Share of calls that start a 429 burst; every call during the burst is rate limited. */
+        private double rateLimitBurstRate = 0.0;
+        private Duration rateLimitBurstDuration = Duration.ofSeconds(5);
+
+        /** Share of JSON responses cut off mid-document, like a truncated model answer. */
+        private double malformedJsonRate = 0.0;
+    }
+}
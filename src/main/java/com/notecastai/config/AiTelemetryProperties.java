@@ -0,0 +1,41 @@
+package com.notecastai.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "ai.telemetry")
+public class AiTelemetryProperties {
+
+    private Ledger ledger = new Ledger();
+
+    /** USD prices keyed by the model id sent to the provider; calls to unlisted models are recorded without cost. */
+    private Map<String, Price> prices = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Ledger {
+        private boolean enabled = true;
+        private Duration flushInterval = Duration.ofSeconds(10);
+
+        /** Entries buffered between flushes; beyond this new entries are dropped and counted. */
+        private int maxBuffered = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Price {
+        private BigDecimal promptPerMillionTokens = BigDecimal.ZERO;
+        private BigDecimal completionPerMillionTokens = BigDecimal.ZERO;
+        private BigDecimal perAudioMinute = BigDecimal.ZERO;
+    }
+}
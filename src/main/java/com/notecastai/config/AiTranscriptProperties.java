@@ -0,0 +1,39 @@
+package com.notecastai.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "ai.transcript")
+public class AiTranscriptProperties {
+
+    private Chunking chunking = new Chunking();
+
+    @Getter
+    @Setter
+    public static class Chunking {
+        private boolean enabled = true;
+
+        /** Notes longer than this (in characters) are transcribed section by section. */
+        private int minInputChars = 12_000;
+
+        /** Sections shorter than this are merged into their neighbour. */
+        private int minSectionChars = 1_500;
+
+        private int maxSections = 8;
+
+        /** Upper bound for section prompts in flight per note. */
+        private int maxParallelSections = 4;
+
+        /** Share of the word budget kept for the opening, transitions and closing written by the stitching pass. */
+        private double stitchWordShare = 0.1;
+
+        public boolean appliesTo(String noteContent) {
+            return enabled && noteContent != null && noteContent.length() > minInputChars;
+        }
+    }
+}
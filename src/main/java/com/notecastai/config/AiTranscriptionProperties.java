@@ -0,0 +1,86 @@
+package com.notecastai.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Speech-to-text settings for voice notes (not to be confused with {@link AiTranscriptProperties}, which
+ * covers the spoken transcripts generated for NoteCasts).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "ai.transcription")
+public class AiTranscriptionProperties {
+
+    private Chunking chunking = new Chunking();
+    private Live live = new Live();
+    private Routing routing = new Routing();
+
+    /** Largest recording read into memory for one transcription; defaults to the upload limit. */
+    private DataSize maxBufferedSize = DataSize.ofMegabytes(30);
+
+    @Getter
+    @Setter
+    public static class Chunking {
+        private boolean enabled = true;
+
+        /** Target chunk length; recordings shorter than 1.25 windows are sent in one request. */
+        private Duration window = Duration.ofMinutes(2);
+
+        /** Audio shared by neighbouring chunks so that words at a cut are heard whole by one of them. */
+        private Duration overlap = Duration.ofSeconds(2);
+
+        /** How far from the target position a cut may move to land in the quietest spot (WAV only). */
+        private Duration silenceSearch = Duration.ofSeconds(4);
+
+        /** Upper bound for chunk requests in flight per recording. */
+        private int maxParallelChunks = 4;
+    }
+
+    /**
+     * Transcription while recording; windows share the overlap and silence search of {@link Chunking}.
+     */
+    @Getter
+    @Setter
+    public static class Live {
+
+        /** Target window length; each window is transcribed as soon as it closes. */
+        private Duration window = Duration.ofSeconds(30);
+
+        /** Recordings are stopped at this length. */
+        private Duration maxDuration = Duration.ofMinutes(60);
+    }
+
+    @Getter
+    @Setter
+    public static class Routing {
+
+        public enum Policy {
+            /** Providers are called one after another, each only once the previous one failed. */
+            FALLBACK,
+            /** Like {@link #FALLBACK}, but the next provider is also started once the current one runs past its p90. */
+            HEDGED,
+            /** All providers are started at once. */
+            RACE
+        }
+
+        private Policy policy = Policy.FALLBACK;
+
+        /** Transcription service bean names, primary first; names without a bean (e.g. under a profile) are skipped. */
+        private List<String> providers = List.of("openAiAudioService", "groqTranscriptionService");
+
+        /** Successful calls a provider needs before its p90 is trusted as the hedge delay. */
+        private int minSamples = 20;
+
+        /** Lower bound for the hedge delay, so fast providers are not hedged on noise. */
+        private Duration minHedgeDelay = Duration.ofSeconds(3);
+    }
+}
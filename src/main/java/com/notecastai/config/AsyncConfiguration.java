@@ -1,67 +1,86 @@
 package com.notecastai.config;
 
+import com.notecastai.integration.ai.telemetry.AiUsageScope;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 
+/**
+ * {@code @Async} executors. With {@code spring.threads.virtual.enabled=true} on Java 21+ each executor runs its
+ * tasks on virtual threads capped by {@link AsyncExecutorProperties.Pool#getMaxConcurrency()}; Spring Boot then
+ * also moves Tomcat request handling to virtual threads. Otherwise the platform thread pools are used.
+ */
 @Slf4j
 @Configuration
 @EnableAsync
+@RequiredArgsConstructor
 public class AsyncConfiguration {
 
+    private static final String VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+
+    private final AsyncExecutorProperties properties;
+    private final Environment environment;
+
     @Bean(name = "voiceNoteProcessingExecutor")
     public Executor voiceNoteProcessingExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("voice-note-");
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(60);
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
-        executor.initialize();
+        return executor("voice-note-", properties.getVoiceNote());
+    }
 
-        log.info("Voice note processing executor initialized with core pool size: {}, max pool size: {}",
-                executor.getCorePoolSize(), executor.getMaxPoolSize());
+    @Bean(name = "noteCastProcessingExecutor")
+    public Executor noteCastProcessingExecutor() {
+        return executor("notecast-processing-", properties.getNoteCast());
+    }
 
-        return executor;
+    @Bean(name = "gameNoteProcessingExecutor")
+    public Executor gameNoteProcessingExecutor() {
+        return executor("gamenote-processing-", properties.getGameNote());
     }
 
-    @Bean(name = "storageUploadExecutor")
-    public Executor storageUploadExecutor() {
+    private Executor executor(String threadNamePrefix, AsyncExecutorProperties.Pool pool) {
+        if (virtualThreadsActive()) {
+            log.info("Executor {} initialized on virtual threads with max concurrency: {}",
+                    threadNamePrefix, pool.getMaxConcurrency());
+            BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor(threadNamePrefix,
+                    pool.getMaxConcurrency(), properties.getShutdownTimeout());
+            executor.setTaskDecorator(AiUsageScope::wrap);
+            return executor;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(3);
-        executor.setMaxPoolSize(8);
-        executor.setQueueCapacity(50);
-        executor.setThreadNamePrefix("storage-upload-");
+        executor.setCorePoolSize(pool.getCorePoolSize());
+        executor.setMaxPoolSize(pool.getMaxPoolSize());
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setThreadNamePrefix(threadNamePrefix);
         executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(60);
+        executor.setAwaitTerminationSeconds((int) properties.getShutdownTimeout().toSeconds());
         executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        // Carries the requesting user into the task so AI calls made there are attributed to them
+        executor.setTaskDecorator(AiUsageScope::wrap);
         executor.initialize();
 
-        log.info("Storage upload executor initialized with core pool size: {}, max pool size: {}",
-                executor.getCorePoolSize(), executor.getMaxPoolSize());
+        log.info("Executor {} initialized with core pool size: {}, max pool size: {}",
+                threadNamePrefix, executor.getCorePoolSize(), executor.getMaxPoolSize());
 
         return executor;
     }
 
-    @Bean(name = "noteCastProcessingExecutor")
-    public Executor noteCastProcessingExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(3);
-        executor.setMaxPoolSize(8);
-        executor.setQueueCapacity(50);
-        executor.setThreadNamePrefix("notecast-processing-");
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(60);
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
-        executor.initialize();
-
-        return executor;
+    private boolean virtualThreadsActive() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return true;
+        }
+        if (environment.getProperty(VIRTUAL_THREADS_PROPERTY, Boolean.class, false)) {
+            log.warn("{} is set but the runtime is Java {}; virtual threads need Java 21, using platform threads",
+                    VIRTUAL_THREADS_PROPERTY, JavaVersion.getJavaVersion());
+        }
+        return false;
     }
 }
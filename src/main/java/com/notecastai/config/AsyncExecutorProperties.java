@@ -0,0 +1,42 @@
+package com.notecastai.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the {@code @Async} executors. Platform thread pools use the pool settings; when virtual threads are
+ * enabled ({@code spring.threads.virtual.enabled} on Java 21+) every task gets its own virtual thread and only
+ * {@code maxConcurrency} applies.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "async")
+public class AsyncExecutorProperties {
+
+    /** How long shutdown waits for running and queued tasks. */
+    private Duration shutdownTimeout = Duration.ofSeconds(60);
+
+    private Pool voiceNote = new Pool(5, 10, 100, 50);
+    private Pool noteCast = new Pool(3, 8, 50, 30);
+    private Pool gameNote = new Pool(2, 5, 50, 30);
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+        private int corePoolSize;
+        private int maxPoolSize;
+        private int queueCapacity;
+
+        /** Tasks allowed to run at once on virtual threads; the rest wait for a permit in submission order. */
+        private int maxConcurrency;
+    }
+}
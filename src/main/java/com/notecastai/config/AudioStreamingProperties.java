@@ -0,0 +1,44 @@
+package com.notecastai.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Audio served through {@link com.notecastai.integration.storage.AudioStreamer}: the first bytes of recently played
+ * files are kept in memory, since players request them again on every start and seek back.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "storage.streaming")
+public class AudioStreamingProperties {
+
+    /** Bytes from the start of a file that are cached; about 15 seconds of 128 kbps audio. */
+    private DataSize hotSegmentSize = DataSize.ofKilobytes(256);
+
+    /** Upper bound for the summed size of cached segments. */
+    private DataSize hotCacheSize = DataSize.ofMegabytes(64);
+
+    /** Segments not played for this long are dropped. */
+    private Duration hotCacheTtl = Duration.ofMinutes(10);
+
+    /** How long size, type and ETag of a file are reused before storage is asked again. */
+    private Duration metadataTtl = Duration.ofMinutes(1);
+
+    /** Buffer between storage and the client; nothing larger is held per request. */
+    private DataSize copyBufferSize = DataSize.ofKilobytes(64);
+
+    /** Base of the signed audio URLs handed to media elements, which cannot send an Authorization header. */
+    private String publicUrl = "http://localhost:8080";
+
+    /** HMAC key of the signed audio URLs; a random key is used when blank, so URLs do not survive a restart. */
+    private String signingKey;
+
+    /** How long a signed audio URL is valid; players ask for a new one when it has expired. */
+    private Duration urlTtl = Duration.ofMinutes(15);
+}
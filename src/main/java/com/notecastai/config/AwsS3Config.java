@@ -1,29 +1,65 @@
 package com.notecastai.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
+import java.net.URI;
+
+/**
+ * S3 clients; uploads go through the non-blocking {@link S3AsyncClient}, everything else through {@link S3Client}.
+ * Setting {@code aws.s3.endpoint} points both at an S3-compatible server such as the MinIO service
+ * in {@code docker-compose.yml}, with path-style addressing since such servers rarely resolve bucket subdomains.
+ */
 @Configuration
+@Profile("!local-storage")
 public class AwsS3Config {
 
     @Bean
-    S3Client s3Client(@Value("${aws.s3.region}") String region) {
-        return S3Client.builder()
+    S3Client s3Client(@Value("${aws.s3.region}") String region, @Value("${aws.s3.endpoint:}") String endpoint) {
+        var builder = S3Client.builder()
                 .region(Region.of(region))
-                .credentialsProvider(DefaultCredentialsProvider.create())
-                .build();
+                .credentialsProvider(DefaultCredentialsProvider.create());
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint)).serviceConfiguration(pathStyle());
+        }
+        return builder.build();
     }
 
     @Bean
-    S3Presigner s3Presigner(@Value("${aws.s3.region}") String region) {
-        return S3Presigner.builder()
+    S3AsyncClient s3AsyncClient(@Value("${aws.s3.region}") String region, @Value("${aws.s3.endpoint:}") String endpoint,
+                                S3TransferProperties transferProperties) {
+        var builder = S3AsyncClient.builder()
                 .region(Region.of(region))
                 .credentialsProvider(DefaultCredentialsProvider.create())
-                .build();
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(transferProperties.getMaxConnections()));
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint)).serviceConfiguration(pathStyle());
+        }
+        return builder.build();
+    }
+
+    @Bean
+    S3Presigner s3Presigner(@Value("${aws.s3.region}") String region, @Value("${aws.s3.endpoint:}") String endpoint) {
+        var builder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(DefaultCredentialsProvider.create());
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint)).serviceConfiguration(pathStyle());
+        }
+        return builder.build();
+    }
+
+    private static S3Configuration pathStyle() {
+        return S3Configuration.builder().pathStyleAccessEnabled(true).build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,81 @@
+package com.notecastai.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts one virtual thread per task and caps how many run at once with a fair {@link Semaphore}.
+ * <p>
+ * Waiting tasks park their virtual thread instead of sitting in a queue, so the cap bounds pressure on
+ * downstream resources (AI providers, S3, the JDBC pool) rather than the number of threads. Shutdown takes
+ * every permit, which waits for running and already submitted tasks like
+ * {@code setWaitForTasksToCompleteOnShutdown(true)} does for a thread pool.
+ */
+@Slf4j
+public class BoundedVirtualThreadExecutor implements TaskExecutor, DisposableBean {
+
+    private final String name;
+    private final int maxConcurrency;
+    private final Duration shutdownTimeout;
+    private final Semaphore permits;
+    private final VirtualThreadTaskExecutor delegate;
+    private TaskDecorator taskDecorator;
+    private volatile boolean shutdown;
+
+    public BoundedVirtualThreadExecutor(String threadNamePrefix, int maxConcurrency, Duration shutdownTimeout) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        this.name = threadNamePrefix;
+        this.maxConcurrency = maxConcurrency;
+        this.shutdownTimeout = shutdownTimeout;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.delegate = new VirtualThreadTaskExecutor(threadNamePrefix);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (shutdown) {
+            throw new TaskRejectedException("Executor " + name + " has been shut down");
+        }
+        Runnable decorated = taskDecorator != null ? taskDecorator.decorate(task) : task;
+        delegate.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                decorated.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    public void setTaskDecorator(TaskDecorator taskDecorator) {
+        this.taskDecorator = taskDecorator;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        shutdown = true;
+        if (permits.tryAcquire(maxConcurrency, shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            permits.release(maxConcurrency);
+        } else {
+            log.warn("Executor {} did not finish its tasks within {}", name, shutdownTimeout);
+        }
+    }
+}
@@ -53,19 +53,27 @@ public class GlobalExceptionHandler {
             TechnicalException ex,
             HttpServletRequest request
     ) {
-        log.error("Technical exception: {} - {}", ex.getCode(), ex.getMessage(), ex);
+        if (ex.getCode() == TechnicalException.Code.AI_SERVICE_OVERLOADED) {
+            log.warn("Technical exception: {} - {}", ex.getCode(), ex.getMessage());
+        } else {
+            log.error("Technical exception: {} - {}", ex.getCode(), ex.getMessage(), ex);
+        }
+
+        HttpStatus status = ex.getCode() == TechnicalException.Code.AI_SERVICE_OVERLOADED
+                ? HttpStatus.SERVICE_UNAVAILABLE
+                : HttpStatus.INTERNAL_SERVER_ERROR;
 
         ErrorResponse response = ErrorResponse.builder()
                 .timestamp(java.time.LocalDateTime.now())
-                .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
-                .error(HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase())
+                .status(status.value())
+                .error(status.getReasonPhrase())
                 .message("A technical error occurred. Please try again later.")
                 .path(request.getRequestURI())
                 .code(ex.getCode().name())
                 .context(ex.getContext())
                 .build();
 
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        return ResponseEntity.status(status).body(response);
     }
 
     @ExceptionHandler(AiValidationException.class)
@@ -0,0 +1,34 @@
+package com.notecastai.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Filesystem storage used instead of S3 with the {@code local-storage} profile.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "storage.local")
+public class LocalStorageProperties {
+
+    /** Directory holding the objects, unfinished multipart uploads and temp files; created on startup. */
+    private Path root = Path.of("data", "storage");
+
+    /** Base of the signed URLs handed to clients in place of presigned S3 URLs. */
+    private String publicUrl = "http://localhost:8080";
+
+    /** HMAC key of the signed URLs; a random key is used when blank, so URLs do not survive a restart. */
+    private String signingKey;
+
+    /** How long a signed download URL is valid. */
+    private Duration downloadUrlTtl = Duration.ofHours(24);
+
+    /** How long a client has to start a direct upload. */
+    private Duration uploadUrlTtl = Duration.ofMinutes(30);
+}
@@ -0,0 +1,53 @@
+package com.notecastai.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Public share links of notecasts: HMAC-signed tokens carrying the notecast id, expiry and key version, so they
+ * are checked without a database read.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "notecast.share")
+public class NoteCastShareProperties {
+
+    /**
+     * Signing secrets by key version. To rotate, add a version and make it {@link #currentKey}; links signed with
+     * the old one keep working until it is removed. Without keys a random one is used per start.
+     */
+    private Map<Integer, String> keys = new HashMap<>();
+
+    /** Version new links are signed with. */
+    private int currentKey = 1;
+
+    private Duration ttl = Duration.ofDays(30);
+
+    /** Shared notecasts whose metadata is kept in memory. */
+    private long cacheSize = 10_000;
+
+    private Duration cacheTtl = Duration.ofMinutes(5);
+
+    /**
+     * How long browsers and CDNs may reuse public responses; bounds how long a revoked link keeps playing from
+     * their caches.
+     */
+    private Duration maxAge = Duration.ofMinutes(5);
+
+    /** How often each node reloads the revoked links of other nodes. */
+    private Duration denyListRefresh = Duration.ofSeconds(30);
+
+    /** {@link #maxAge}, but never past the link's expiry. */
+    public Duration maxAge(Instant expiresAt) {
+        Duration remaining = Duration.between(Instant.now(), expiresAt);
+        return remaining.isNegative() ? Duration.ZERO : remaining.compareTo(maxAge) < 0 ? remaining : maxAge;
+    }
+}
@@ -1,6 +1,7 @@
 package com.notecastai.config;
 
 import com.notecastai.common.util.SecurityUtils;
+import com.notecastai.integration.ai.telemetry.AiUsageScope;
 import com.notecastai.user.api.dto.UserDTO;
 import com.notecastai.user.service.UserService;
 import jakarta.persistence.EntityManager;
@@ -54,7 +55,7 @@ public class OwnerHibernateFilter extends OncePerRequestFilter {
         filter.setParameter("currentUserId",
                 currentUser.map(UserDTO::getId).orElse(-1L));
 
-        try {
+        try (AiUsageScope ignored = AiUsageScope.open(currentUser.map(UserDTO::getId).orElse(null))) {
             chain.doFilter(request, response);
         } finally {
             session.disableFilter("ownerFilter");
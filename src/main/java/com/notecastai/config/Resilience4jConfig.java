@@ -1,5 +1,10 @@
 package com.notecastai.config;
 
+import com.notecastai.common.exeption.BusinessException;
+import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.common.util.FutureUtils;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
@@ -8,6 +13,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.Duration;
+import java.util.concurrent.CancellationException;
 
 @Slf4j
 @Configuration
@@ -19,6 +25,10 @@ public class Resilience4jConfig {
                 .maxAttempts(3)
                 .waitDuration(Duration.ofSeconds(2))
                 .retryOnException(e -> {
+                    // A cancelled call (e.g. the losing side of a hedged request) is not retried
+                    if (FutureUtils.unwrap(e) instanceof CancellationException) {
+                        return false;
+                    }
                     // Retry on validation exceptions and technical exceptions
                     log.warn("Retry triggered for exception: {}", e.getClass().getSimpleName());
                     return true;
@@ -43,4 +53,33 @@ public class Resilience4jConfig {
 
         return retry;
     }
-}
\ No newline at end of file
+
+    /**
+     * Per-model circuit breakers used by the OpenRouter model router. Business errors and provider-wide
+     * load shedding say nothing about the health of a particular model and are not recorded as failures.
+     */
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(AiRoutingProperties routingProperties) {
+        AiRoutingProperties.CircuitBreaker settings = routingProperties.getCircuitBreaker();
+
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(settings.getFailureRateThreshold())
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(settings.getSlidingWindowSize())
+                .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(settings.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(settings.getPermittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(e -> !(e instanceof BusinessException)
+                        && !(e instanceof TechnicalException te
+                        && te.getCode() == TechnicalException.Code.AI_SERVICE_OVERLOADED))
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        registry.getEventPublisher().onEntryAdded(added -> added.getAddedEntry().getEventPublisher()
+                .onStateTransition(event -> log.warn("Circuit breaker '{}' changed state: {}",
+                        event.getCircuitBreakerName(), event.getStateTransition())));
+
+        return registry;
+    }
+}
@@ -0,0 +1,39 @@
+package com.notecastai.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Uploads through {@link com.notecastai.integration.storage.s3.S3TransferEngine}: objects above the threshold are
+ * sent as multipart uploads whose parts go up in parallel over the async S3 client.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "aws.s3.transfer")
+public class S3TransferProperties {
+
+    /** Objects up to this size are sent with one PUT. */
+    private DataSize multipartThreshold = DataSize.ofMegabytes(16);
+
+    /**
+     * Smallest part (S3 minimum: 5MB); also the part size of streams of unknown length, so memory per streamed
+     * upload is this times {@link #maxPartsInFlight}.
+     */
+    private DataSize minPartSize = DataSize.ofMegabytes(8);
+
+    /** Parts grow with the object up to this size so large objects need fewer requests. */
+    private DataSize maxPartSize = DataSize.ofMegabytes(64);
+
+    /** Parts of one upload sent at once. */
+    private int maxPartsInFlight = 8;
+
+    /** Connections of the async S3 client, shared by all uploads of the node. */
+    private int maxConnections = 64;
+
+    /** Sends of a part, including the first, before the upload fails; parts already stored are never resent. */
+    private int partAttempts = 3;
+}
@@ -1,5 +1,9 @@
 package com.notecastai.config;
 
+import com.notecastai.integration.storage.SignedAudioController;
+import com.notecastai.integration.storage.local.LocalStorageController;
+import com.notecastai.notecast.api.PublicNoteCastControllerV1;
+import com.notecastai.voicenote.api.LiveTranscriptionWebSocketHandler;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -10,6 +14,8 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
 import org.springframework.security.oauth2.core.OAuth2TokenValidator;
 import org.springframework.security.oauth2.jwt.*;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -57,14 +63,35 @@ public class SecurityConfig {
                         "/swagger-resources/**",
                         "/webjars/**"
                 ).permitAll()
+                // Signed local storage and audio URLs carry their own authorization
+                .requestMatchers(LocalStorageController.PATH + "/**").permitAll()
+                .requestMatchers(SignedAudioController.PATH + "/**").permitAll()
+                // Share links carry their own authorization as signed tokens
+                .requestMatchers(PublicNoteCastControllerV1.PATH + "/**").permitAll()
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
         );
-        http.oauth2ResourceServer(o -> o.jwt(Customizer.withDefaults()));
+        http.oauth2ResourceServer(o -> o
+                .bearerTokenResolver(bearerTokenResolver())
+                .jwt(Customizer.withDefaults()));
         http.cors(Customizer.withDefaults());
         return http.build();
     }
 
+    /**
+     * Browsers cannot set headers on a WebSocket handshake, so the live transcription endpoint also accepts the
+     * token as an {@code access_token} query parameter. Nowhere else, as URLs end up in logs and histories;
+     * {@code <audio>} elements play signed URLs instead.
+     */
+    private BearerTokenResolver bearerTokenResolver() {
+        DefaultBearerTokenResolver headerResolver = new DefaultBearerTokenResolver();
+        DefaultBearerTokenResolver queryResolver = new DefaultBearerTokenResolver();
+        queryResolver.setAllowUriQueryParameter(true);
+        return request -> LiveTranscriptionWebSocketHandler.PATH.equals(request.getRequestURI())
+                ? queryResolver.resolve(request)
+                : headerResolver.resolve(request);
+    }
+
     @Bean
     JwtDecoder jwtDecoder() {
         NimbusJwtDecoder decoder = NimbusJwtDecoder.withJwkSetUri(jwks).build();
@@ -13,4 +13,23 @@ import org.springframework.stereotype.Component;
 public class TtsVoiceProperties {
 
     private TtsVoiceProvider voiceProvider = TtsVoiceProvider.OPENAI;
+    private Chunking chunking = new Chunking();
+
+    @Getter
+    @Setter
+    public static class Chunking {
+        private boolean enabled = true;
+
+        /** Transcripts up to this length are synthesized in one request. */
+        private int minInputChars = 2500;
+
+        /** Preferred chunk length; chunks end at paragraph or sentence boundaries. */
+        private int targetChars = 1500;
+
+        /** Hard chunk limit, below the provider's 4096-character input limit. */
+        private int maxChars = 4000;
+
+        /** Upper bound for chunk requests in flight per transcript. */
+        private int maxParallelChunks = 4;
+    }
 }
@@ -0,0 +1,45 @@
+package com.notecastai.config;
+
+import com.notecastai.voicenote.api.LiveTranscriptionWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+/**
+ * WebSocket endpoints. The handshake is an ordinary HTTP request, so it is authenticated by {@link SecurityConfig}.
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    /** Recorders send audio every few hundred milliseconds; a second of 48 kHz PCM is 96 KB. */
+    private static final int MAX_BINARY_MESSAGE_BYTES = 256 * 1024;
+    private static final int MAX_TEXT_MESSAGE_BYTES = 16 * 1024;
+    private static final long IDLE_TIMEOUT_MS = 60_000;
+
+    private final LiveTranscriptionWebSocketHandler liveTranscriptionHandler;
+
+    @Value("${application.domain:http://localhost:3000}")
+    private String feOrigin;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(liveTranscriptionHandler, LiveTranscriptionWebSocketHandler.PATH)
+                .setAllowedOrigins(feOrigin);
+    }
+
+    @Bean
+    public ServletServerContainerFactoryBean webSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxBinaryMessageBufferSize(MAX_BINARY_MESSAGE_BYTES);
+        container.setMaxTextMessageBufferSize(MAX_TEXT_MESSAGE_BYTES);
+        container.setMaxSessionIdleTimeout(IDLE_TIMEOUT_MS);
+        return container;
+    }
+}
@@ -1,5 +1,6 @@
 package com.notecastai.gamenote.service.impl;
 
+import com.notecastai.common.util.FutureUtils;
 import com.notecastai.gamenote.domain.GameNoteStatus;
 import com.notecastai.gamenote.domain.event.GameNoteCreatedEvent;
 import com.notecastai.gamenote.service.GameNoteService;
@@ -21,7 +22,7 @@ public class GameNoteEventProcessor {
     private final GameNoteService gameNoteService;
     private final NoteAiEditor noteAiEditor;
 
-    @Async
+    @Async("gameNoteProcessingExecutor")
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void onGameNoteCreated(GameNoteCreatedEvent event) {
         Long gameNoteId = event.getGameNoteId();
@@ -34,7 +35,7 @@ public class GameNoteEventProcessor {
             GameNoteAiRequest aiRequest = gameNoteService.buildAiRequest(gameNoteId);
 
             // Call AI to generate questions (with retry logic built-in)
-            GameNoteAiResponse aiResponse = noteAiEditor.generateGameQuestions(aiRequest);
+            GameNoteAiResponse aiResponse = FutureUtils.join(noteAiEditor.generateGameQuestions(aiRequest));
 
             // Update GameNote with generated questions
             gameNoteService.updateWithQuestions(gameNoteId, aiResponse.getQuestions());
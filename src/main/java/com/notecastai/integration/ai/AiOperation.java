@@ -0,0 +1,24 @@
+package com.notecastai.integration.ai;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Logical AI operations performed by the application. Used to key caches, metrics and per-operation settings
+ * independently of the provider or model that ends up serving the call.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum AiOperation {
+
+    ADJUST_NOTE("adjust_note"),
+    FORMAT_NOTE("format_note"),
+    NOTE_CHAT("note_chat"),
+    NOTECAST_TRANSCRIPT("notecast_transcript"),
+    GAME_QUESTIONS("game_questions"),
+    TRANSCRIPTION("transcription"),
+    TEXT_TO_SPEECH("text_to_speech");
+
+    /** Stable lower-case name used as a metric tag value. */
+    private final String tag;
+}
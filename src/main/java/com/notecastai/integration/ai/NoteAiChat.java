@@ -3,8 +3,20 @@ package com.notecastai.integration.ai;
 import com.notecastai.note.api.dto.NoteQuestionRequest;
 import com.notecastai.note.api.dto.NoteQuestionResponse;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
 public interface NoteAiChat {
 
-    NoteQuestionResponse askQuestion(Long noteId, NoteQuestionRequest request);
+    /**
+     * The note is read on the calling thread; the returned future completes once the full answer arrived.
+     */
+    CompletableFuture<NoteQuestionResponse> askQuestion(Long noteId, NoteQuestionRequest request);
+
+    /**
+     * Streams the answer token by token. The note is read on the calling thread; the model call itself
+     * runs asynchronously and every content delta is passed to {@code onToken} as it arrives.
+     */
+    CompletableFuture<NoteQuestionResponse> streamQuestion(Long noteId, NoteQuestionRequest request, Consumer<String> onToken);
 
 }
\ No newline at end of file
@@ -7,12 +7,18 @@ import com.notecastai.integration.ai.provider.openrouter.dto.NewNoteAiResponse;
 import com.notecastai.note.api.dto.CreateNoteRequest;
 import com.notecastai.note.api.dto.NoteKnowledgeFormatRequest;
 
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * All calls are non-blocking: request-scoped data (current user, note, tags) is read on the calling thread,
+ * the returned future completes on an HTTP client thread once the provider answered and the answer was validated.
+ */
 public interface NoteAiEditor {
 
-    NewNoteAiResponse adjustNote(CreateNoteRequest request);
+    CompletableFuture<NewNoteAiResponse> adjustNote(CreateNoteRequest request);
 
-    FormatNoteAiResponse formatNoteKnowledgeBase(Long noteId, NoteKnowledgeFormatRequest request);
+    CompletableFuture<FormatNoteAiResponse> formatNoteKnowledgeBase(Long noteId, NoteKnowledgeFormatRequest request);
 
-    GameNoteAiResponse generateGameQuestions(GameNoteAiRequest request);
+    CompletableFuture<GameNoteAiResponse> generateGameQuestions(GameNoteAiRequest request);
 
 }
\ No newline at end of file
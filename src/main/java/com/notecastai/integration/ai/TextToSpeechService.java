@@ -2,9 +2,20 @@ package com.notecastai.integration.ai;
 
 import com.notecastai.integration.ai.dto.TextToSpeechRequest;
 import com.notecastai.integration.ai.dto.TextToSpeechResult;
+import com.notecastai.integration.ai.dto.TextToSpeechStream;
+
+import java.util.concurrent.CompletableFuture;
 
 public interface TextToSpeechService {
 
-    TextToSpeechResult synthesizeSpeech(TextToSpeechRequest request);
+    CompletableFuture<TextToSpeechResult> synthesizeSpeech(TextToSpeechRequest request);
+
+    /**
+     * Synthesizes speech as a stream that can be passed on while the provider is still sending it. The caller
+     * must close the stream. Providers without a streaming path buffer the whole result.
+     */
+    default CompletableFuture<TextToSpeechStream> streamSpeech(TextToSpeechRequest request) {
+        return synthesizeSpeech(request).thenApply(TextToSpeechStream::of);
+    }
 
 }
@@ -0,0 +1,78 @@
+package com.notecastai.integration.ai.audio;
+
+import com.notecastai.common.exeption.BusinessException;
+import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.config.AiTranscriptionProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static com.notecastai.common.exeption.BusinessException.BusinessCode.INVALID_REQUEST;
+
+/**
+ * Audio handed to a transcription provider as a whole. Providers need the recording as one array to cut it into
+ * chunks, so it is read into the heap once, up to {@code ai.transcription.max-buffered-size}, and recorded as
+ * {@code ai.transcription.buffered.bytes}; a stream from {@link #stream} hands its array over as is, so a
+ * recording passed on to several providers, or a window already in memory, is not copied or counted again.
+ */
+@Component
+public class AudioBytes {
+
+    private final AiTranscriptionProperties properties;
+    private final DistributionSummary buffered;
+
+    public AudioBytes(AiTranscriptionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.buffered = DistributionSummary.builder("ai.transcription.buffered.bytes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /** A stream over {@code audio} that {@link #read} returns without copying. */
+    public static InputStream stream(byte[] audio) {
+        return new Shared(audio);
+    }
+
+    /** The whole content of {@code audioStream}, which is closed; rejected above the configured maximum. */
+    public byte[] read(InputStream audioStream, String filename) {
+        try (audioStream) {
+            if (audioStream instanceof Shared shared && shared.isUnread()) {
+                return shared.audio();
+            }
+            int limit = Math.toIntExact(properties.getMaxBufferedSize().toBytes());
+            byte[] audio = audioStream.readNBytes(limit + 1);
+            if (audio.length > limit) {
+                throw BusinessException.of(INVALID_REQUEST.append(
+                        " Audio %s is larger than the %d bytes a transcription may hold".formatted(filename, limit)
+                ));
+            }
+            buffered.record(audio.length);
+            return audio;
+        } catch (IOException e) {
+            throw TechnicalException.of(TechnicalException.Code.INTERNAL_ERROR)
+                    .with("filename", String.valueOf(filename))
+                    .with("error", "Failed to read audio stream: " + e.getMessage())
+                    .cause(e)
+                    .build();
+        }
+    }
+
+    private static final class Shared extends ByteArrayInputStream {
+
+        Shared(byte[] audio) {
+            super(audio);
+        }
+
+        synchronized boolean isUnread() {
+            return pos == 0 && count == buf.length;
+        }
+
+        byte[] audio() {
+            return buf;
+        }
+    }
+}
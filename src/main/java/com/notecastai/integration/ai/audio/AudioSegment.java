@@ -0,0 +1,26 @@
+package com.notecastai.integration.ai.audio;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A self-contained piece of a recording. Times are seconds from the start of the original recording:
+ * {@code start}/{@code end} delimit the audio in {@link #audio}, while {@code keepFrom}/{@code keepUntil}
+ * delimit the part this chunk is authoritative for. Neighbouring keep ranges meet at the cut, inside the overlap.
+ */
+@Value
+@Builder
+public class AudioSegment {
+
+    int index;
+    byte[] audio;
+    double startSeconds;
+    double endSeconds;
+    double keepFromSeconds;
+    double keepUntilSeconds;
+
+    public boolean keeps(double startTime, double endTime) {
+        double midpoint = (startTime + endTime) / 2;
+        return midpoint >= keepFromSeconds && midpoint < keepUntilSeconds;
+    }
+}
@@ -0,0 +1,293 @@
+package com.notecastai.integration.ai.audio;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.experimental.UtilityClass;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits long recordings into overlapping chunks that can be transcribed independently. WAV is cut at the sample
+ * level, moving each cut to the quietest 20 ms within the silence search range when the samples are 16-bit PCM;
+ * MP3 is cut at frame boundaries. Every chunk is a complete file of the original format. Other formats, and
+ * recordings too short to be worth splitting, come back as a single chunk holding the original bytes.
+ */
+@Slf4j
+@UtilityClass
+public class AudioSegmenter {
+
+    /** The last chunk is never shorter than a quarter window; the remainder is folded into its predecessor. */
+    private static final double MIN_TAIL_WINDOWS = 0.25;
+
+    public static List<AudioSegment> split(byte[] audio, String contentType, String filename,
+                                           double windowSeconds, double overlapSeconds, double silenceSearchSeconds) {
+        Layout layout = parse(audio, contentType, filename);
+        if (layout == null || windowSeconds <= 0
+                || layout.durationSeconds() <= windowSeconds * (1 + MIN_TAIL_WINDOWS)) {
+            return List.of(whole(audio, layout));
+        }
+
+        // Cut points, each moved to the nearest boundary (or quietest spot) around its target
+        List<Double> cuts = new ArrayList<>();
+        cuts.add(0.0);
+        double position = 0;
+        while (layout.durationSeconds() - position > windowSeconds * (1 + MIN_TAIL_WINDOWS)) {
+            double target = position + windowSeconds;
+            double cut = layout.timeOf(layout.quietestBoundaryNear(target, silenceSearchSeconds));
+            if (cut <= position + overlapSeconds) {
+                cut = layout.timeOf(layout.boundaryAt(target));
+            }
+            cuts.add(cut);
+            position = cut;
+        }
+        cuts.add(layout.durationSeconds());
+
+        List<AudioSegment> segments = new ArrayList<>(cuts.size() - 1);
+        for (int i = 0; i + 1 < cuts.size(); i++) {
+            boolean last = i + 2 == cuts.size();
+            int from = layout.boundaryAt(Math.max(0, cuts.get(i) - overlapSeconds / 2));
+            int to = last ? layout.boundaryCount() : layout.boundaryAt(cuts.get(i + 1) + overlapSeconds / 2);
+
+            segments.add(AudioSegment.builder()
+                    .index(i)
+                    .audio(layout.slice(from, to))
+                    .startSeconds(layout.timeOf(from))
+                    .endSeconds(layout.timeOf(to))
+                    .keepFromSeconds(i == 0 ? 0 : cuts.get(i))
+                    .keepUntilSeconds(last ? Double.POSITIVE_INFINITY : cuts.get(i + 1))
+                    .build());
+        }
+
+        log.info("Split {} ({} s) into {} chunks at {}", filename,
+                Math.round(layout.durationSeconds()), segments.size(), cuts.subList(1, cuts.size() - 1));
+        return segments;
+    }
+
+    private static AudioSegment whole(byte[] audio, Layout layout) {
+        return AudioSegment.builder()
+                .index(0)
+                .audio(audio)
+                .startSeconds(0)
+                .endSeconds(layout != null ? layout.durationSeconds() : 0)
+                .keepFromSeconds(0)
+                .keepUntilSeconds(Double.POSITIVE_INFINITY)
+                .build();
+    }
+
+    private static Layout parse(byte[] audio, String contentType, String filename) {
+        if (WavLayout.matches(audio)) {
+            return WavLayout.parse(audio);
+        }
+        String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+        String name = filename != null ? filename.toLowerCase(Locale.ROOT) : "";
+        if (type.equals("audio/mpeg") || type.equals("audio/mp3") || name.endsWith(".mp3")) {
+            return Mp3Layout.parse(audio);
+        }
+        return null;
+    }
+
+    /**
+     * Positions where a recording can be cut, numbered {@code 0..boundaryCount()}.
+     */
+    private interface Layout {
+
+        double durationSeconds();
+
+        int boundaryCount();
+
+        double timeOf(int boundary);
+
+        int boundaryAt(double seconds);
+
+        int quietestBoundaryNear(double seconds, double searchSeconds);
+
+        /** A playable file with the audio between two boundaries. */
+        byte[] slice(int fromBoundary, int toBoundary);
+    }
+
+    /**
+     * RIFF/WAVE with a {@code fmt } and a {@code data} chunk; boundaries are sample frames.
+     */
+    private static final class WavLayout implements Layout {
+
+        private static final int FORMAT_PCM = 1;
+        private static final int FORMAT_EXTENSIBLE = 0xFFFE;
+        private static final double ANALYSIS_WINDOW_SECONDS = 0.02;
+
+        private final byte[] audio;
+        private final byte[] fmtChunk;
+        private final int dataOffset;
+        private final int frames;
+        private final int sampleRate;
+        private final int blockAlign;
+        private final boolean pcm16;
+
+        private WavLayout(byte[] audio, byte[] fmtChunk, int dataOffset, int dataSize) {
+            ByteBuffer fmt = ByteBuffer.wrap(fmtChunk).order(ByteOrder.LITTLE_ENDIAN);
+            int format = fmt.getShort(0) & 0xFFFF;
+            this.audio = audio;
+            this.fmtChunk = fmtChunk;
+            this.dataOffset = dataOffset;
+            this.sampleRate = fmt.getInt(4);
+            this.blockAlign = fmt.getShort(12) & 0xFFFF;
+            this.pcm16 = (format == FORMAT_PCM || format == FORMAT_EXTENSIBLE) && (fmt.getShort(14) & 0xFFFF) == 16;
+            this.frames = dataSize / blockAlign;
+        }
+
+        static boolean matches(byte[] audio) {
+            return audio.length >= 12 && ascii(audio, 0).equals("RIFF") && ascii(audio, 8).equals("WAVE");
+        }
+
+        static WavLayout parse(byte[] audio) {
+            ByteBuffer buffer = ByteBuffer.wrap(audio).order(ByteOrder.LITTLE_ENDIAN);
+            byte[] fmtChunk = null;
+            int offset = 12;
+            while (offset + 8 <= audio.length) {
+                String id = ascii(audio, offset);
+                long size = buffer.getInt(offset + 4) & 0xFFFFFFFFL;
+                int body = offset + 8;
+
+                if (id.equals("fmt ") && size >= 16 && body + size <= audio.length) {
+                    fmtChunk = Arrays.copyOfRange(audio, body, body + (int) size);
+                } else if (id.equals("data") && fmtChunk != null) {
+                    // Streaming writers leave the size at 0 or 0xFFFFFFFF
+                    int available = audio.length - body;
+                    int dataSize = size == 0 || size > available ? available : (int) size;
+                    WavLayout layout = new WavLayout(audio, fmtChunk, body, dataSize);
+                    return layout.sampleRate > 0 && layout.blockAlign > 0 ? layout : null;
+                }
+                offset = (int) Math.min(Integer.MAX_VALUE, body + size + (size & 1));
+            }
+            return null;
+        }
+
+        @Override
+        public double durationSeconds() {
+            return timeOf(frames);
+        }
+
+        @Override
+        public int boundaryCount() {
+            return frames;
+        }
+
+        @Override
+        public double timeOf(int boundary) {
+            return (double) boundary / sampleRate;
+        }
+
+        @Override
+        public int boundaryAt(double seconds) {
+            return (int) Math.max(0, Math.min(frames, Math.round(seconds * sampleRate)));
+        }
+
+        @Override
+        public int quietestBoundaryNear(double seconds, double searchSeconds) {
+            if (!pcm16 || searchSeconds <= 0) {
+                return boundaryAt(seconds);
+            }
+            int window = Math.max(1, (int) (sampleRate * ANALYSIS_WINDOW_SECONDS));
+            int from = boundaryAt(seconds - searchSeconds);
+            int to = Math.max(from, boundaryAt(seconds + searchSeconds) - window);
+
+            int target = boundaryAt(seconds);
+            int quietest = target;
+            long lowestEnergy = Long.MAX_VALUE;
+            for (int start = from; start <= to; start += window / 2 + 1) {
+                long energy = 0;
+                for (int frame = start; frame < start + window && frame < frames; frame++) {
+                    int position = dataOffset + frame * blockAlign;
+                    energy += Math.abs((short) ((audio[position] & 0xFF) | (audio[position + 1] << 8)));
+                }
+                int center = start + window / 2;
+                // Equally quiet spots (e.g. a long pause) are resolved towards the target
+                if (energy < lowestEnergy
+                        || energy == lowestEnergy && Math.abs(center - target) < Math.abs(quietest - target)) {
+                    lowestEnergy = energy;
+                    quietest = center;
+                }
+            }
+            return quietest;
+        }
+
+        @Override
+        public byte[] slice(int fromBoundary, int toBoundary) {
+            int dataLength = (toBoundary - fromBoundary) * blockAlign;
+            int fmtLength = fmtChunk.length + (fmtChunk.length & 1);
+            ByteBuffer out = ByteBuffer.allocate(12 + 8 + fmtLength + 8 + dataLength).order(ByteOrder.LITTLE_ENDIAN);
+
+            out.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(out.capacity() - 8)
+                    .put("WAVE".getBytes(StandardCharsets.US_ASCII))
+                    .put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(fmtChunk.length).put(fmtChunk);
+            if ((fmtChunk.length & 1) == 1) {
+                out.put((byte) 0);
+            }
+            out.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(dataLength)
+                    .put(audio, dataOffset + fromBoundary * blockAlign, dataLength);
+            return out.array();
+        }
+    }
+
+    /**
+     * MPEG audio frames (MP3 and its Layer I/II siblings); boundaries are frames. ID3 tags and the Xing/Info
+     * header frame are left out of the chunks.
+     */
+    private static final class Mp3Layout implements Layout {
+
+        private static final int MIN_FRAMES = 10;
+
+        private final Mp3Frames frames;
+
+        private Mp3Layout(Mp3Frames frames) {
+            this.frames = frames;
+        }
+
+        static Mp3Layout parse(byte[] audio) {
+            Mp3Frames frames = Mp3Frames.parse(audio);
+            return frames.count() >= MIN_FRAMES ? new Mp3Layout(frames) : null;
+        }
+
+        @Override
+        public double durationSeconds() {
+            return frames.durationSeconds();
+        }
+
+        @Override
+        public int boundaryCount() {
+            return frames.count();
+        }
+
+        @Override
+        public double timeOf(int boundary) {
+            return frames.timeOf(boundary);
+        }
+
+        @Override
+        public int boundaryAt(double seconds) {
+            return frames.boundaryAt(seconds);
+        }
+
+        @Override
+        public int quietestBoundaryNear(double seconds, double searchSeconds) {
+            // Finding silence would mean decoding; frames are short enough to cut at the target
+            return boundaryAt(seconds);
+        }
+
+        @Override
+        public byte[] slice(int fromBoundary, int toBoundary) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            frames.writeTo(out, fromBoundary, toBoundary);
+            return out.toByteArray();
+        }
+    }
+
+    private static String ascii(byte[] bytes, int offset) {
+        return new String(bytes, offset, 4, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,328 @@
+package com.notecastai.integration.ai.audio;
+
+import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.common.util.FutureUtils;
+import com.notecastai.config.TtsVoiceProperties;
+import com.notecastai.integration.ai.dto.TextToSpeechFormat;
+import com.notecastai.integration.ai.dto.TextToSpeechRequest;
+import com.notecastai.integration.ai.dto.TextToSpeechResult;
+import com.notecastai.integration.ai.dto.TextToSpeechStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Synthesizes long transcripts as parallel chunks split by {@link SpeechTextSplitter} and joins the MP3 results
+ * frame by frame, without re-encoding, so wall-clock time follows the longest chunk rather than the whole text.
+ * Every chunk is requested with the same voice, speed and model. Formats other than MP3 are synthesized in one
+ * request. Cancelling the returned future cancels the chunks in flight, and lanes start no further chunks.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChunkedSpeechSynthesizer {
+
+    private final TtsVoiceProperties properties;
+
+    /**
+     * @param synthesizeChunk synthesizes one request; called once per chunk with the chunk as transcript, or once
+     *                        with the original request when the transcript is not split
+     */
+    public CompletableFuture<TextToSpeechResult> synthesize(
+            TextToSpeechRequest request,
+            Function<TextToSpeechRequest, CompletableFuture<TextToSpeechResult>> synthesizeChunk
+    ) {
+        List<String> chunks = split(request);
+        if (chunks.size() <= 1) {
+            return synthesizeChunk.apply(request);
+        }
+
+        long start = System.currentTimeMillis();
+
+        // Chunks are spread over a fixed number of lanes; each lane starts its next chunk when the previous one completes
+        int lanes = lanes(chunks);
+        List<CompletableFuture<TextToSpeechResult>> futures = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            TextToSpeechRequest chunkRequest = request.toBuilder().transcript(chunks.get(i)).build();
+            futures.add(i < lanes
+                    ? synthesizeChunk.apply(chunkRequest)
+                    : futures.get(i - lanes).thenCompose(previous -> synthesizeChunk.apply(chunkRequest)));
+        }
+
+        CompletableFuture<TextToSpeechResult> result = CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    List<TextToSpeechResult> results = futures.stream().map(CompletableFuture::join).toList();
+                    TextToSpeechResult stitched = stitch(results, System.currentTimeMillis() - start);
+
+                    log.info("Chunked TTS for refId={} completed: {} chunks, {} s audio, {} bytes, {} ms",
+                            request.getReferenceId(), chunks.size(), stitched.getDurationSeconds(),
+                            stitched.getSizeBytes(), stitched.getProcessingTimeMs());
+                    return stitched;
+                });
+        futures.forEach(future -> FutureUtils.cancelling(future, result));
+        return result;
+    }
+
+    /**
+     * Streaming counterpart of {@link #synthesize}: the chunks are read one after the other as a single MP3 stream.
+     * Each lane starts its next chunk once the reader has drained the previous one, so at most one chunk per lane
+     * is open at a time and unread responses are held back by HTTP flow control rather than buffered. Closing the
+     * returned stream closes the open chunks and starts no further ones.
+     *
+     * @param streamChunk streams one request; chunk streams must drop tags and VBR header frames, like
+     *                    {@link Mp3FrameInputStream}, so that they can be concatenated
+     */
+    public CompletableFuture<TextToSpeechStream> stream(
+            TextToSpeechRequest request,
+            Function<TextToSpeechRequest, CompletableFuture<TextToSpeechStream>> streamChunk
+    ) {
+        List<String> chunks = split(request);
+        if (chunks.size() <= 1) {
+            return streamChunk.apply(request);
+        }
+
+        int lanes = lanes(chunks);
+        List<CompletableFuture<Void>> consumed = new ArrayList<>(chunks.size());
+        List<CompletableFuture<TextToSpeechStream>> futures = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            TextToSpeechRequest chunkRequest = request.toBuilder().transcript(chunks.get(i)).build();
+            consumed.add(new CompletableFuture<>());
+            futures.add(i < lanes
+                    ? streamChunk.apply(chunkRequest)
+                    : startAfter(consumed.get(i - lanes), () -> streamChunk.apply(chunkRequest)));
+        }
+
+        ChunkSequenceInputStream audio = new ChunkSequenceInputStream(request.getReferenceId(), futures, consumed);
+        CompletableFuture<TextToSpeechStream> result = futures.get(0).thenApply(first -> TextToSpeechStream.builder()
+                .audio(audio)
+                .mediaType(first.getMediaType())
+                .fileExtension(first.getFileExtension())
+                .provider(first.getProvider())
+                .model(first.getModel())
+                .voice(first.getVoice())
+                .requestId(first.getRequestId())
+                .bytesRead(audio::bytesRead)
+                .secondsRead(audio::secondsRead)
+                .build());
+        // Nobody reads the chunks when the stream is never handed out
+        result.whenComplete((stream, error) -> {
+            if (error != null) {
+                audio.close();
+            }
+        });
+        return result;
+    }
+
+    private List<String> split(TextToSpeechRequest request) {
+        TtsVoiceProperties.Chunking chunking = properties.getChunking();
+        TextToSpeechFormat format = request.getFormat() != null ? request.getFormat() : TextToSpeechFormat.MP3;
+        return chunking.isEnabled() && format == TextToSpeechFormat.MP3
+                && request.getTranscript().length() > chunking.getMinInputChars()
+                ? SpeechTextSplitter.split(request.getTranscript(), chunking.getTargetChars(), chunking.getMaxChars())
+                : List.of(request.getTranscript());
+    }
+
+    private int lanes(List<String> chunks) {
+        return Math.max(1, Math.min(properties.getChunking().getMaxParallelChunks(), chunks.size()));
+    }
+
+    /**
+     * Starts {@code call} once {@code trigger} completes. Unlike {@code thenCompose}, cancelling the result also
+     * cancels the call, and a stream arriving after cancellation is closed.
+     */
+    private static CompletableFuture<TextToSpeechStream> startAfter(
+            CompletableFuture<Void> trigger, Supplier<CompletableFuture<TextToSpeechStream>> call) {
+        CompletableFuture<TextToSpeechStream> result = new CompletableFuture<>();
+        trigger.thenRun(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            CompletableFuture<TextToSpeechStream> started = call.get();
+            FutureUtils.cancelling(started, result);
+            started.whenComplete((stream, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else if (!result.complete(stream)) {
+                    closeQuietly(stream);
+                }
+            });
+        });
+        return result;
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            log.debug("Failed to close speech chunk stream: {}", e.getMessage());
+        }
+    }
+
+    static TextToSpeechResult stitch(List<TextToSpeechResult> results, long processingTimeMs) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        double durationSeconds = 0;
+        double estimatedDurationSeconds = 0;
+        for (int i = 0; i < results.size(); i++) {
+            TextToSpeechResult result = results.get(i);
+            Mp3Frames frames = Mp3Frames.parse(result.getAudioBytes() != null ? result.getAudioBytes() : new byte[0]);
+            if (frames.count() == 0) {
+                throw TechnicalException.of(TechnicalException.Code.AI_SERVICE_ERROR)
+                        .with("chunk", String.valueOf(i))
+                        .with("error", "Speech chunk is not MP3 audio")
+                        .build();
+            }
+            // Tags and the VBR header frame of each chunk are dropped; they would describe the chunk, not the file
+            frames.writeTo(out, 0, frames.count());
+            durationSeconds += frames.durationSeconds();
+            estimatedDurationSeconds += result.getEstimatedDurationSeconds() != null ? result.getEstimatedDurationSeconds() : 0;
+        }
+
+        byte[] audio = out.toByteArray();
+        TextToSpeechResult first = results.get(0);
+        String requestIds = results.stream()
+                .map(TextToSpeechResult::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(","));
+        return TextToSpeechResult.builder()
+                .audioBytes(audio)
+                .mediaType(first.getMediaType())
+                .fileExtension(first.getFileExtension())
+                .provider(first.getProvider())
+                .model(first.getModel())
+                .voice(first.getVoice())
+                .processingTimeMs(processingTimeMs)
+                .sizeBytes((long) audio.length)
+                .estimatedDurationSeconds(Math.round(estimatedDurationSeconds * 10.0) / 10.0)
+                .durationSeconds(Math.round(durationSeconds * 100.0) / 100.0)
+                .requestId(requestIds.isEmpty() ? null : requestIds)
+                .build();
+    }
+
+    /**
+     * Reads the chunk streams in order, waiting for each one to arrive. Not thread safe; it has a single reader.
+     */
+    private static final class ChunkSequenceInputStream extends InputStream {
+
+        private final Long referenceId;
+        private final List<CompletableFuture<TextToSpeechStream>> chunks;
+        private final List<CompletableFuture<Void>> consumed;
+        private final long start = System.currentTimeMillis();
+
+        private int index;
+        private TextToSpeechStream current;
+        private long finishedBytes;
+        private double finishedSeconds;
+        private boolean closed;
+
+        private ChunkSequenceInputStream(Long referenceId, List<CompletableFuture<TextToSpeechStream>> chunks,
+                                         List<CompletableFuture<Void>> consumed) {
+            this.referenceId = referenceId;
+            this.chunks = chunks;
+            this.consumed = consumed;
+        }
+
+        long bytesRead() {
+            return finishedBytes + (current != null ? current.getSizeBytes() : 0);
+        }
+
+        double secondsRead() {
+            Double currentSeconds = current != null ? current.getDurationSeconds() : null;
+            return finishedSeconds + (currentSeconds != null ? currentSeconds : 0);
+        }
+
+        @Override
+        public int read() throws IOException {
+            while (nextChunk()) {
+                int value = current.getAudio().read();
+                if (value >= 0) {
+                    return value;
+                }
+                finishChunk();
+            }
+            return -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (nextChunk()) {
+                int read = current.getAudio().read(target, offset, length);
+                if (read >= 0) {
+                    return read;
+                }
+                finishChunk();
+            }
+            return -1;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (current != null) {
+                closeQuietly(current);
+                current = null;
+            }
+            for (int i = index; i < chunks.size(); i++) {
+                CompletableFuture<TextToSpeechStream> chunk = chunks.get(i);
+                chunk.cancel(true);
+                // Already arrived, so the cancel was a no-op
+                chunk.thenAccept(ChunkedSpeechSynthesizer::closeQuietly);
+            }
+        }
+
+        /** Makes {@link #current} the chunk to read from; false once all chunks are read. */
+        private boolean nextChunk() throws IOException {
+            if (closed) {
+                throw new IOException("Speech stream closed");
+            }
+            if (current != null) {
+                return true;
+            }
+            if (index == chunks.size()) {
+                return false;
+            }
+            try {
+                current = chunks.get(index).join();
+                return true;
+            } catch (CompletionException | CancellationException e) {
+                throw new IOException("Speech chunk " + index + " failed: " + FutureUtils.unwrap(e).getMessage(),
+                        FutureUtils.unwrap(e));
+            }
+        }
+
+        private void finishChunk() {
+            finishedBytes += current.getSizeBytes();
+            Double seconds = current.getDurationSeconds();
+            finishedSeconds += seconds != null ? seconds : 0;
+            closeQuietly(current);
+            current = null;
+            // Lets the lane start its next chunk
+            consumed.get(index++).complete(null);
+
+            if (index == chunks.size()) {
+                log.info("Chunked TTS stream for refId={} completed: {} chunks, {} s audio, {} bytes, {} ms",
+                        referenceId, chunks.size(), Math.round(finishedSeconds * 100.0) / 100.0,
+                        finishedBytes, System.currentTimeMillis() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.notecastai.integration.ai.audio;
+
+import com.notecastai.common.util.FutureUtils;
+import com.notecastai.config.AiTranscriptionProperties;
+import com.notecastai.integration.ai.dto.SegmentTimestamp;
+import com.notecastai.integration.ai.dto.TranscriptionMetadata;
+import com.notecastai.integration.ai.dto.TranscriptionResult;
+import com.notecastai.integration.ai.dto.WordTimestamp;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Transcribes long recordings as parallel chunks from {@link AudioSegmenter} and merges the results back into
+ * one {@link TranscriptionResult}, so wall-clock time follows the longest chunk rather than the whole file.
+ * <p>
+ * Word and segment timestamps are shifted to the original timeline and kept only by the chunk whose keep range
+ * holds their midpoint. The transcript text drops the words a chunk repeats from the end of its predecessor.
+ * Cancelling the returned future cancels the chunks in flight, and lanes start no further chunks.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChunkedTranscriber {
+
+    /** Shortest run of repeated words treated as overlap rather than coincidence. */
+    private static final int MIN_OVERLAP_WORDS = 2;
+    private static final int MAX_OVERLAP_WORDS = 40;
+
+    private final AiTranscriptionProperties properties;
+
+    /**
+     * @param transcribeChunk transcribes one self-contained chunk; called once per chunk, or once with the original
+     *                        bytes when the recording is not split
+     */
+    public CompletableFuture<TranscriptionResult> transcribe(
+            byte[] audio,
+            String filename,
+            String contentType,
+            Function<AudioSegment, CompletableFuture<TranscriptionResult>> transcribeChunk
+    ) {
+        AiTranscriptionProperties.Chunking chunking = properties.getChunking();
+        List<AudioSegment> segments = chunking.isEnabled()
+                ? AudioSegmenter.split(audio, contentType, filename,
+                        chunking.getWindow().toMillis() / 1000.0,
+                        chunking.getOverlap().toMillis() / 1000.0,
+                        chunking.getSilenceSearch().toMillis() / 1000.0)
+                : List.of(AudioSegment.builder().audio(audio).keepUntilSeconds(Double.POSITIVE_INFINITY).build());
+
+        if (segments.size() == 1) {
+            return transcribeChunk.apply(segments.get(0));
+        }
+
+        long start = System.currentTimeMillis();
+
+        // Chunks are spread over a fixed number of lanes; each lane starts its next chunk when the previous one completes
+        int lanes = Math.max(1, Math.min(chunking.getMaxParallelChunks(), segments.size()));
+        List<CompletableFuture<TranscriptionResult>> futures = new ArrayList<>(segments.size());
+        for (int i = 0; i < segments.size(); i++) {
+            AudioSegment segment = segments.get(i);
+            futures.add(i < lanes
+                    ? transcribeChunk.apply(segment)
+                    : futures.get(i - lanes).thenCompose(previous -> transcribeChunk.apply(segment)));
+        }
+
+        CompletableFuture<TranscriptionResult> result = CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    List<TranscriptionResult> results = futures.stream().map(CompletableFuture::join).toList();
+                    TranscriptionResult merged = merge(segments, results, System.currentTimeMillis() - start);
+
+                    log.info("Chunked transcription of {} completed: {} chunks, {} s audio, {} ms",
+                            filename, segments.size(), merged.getDurationSeconds(),
+                            merged.getMetadata() != null ? merged.getMetadata().getProcessingTimeMs() : null);
+                    return merged;
+                });
+        futures.forEach(future -> FutureUtils.cancelling(future, result));
+        return result;
+    }
+
+    public static TranscriptionResult merge(List<AudioSegment> segments, List<TranscriptionResult> results, long processingTimeMs) {
+        List<WordTimestamp> words = new ArrayList<>();
+        List<SegmentTimestamp> segmentTimestamps = new ArrayList<>();
+        boolean allWords = true;
+        boolean allSegments = true;
+        List<String> transcriptWords = new ArrayList<>();
+        String language = null;
+
+        for (int i = 0; i < segments.size(); i++) {
+            AudioSegment segment = segments.get(i);
+            TranscriptionResult result = results.get(i);
+            double offset = segment.getStartSeconds();
+
+            if (result.getWordTimestamps() != null) {
+                for (WordTimestamp word : result.getWordTimestamps()) {
+                    if (word.getStartTime() == null || word.getEndTime() == null) {
+                        continue;
+                    }
+                    double startTime = word.getStartTime() + offset;
+                    double endTime = word.getEndTime() + offset;
+                    if (segment.keeps(startTime, endTime)) {
+                        words.add(new WordTimestamp(word.getWord(), startTime, endTime));
+                    }
+                }
+            } else {
+                allWords = false;
+            }
+
+            if (result.getSegmentTimestamps() != null) {
+                for (SegmentTimestamp timestamp : result.getSegmentTimestamps()) {
+                    if (timestamp.getStartTime() == null || timestamp.getEndTime() == null) {
+                        continue;
+                    }
+                    double startTime = timestamp.getStartTime() + offset;
+                    double endTime = timestamp.getEndTime() + offset;
+                    if (segment.keeps(startTime, endTime)) {
+                        segmentTimestamps.add(SegmentTimestamp.builder()
+                                .id(segmentTimestamps.size())
+                                .text(timestamp.getText())
+                                .startTime(startTime)
+                                .endTime(endTime)
+                                .averageLogProbability(timestamp.getAverageLogProbability())
+                                .compressionRatio(timestamp.getCompressionRatio())
+                                .noSpeechProbability(timestamp.getNoSpeechProbability())
+                                .build());
+                    }
+                }
+            } else {
+                allSegments = false;
+            }
+
+            appendWithoutOverlap(transcriptWords, result.getTranscript());
+            if (language == null) {
+                language = result.getLanguage();
+            }
+        }
+
+        AudioSegment last = segments.get(segments.size() - 1);
+        TranscriptionMetadata firstMetadata = results.get(0).getMetadata();
+
+        return TranscriptionResult.builder()
+                .transcript(String.join(" ", transcriptWords))
+                .language(language)
+                .durationSeconds((int) Math.round(last.getEndSeconds()))
+                .wordTimestamps(allWords ? words : null)
+                .segmentTimestamps(allSegments ? segmentTimestamps : null)
+                .metadata(TranscriptionMetadata.builder()
+                        .modelUsed(firstMetadata != null ? firstMetadata.getModelUsed() : null)
+                        .provider(firstMetadata != null ? firstMetadata.getProvider() : null)
+                        .processingTimeMs(processingTimeMs)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Appends {@code text} to {@code words}, skipping its longest prefix that repeats the current ending.
+     */
+    static void appendWithoutOverlap(List<String> words, String text) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        List<String> next = Arrays.asList(text.trim().split("\\s+"));
+
+        int overlap = 0;
+        int longest = Math.min(MAX_OVERLAP_WORDS, Math.min(words.size(), next.size()));
+        for (int length = longest; length >= MIN_OVERLAP_WORDS; length--) {
+            if (sameWords(words.subList(words.size() - length, words.size()), next.subList(0, length))) {
+                overlap = length;
+                break;
+            }
+        }
+        words.addAll(next.subList(overlap, next.size()));
+    }
+
+    private static boolean sameWords(List<String> left, List<String> right) {
+        for (int i = 0; i < left.size(); i++) {
+            if (!normalize(left.get(i)).equals(normalize(right.get(i)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(String word) {
+        return word.replaceAll("[^\\p{L}\\p{N}]", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,158 @@
+package com.notecastai.integration.ai.audio;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming counterpart of {@link AudioSegmenter} for audio that is still being recorded: takes 16-bit mono
+ * little-endian PCM in pieces of any size and closes a window as soon as enough audio follows its target end to
+ * move the cut to the quietest 20 ms within the silence search range and add half the overlap after it. Windows
+ * come out as WAV files with the same keep ranges as {@link AudioSegmenter#split}, so their transcripts merge with
+ * {@link ChunkedTranscriber#merge}. Only the audio from half an overlap before the last cut on is buffered.
+ * <p>
+ * Not thread-safe; one instance follows one recording.
+ */
+public class LiveAudioSegmenter {
+
+    private static final int BYTES_PER_FRAME = 2;
+    private static final double ANALYSIS_WINDOW_SECONDS = 0.02;
+
+    private final int sampleRate;
+    private final long windowFrames;
+    private final long marginFrames;
+    private final long searchFrames;
+
+    private byte[] buffer = new byte[64 * 1024];
+    /** Bytes in {@link #buffer}, which starts at frame {@link #bufferStartFrame} of the recording. */
+    private int buffered;
+    private long bufferStartFrame;
+    /** The last cut; the next window is authoritative from here. */
+    private long keepFromFrame;
+    private int index;
+
+    public LiveAudioSegmenter(int sampleRate, double windowSeconds, double overlapSeconds, double silenceSearchSeconds) {
+        this.sampleRate = sampleRate;
+        this.windowFrames = Math.max(1, Math.round(windowSeconds * sampleRate));
+        this.marginFrames = Math.round(overlapSeconds / 2 * sampleRate);
+        this.searchFrames = Math.round(Math.min(silenceSearchSeconds, windowSeconds / 2) * sampleRate);
+    }
+
+    /**
+     * Appends recorded PCM and returns the windows it closes, usually none.
+     */
+    public List<AudioSegment> append(byte[] pcm, int offset, int length) {
+        if (buffered + length > buffer.length) {
+            byte[] grown = new byte[Math.max(buffer.length * 2, buffered + length)];
+            System.arraycopy(buffer, 0, grown, 0, buffered);
+            buffer = grown;
+        }
+        System.arraycopy(pcm, offset, buffer, buffered, length);
+        buffered += length;
+
+        List<AudioSegment> closed = new ArrayList<>();
+        while (endFrame() >= keepFromFrame + windowFrames + searchFrames + marginFrames) {
+            long target = keepFromFrame + windowFrames;
+            long cut = quietestFrameNear(target);
+            if (cut <= keepFromFrame + marginFrames) {
+                cut = target;
+            }
+            closed.add(segment(keepFromFrame, cut, false));
+            keepFromFrame = cut;
+            discardBefore(cut - marginFrames);
+        }
+        return closed;
+    }
+
+    /**
+     * The last window, reaching to the end of the recording; null when nothing was recorded.
+     */
+    public AudioSegment finish() {
+        return endFrame() > keepFromFrame ? segment(keepFromFrame, endFrame(), true) : null;
+    }
+
+    public double durationSeconds() {
+        return (double) endFrame() / sampleRate;
+    }
+
+    /**
+     * Header of a WAV file holding {@code dataBytes} of 16-bit mono PCM.
+     */
+    public static byte[] wavHeader(int sampleRate, long dataBytes) {
+        return ByteBuffer.allocate(44).order(ByteOrder.LITTLE_ENDIAN)
+                .put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt((int) (36 + dataBytes))
+                .put("WAVE".getBytes(StandardCharsets.US_ASCII))
+                .put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16)
+                .putShort((short) 1)                              // PCM
+                .putShort((short) 1)                              // mono
+                .putInt(sampleRate)
+                .putInt(sampleRate * BYTES_PER_FRAME)             // byte rate
+                .putShort((short) BYTES_PER_FRAME)                // block align
+                .putShort((short) 16)                             // bits per sample
+                .put("data".getBytes(StandardCharsets.US_ASCII)).putInt((int) dataBytes)
+                .array();
+    }
+
+    private long endFrame() {
+        return bufferStartFrame + buffered / BYTES_PER_FRAME;
+    }
+
+    private AudioSegment segment(long keepFrom, long keepUntil, boolean last) {
+        long from = Math.max(bufferStartFrame, keepFrom - marginFrames);
+        long to = last ? keepUntil : Math.min(endFrame(), keepUntil + marginFrames);
+        int dataLength = (int) (to - from) * BYTES_PER_FRAME;
+
+        byte[] audio = new byte[44 + dataLength];
+        System.arraycopy(wavHeader(sampleRate, dataLength), 0, audio, 0, 44);
+        System.arraycopy(buffer, (int) (from - bufferStartFrame) * BYTES_PER_FRAME, audio, 44, dataLength);
+
+        return AudioSegment.builder()
+                .index(index++)
+                .audio(audio)
+                .startSeconds((double) from / sampleRate)
+                .endSeconds((double) to / sampleRate)
+                .keepFromSeconds((double) keepFrom / sampleRate)
+                .keepUntilSeconds(last ? Double.POSITIVE_INFINITY : (double) keepUntil / sampleRate)
+                .build();
+    }
+
+    /** Centre of the quietest analysis window within the silence search range around {@code target}. */
+    private long quietestFrameNear(long target) {
+        if (searchFrames <= 0) {
+            return target;
+        }
+        int window = Math.max(1, (int) (sampleRate * ANALYSIS_WINDOW_SECONDS));
+        long from = Math.max(bufferStartFrame, target - searchFrames);
+        long to = Math.max(from, Math.min(endFrame(), target + searchFrames) - window);
+
+        long quietest = target;
+        long lowestEnergy = Long.MAX_VALUE;
+        for (long start = from; start <= to; start += window / 2 + 1) {
+            long energy = 0;
+            for (long frame = start; frame < start + window && frame < endFrame(); frame++) {
+                int position = (int) (frame - bufferStartFrame) * BYTES_PER_FRAME;
+                energy += Math.abs((short) ((buffer[position] & 0xFF) | (buffer[position + 1] << 8)));
+            }
+            long center = start + window / 2;
+            // Equally quiet spots (e.g. a long pause) are resolved towards the target
+            if (energy < lowestEnergy
+                    || energy == lowestEnergy && Math.abs(center - target) < Math.abs(quietest - target)) {
+                lowestEnergy = energy;
+                quietest = center;
+            }
+        }
+        return quietest;
+    }
+
+    private void discardBefore(long frame) {
+        int drop = (int) (frame - bufferStartFrame) * BYTES_PER_FRAME;
+        if (drop <= 0) {
+            return;
+        }
+        System.arraycopy(buffer, drop, buffer, 0, buffered - drop);
+        buffered -= drop;
+        bufferStartFrame = frame;
+    }
+}
@@ -0,0 +1,170 @@
+package com.notecastai.integration.ai.audio;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streaming counterpart of {@link Mp3Frames}: passes only the MPEG audio frames of the wrapped stream through,
+ * dropping a leading ID3v2 tag, a leading Xing/Info/VBRI header frame and any junk between frames, and counts
+ * the bytes and playback time of the frames read so far. Buffers a single frame, so streams of any length pass
+ * through in constant memory, and outputs of several instances can be concatenated into one playable file.
+ */
+public class Mp3FrameInputStream extends FilterInputStream {
+
+    /** Larger than the longest valid frame (Layer II, 384 kbit/s, 32 kHz: 1728 bytes). */
+    private static final int BUFFER_BYTES = 4096;
+    private static final int ID3V2_HEADER_BYTES = 10;
+
+    private final byte[] buffer = new byte[BUFFER_BYTES];
+    /** Bytes in {@link #buffer}; the current frame occupies {@code [0, frameLength)}. */
+    private int buffered;
+    private int frameLength;
+    private int position;
+    private boolean started;
+    private boolean firstFrame = true;
+
+    private long bytesRead;
+    private double secondsRead;
+
+    public Mp3FrameInputStream(InputStream in) {
+        super(in);
+    }
+
+    /** Bytes of audio frames returned by {@code read} so far. */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /** Playback time of the frames returned by {@code read} so far. */
+    public double getSecondsRead() {
+        return secondsRead;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == frameLength && !nextFrame()) {
+            return -1;
+        }
+        bytesRead++;
+        return buffer[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] target, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        int total = 0;
+        while (total < length) {
+            if (position == frameLength && (total > 0 && in.available() <= 0 || !nextFrame())) {
+                break;
+            }
+            int count = Math.min(length - total, frameLength - position);
+            System.arraycopy(buffer, position, target, offset + total, count);
+            position += count;
+            total += count;
+        }
+        bytesRead += total;
+        return total == 0 ? -1 : total;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && read() >= 0) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return frameLength - position;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    /** Moves the next frame to the start of the buffer; false at the end of the stream. */
+    private boolean nextFrame() throws IOException {
+        discard(frameLength);
+        frameLength = 0;
+        position = 0;
+
+        if (!started) {
+            started = true;
+            if (fill(ID3V2_HEADER_BYTES)) {
+                skipBytes(Mp3Frames.id3v2Length(buffer));
+            }
+        }
+
+        while (fill(4)) {
+            int[] frame = Mp3Frames.frameAt(buffer, 0);
+            if (frame == null || frame[0] < 4 || frame[0] > BUFFER_BYTES) {
+                discard(1);
+                continue;
+            }
+            if (!fill(frame[0])) {
+                // Truncated last frame
+                return false;
+            }
+            if (firstFrame) {
+                firstFrame = false;
+                if (Mp3Frames.isVbrHeader(buffer, 0, frame[0])) {
+                    discard(frame[0]);
+                    continue;
+                }
+            }
+            frameLength = frame[0];
+            secondsRead += (double) frame[1] / frame[2];
+            return true;
+        }
+        return false;
+    }
+
+    /** Reads until {@code count} bytes are buffered; false if the stream ends first. */
+    private boolean fill(int count) throws IOException {
+        while (buffered < count) {
+            int read = in.read(buffer, buffered, count - buffered);
+            if (read < 0) {
+                return false;
+            }
+            buffered += read;
+        }
+        return true;
+    }
+
+    private void discard(int count) {
+        System.arraycopy(buffer, count, buffer, 0, buffered - count);
+        buffered -= count;
+    }
+
+    /** Skips {@code count} bytes of the wrapped stream, starting with what is buffered. */
+    private void skipBytes(long count) throws IOException {
+        int fromBuffer = (int) Math.min(count, buffered);
+        discard(fromBuffer);
+        long remaining = count - fromBuffer;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    return;
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+}
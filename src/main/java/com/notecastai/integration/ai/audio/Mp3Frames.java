@@ -0,0 +1,190 @@
+package com.notecastai.integration.ai.audio;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Frame index of MPEG audio (MP3 and its Layer I/II siblings): where every frame starts, how long it is and when
+ * it plays. ID3v2 tags and a leading Xing/Info/VBRI header frame are left out; junk between frames is skipped by
+ * resyncing on two consecutive valid headers. Frames are self-contained, so files can be cut and joined at frame
+ * boundaries without re-encoding, and the duration read from the headers is exact.
+ */
+public final class Mp3Frames {
+
+    private static final int[] SAMPLE_RATES = {44_100, 48_000, 32_000};
+    private static final int[][] BITRATES_V1 = {
+            {0, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448}, // Layer I
+            {0, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384},    // Layer II
+            {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320}      // Layer III
+    };
+    private static final int[][] BITRATES_V2 = {
+            {0, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256},    // Layer I
+            {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160},         // Layer II
+            {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160}          // Layer III
+    };
+
+    private final byte[] audio;
+    private final int[] offsets;
+    private final int[] lengths;
+    /** Start time of every frame plus the end time of the last one. */
+    private final double[] times;
+
+    private Mp3Frames(byte[] audio, int[] offsets, int[] lengths, double[] times) {
+        this.audio = audio;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.times = times;
+    }
+
+    /**
+     * Indexes the frames of {@code audio}; the result has no frames when the bytes are not MPEG audio.
+     */
+    public static Mp3Frames parse(byte[] audio) {
+        List<int[]> frames = new ArrayList<>();
+        int offset = skipId3v2(audio);
+        while (offset + 4 <= audio.length) {
+            int[] frame = frameAt(audio, offset);
+            if (frame == null || offset + frame[0] > audio.length) {
+                offset = resync(audio, offset + 1);
+                if (offset < 0) {
+                    break;
+                }
+                continue;
+            }
+            frames.add(new int[]{offset, frame[0], frame[1], frame[2]});
+            offset += frame[0];
+        }
+        if (!frames.isEmpty() && isVbrHeader(audio, frames.get(0)[0], frames.get(0)[1])) {
+            frames.remove(0);
+        }
+
+        int[] offsets = new int[frames.size()];
+        int[] lengths = new int[frames.size()];
+        double[] times = new double[frames.size() + 1];
+        for (int i = 0; i < frames.size(); i++) {
+            int[] frame = frames.get(i);
+            offsets[i] = frame[0];
+            lengths[i] = frame[1];
+            times[i + 1] = times[i] + (double) frame[2] / frame[3];
+        }
+        return new Mp3Frames(audio, offsets, lengths, times);
+    }
+
+    public int count() {
+        return offsets.length;
+    }
+
+    public double durationSeconds() {
+        return times[offsets.length];
+    }
+
+    /** Start time of {@code frame}; {@code count()} gives the end of the last frame. */
+    public double timeOf(int frame) {
+        return times[frame];
+    }
+
+    /** The frame boundary ({@code 0..count()}) closest to {@code seconds}. */
+    public int boundaryAt(double seconds) {
+        int index = Arrays.binarySearch(times, seconds);
+        if (index >= 0) {
+            return index;
+        }
+        int insertion = -index - 1;
+        if (insertion == 0) {
+            return 0;
+        }
+        if (insertion > offsets.length) {
+            return offsets.length;
+        }
+        return seconds - times[insertion - 1] <= times[insertion] - seconds ? insertion - 1 : insertion;
+    }
+
+    /** Writes frames {@code from} (inclusive) to {@code to} (exclusive), leaving out tags and header frames. */
+    public void writeTo(ByteArrayOutputStream out, int from, int to) {
+        for (int frame = from; frame < to; frame++) {
+            out.write(audio, offsets[frame], lengths[frame]);
+        }
+    }
+
+    /**
+     * Returns {@code {length, samples, sampleRate}} of the frame whose header starts at {@code offset}, or null.
+     */
+    static int[] frameAt(byte[] audio, int offset) {
+        if (offset + 4 > audio.length) {
+            return null;
+        }
+        int b1 = audio[offset + 1] & 0xFF;
+        int b2 = audio[offset + 2] & 0xFF;
+        if ((audio[offset] & 0xFF) != 0xFF || (b1 & 0xE0) != 0xE0) {
+            return null;
+        }
+
+        int version = (b1 >> 3) & 0x3;  // 3 = MPEG-1, 2 = MPEG-2, 0 = MPEG-2.5
+        int layerBits = (b1 >> 1) & 0x3; // 3 = Layer I, 2 = Layer II, 1 = Layer III
+        int bitrateIndex = (b2 >> 4) & 0xF;
+        int sampleRateIndex = (b2 >> 2) & 0x3;
+        if (version == 1 || layerBits == 0 || bitrateIndex == 0 || bitrateIndex == 15 || sampleRateIndex == 3) {
+            return null;
+        }
+
+        int layer = 4 - layerBits;
+        boolean mpeg1 = version == 3;
+        int sampleRate = SAMPLE_RATES[sampleRateIndex] >> (mpeg1 ? 0 : version == 2 ? 1 : 2);
+        int bitrate = (mpeg1 ? BITRATES_V1 : BITRATES_V2)[layer - 1][bitrateIndex] * 1000;
+        int padding = (b2 >> 1) & 0x1;
+
+        int samples = layer == 1 ? 384 : layer == 3 && !mpeg1 ? 576 : 1152;
+        int length = layer == 1
+                ? (12 * bitrate / sampleRate + padding) * 4
+                : samples / 8 * bitrate / sampleRate + padding;
+        return new int[]{length, samples, sampleRate};
+    }
+
+    /** Next offset holding two consecutive valid frames, or -1. */
+    private static int resync(byte[] audio, int from) {
+        for (int offset = from; offset + 4 <= audio.length; offset++) {
+            int[] frame = frameAt(audio, offset);
+            if (frame != null && (offset + frame[0] == audio.length || frameAt(audio, offset + frame[0]) != null)) {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipId3v2(byte[] audio) {
+        return Math.min(audio.length, id3v2Length(audio));
+    }
+
+    /** Total length of the ID3v2 tag starting {@code audio} (at least 10 bytes are needed), or 0 without one. */
+    static int id3v2Length(byte[] audio) {
+        if (audio.length < 10 || !new String(audio, 0, 3, StandardCharsets.ISO_8859_1).equals("ID3")) {
+            return 0;
+        }
+        int size = (audio[6] & 0x7F) << 21 | (audio[7] & 0x7F) << 14 | (audio[8] & 0x7F) << 7 | (audio[9] & 0x7F);
+        boolean footer = (audio[5] & 0x10) != 0;
+        return 10 + size + (footer ? 10 : 0);
+    }
+
+    /**
+     * Whether the frame at {@code offset} is a Xing/Info/VBRI header describing the file rather than audio. A Xing or
+     * Info tag follows the side information, whose size depends on the version and channel mode; a VBRI tag is
+     * always 32 bytes after the header. The same letters anywhere else are just audio data.
+     */
+    static boolean isVbrHeader(byte[] audio, int offset, int length) {
+        boolean mpeg1 = ((audio[offset + 1] & 0xFF) >> 3 & 0x3) == 3;
+        boolean mono = ((audio[offset + 3] & 0xFF) >> 6) == 3;
+        int xingOffset = 4 + (mpeg1 ? (mono ? 17 : 32) : (mono ? 9 : 17));
+        return hasTag(audio, offset, length, xingOffset, "Xing")
+                || hasTag(audio, offset, length, xingOffset, "Info")
+                || hasTag(audio, offset, length, 36, "VBRI");
+    }
+
+    private static boolean hasTag(byte[] audio, int offset, int length, int at, String tag) {
+        int end = at + tag.length();
+        return end <= length && offset + end <= audio.length
+                && new String(audio, offset + at, tag.length(), StandardCharsets.ISO_8859_1).equals(tag);
+    }
+}
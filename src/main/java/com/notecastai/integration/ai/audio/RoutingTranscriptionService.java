@@ -0,0 +1,337 @@
+package com.notecastai.integration.ai.audio;
+
+import com.notecastai.common.exeption.BusinessException;
+import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.common.util.FutureUtils;
+import com.notecastai.config.AiTranscriptionProperties;
+import com.notecastai.config.AiTranscriptionProperties.Routing.Policy;
+import com.notecastai.integration.ai.TranscriptionService;
+import com.notecastai.integration.ai.dto.TranscriptionResult;
+import com.notecastai.integration.ai.telemetry.AiUsageScope;
+import com.notecastai.voicenote.api.dto.TranscriptionLanguage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link TranscriptionService} over the providers listed in {@code ai.transcription.routing}.
+ * <p>
+ * {@code FALLBACK} calls the providers in order until one succeeds. {@code HEDGED} also starts the next provider
+ * once the current one has run longer than its observed p90, so only the slow tail is paid for twice; until a
+ * provider has enough samples it is not hedged. {@code RACE} starts every provider at once. The first success
+ * wins and the other calls are cancelled, which stops their retries and remaining chunks. A
+ * {@link BusinessException} ends the call without trying further providers.
+ * <p>
+ * Every win is counted under {@code ai.transcription.routing.wins} by provider and role. When a backup wins while
+ * the primary is still running, the time saved is estimated from the primary's latency distribution (the first
+ * percentile above how long it had already run) and recorded as {@code ai.transcription.routing.saved}.
+ */
+@Slf4j
+@Service("routingTranscriptionService")
+public class RoutingTranscriptionService implements TranscriptionService {
+
+    private final AiTranscriptionProperties properties;
+    private final Map<String, TranscriptionService> services;
+    private final MeterRegistry meterRegistry;
+    private final AudioBytes audioBytes;
+
+    public RoutingTranscriptionService(AiTranscriptionProperties properties, Map<String, TranscriptionService> services,
+                                       MeterRegistry meterRegistry, AudioBytes audioBytes) {
+        this.properties = properties;
+        this.services = services;
+        this.meterRegistry = meterRegistry;
+        this.audioBytes = audioBytes;
+    }
+
+    @Override
+    public CompletableFuture<TranscriptionResult> transcribeAudioFile(
+            InputStream audioStream,
+            String filename,
+            String contentType,
+            TranscriptionLanguage language
+    ) {
+        List<String> providers = properties.getRouting().getProviders().stream()
+                .filter(name -> services.containsKey(name) && services.get(name) != this)
+                .distinct()
+                .toList();
+        if (providers.isEmpty()) {
+            throw TechnicalException.of(TechnicalException.Code.AI_SERVICE_ERROR)
+                    .with("providers", String.valueOf(properties.getRouting().getProviders()))
+                    .with("error", "No transcription provider available")
+                    .build();
+        }
+        if (providers.size() == 1) {
+            return services.get(providers.get(0)).transcribeAudioFile(audioStream, filename, contentType, language);
+        }
+
+        // Read once; every provider is handed the same array
+        byte[] audio = audioBytes.read(audioStream, filename);
+        return new RoutedCall(properties.getRouting().getPolicy(), providers, audio, filename, contentType, language)
+                .start();
+    }
+
+    /**
+     * State of one routed transcription. Attempts are launched and settled under {@link #lock}; the winner is
+     * completed outside it so the caller's continuations never run while other attempts wait for the lock.
+     */
+    private final class RoutedCall {
+
+        private final Policy policy;
+        private final List<String> providers;
+        private final byte[] audio;
+        private final String filename;
+        private final String contentType;
+        private final TranscriptionLanguage language;
+        // Hedges and fallbacks start on timer and completion threads, so the caller's user is captured here
+        private final Long userId = AiUsageScope.currentUserId();
+
+        private final CompletableFuture<TranscriptionResult> winner = new CompletableFuture<>();
+        private final List<Attempt> attempts = new ArrayList<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private int next;
+        private boolean decided;
+
+        RoutedCall(Policy policy, List<String> providers, byte[] audio, String filename, String contentType,
+                   TranscriptionLanguage language) {
+            this.policy = policy;
+            this.providers = providers;
+            this.audio = audio;
+            this.filename = filename;
+            this.contentType = contentType;
+            this.language = language;
+        }
+
+        CompletableFuture<TranscriptionResult> start() {
+            winner.whenComplete((result, error) -> {
+                if (winner.isCancelled()) {
+                    decide();
+                    cancelPending(null);
+                }
+            });
+
+            lock.lock();
+            try {
+                do {
+                    launch();
+                } while (policy == Policy.RACE && next < providers.size() && !decided);
+            } finally {
+                lock.unlock();
+            }
+            return winner;
+        }
+
+        /** Starts the next provider; called with {@link #lock} held. */
+        private void launch() {
+            String provider = providers.get(next);
+            Attempt attempt = new Attempt(provider, next++, System.nanoTime());
+            attempts.add(attempt);
+
+            try (AiUsageScope ignored = AiUsageScope.open(userId)) {
+                attempt.future = services.get(provider)
+                        .transcribeAudioFile(AudioBytes.stream(audio), filename, contentType, language);
+            } catch (RuntimeException e) {
+                attempt.future = CompletableFuture.failedFuture(e);
+            }
+
+            if (policy == Policy.HEDGED && next < providers.size()) {
+                Long hedgeDelayMs = hedgeDelayMs(provider);
+                if (hedgeDelayMs != null) {
+                    CompletableFuture.delayedExecutor(hedgeDelayMs, TimeUnit.MILLISECONDS)
+                            .execute(() -> hedge(attempt, hedgeDelayMs));
+                }
+            }
+
+            attempt.future.whenComplete((result, error) -> settle(attempt, result, error));
+        }
+
+        private void hedge(Attempt attempt, long hedgeDelayMs) {
+            lock.lock();
+            try {
+                // Skip if the attempt has finished or already failed over to the next provider
+                if (decided || attempt.future.isDone() || attempts.get(attempts.size() - 1) != attempt
+                        || next >= providers.size()) {
+                    return;
+                }
+                String hedgeProvider = providers.get(next);
+                counter("ai.transcription.routing.hedges", hedgeProvider, "launched").increment();
+                log.info("Transcription of {}: {} exceeded p90 ({} ms), hedging with {}",
+                        filename, attempt.provider, hedgeDelayMs, hedgeProvider);
+                launch();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void settle(Attempt attempt, TranscriptionResult result, Throwable error) {
+            long elapsedNanos = System.nanoTime() - attempt.startNanos;
+            Throwable cause = error != null ? FutureUtils.unwrap(error) : null;
+            if (error == null) {
+                latencyTimer(attempt.provider).record(elapsedNanos, TimeUnit.NANOSECONDS);
+                record(attempt.provider, "success");
+            } else {
+                record(attempt.provider, cause instanceof CancellationException ? "cancelled" : "failure");
+            }
+
+            RuntimeException failure = null;
+            lock.lock();
+            try {
+                if (decided || cause instanceof CancellationException) {
+                    return;
+                }
+                if (error != null) {
+                    failure = FutureUtils.propagate(error);
+                    if (!(failure instanceof BusinessException)) {
+                        if (next < providers.size()) {
+                            log.warn("Transcription of {}: {} failed ({}), falling back to {}",
+                                    filename, attempt.provider, failure.getMessage(), providers.get(next));
+                            launch();
+                            return;
+                        }
+                        if (attempts.stream().anyMatch(other -> !other.future.isDone())) {
+                            log.warn("Transcription of {}: {} failed ({}), waiting for the other providers",
+                                    filename, attempt.provider, failure.getMessage());
+                            return;
+                        }
+                    }
+                }
+                decided = true;
+            } finally {
+                lock.unlock();
+            }
+
+            if (failure == null) {
+                recordWin(attempt);
+                winner.complete(result);
+            } else {
+                winner.completeExceptionally(failure);
+            }
+            cancelPending(attempt);
+        }
+
+        private void recordWin(Attempt attempt) {
+            boolean primary = attempt.index == 0;
+            Counter.builder("ai.transcription.routing.wins")
+                    .tag("policy", policy.name().toLowerCase(Locale.ROOT))
+                    .tag("provider", attempt.provider)
+                    .tag("role", primary ? "primary" : "backup")
+                    .register(meterRegistry)
+                    .increment();
+            if (primary) {
+                return;
+            }
+
+            Attempt first = attempts.get(0);
+            if (first.future.isDone()) {
+                log.info("Transcription of {} served by fallback {}", filename, attempt.provider);
+                return;
+            }
+            long runningNanos = System.nanoTime() - first.startNanos;
+            Double expectedNanos = expectedLatencyNanos(first.provider, runningNanos);
+            log.info("Transcription of {} served by {} while {} was still running after {} ms",
+                    filename, attempt.provider, first.provider, TimeUnit.NANOSECONDS.toMillis(runningNanos));
+            if (expectedNanos != null) {
+                Timer.builder("ai.transcription.routing.saved")
+                        .tag("policy", policy.name().toLowerCase(Locale.ROOT))
+                        .tag("provider", attempt.provider)
+                        .register(meterRegistry)
+                        .record((long) (expectedNanos - runningNanos), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void decide() {
+            lock.lock();
+            try {
+                decided = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** Called once {@link #decided} is set, when no further attempts can be added. */
+        private void cancelPending(Attempt except) {
+            for (Attempt attempt : attempts) {
+                if (attempt != except && !attempt.future.isDone()) {
+                    attempt.future.cancel(true);
+                }
+            }
+        }
+    }
+
+    private static final class Attempt {
+        private final String provider;
+        private final int index;
+        private final long startNanos;
+        private CompletableFuture<TranscriptionResult> future;
+
+        private Attempt(String provider, int index, long startNanos) {
+            this.provider = provider;
+            this.index = index;
+            this.startNanos = startNanos;
+        }
+    }
+
+    private Long hedgeDelayMs(String provider) {
+        Timer timer = latencyTimer(provider);
+        if (timer.count() < properties.getRouting().getMinSamples()) {
+            return null;
+        }
+
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.9) {
+                long p90 = (long) percentile.value(TimeUnit.MILLISECONDS);
+                return Math.max(p90, properties.getRouting().getMinHedgeDelay().toMillis());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The lowest published latency percentile of {@code provider} above {@code runningNanos}, or null when the
+     * provider has too few samples or has already run past all of them.
+     */
+    private Double expectedLatencyNanos(String provider, long runningNanos) {
+        Timer timer = latencyTimer(provider);
+        if (timer.count() < properties.getRouting().getMinSamples()) {
+            return null;
+        }
+
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            double value = percentile.value(TimeUnit.NANOSECONDS);
+            if (value > runningNanos) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private Timer latencyTimer(String provider) {
+        return Timer.builder("ai.transcription.routing.latency")
+                .tag("provider", provider)
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+    }
+
+    private void record(String provider, String outcome) {
+        counter("ai.transcription.routing.attempts", provider, outcome).increment();
+    }
+
+    private Counter counter(String name, String provider, String outcome) {
+        return Counter.builder(name)
+                .tag("provider", provider)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,88 @@
+package com.notecastai.integration.ai.audio;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Splits a spoken transcript into pieces that can be synthesized independently. Cuts fall between paragraphs
+ * where possible, otherwise between sentences; only a single sentence longer than the hard limit is cut between
+ * words. Pieces are packed up to the target size, and a short remainder is folded into its predecessor.
+ */
+@UtilityClass
+public class SpeechTextSplitter {
+
+    private static final Pattern PARAGRAPH_BREAK = Pattern.compile("\\n\\s*\\n");
+    private static final Pattern SENTENCE_END = Pattern.compile("(?<=[.!?\u2026][\"'\u201D\u2019)\\]]?)\\s+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * @param targetChars preferred piece length
+     * @param maxChars    hard upper bound per piece, e.g. the provider's input limit
+     */
+    public static List<String> split(String text, int targetChars, int maxChars) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        int limit = Math.max(1, maxChars);
+        int target = Math.max(1, Math.min(targetChars, limit));
+
+        List<String> pieces = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String paragraph : PARAGRAPH_BREAK.split(text.strip())) {
+            String separator = "\n\n";
+            for (String unit : units(paragraph.strip(), target, limit)) {
+                if (current.length() > 0 && current.length() + separator.length() + unit.length() > target) {
+                    pieces.add(current.toString());
+                    current.setLength(0);
+                }
+                if (current.length() > 0) {
+                    current.append(separator);
+                }
+                current.append(unit);
+                separator = " ";
+            }
+        }
+        if (current.length() > 0) {
+            pieces.add(current.toString());
+        }
+
+        int last = pieces.size() - 1;
+        if (last > 0 && pieces.get(last).length() < target / 4
+                && pieces.get(last - 1).length() + 1 + pieces.get(last).length() <= limit) {
+            pieces.set(last - 1, pieces.get(last - 1) + " " + pieces.remove(last));
+        }
+        return pieces;
+    }
+
+    /** The paragraph itself if it fits the target, otherwise its sentences, each within the hard limit. */
+    private static List<String> units(String paragraph, int target, int limit) {
+        if (paragraph.length() <= target) {
+            return List.of(paragraph);
+        }
+        List<String> units = new ArrayList<>();
+        for (String sentence : SENTENCE_END.split(paragraph)) {
+            if (sentence.length() <= limit) {
+                units.add(sentence);
+                continue;
+            }
+            StringBuilder part = new StringBuilder();
+            for (String word : WHITESPACE.split(sentence)) {
+                if (part.length() > 0 && part.length() + 1 + word.length() > limit) {
+                    units.add(part.toString());
+                    part.setLength(0);
+                }
+                if (part.length() > 0) {
+                    part.append(' ');
+                }
+                part.append(word, 0, Math.min(word.length(), limit));
+            }
+            if (part.length() > 0) {
+                units.add(part.toString());
+            }
+        }
+        return units;
+    }
+}
@@ -0,0 +1,28 @@
+package com.notecastai.integration.ai.cache;
+
+import com.notecastai.integration.ai.AiOperation;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Everything that determines the outcome of a model call. Two keys with equal content must
+ * produce the same response, so the cache hashes the canonical JSON form of this object.
+ */
+@Value
+@Builder
+public class AiCacheKey {
+
+    AiOperation operation;
+
+    /** Optional partition, e.g. the user id when the validated response depends on user data. */
+    String scope;
+
+    /** Model, or model chain, including sampling temperature. */
+    String model;
+
+    String systemPrompt;
+    String userPrompt;
+
+    /** Structured output schema sent to the model, if any. */
+    Object schema;
+}
@@ -0,0 +1,182 @@
+package com.notecastai.integration.ai.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.notecastai.common.util.ContentHashUtil;
+import com.notecastai.config.AiCacheProperties;
+import com.notecastai.integration.ai.AiOperation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Content-addressed, two-tier cache for validated AI responses.
+ * <p>
+ * The key is a SHA-256 over the canonical JSON of an {@link AiCacheKey} (model chain with temperatures, prompts, schema),
+ * so byte-identical requests resolve to the same entry regardless of map ordering in the schema. Values are
+ * stored as JSON of the already validated response object: the in-process Caffeine tier is bounded by payload
+ * bytes, the Postgres tier by TTL and row count. Cache failures are logged and never surface to the caller;
+ * failed Postgres writes are also counted as {@code ai.cache.persist.failures}.
+ */
+@Slf4j
+@Component
+public class AiResponseCache {
+
+    /** Bump when the cached payload format changes to invalidate old entries. */
+    private static final String CACHE_FORMAT_VERSION = "v1";
+
+    private final AiResponseCacheStore store;
+    private final AiCacheProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, String> localCache;
+
+    public AiResponseCache(AiResponseCacheStore store, AiCacheProperties properties,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.localCache = Caffeine.newBuilder()
+                .maximumWeight(properties.getLocal().getMaxBytes())
+                .weigher((String key, String payload) -> payload.length())
+                .expireAfterWrite(properties.getLocal().getTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "ai.response.local");
+    }
+
+    /**
+     * Returns the cached response for {@code key} or invokes {@code loader} (which is expected to call the
+     * provider and validate the result) and caches its outcome once it completes. Failures are not cached.
+     * The lookup runs on the calling thread; the store runs on the thread that completes the loader.
+     */
+    public <T> CompletableFuture<T> getOrCompute(AiCacheKey key, Class<T> type, Supplier<CompletableFuture<T>> loader) {
+        AiOperation operation = key.getOperation();
+        if (!properties.isEnabledFor(operation)) {
+            return loader.get();
+        }
+
+        String hash = ContentHashUtil.canonicalSha256Hex(CACHE_FORMAT_VERSION, key);
+
+        Optional<T> cached = lookup(operation, hash, type);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+
+        recordLookup(operation, "all", "miss");
+        return loader.get().thenApply(value -> {
+            put(key, hash, value);
+            return value;
+        });
+    }
+
+    private <T> Optional<T> lookup(AiOperation operation, String hash, Class<T> type) {
+        String local = localCache.getIfPresent(hash);
+        if (local != null) {
+            Optional<T> value = deserialize(local, type, hash);
+            if (value.isPresent()) {
+                recordLookup(operation, "local", "hit");
+                recordBytes(operation, "served", local);
+                log.debug("AI cache hit (local): operation={}, key={}", operation, hash);
+                return value;
+            }
+            localCache.invalidate(hash);
+        }
+
+        if (properties.getPersistent().isEnabled()) {
+            Optional<String> persisted = findPersisted(hash);
+            if (persisted.isPresent()) {
+                Optional<T> value = deserialize(persisted.get(), type, hash);
+                if (value.isPresent()) {
+                    localCache.put(hash, persisted.get());
+                    recordLookup(operation, "persistent", "hit");
+                    recordBytes(operation, "served", persisted.get());
+                    log.debug("AI cache hit (persistent): operation={}, key={}", operation, hash);
+                    return value;
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private void put(AiCacheKey key, String hash, Object value) {
+        if (value == null) {
+            return;
+        }
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize AI response for caching: operation={}, error={}",
+                    key.getOperation(), e.getMessage());
+            return;
+        }
+
+        localCache.put(hash, payload);
+        recordBytes(key.getOperation(), "stored", payload);
+
+        if (properties.getPersistent().isEnabled()) {
+            try {
+                store.save(hash, key.getOperation(), key.getModel(), payload,
+                        payload.getBytes(StandardCharsets.UTF_8).length);
+            } catch (RuntimeException e) {
+                Counter.builder("ai.cache.persist.failures")
+                        .tag("operation", key.getOperation().getTag())
+                        .register(meterRegistry)
+                        .increment();
+                log.warn("Could not persist AI response cache entry: operation={}, error={}",
+                        key.getOperation(), e.getMessage());
+            }
+        }
+    }
+
+    private Optional<String> findPersisted(String hash) {
+        try {
+            return store.find(hash);
+        } catch (RuntimeException e) {
+            log.warn("AI response cache lookup failed, falling back to provider: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private <T> Optional<T> deserialize(String payload, Class<T> type, String hash) {
+        try {
+            return Optional.ofNullable(objectMapper.readValue(payload, type));
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable AI cache entry {}: {}", hash, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void recordLookup(AiOperation operation, String tier, String result) {
+        Counter.builder("ai.cache.requests")
+                .tag("operation", operation.getTag())
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void recordBytes(AiOperation operation, String direction, String payload) {
+        DistributionSummary.builder("ai.cache.payload.bytes")
+                .baseUnit("bytes")
+                .tag("operation", operation.getTag())
+                .tag("direction", direction)
+                .register(meterRegistry)
+                .record(payload.length());
+    }
+}
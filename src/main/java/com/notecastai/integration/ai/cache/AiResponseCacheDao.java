@@ -0,0 +1,60 @@
+package com.notecastai.integration.ai.cache;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface AiResponseCacheDao extends JpaRepository<AiResponseCacheEntity, String> {
+
+    Optional<AiResponseCacheEntity> findByCacheKeyAndExpiresAtAfter(String cacheKey, Instant now);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO ai_response_cache (cache_key, operation, model, payload, size_bytes, created_date, expires_at, hit_count)
+        VALUES (:cacheKey, :operation, :model, :payload, :sizeBytes, :createdDate, :expiresAt, 0)
+        ON CONFLICT (cache_key) DO UPDATE
+        SET payload = EXCLUDED.payload,
+            size_bytes = EXCLUDED.size_bytes,
+            created_date = EXCLUDED.created_date,
+            expires_at = EXCLUDED.expires_at
+        """, nativeQuery = true)
+    void upsert(@Param("cacheKey") String cacheKey,
+                @Param("operation") String operation,
+                @Param("model") String model,
+                @Param("payload") String payload,
+                @Param("sizeBytes") int sizeBytes,
+                @Param("createdDate") Instant createdDate,
+                @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Query(value = """
+        UPDATE ai_response_cache
+        SET hit_count = hit_count + 1, last_hit_date = :now
+        WHERE cache_key = :cacheKey
+        """, nativeQuery = true)
+    void recordHit(@Param("cacheKey") String cacheKey, @Param("now") Instant now);
+
+    @Modifying
+    @Query(value = "DELETE FROM ai_response_cache WHERE expires_at <= :now", nativeQuery = true)
+    int deleteExpired(@Param("now") Instant now);
+
+    /**
+     * Keeps the {@code maxEntries} most recently used rows and deletes the rest.
+     */
+    @Modifying
+    @Query(value = """
+        DELETE FROM ai_response_cache
+        WHERE cache_key IN (
+            SELECT cache_key FROM ai_response_cache
+            ORDER BY COALESCE(last_hit_date, created_date) DESC
+            OFFSET :maxEntries
+        )
+        """, nativeQuery = true)
+    int evictBeyond(@Param("maxEntries") long maxEntries);
+}
@@ -0,0 +1,56 @@
+package com.notecastai.integration.ai.cache;
+
+import com.notecastai.integration.ai.AiOperation;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Persistent tier of the AI response cache. Rows are shared infrastructure rather than user-owned
+ * domain data, so this entity deliberately does not extend {@code BaseEntity} (no owner filter,
+ * no soft delete, no optimistic locking).
+ */
+@Entity
+@Table(
+        name = "ai_response_cache",
+        indexes = {
+                @Index(name = "idx_ai_cache_expires", columnList = "expires_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AiResponseCacheEntity {
+
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false, length = 40)
+    private AiOperation operation;
+
+    @Column(name = "model", columnDefinition = "TEXT")
+    private String model;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Integer sizeBytes;
+
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "last_hit_date")
+    private Instant lastHitDate;
+
+    @Column(name = "hit_count", nullable = false)
+    private Long hitCount;
+}
@@ -0,0 +1,56 @@
+package com.notecastai.integration.ai.cache;
+
+import com.notecastai.config.AiCacheProperties;
+import com.notecastai.integration.ai.AiOperation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Postgres tier of {@link AiResponseCache}. Every write runs in its own transaction so that a cache
+ * failure can never mark the caller's business transaction as rollback-only.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class AiResponseCacheStore {
+
+    private final AiResponseCacheDao dao;
+    private final AiCacheProperties properties;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<String> find(String cacheKey) {
+        Instant now = Instant.now();
+        Optional<AiResponseCacheEntity> entry = dao.findByCacheKeyAndExpiresAtAfter(cacheKey, now);
+        entry.ifPresent(e -> dao.recordHit(cacheKey, now));
+        return entry.map(AiResponseCacheEntity::getPayload);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void save(String cacheKey, AiOperation operation, String model, String payload, int sizeBytes) {
+        Instant now = Instant.now();
+        dao.upsert(cacheKey, operation.name(), model, payload, sizeBytes, now,
+                now.plus(properties.getPersistent().getTtl()));
+    }
+
+    @Scheduled(fixedDelayString = "${ai.cache.persistent.cleanup-interval:PT15M}")
+    @Transactional
+    public void evict() {
+        if (!properties.getPersistent().isEnabled()) {
+            return;
+        }
+
+        int expired = dao.deleteExpired(Instant.now());
+        int overflow = dao.evictBeyond(properties.getPersistent().getMaxEntries());
+
+        if (expired > 0 || overflow > 0) {
+            log.info("AI response cache eviction: expired={}, overflow={}", expired, overflow);
+        }
+    }
+}
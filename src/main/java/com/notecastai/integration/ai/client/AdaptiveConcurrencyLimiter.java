@@ -0,0 +1,343 @@
+package com.notecastai.integration.ai.client;
+
+import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.common.util.FutureUtils;
+import com.notecastai.config.AiLimiterProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * AIMD concurrency limiter for one AI provider.
+ * <p>
+ * The limit grows by roughly one permit per limit-sized window of healthy calls and shrinks multiplicatively
+ * on congestion signals: HTTP 429 / 5xx, I/O failures (timeouts, resets) and calls slower than
+ * {@code slowCallFactor} times the smoothed latency. Only calls started after the last decrease can shrink it
+ * again, so a burst of failures among the calls in flight counts once. Callers above the limit wait in a
+ * bounded FIFO queue (or are shed when the queue is full or the wait times out); asynchronous callers wait
+ * without holding a thread and give up their place when their future is cancelled. A {@code Retry-After} from the provider pauses all dispatching for that provider until it elapses.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double LATENCY_SMOOTHING = 0.1;
+    private static final int LATENCY_WARMUP_SAMPLES = 10;
+
+    private final String provider;
+    private final AiLimiterProperties.Settings settings;
+    private final MeterRegistry meterRegistry;
+    private final Timer queueWaitTimer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private long pausedUntilNanos;
+    private long lastDecreaseNanos;
+    private double smoothedLatencyMs;
+    private long latencySamples;
+
+    public AdaptiveConcurrencyLimiter(String provider, AiLimiterProperties.Settings settings, MeterRegistry meterRegistry) {
+        this.provider = provider;
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+        this.limit = settings.getInitialLimit();
+        this.pausedUntilNanos = System.nanoTime();
+        this.lastDecreaseNanos = pausedUntilNanos;
+
+        Gauge.builder("ai.limiter.limit", this, l -> l.limit).tag("provider", provider).register(meterRegistry);
+        Gauge.builder("ai.limiter.in_flight", this, l -> l.inFlight).tag("provider", provider).register(meterRegistry);
+        Gauge.builder("ai.limiter.queue_depth", this, l -> l.waiting).tag("provider", provider).register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("ai.limiter.queue.wait").tag("provider", provider).register(meterRegistry);
+    }
+
+    /**
+     * Blocking variant: the current thread waits for a permit and runs {@code call} itself.
+     *
+     * @param latencySensitive whether the call duration is a meaningful congestion signal; false for
+     *                         streamed responses whose duration depends on the answer length
+     */
+    public <T> T execute(boolean latencySensitive, Supplier<T> call) {
+        FutureUtils.join(acquire());
+
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            onComplete(null, start, latencySensitive);
+            return result;
+        } catch (RuntimeException | Error e) {
+            onComplete(e, start, latencySensitive);
+            throw e;
+        }
+    }
+
+    /**
+     * Non-blocking variant: {@code call} is started once a permit is available, and the permit is held until
+     * the returned future completes. Queued callers hold no thread while they wait; cancelling the returned
+     * future before the call starts takes the caller out of the queue.
+     */
+    public <T> CompletableFuture<T> executeAsync(boolean latencySensitive, Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<Void> permit = acquire();
+        return FutureUtils.cancelling(permit, permit.thenCompose(granted -> {
+            long start = System.nanoTime();
+            CompletableFuture<T> future;
+            try {
+                future = call.get();
+            } catch (RuntimeException | Error e) {
+                onComplete(e, start, latencySensitive);
+                throw e;
+            }
+            return future.whenComplete((result, error) -> onComplete(error, start, latencySensitive));
+        }));
+    }
+
+    private CompletableFuture<Void> acquire() {
+        long now = System.nanoTime();
+        long deadline = now + settings.getQueueTimeout().toNanos();
+        Waiter waiter;
+
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && canDispatch(now)) {
+                inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+            if (waiters.size() >= settings.getMaxQueue()) {
+                return CompletableFuture.failedFuture(reject("queue_full"));
+            }
+            if (pausedUntilNanos - deadline > 0) {
+                return CompletableFuture.failedFuture(reject("retry_after"));
+            }
+
+            waiter = new Waiter(now);
+            waiters.addLast(waiter);
+            waiting = waiters.size();
+        } finally {
+            lock.unlock();
+        }
+
+        waiter.permit.whenComplete((granted, error) -> {
+            if (waiter.permit.isCancelled()) {
+                dequeue(waiter);
+            }
+        });
+        CompletableFuture.delayedExecutor(deadline - now, TimeUnit.NANOSECONDS).execute(() -> expire(waiter));
+        return waiter.permit;
+    }
+
+    private boolean canDispatch(long now) {
+        return now - pausedUntilNanos >= 0 && inFlight < (int) limit;
+    }
+
+    /** Hands free permits to queued callers in arrival order. Never called while holding {@link #lock}. */
+    private void dispatch() {
+        List<Waiter> granted = new ArrayList<>();
+
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            while (!waiters.isEmpty() && canDispatch(now)) {
+                granted.add(waiters.pollFirst());
+                inFlight++;
+            }
+            waiting = waiters.size();
+        } finally {
+            lock.unlock();
+        }
+
+        // Completing a permit starts the caller's call on this thread, so it must happen outside the lock
+        for (Waiter waiter : granted) {
+            queueWaitTimer.record(System.nanoTime() - waiter.enqueuedNanos, TimeUnit.NANOSECONDS);
+            if (!waiter.permit.complete(null)) {
+                release();
+            }
+        }
+    }
+
+    private void expire(Waiter waiter) {
+        if (dequeue(waiter)) {
+            waiter.permit.completeExceptionally(reject("queue_timeout"));
+        }
+    }
+
+    /** Whether {@code waiter} was still queued; a waiter already granted a permit is left alone. */
+    private boolean dequeue(Waiter waiter) {
+        lock.lock();
+        try {
+            boolean removed = waiters.remove(waiter);
+            waiting = waiters.size();
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onComplete(Throwable error, long startNanos, boolean latencySensitive) {
+        if (error == null) {
+            onSuccess(startNanos,
+                    latencySensitive ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) : -1);
+            return;
+        }
+
+        Throwable cause = FutureUtils.unwrap(error);
+        if (cause instanceof RestClientResponseException e) {
+            int status = e.getStatusCode().value();
+            if (status == 429 || status >= 500) {
+                onCongestion("http_" + status, startNanos, retryAfter(e.getResponseHeaders()));
+            } else {
+                release();
+            }
+        } else if (cause instanceof ResourceAccessException) {
+            onCongestion("io_error", startNanos, null);
+        } else {
+            release();
+        }
+    }
+
+    private void onSuccess(long startNanos, long latencyMs) {
+        lock.lock();
+        try {
+            inFlight--;
+
+            boolean slow = false;
+            if (latencyMs >= 0) {
+                slow = latencySamples >= LATENCY_WARMUP_SAMPLES
+                        && latencyMs > smoothedLatencyMs * settings.getSlowCallFactor();
+                smoothedLatencyMs = latencySamples == 0
+                        ? latencyMs
+                        : smoothedLatencyMs + LATENCY_SMOOTHING * (latencyMs - smoothedLatencyMs);
+                latencySamples++;
+            }
+
+            if (slow) {
+                decrease("slow_call", startNanos);
+            } else {
+                limit = Math.min(settings.getMaxLimit(), limit + 1.0 / limit);
+            }
+        } finally {
+            lock.unlock();
+        }
+        dispatch();
+    }
+
+    private void onCongestion(String cause, long startNanos, Duration retryAfter) {
+        Duration pause = null;
+        lock.lock();
+        try {
+            inFlight--;
+            decrease(cause, startNanos);
+
+            if (retryAfter != null && !retryAfter.isNegative()) {
+                pause = retryAfter.compareTo(settings.getMaxRetryAfter()) > 0
+                        ? settings.getMaxRetryAfter() : retryAfter;
+                long until = System.nanoTime() + pause.toNanos();
+                if (until - pausedUntilNanos > 0) {
+                    pausedUntilNanos = until;
+                    log.warn("AI provider {} asked to back off for {} ms", provider, pause.toMillis());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (pause != null) {
+            // Nothing else wakes the queue while dispatching is paused
+            CompletableFuture.delayedExecutor(pause.toNanos(), TimeUnit.NANOSECONDS).execute(this::dispatch);
+        }
+        dispatch();
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            inFlight--;
+        } finally {
+            lock.unlock();
+        }
+        dispatch();
+    }
+
+    /**
+     * Shrinks the limit for a congestion signal from a call started at {@code startNanos}. Calls started before
+     * the last decrease were sent under the old limit, so their failures say nothing about the new one and are
+     * ignored. Must be called while holding {@link #lock}.
+     */
+    private void decrease(String cause, long startNanos) {
+        if (startNanos - lastDecreaseNanos < 0) {
+            return;
+        }
+        double previous = limit;
+        limit = Math.max(settings.getMinLimit(), limit * settings.getBackoffRatio());
+        lastDecreaseNanos = System.nanoTime();
+
+        Counter.builder("ai.limiter.decreases")
+                .tag("provider", provider)
+                .tag("cause", cause)
+                .register(meterRegistry)
+                .increment();
+        log.info("AI concurrency limit for {} reduced {} -> {} ({})",
+                provider, (int) previous, (int) limit, cause);
+    }
+
+    private TechnicalException reject(String reason) {
+        Counter.builder("ai.limiter.rejected")
+                .tag("provider", provider)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        log.warn("Shedding {} request: reason={}, limit={}, inFlight={}, queued={}",
+                provider, reason, (int) limit, inFlight, waiting);
+
+        return TechnicalException.of(TechnicalException.Code.AI_SERVICE_OVERLOADED)
+                .with("provider", provider)
+                .with("reason", reason)
+                .build();
+    }
+
+    private static final class Waiter {
+        private final CompletableFuture<Void> permit = new CompletableFuture<>();
+        private final long enqueuedNanos;
+
+        private Waiter(long enqueuedNanos) {
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    static Duration retryAfter(HttpHeaders headers) {
+        String value = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException ignored) {
+            // Not delta-seconds, try HTTP-date
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Duration.between(ZonedDateTime.now(at.getZone()), at);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
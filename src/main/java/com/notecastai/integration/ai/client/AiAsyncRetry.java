@@ -0,0 +1,72 @@
+package com.notecastai.integration.ai.client;
+
+import com.notecastai.integration.ai.AiOperation;
+import com.notecastai.integration.ai.telemetry.AiTelemetry;
+import io.github.resilience4j.retry.Retry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Applies {@code noteAiRetry} to asynchronous AI calls. Waits between attempts are scheduled rather than slept,
+ * so a call waiting for its next attempt holds no thread. Cancelling the returned future cancels the running
+ * attempt and schedules no further ones.
+ * <p>
+ * The scheduler is deliberately not a bean: a {@link ScheduledExecutorService} bean would replace the
+ * scheduler Spring Boot auto-configures for {@code @Scheduled} jobs.
+ */
+@Component
+public class AiAsyncRetry implements DisposableBean {
+
+    private final Retry noteAiRetry;
+    private final AiTelemetry telemetry;
+    private final ScheduledExecutorService scheduler =
+            Executors.newScheduledThreadPool(2, new CustomizableThreadFactory("ai-retry-"));
+
+    public AiAsyncRetry(Retry noteAiRetry, AiTelemetry telemetry) {
+        this.noteAiRetry = noteAiRetry;
+        this.telemetry = telemetry;
+    }
+
+    public <T> CompletableFuture<T> execute(AiOperation operation, Supplier<CompletableFuture<T>> call) {
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicReference<CompletableFuture<T>> current = new AtomicReference<>();
+        CompletableFuture<T> result = noteAiRetry.executeCompletionStage(scheduler, () -> {
+            if (cancelled.get()) {
+                return CompletableFuture.<T>failedFuture(new CancellationException());
+            }
+            if (attempts.getAndIncrement() > 0) {
+                telemetry.recordRetry(operation);
+            }
+            CompletableFuture<T> attempt = call.get();
+            current.set(attempt);
+            return attempt;
+        }).toCompletableFuture();
+
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                cancelled.set(true);
+                CompletableFuture<T> attempt = current.get();
+                if (attempt != null) {
+                    attempt.cancel(true);
+                }
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,52 @@
+package com.notecastai.integration.ai.client;
+
+import com.notecastai.config.AiLimiterProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-provider bulkheads for outbound AI calls, see {@link AdaptiveConcurrencyLimiter}.
+ * Wrap only the raw HTTP exchange so that coalesced followers and cache hits never hold a permit.
+ */
+@Component
+@RequiredArgsConstructor
+public class AiConcurrencyLimiters {
+
+    private final AiLimiterProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public <T> T execute(String provider, Supplier<T> call) {
+        return execute(provider, true, call);
+    }
+
+    public <T> T execute(String provider, boolean latencySensitive, Supplier<T> call) {
+        if (!properties.isEnabled()) {
+            return call.get();
+        }
+        return limiter(provider).execute(latencySensitive, call);
+    }
+
+    public <T> CompletableFuture<T> executeAsync(String provider, Supplier<CompletableFuture<T>> call) {
+        return executeAsync(provider, true, call);
+    }
+
+    public <T> CompletableFuture<T> executeAsync(String provider, boolean latencySensitive,
+                                                 Supplier<CompletableFuture<T>> call) {
+        if (!properties.isEnabled()) {
+            return call.get();
+        }
+        return limiter(provider).executeAsync(latencySensitive, call);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(String provider) {
+        return limiters.computeIfAbsent(provider, p ->
+                new AdaptiveConcurrencyLimiter(p, properties.settingsFor(p), meterRegistry));
+    }
+}
@@ -0,0 +1,30 @@
+package com.notecastai.integration.ai.client;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+/**
+ * Base URL, credentials and response timeout of one AI provider API, sent through {@link AiHttpTransport}.
+ */
+@Getter
+@Builder
+public class AiHttpEndpoint {
+
+    private final String baseUrl;
+    private final String apiKey;
+
+    /** Time allowed until the response headers arrive; streamed bodies may take longer. */
+    private final Duration responseTimeout;
+
+    public HttpRequest.Builder request(String path) {
+        String base = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        return HttpRequest.newBuilder(URI.create(base + path))
+                .timeout(responseTimeout)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey);
+    }
+}
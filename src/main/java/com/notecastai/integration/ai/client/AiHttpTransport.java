@@ -0,0 +1,262 @@
+package com.notecastai.integration.ai.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.common.util.FutureUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.FormHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking request/response plumbing on the shared {@code aiHttpClient}.
+ * <p>
+ * Failures surface as the same exception types Spring's {@code RestClient} throws, so limiter, retry and
+ * circuit breaker classification works on them as is: non-2xx responses become
+ * {@link RestClientResponseException} subclasses and I/O failures (connect, reset, timeout) become
+ * {@link ResourceAccessException}.
+ */
+@Slf4j
+@Component
+public class AiHttpTransport {
+
+    private final HttpClient aiHttpClient;
+    private final ObjectMapper objectMapper;
+
+    public AiHttpTransport(HttpClient aiHttpClient, ObjectMapper objectMapper) {
+        this.aiHttpClient = aiHttpClient;
+        this.objectMapper = objectMapper;
+    }
+
+    public HttpRequest.Builder jsonPost(AiHttpEndpoint endpoint, String path, Object body) {
+        try {
+            return endpoint.request(path)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } catch (JsonProcessingException e) {
+            throw TechnicalException.of(TechnicalException.Code.INTERNAL_ERROR)
+                    .with("error", "Failed to serialize AI request: " + e.getMessage())
+                    .cause(e)
+                    .build();
+        }
+    }
+
+    /**
+     * Encodes {@code parts} exactly like {@code RestClient} would for {@code multipart/form-data}. Only the
+     * boundaries, part headers and plain values are buffered; {@link Resource} parts are sent from the resource
+     * itself, so the audio of a transcription is not copied into the request body.
+     */
+    public HttpRequest.Builder multipartPost(AiHttpEndpoint endpoint, String path, MultiValueMap<String, Object> parts) {
+        SegmentedOutputMessage message = new SegmentedOutputMessage();
+        // One converter per request, since the resource parts are collected into this request's message
+        FormHttpMessageConverter formConverter = new FormHttpMessageConverter();
+        List<HttpMessageConverter<?>> partConverters = new ArrayList<>(formConverter.getPartConverters());
+        partConverters.add(0, new ResourcePartConverter(message));
+        formConverter.setPartConverters(partConverters);
+        try {
+            formConverter.write(parts, MediaType.MULTIPART_FORM_DATA, message);
+        } catch (IOException e) {
+            throw TechnicalException.of(TechnicalException.Code.INTERNAL_ERROR)
+                    .with("error", "Failed to encode multipart AI request: " + e.getMessage())
+                    .cause(e)
+                    .build();
+        }
+
+        return endpoint.request(path)
+                .header(HttpHeaders.CONTENT_TYPE, String.valueOf(message.getHeaders().getContentType()))
+                .POST(message.toPublisher());
+    }
+
+    public CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request) {
+        return send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Sends {@code request} asynchronously. {@code successHandler} only sees 2xx responses; any other status
+     * completes the future with a {@link RestClientResponseException} carrying the error body.
+     */
+    public <T> CompletableFuture<HttpResponse<T>> send(HttpRequest request, HttpResponse.BodyHandler<T> successHandler) {
+        HttpResponse.BodyHandler<T> handler = info -> isSuccess(info.statusCode())
+                ? successHandler.apply(info)
+                : HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(), body -> {
+                    throw toResponseException(info, body);
+                });
+
+        return aiHttpClient.sendAsync(request, handler)
+                .handle((response, error) -> {
+                    if (error == null) {
+                        return response;
+                    }
+                    throw new CompletionException(toTransportException(request, FutureUtils.unwrap(error)));
+                });
+    }
+
+    public <T> T readJson(HttpResponse<byte[]> response, Class<T> type) {
+        try {
+            return objectMapper.readValue(response.body(), type);
+        } catch (IOException e) {
+            throw TechnicalException.of(TechnicalException.Code.AI_SERVICE_ERROR)
+                    .with("uri", response.uri().toString())
+                    .with("error", "Failed to parse AI response: " + e.getMessage())
+                    .cause(e)
+                    .build();
+        }
+    }
+
+    public static HttpHeaders toHttpHeaders(java.net.http.HttpHeaders headers) {
+        HttpHeaders result = new HttpHeaders();
+        headers.map().forEach(result::put);
+        return result;
+    }
+
+    private static boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    /**
+     * Maps I/O failures to {@link ResourceAccessException}; anything else is returned as is.
+     */
+    public static Throwable toTransportException(HttpRequest request, Throwable error) {
+        if (error instanceof IOException) {
+            log.warn("AI HTTP call to {} failed: {}", request.uri(), error.toString());
+            return new ResourceAccessException("I/O error on " + request.method() + " " + request.uri()
+                    + ": " + error.getMessage(), (IOException) error);
+        }
+        return error;
+    }
+
+    private static RestClientResponseException toResponseException(HttpResponse.ResponseInfo info, byte[] body) {
+        HttpStatusCode status = HttpStatusCode.valueOf(info.statusCode());
+        HttpStatus known = HttpStatus.resolve(info.statusCode());
+        String statusText = known != null ? known.getReasonPhrase() : "";
+        HttpHeaders headers = toHttpHeaders(info.headers());
+
+        if (status.is4xxClientError()) {
+            return HttpClientErrorException.create(status, statusText, headers, body, StandardCharsets.UTF_8);
+        }
+        if (status.is5xxServerError()) {
+            return HttpServerErrorException.create(status, statusText, headers, body, StandardCharsets.UTF_8);
+        }
+        return new RestClientResponseException("Unexpected status " + info.statusCode(),
+                status, statusText, headers, body, StandardCharsets.UTF_8);
+    }
+
+    /** A request body written as buffered bytes interleaved with publishers of the resource parts. */
+    private static class SegmentedOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final List<HttpRequest.BodyPublisher> segments = new ArrayList<>();
+
+        @Override
+        public OutputStream getBody() {
+            return buffer;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        void append(HttpRequest.BodyPublisher publisher) {
+            flush();
+            segments.add(publisher);
+        }
+
+        HttpRequest.BodyPublisher toPublisher() {
+            flush();
+            return HttpRequest.BodyPublishers.concat(segments.toArray(HttpRequest.BodyPublisher[]::new));
+        }
+
+        private void flush() {
+            if (buffer.size() > 0) {
+                segments.add(HttpRequest.BodyPublishers.ofByteArray(buffer.toByteArray()));
+                buffer.reset();
+            }
+        }
+    }
+
+    /**
+     * Writes the headers of a {@link Resource} part like {@code ResourceHttpMessageConverter} and leaves its content
+     * to a publisher that reads the resource when the request is sent, again on every retry.
+     */
+    private record ResourcePartConverter(SegmentedOutputMessage message) implements HttpMessageConverter<Resource> {
+
+        @Override
+        public boolean canRead(Class<?> clazz, MediaType mediaType) {
+            return false;
+        }
+
+        @Override
+        public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+            return Resource.class.isAssignableFrom(clazz);
+        }
+
+        @Override
+        public List<MediaType> getSupportedMediaTypes() {
+            return List.of(MediaType.ALL);
+        }
+
+        @Override
+        public Resource read(Class<? extends Resource> clazz, HttpInputMessage inputMessage) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void write(Resource resource, MediaType contentType, HttpOutputMessage outputMessage) throws IOException {
+            HttpHeaders headers = outputMessage.getHeaders();
+            if (headers.getContentType() == null) {
+                headers.setContentType(contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM);
+            }
+            long length = resource.contentLength();
+            headers.setContentLength(length);
+            // Writes the part headers
+            outputMessage.getBody();
+            message.append(publisher(resource, length));
+        }
+
+        private static HttpRequest.BodyPublisher publisher(Resource resource, long length) throws IOException {
+            if (resource instanceof ByteArrayResource bytes) {
+                return HttpRequest.BodyPublishers.ofByteArray(bytes.getByteArray());
+            }
+            if (resource.isFile()) {
+                return HttpRequest.BodyPublishers.ofFile(resource.getFile().toPath());
+            }
+            HttpRequest.BodyPublisher stream = HttpRequest.BodyPublishers.ofInputStream(() -> {
+                try {
+                    return resource.getInputStream();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return length > 0 ? HttpRequest.BodyPublishers.fromPublisher(stream, length) : stream;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.notecastai.integration.ai.client;
+
+import com.notecastai.common.util.ContentHashUtil;
+import com.notecastai.common.util.FutureUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight guard for outbound AI calls shared by all provider clients.
+ * <p>
+ * Calls are keyed by a hash of the full request payload. While a call is in flight, identical calls
+ * join its {@link CompletableFuture} instead of reaching the provider, so a double-click or an eager
+ * client retry is billed once. Nothing is kept after completion - caching is {@code AiResponseCache}'s job.
+ * Returned objects are shared between the joined callers and must be treated as read-only.
+ */
+@Slf4j
+@Component
+public class AiRequestCoalescer {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public AiRequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gaugeMapSize("ai.requests.in_flight", List.of(), inFlight);
+    }
+
+    /**
+     * Runs {@code call} on the current thread unless an identical call is already running, in which case
+     * the current thread waits for and returns that call's result (or rethrows its failure).
+     *
+     * @param provider   provider name used for the key and the metric tags, e.g. {@code openrouter}
+     * @param operation  provider endpoint, e.g. {@code chat_completion}
+     * @param keyPayload everything that determines the response; serialized canonically and hashed
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String provider, String operation, Object keyPayload, Supplier<T> call) {
+        String key = ContentHashUtil.canonicalSha256Hex(provider, operation, keyPayload);
+
+        CompletableFuture<Object> ownFuture = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, ownFuture);
+
+        if (existing != null) {
+            counter("ai.requests.coalesced", provider, operation).increment();
+            log.info("Coalescing identical in-flight {} {} request", provider, operation);
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                throw unwrap(e);
+            }
+        }
+
+        counter("ai.requests.dispatched", provider, operation).increment();
+        try {
+            T result = call.get();
+            inFlight.remove(key, ownFuture);
+            ownFuture.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, ownFuture);
+            ownFuture.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute}: identical calls share the returned future of the first one.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(String provider, String operation, Object keyPayload,
+                                                 Supplier<CompletableFuture<T>> call) {
+        String key = ContentHashUtil.canonicalSha256Hex(provider, operation, keyPayload);
+
+        CompletableFuture<Object> ownFuture = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, ownFuture);
+
+        if (existing != null) {
+            counter("ai.requests.coalesced", provider, operation).increment();
+            log.info("Coalescing identical in-flight {} {} request", provider, operation);
+            // A dependent copy, so a follower cancelling its future does not affect the others
+            return existing.thenApply(result -> (T) result);
+        }
+
+        counter("ai.requests.dispatched", provider, operation).increment();
+        CompletableFuture<T> dispatched;
+        try {
+            dispatched = call.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, ownFuture);
+            ownFuture.completeExceptionally(e);
+            throw e;
+        }
+
+        return dispatched.whenComplete((result, error) -> {
+            inFlight.remove(key, ownFuture);
+            if (error == null) {
+                ownFuture.complete(result);
+            } else {
+                ownFuture.completeExceptionally(FutureUtils.unwrap(error));
+            }
+        });
+    }
+
+    private RuntimeException unwrap(CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return e;
+    }
+
+    private Counter counter(String name, String provider, String operation) {
+        return Counter.builder(name)
+                .tag("provider", provider)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
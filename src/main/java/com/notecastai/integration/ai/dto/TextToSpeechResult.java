@@ -22,5 +22,10 @@ public class TextToSpeechResult {
     Long processingTimeMs;
     Long sizeBytes;
     Double estimatedDurationSeconds;
+
+    /**
+     * Exact playback time read from the audio frame headers; null when the format is not parsed.
+     */
+    Double durationSeconds;
     String requestId;
 }
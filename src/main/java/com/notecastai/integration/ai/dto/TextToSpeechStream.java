@@ -0,0 +1,80 @@
+package com.notecastai.integration.ai.dto;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Value;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Synthesized speech as a stream, for callers that pass the audio on without holding all of it in memory.
+ * Size and duration are counted while {@link #getAudio()} is read, so they are final once it is exhausted.
+ * Closing the stream releases the provider response and stops chunks not yet synthesized.
+ */
+@Value
+@Builder
+public class TextToSpeechStream implements Closeable {
+
+    InputStream audio;
+    String mediaType;
+    String fileExtension;
+
+    /**
+     * Optional provider specific information for observability.
+     */
+    String provider;
+    String model;
+    String voice;
+    String requestId;
+    Double estimatedDurationSeconds;
+
+    @Getter(AccessLevel.NONE)
+    LongSupplier bytesRead;
+
+    /**
+     * Playback time of the audio read so far; null when the format is not parsed.
+     */
+    @Getter(AccessLevel.NONE)
+    DoubleSupplier secondsRead;
+
+    /** Bytes of audio read so far. */
+    public long getSizeBytes() {
+        return bytesRead.getAsLong();
+    }
+
+    /** Exact playback time of the audio read so far; null when the format is not parsed. */
+    public Double getDurationSeconds() {
+        return secondsRead != null ? Math.round(secondsRead.getAsDouble() * 100.0) / 100.0 : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        audio.close();
+    }
+
+    /** Streams an already synthesized result. */
+    public static TextToSpeechStream of(TextToSpeechResult result) {
+        byte[] audio = result.getAudioBytes() != null ? result.getAudioBytes() : new byte[0];
+        ByteArrayInputStream stream = new ByteArrayInputStream(audio);
+        Double duration = result.getDurationSeconds();
+        return TextToSpeechStream.builder()
+                .audio(stream)
+                .mediaType(result.getMediaType())
+                .fileExtension(result.getFileExtension())
+                .provider(result.getProvider())
+                .model(result.getModel())
+                .voice(result.getVoice())
+                .requestId(result.getRequestId())
+                .estimatedDurationSeconds(result.getEstimatedDurationSeconds())
+                .bytesRead(() -> audio.length - stream.available())
+                // The duration of a buffered result is only known as a whole
+                .secondsRead(duration != null ? () -> stream.available() == 0 ? duration : 0.0 : null)
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.notecastai.integration.ai.prompt;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Splits markdown at ATX headings ({@code #} to {@code ######}) so long notes can be processed section by section.
+ * Headings inside fenced code blocks are ignored; sections that are too small are folded into their neighbours.
+ */
+@UtilityClass
+public class MarkdownSectionSplitter {
+
+    private static final Pattern HEADING_PATTERN = Pattern.compile("^\\s{0,3}#{1,6}\\s+\\S.*$");
+    private static final Pattern FENCE_PATTERN = Pattern.compile("^\\s{0,3}(```|~~~).*$");
+
+    public static List<String> split(String markdown, int minSectionChars, int maxSections) {
+        if (markdown == null || markdown.isBlank()) {
+            return List.of();
+        }
+
+        List<StringBuilder> sections = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inFence = false;
+
+        for (String line : markdown.split("\\R", -1)) {
+            if (FENCE_PATTERN.matcher(line).matches()) {
+                inFence = !inFence;
+            } else if (!inFence && HEADING_PATTERN.matcher(line).matches() && !current.toString().isBlank()) {
+                sections.add(current);
+                current = new StringBuilder();
+            }
+            current.append(line).append('\n');
+        }
+        if (!current.toString().isBlank()) {
+            sections.add(current);
+        }
+
+        mergeSmallSections(sections, minSectionChars);
+        mergeToLimit(sections, Math.max(1, maxSections));
+
+        return sections.stream()
+                .map(section -> section.toString().strip())
+                .toList();
+    }
+
+    private static void mergeSmallSections(List<StringBuilder> sections, int minSectionChars) {
+        int i = 0;
+        while (sections.size() > 1 && i < sections.size()) {
+            if (sections.get(i).length() >= minSectionChars) {
+                i++;
+            } else if (i + 1 < sections.size()) {
+                sections.get(i).append(sections.remove(i + 1));
+            } else {
+                sections.get(i - 1).append(sections.remove(i));
+            }
+        }
+    }
+
+    private static void mergeToLimit(List<StringBuilder> sections, int maxSections) {
+        while (sections.size() > maxSections) {
+            // Merge the adjacent pair with the smallest combined size to keep sections balanced
+            int best = 0;
+            for (int i = 1; i < sections.size() - 1; i++) {
+                if (sections.get(i).length() + sections.get(i + 1).length()
+                        < sections.get(best).length() + sections.get(best + 1).length()) {
+                    best = i;
+                }
+            }
+            sections.get(best).append(sections.remove(best + 1));
+        }
+    }
+}
@@ -17,7 +17,7 @@ public class TranscriptPromptBuilder {
     private NoteCastStyle style;
     private TranscriptSize size;
 
-    private static final String TTS_RULES = """
+    static final String TTS_RULES = """
             CRITICAL TTS-FRIENDLY TEXT RULES:
             1. Write ONLY spoken text - no labels, no speaker names, no stage directions
             2. Use natural, conversational language suitable for speaking aloud
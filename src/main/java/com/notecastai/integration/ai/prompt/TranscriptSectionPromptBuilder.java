@@ -0,0 +1,96 @@
+package com.notecastai.integration.ai.prompt;
+
+import com.notecastai.notecast.domain.NoteCastStyle;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Prompt for one section of a long note. The fragments are joined later by {@link TranscriptStitchPromptBuilder},
+ * so each fragment must read as the middle of a larger script rather than a standalone piece.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TranscriptSectionPromptBuilder {
+
+    private String sectionContent;
+    private int sectionNumber;
+    private int sectionCount;
+    private NoteCastStyle style;
+    private int minWords;
+    private int maxWords;
+
+    private static final String SYSTEM_PROMPT_TEMPLATE = """
+            You are an expert script writer specializing in creating natural-sounding text-to-speech scripts.
+            
+            YOUR TASK:
+            Transform ONE section of a longer note into part of a TTS-ready transcript.
+            This is section %d of %d. The parts are joined into a single script afterwards,
+            and an opening, transitions and a closing are written separately.
+            
+            YOUR GOALS:
+            1. Narrate only the content of this section, accurately and conversationally
+            2. Apply the specified style to shape the delivery
+            3. Produce %d to %d words (strict requirement)
+            4. Do NOT greet the listener, introduce the overall topic, or wrap up the whole script
+            5. Make every sentence TTS-friendly and natural to speak
+            
+            STYLE TO APPLY:
+            %s
+            %s
+            
+            %s
+            
+            OUTPUT FORMAT:
+            Return a JSON object with the transcript fragment and metadata.
+            """;
+
+    private static final String USER_PROMPT_TEMPLATE = """
+            Create the spoken transcript fragment for section %d of %d.
+            
+            **Style to Apply:** %s
+            
+            **Section Content:**
+```
+            %s
+```
+            
+            **Critical Instructions:**
+            - transcript: ONLY spoken text, %d to %d words, no headers or labels
+            - No hello, welcome, or goodbye lines - this fragment sits inside a longer script
+            - estimatedDuration: speaking time as "X min Y sec" at 150 words per minute
+            - wordCount: exact word count of the transcript
+            """;
+
+    public String getSystemPrompt() {
+        NoteCastStyle targetStyle = style != null ? style : NoteCastStyle.DEFAULT;
+
+        return String.format(
+                SYSTEM_PROMPT_TEMPLATE,
+                sectionNumber,
+                sectionCount,
+                minWords,
+                maxWords,
+                targetStyle.getLabel(),
+                targetStyle.getPromptText(),
+                TranscriptPromptBuilder.TTS_RULES
+        );
+    }
+
+    public String getUserPrompt() {
+        NoteCastStyle targetStyle = style != null ? style : NoteCastStyle.DEFAULT;
+
+        return String.format(
+                USER_PROMPT_TEMPLATE,
+                sectionNumber,
+                sectionCount,
+                targetStyle.getLabel(),
+                sectionContent,
+                minWords,
+                maxWords
+        );
+    }
+}
@@ -0,0 +1,80 @@
+package com.notecastai.integration.ai.prompt;
+
+import com.notecastai.notecast.domain.NoteCastStyle;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Prompt for the stitching pass over section fragments. Only the connective text is generated here
+ * (opening, one transition per boundary, closing) so the pass stays short regardless of note length.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TranscriptStitchPromptBuilder {
+
+    private List<String> fragments;
+    private NoteCastStyle style;
+    private int maxWords;
+
+    private static final String SYSTEM_PROMPT_TEMPLATE = """
+            You are an expert script editor for text-to-speech narration.
+            
+            YOUR TASK:
+            A long script was written in %d consecutive parts. Write the connective text that turns them
+            into one natural narration:
+            1. opening: a short hook that introduces the whole topic before part one
+            2. transitions: exactly %d short bridges, the first one goes between part one and part two, and so on
+            3. closing: a short conclusion after the last part
+            
+            RULES:
+            - Do not repeat or rewrite the parts themselves
+            - All connective text together must stay under %d words
+            - Each transition is one or two sentences
+            
+            STYLE TO APPLY:
+            %s
+            %s
+            
+            %s
+            """;
+
+    private static final String USER_PROMPT_TEMPLATE = """
+            Write the opening, %d transitions and the closing for the following parts.
+            
+            %s
+            """;
+
+    public String getSystemPrompt() {
+        NoteCastStyle targetStyle = style != null ? style : NoteCastStyle.DEFAULT;
+
+        return String.format(
+                SYSTEM_PROMPT_TEMPLATE,
+                fragments.size(),
+                getTransitionCount(),
+                maxWords,
+                targetStyle.getLabel(),
+                targetStyle.getPromptText(),
+                TranscriptPromptBuilder.TTS_RULES
+        );
+    }
+
+    public String getUserPrompt() {
+        StringBuilder parts = new StringBuilder();
+        for (int i = 0; i < fragments.size(); i++) {
+            parts.append("**Part ").append(i + 1).append(":**\n")
+                    .append(fragments.get(i)).append("\n\n");
+        }
+
+        return String.format(USER_PROMPT_TEMPLATE, getTransitionCount(), parts.toString().strip());
+    }
+
+    public int getTransitionCount() {
+        return Math.max(0, fragments.size() - 1);
+    }
+}
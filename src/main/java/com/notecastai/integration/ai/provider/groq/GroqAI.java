@@ -1,6 +1,12 @@
 package com.notecastai.integration.ai.provider.groq;
 
+import com.notecastai.common.util.ContentHashUtil;
+import com.notecastai.common.util.FutureUtils;
+import com.notecastai.integration.ai.AiOperation;
 import com.notecastai.integration.ai.TranscriptionService;
+import com.notecastai.integration.ai.audio.AudioBytes;
+import com.notecastai.integration.ai.audio.ChunkedTranscriber;
+import com.notecastai.integration.ai.client.AiAsyncRetry;
 import com.notecastai.integration.ai.dto.SegmentTimestamp;
 import com.notecastai.integration.ai.dto.TranscriptionMetadata;
 import com.notecastai.integration.ai.dto.TranscriptionResult;
@@ -9,10 +15,12 @@ import com.notecastai.integration.ai.provider.groq.client.GroqClient;
 import com.notecastai.integration.ai.provider.groq.dto.GroqTranscriptionRequest;
 import com.notecastai.integration.ai.provider.groq.dto.GroqTranscriptionResponse;
 import com.notecastai.integration.ai.provider.groq.dto.GroqWhisperModel;
+import com.notecastai.integration.ai.telemetry.AiCallContext;
 import com.notecastai.voicenote.api.dto.TranscriptionLanguage;
-import io.github.resilience4j.retry.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Service;
 
 import java.io.InputStream;
@@ -22,11 +30,14 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Service("groqTranscriptionService")
+@Profile("!stub")
 @RequiredArgsConstructor
 public class GroqAI implements TranscriptionService {
 
     private final GroqClient groqClient;
-    private final Retry noteAiRetry;
+    private final AiAsyncRetry asyncRetry;
+    private final ChunkedTranscriber chunkedTranscriber;
+    private final AudioBytes audioBytes;
 
     @Override
     public CompletableFuture<TranscriptionResult> transcribeAudioFile(
@@ -35,40 +46,52 @@ public class GroqAI implements TranscriptionService {
             String contentType,
             TranscriptionLanguage language
     ) {
-        return CompletableFuture.supplyAsync(() -> {
-            log.info("Starting Groq transcription for file: {}, language: {}", filename, language.getCode());
-
-            long startTime = System.currentTimeMillis();
-
-            GroqWhisperModel model = GroqWhisperModel.WHISPER_LARGE_V3_TURBO;
-
-            GroqTranscriptionRequest request = GroqTranscriptionRequest.builder()
-                    .audioStream(audioStream)
-                    .filename(filename)
-                    .contentType(contentType)
-                    .model(model)
-                    .language(language)
-                    .build();
-
-            // Execute with retry
-            GroqTranscriptionResponse response = Retry.decorateSupplier(noteAiRetry, () -> {
-                try {
-                    return groqClient.transcribe(request);
-                } catch (Exception e) {
-                    log.error("Groq transcription failed: {}", e.getMessage(), e);
-                    throw new RuntimeException("Transcription failed", e);
-                }
-            }).get();
-
-            long processingTime = System.currentTimeMillis() - startTime;
-
-            log.info("Groq transcription completed: {} words, {} segments, {} ms",
-                    response.getWords() != null ? response.getWords().size() : 0,
-                    response.getSegments() != null ? response.getSegments().size() : 0,
-                    processingTime);
-
-            return mapToTranscriptionResult(response, model, processingTime);
-        });
+        log.info("Starting Groq transcription for file: {}, language: {}", filename, language.getCode());
+
+        long startTime = System.currentTimeMillis();
+        byte[] audio = audioBytes.read(audioStream, filename);
+
+        // Later chunks start on completion threads, so the caller's context is captured here
+        AiCallContext context = AiCallContext.of(AiOperation.TRANSCRIPTION);
+
+        // Long recordings are split and their chunks transcribed in parallel
+        return chunkedTranscriber.transcribe(audio, filename, contentType,
+                chunk -> transcribe(context, chunk.getAudio(), filename, contentType, language, startTime));
+    }
+
+    private CompletableFuture<TranscriptionResult> transcribe(AiCallContext context, byte[] audio, String filename,
+                                                              String contentType, TranscriptionLanguage language,
+                                                              long startTime) {
+        GroqWhisperModel model = GroqWhisperModel.WHISPER_LARGE_V3_TURBO;
+
+        GroqTranscriptionRequest request = GroqTranscriptionRequest.builder()
+                .audio(new ByteArrayResource(audio))
+                .audioSha256(ContentHashUtil.sha256Hex(audio))
+                .filename(filename)
+                .contentType(contentType)
+                .model(model)
+                .language(language)
+                .build();
+
+        // Execute with retry; cancelling the result stops further attempts
+        CompletableFuture<GroqTranscriptionResponse> call =
+                asyncRetry.execute(AiOperation.TRANSCRIPTION, () -> groqClient.transcribe(context, request));
+        return FutureUtils.cancelling(call, call
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        log.error("Groq transcription failed: {}", error.getMessage(), error);
+                    }
+                })
+                .thenApply(response -> {
+                    long processingTime = System.currentTimeMillis() - startTime;
+
+                    log.info("Groq transcription completed: {} words, {} segments, {} ms",
+                            response.getWords() != null ? response.getWords().size() : 0,
+                            response.getSegments() != null ? response.getSegments().size() : 0,
+                            processingTime);
+
+                    return mapToTranscriptionResult(response, model, processingTime);
+                }));
     }
 
     private TranscriptionResult mapToTranscriptionResult(
@@ -1,17 +1,28 @@
 package com.notecastai.integration.ai.provider.groq.client;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.common.util.FutureUtils;
+import com.notecastai.integration.ai.client.AiConcurrencyLimiters;
+import com.notecastai.integration.ai.client.AiHttpEndpoint;
+import com.notecastai.integration.ai.client.AiHttpTransport;
+import com.notecastai.integration.ai.client.AiRequestCoalescer;
 import com.notecastai.integration.ai.provider.groq.dto.GroqTranscriptionRequest;
 import com.notecastai.integration.ai.provider.groq.dto.GroqTranscriptionResponse;
+import com.notecastai.integration.ai.telemetry.AiCallContext;
+import com.notecastai.integration.ai.telemetry.AiTelemetry;
+import com.notecastai.integration.ai.telemetry.AiUsage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
 
+import java.net.http.HttpRequest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static com.notecastai.common.exeption.TechnicalException.Code.AI_SERVICE_ERROR;
 
 @Slf4j
@@ -19,42 +30,66 @@ import static com.notecastai.common.exeption.TechnicalException.Code.AI_SERVICE_
 @RequiredArgsConstructor
 public class GroqClient {
 
-    private final RestClient groqRestClient;
-    private final ObjectMapper objectMapper;
-
-    public GroqTranscriptionResponse transcribe(GroqTranscriptionRequest request) {
-        try {
-            log.debug("Calling Groq transcription API with model: {}", request.getModel().getModelId());
-
-            ResponseEntity<String> responseEntity = groqRestClient.post()
-                    .uri("/openai/v1/audio/transcriptions")
-                    .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .body(request.toMultipartBody())
-                    .retrieve()
-                    .toEntity(String.class);
-
-            if (!responseEntity.getStatusCode().is2xxSuccessful() || responseEntity.getBody() == null) {
-                throw TechnicalException.of(AI_SERVICE_ERROR)
-                        .with("provider", "Groq")
-                        .with("error", "Empty or error response")
-                        .build();
-            }
-
-            return objectMapper.readValue(responseEntity.getBody(), GroqTranscriptionResponse.class);
-        } catch (RestClientException e) {
-            log.error("Groq API call failed: {}", e.getMessage(), e);
-            throw TechnicalException.of(AI_SERVICE_ERROR)
-                    .with("provider", "Groq")
-                    .with("error", e.getMessage())
-                    .cause(e)
-                    .build();
-        } catch (Exception e) {
-            log.error("Transcription processing failed: {}", e.getMessage(), e);
-            throw TechnicalException.of(AI_SERVICE_ERROR)
-                    .with("provider", "Groq")
-                    .with("error", "Failed to process transcription: " + e.getMessage())
-                    .cause(e)
-                    .build();
+    private static final String PROVIDER = "groq";
+
+    private final AiHttpEndpoint groqEndpoint;
+    private final AiHttpTransport transport;
+    private final AiRequestCoalescer requestCoalescer;
+    private final AiConcurrencyLimiters concurrencyLimiters;
+    private final AiTelemetry telemetry;
+
+    public CompletableFuture<GroqTranscriptionResponse> transcribe(AiCallContext context, GroqTranscriptionRequest request) {
+        if (request.getAudioSha256() == null) {
+            return doTranscribe(context, request);
         }
+
+        List<Object> coalescingKey = Arrays.asList(
+                request.getModel().getModelId(),
+                request.getLanguage(),
+                request.getContentType(),
+                request.getResponseFormat(),
+                request.getTimestampGranularities(),
+                request.getTemperature(),
+                request.getAudioSha256()
+        );
+        return requestCoalescer.executeAsync(PROVIDER, "transcription", coalescingKey, () -> doTranscribe(context, request));
+    }
+
+    private CompletableFuture<GroqTranscriptionResponse> doTranscribe(AiCallContext context, GroqTranscriptionRequest request) {
+        String model = request.getModel().getModelId();
+        log.debug("Calling Groq transcription API with model: {}", request.getModel().getModelId());
+
+        HttpRequest httpRequest = transport.multipartPost(groqEndpoint, "/openai/v1/audio/transcriptions", request.toMultipartBody())
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+
+        return concurrencyLimiters.executeAsync(PROVIDER, () ->
+                        telemetry.timed(PROVIDER, model, context, () -> transport.send(httpRequest)))
+                .handle((responseEntity, error) -> {
+                    if (error != null) {
+                        RuntimeException cause = FutureUtils.propagate(error);
+                        if (cause instanceof RestClientException) {
+                            log.error("Groq API call failed: {}", cause.getMessage(), cause);
+                            throw TechnicalException.of(AI_SERVICE_ERROR)
+                                    .with("provider", "Groq")
+                                    .with("error", String.valueOf(cause.getMessage()))
+                                    .cause(cause)
+                                    .build();
+                        }
+                        throw cause;
+                    }
+                    if (responseEntity.body() == null || responseEntity.body().length == 0) {
+                        throw TechnicalException.of(AI_SERVICE_ERROR)
+                                .with("provider", "Groq")
+                                .with("error", "Empty or error response")
+                                .build();
+                    }
+
+                    GroqTranscriptionResponse response = transport.readJson(responseEntity, GroqTranscriptionResponse.class);
+                    telemetry.recordUsage(PROVIDER, model, context, AiUsage.builder()
+                            .audioSeconds(response.getDuration())
+                            .build());
+                    return response;
+                });
     }
 }
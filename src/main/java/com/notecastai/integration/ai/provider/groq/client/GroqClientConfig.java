@@ -1,11 +1,9 @@
 package com.notecastai.integration.ai.provider.groq.client;
 
+import com.notecastai.integration.ai.client.AiHttpEndpoint;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.client.JdkClientHttpRequestFactory;
-import org.springframework.web.client.RestClient;
 
 import java.time.Duration;
 
@@ -13,17 +11,14 @@ import java.time.Duration;
 public class GroqClientConfig {
 
     @Bean
-    RestClient groqRestClient(
+    AiHttpEndpoint groqEndpoint(
             @Value("${ai.groq.api.url:https://api.groq.com}") String apiUrl,
             @Value("${ai.groq.api.key}") String apiKey
     ) {
-        var requestFactory = new JdkClientHttpRequestFactory();
-        requestFactory.setReadTimeout(Duration.ofSeconds(120)); // Longer timeout for audio processing
-
-        return RestClient.builder()
+        return AiHttpEndpoint.builder()
                 .baseUrl(apiUrl)
-                .requestFactory(requestFactory)
-                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                .apiKey(apiKey)
+                .responseTimeout(Duration.ofSeconds(120)) // Longer timeout for audio processing
                 .build();
     }
 }
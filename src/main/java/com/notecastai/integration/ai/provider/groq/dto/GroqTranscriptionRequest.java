@@ -5,7 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -13,7 +13,6 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
 
-import java.io.InputStream;
 import java.util.List;
 
 @Getter
@@ -21,7 +20,12 @@ import java.util.List;
 @AllArgsConstructor
 public class GroqTranscriptionRequest {
 
-    private final InputStream audioStream;
+    /** Re-readable audio content, so that retries resend the full file. */
+    private final Resource audio;
+
+    /** SHA-256 of the audio content, used to coalesce identical in-flight requests. */
+    private final String audioSha256;
+
     private final String filename;
     private final String contentType;
     private final GroqWhisperModel model;
@@ -46,10 +50,7 @@ public class GroqTranscriptionRequest {
         HttpHeaders fileHeaders = new HttpHeaders();
         fileHeaders.setContentType(MediaType.parseMediaType(contentType));
         fileHeaders.setContentDispositionFormData("file", filename != null ? filename : "audio.mp3");
-        HttpEntity<InputStreamResource> fileEntity = new HttpEntity<>(
-                new InputStreamResource(audioStream),
-                fileHeaders
-        );
+        HttpEntity<Resource> fileEntity = new HttpEntity<>(audio, fileHeaders);
         body.add("file", fileEntity);
 
         // Add model
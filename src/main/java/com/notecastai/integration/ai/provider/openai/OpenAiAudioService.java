@@ -1,7 +1,17 @@
 package com.notecastai.integration.ai.provider.openai;
 
+import com.notecastai.common.util.ContentHashUtil;
+import com.notecastai.common.util.CountingInputStream;
+import com.notecastai.common.util.FutureUtils;
+import com.notecastai.integration.ai.AiOperation;
 import com.notecastai.integration.ai.TextToSpeechService;
 import com.notecastai.integration.ai.TranscriptionService;
+import com.notecastai.integration.ai.audio.AudioBytes;
+import com.notecastai.integration.ai.audio.ChunkedSpeechSynthesizer;
+import com.notecastai.integration.ai.audio.ChunkedTranscriber;
+import com.notecastai.integration.ai.audio.Mp3FrameInputStream;
+import com.notecastai.integration.ai.audio.Mp3Frames;
+import com.notecastai.integration.ai.client.AiAsyncRetry;
 import com.notecastai.integration.ai.dto.SegmentTimestamp;
 import com.notecastai.integration.ai.dto.TranscriptionMetadata;
 import com.notecastai.integration.ai.dto.TranscriptionResult;
@@ -13,16 +23,19 @@ import com.notecastai.integration.ai.provider.openai.dto.OpenAiSpeechResponse;
 import com.notecastai.integration.ai.provider.openai.dto.OpenAiTranscriptionModel;
 import com.notecastai.integration.ai.provider.openai.dto.OpenAiTranscriptionRequest;
 import com.notecastai.integration.ai.provider.openai.dto.OpenAiTranscriptionResponse;
+import com.notecastai.integration.ai.telemetry.AiCallContext;
 import com.notecastai.integration.ai.dto.TextToSpeechFormat;
 import com.notecastai.integration.ai.dto.TextToSpeechRequest;
 import com.notecastai.integration.ai.dto.TextToSpeechResult;
+import com.notecastai.integration.ai.dto.TextToSpeechStream;
 import com.notecastai.notecast.domain.TranscriptSize;
 import com.notecastai.notecast.domain.TtsVoice;
 import com.notecastai.notecast.domain.TtsVoiceProvider;
 import com.notecastai.voicenote.api.dto.TranscriptionLanguage;
-import io.github.resilience4j.retry.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
@@ -35,6 +48,7 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Service("openAiAudioService")
+@Profile("!stub")
 @RequiredArgsConstructor
 public class OpenAiAudioService implements TranscriptionService, TextToSpeechService {
 
@@ -58,7 +72,10 @@ public class OpenAiAudioService implements TranscriptionService, TextToSpeechSer
     }
 
     private final OpenAiClient openAiClient;
-    private final Retry noteAiRetry;
+    private final AiAsyncRetry asyncRetry;
+    private final ChunkedTranscriber chunkedTranscriber;
+    private final AudioBytes audioBytes;
+    private final ChunkedSpeechSynthesizer chunkedSynthesizer;
 
     @Override
     public CompletableFuture<TranscriptionResult> transcribeAudioFile(
@@ -67,61 +84,137 @@ public class OpenAiAudioService implements TranscriptionService, TextToSpeechSer
             String contentType,
             TranscriptionLanguage language
     ) {
-        return CompletableFuture.supplyAsync(() -> {
-            long start = System.currentTimeMillis();
-
-            OpenAiTranscriptionRequest request = OpenAiTranscriptionRequest.builder()
-                    .audioStream(audioStream)
-                    .filename(filename)
-                    .contentType(contentType)
-                    .language(language != null ? language : TranscriptionLanguage.AUTO)
-                    .model(DEFAULT_TRANSCRIPTION_MODEL)
-                    .build();
+        long start = System.currentTimeMillis();
+        byte[] audio = audioBytes.read(audioStream, filename);
 
-            OpenAiTranscriptionResponse response = Retry.decorateSupplier(
-                    noteAiRetry,
-                    () -> openAiClient.transcribe(request)
-            ).get();
+        // Later chunks start on completion threads, so the caller's context is captured here
+        AiCallContext context = AiCallContext.of(AiOperation.TRANSCRIPTION);
 
-            long processingTime = System.currentTimeMillis() - start;
+        // Long recordings are split and their chunks transcribed in parallel
+        return chunkedTranscriber.transcribe(audio, filename, contentType,
+                chunk -> transcribe(context, chunk.getAudio(), filename, contentType, language, start));
+    }
+
+    private CompletableFuture<TranscriptionResult> transcribe(AiCallContext context, byte[] audio, String filename,
+                                                              String contentType, TranscriptionLanguage language,
+                                                              long start) {
+        OpenAiTranscriptionRequest request = OpenAiTranscriptionRequest.builder()
+                .audio(new ByteArrayResource(audio))
+                .audioSha256(ContentHashUtil.sha256Hex(audio))
+                .filename(filename)
+                .contentType(contentType)
+                .language(language != null ? language : TranscriptionLanguage.AUTO)
+                .model(DEFAULT_TRANSCRIPTION_MODEL)
+                .build();
 
-            log.info("OpenAI transcription completed: lang={}, duration={}s, model={}",
-                    response.getLanguage(),
-                    response.getDuration(),
-                    DEFAULT_TRANSCRIPTION_MODEL.getModelId());
+        CompletableFuture<OpenAiTranscriptionResponse> call =
+                asyncRetry.execute(AiOperation.TRANSCRIPTION, () -> openAiClient.transcribe(context, request));
+        return FutureUtils.cancelling(call, call.thenApply(response -> {
+                    long processingTime = System.currentTimeMillis() - start;
 
-            return mapToTranscriptionResult(response, processingTime);
-        });
+                    log.info("OpenAI transcription completed: lang={}, duration={}s, model={}",
+                            response.getLanguage(),
+                            response.getDuration(),
+                            DEFAULT_TRANSCRIPTION_MODEL.getModelId());
+
+                    return mapToTranscriptionResult(response, processingTime);
+                }));
     }
 
     @Override
-    public TextToSpeechResult synthesizeSpeech(TextToSpeechRequest request) {
+    public CompletableFuture<TextToSpeechResult> synthesizeSpeech(TextToSpeechRequest request) {
         validateRequest(request);
 
+        // Chunks start on completion threads, so the caller's context is captured here
+        AiCallContext context = AiCallContext.of(AiOperation.TEXT_TO_SPEECH);
+
+        // Long transcripts are split at paragraph and sentence boundaries and their chunks synthesized in parallel
+        return chunkedSynthesizer.synthesize(request, chunk -> synthesize(context, chunk));
+    }
+
+    private CompletableFuture<TextToSpeechResult> synthesize(AiCallContext context, TextToSpeechRequest request) {
         TextToSpeechFormat format = request.getFormat() != null ? request.getFormat() : TextToSpeechFormat.MP3;
         String voice = resolveVoice(request.getVoice());
-        double speed = resolveSpeed(request.getSize());
+        OpenAiSpeechRequest speechRequest = toSpeechRequest(request, format, voice);
+
+        MediaType acceptType = MediaType.parseMediaType(format.getContentType());
+        long start = System.currentTimeMillis();
+
+        CompletableFuture<OpenAiSpeechResponse> call = asyncRetry.execute(AiOperation.TEXT_TO_SPEECH,
+                () -> openAiClient.createSpeech(context, speechRequest, acceptType));
+        return FutureUtils.cancelling(call, call
+                .thenApply(response -> toSpeechResult(request, response, format, voice, System.currentTimeMillis() - start)));
+    }
+
+    @Override
+    public CompletableFuture<TextToSpeechStream> streamSpeech(TextToSpeechRequest request) {
+        validateRequest(request);
+
+        AiCallContext context = AiCallContext.of(AiOperation.TEXT_TO_SPEECH);
 
-        OpenAiSpeechRequest speechRequest = OpenAiSpeechRequest.builder()
+        // Chunks are read one after the other while the later ones are still being synthesized
+        return chunkedSynthesizer.stream(request, chunk -> stream(context, chunk));
+    }
+
+    /**
+     * Retries cover the call up to the response headers; a body that fails while being read fails the stream.
+     */
+    private CompletableFuture<TextToSpeechStream> stream(AiCallContext context, TextToSpeechRequest request) {
+        TextToSpeechFormat format = request.getFormat() != null ? request.getFormat() : TextToSpeechFormat.MP3;
+        String voice = resolveVoice(request.getVoice());
+        OpenAiSpeechRequest speechRequest = toSpeechRequest(request, format, voice);
+        MediaType acceptType = MediaType.parseMediaType(format.getContentType());
+
+        CompletableFuture<OpenAiSpeechResponse> call = asyncRetry.execute(AiOperation.TEXT_TO_SPEECH,
+                () -> openAiClient.createSpeechStream(context, speechRequest, acceptType));
+        return FutureUtils.cancelling(call, call.thenApply(response -> {
+            TextToSpeechStream.TextToSpeechStreamBuilder builder = TextToSpeechStream.builder();
+            if (format == TextToSpeechFormat.MP3) {
+                // Frame headers give the exact duration while the audio passes through
+                Mp3FrameInputStream frames = new Mp3FrameInputStream(response.getAudioStream());
+                builder.audio(frames).bytesRead(frames::getBytesRead).secondsRead(frames::getSecondsRead);
+            } else {
+                CountingInputStream counting = new CountingInputStream(response.getAudioStream());
+                builder.audio(counting).bytesRead(counting::getCount);
+            }
+
+            log.info("OpenAI TTS stream started for refId={}, voice={}, format={}",
+                    request.getReferenceId(), voice, format);
+
+            return builder
+                    .mediaType(response.getMediaType() != null
+                            ? response.getMediaType().toString()
+                            : format.getContentType())
+                    .fileExtension(format.getFileExtension())
+                    .provider("OpenAI")
+                    .model(DEFAULT_SPEECH_MODEL.getModelId())
+                    .voice(voice)
+                    .requestId(response.getRequestId())
+                    .estimatedDurationSeconds(estimateDurationSeconds(request.getTranscript()))
+                    .build();
+        }));
+    }
+
+    private OpenAiSpeechRequest toSpeechRequest(TextToSpeechRequest request, TextToSpeechFormat format, String voice) {
+        return OpenAiSpeechRequest.builder()
                 .model(DEFAULT_SPEECH_MODEL.getModelId())
                 .input(request.getTranscript())
                 .voice(voice)
                 .responseFormat(format.getCode())
-                .speed(speed)
+                .speed(resolveSpeed(request.getSize()))
                 .build();
+    }
 
-        MediaType acceptType = MediaType.parseMediaType(format.getContentType());
-        long start = System.currentTimeMillis();
-
-        OpenAiSpeechResponse response = Retry.decorateSupplier(
-                noteAiRetry,
-                () -> openAiClient.createSpeech(speechRequest, acceptType)
-        ).get();
-
-        long processingTime = System.currentTimeMillis() - start;
+    private TextToSpeechResult toSpeechResult(TextToSpeechRequest request, OpenAiSpeechResponse response,
+                                              TextToSpeechFormat format, String voice, long processingTime) {
         byte[] audioBytes = response.getAudio();
 
         double estimatedDuration = estimateDurationSeconds(request.getTranscript());
+        Double duration = null;
+        if (format == TextToSpeechFormat.MP3 && audioBytes != null) {
+            Mp3Frames frames = Mp3Frames.parse(audioBytes);
+            duration = frames.count() > 0 ? Math.round(frames.durationSeconds() * 100.0) / 100.0 : null;
+        }
 
         log.info("OpenAI TTS completed for refId={}, voice={}, format={}, size={} bytes",
                 request.getReferenceId(),
@@ -141,6 +234,7 @@ public class OpenAiAudioService implements TranscriptionService, TextToSpeechSer
                 .processingTimeMs(processingTime)
                 .sizeBytes(audioBytes != null ? (long) audioBytes.length : 0L)
                 .estimatedDurationSeconds(estimatedDuration)
+                .durationSeconds(duration)
                 .requestId(response.getRequestId())
                 .build();
     }
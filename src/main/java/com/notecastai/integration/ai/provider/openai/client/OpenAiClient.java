@@ -1,19 +1,33 @@
 package com.notecastai.integration.ai.provider.openai.client;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.common.util.FutureUtils;
+import com.notecastai.integration.ai.client.AiConcurrencyLimiters;
+import com.notecastai.integration.ai.client.AiHttpEndpoint;
+import com.notecastai.integration.ai.client.AiHttpTransport;
+import com.notecastai.integration.ai.client.AiRequestCoalescer;
 import com.notecastai.integration.ai.provider.openai.dto.OpenAiSpeechRequest;
 import com.notecastai.integration.ai.provider.openai.dto.OpenAiSpeechResponse;
 import com.notecastai.integration.ai.provider.openai.dto.OpenAiTranscriptionRequest;
 import com.notecastai.integration.ai.provider.openai.dto.OpenAiTranscriptionResponse;
+import com.notecastai.integration.ai.telemetry.AiCallContext;
+import com.notecastai.integration.ai.telemetry.AiTelemetry;
+import com.notecastai.integration.ai.telemetry.AiUsage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static com.notecastai.common.exeption.TechnicalException.Code.AI_SERVICE_ERROR;
 
 @Slf4j
@@ -21,87 +35,184 @@ import static com.notecastai.common.exeption.TechnicalException.Code.AI_SERVICE_
 @RequiredArgsConstructor
 public class OpenAiClient {
 
-    private final RestClient openAiRestClient;
-    private final ObjectMapper objectMapper;
-
-    public OpenAiTranscriptionResponse transcribe(OpenAiTranscriptionRequest request) {
-        try {
-            log.debug("Calling OpenAI transcription API with model: {}", request.getModel().getModelId());
-
-            ResponseEntity<String> responseEntity = openAiRestClient.post()
-                    .uri("/audio/transcriptions")
-                    .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .body(request.toMultipartBody())
-                    .retrieve()
-                    .toEntity(String.class);
-
-            if (!responseEntity.getStatusCode().is2xxSuccessful() || responseEntity.getBody() == null) {
-                throw TechnicalException.of(AI_SERVICE_ERROR)
-                        .with("provider", "OpenAI")
-                        .with("error", "Empty or error response")
-                        .build();
-            }
+    private static final String PROVIDER = "openai";
+    /** Speech usage is not reported by the API, so audio length is estimated at ~150 words per minute. */
+    private static final double SPEECH_WORDS_PER_SECOND = 2.5;
 
-            OpenAiTranscriptionResponse response = objectMapper.readValue(responseEntity.getBody(), OpenAiTranscriptionResponse.class);
-            response.setRequestId(responseEntity.getHeaders().getFirst("x-request-id"));
-            return response;
+    private final AiHttpEndpoint openAiEndpoint;
+    private final AiHttpTransport transport;
+    private final AiRequestCoalescer requestCoalescer;
+    private final AiConcurrencyLimiters concurrencyLimiters;
+    private final AiTelemetry telemetry;
 
-        } catch (RestClientException e) {
-            log.error("OpenAI transcription call failed: {}", e.getMessage(), e);
-            throw TechnicalException.of(AI_SERVICE_ERROR)
-                    .with("provider", "OpenAI")
-                    .with("error", e.getMessage())
-                    .cause(e)
-                    .build();
-        } catch (Exception e) {
-            log.error("Failed to parse transcription response: {}", e.getMessage(), e);
-            throw TechnicalException.of(AI_SERVICE_ERROR)
-                    .with("provider", "OpenAI")
-                    .with("error", "Failed to process transcription response: " + e.getMessage())
-                    .cause(e)
-                    .build();
+    public CompletableFuture<OpenAiTranscriptionResponse> transcribe(AiCallContext context, OpenAiTranscriptionRequest request) {
+        if (request.getAudioSha256() == null) {
+            return doTranscribe(context, request);
         }
+
+        List<Object> coalescingKey = Arrays.asList(
+                request.getModel().getModelId(),
+                request.getLanguage(),
+                request.getContentType(),
+                request.getResponseFormat(),
+                request.getTimestampGranularities(),
+                request.getTemperature(),
+                request.getAudioSha256()
+        );
+        return requestCoalescer.executeAsync(PROVIDER, "transcription", coalescingKey, () -> doTranscribe(context, request));
     }
 
-    public OpenAiSpeechResponse createSpeech(OpenAiSpeechRequest request, MediaType acceptType) {
-        try {
-            log.debug("Calling OpenAI speech API with model: {}", request.getModel());
+    private CompletableFuture<OpenAiTranscriptionResponse> doTranscribe(AiCallContext context, OpenAiTranscriptionRequest request) {
+        String model = request.getModel().getModelId();
+        log.debug("Calling OpenAI transcription API with model: {}", request.getModel().getModelId());
+
+        HttpRequest httpRequest = transport.multipartPost(openAiEndpoint, "/audio/transcriptions", request.toMultipartBody())
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+
+        return concurrencyLimiters.executeAsync(PROVIDER, () ->
+                        telemetry.timed(PROVIDER, model, context, () -> transport.send(httpRequest)))
+                .handle((responseEntity, error) -> {
+                    if (error != null) {
+                        throw failure("OpenAI transcription call failed", error);
+                    }
+                    if (responseEntity.body() == null || responseEntity.body().length == 0) {
+                        throw TechnicalException.of(AI_SERVICE_ERROR)
+                                .with("provider", "OpenAI")
+                                .with("error", "Empty or error response")
+                                .build();
+                    }
+
+                    OpenAiTranscriptionResponse response = transport.readJson(responseEntity, OpenAiTranscriptionResponse.class);
+                    response.setRequestId(requestId(responseEntity));
+                    telemetry.recordUsage(PROVIDER, model, context, AiUsage.builder()
+                            .audioSeconds(response.getDuration())
+                            .build());
+                    return response;
+                });
+    }
 
-            RestClient.RequestHeadersSpec<?> spec = openAiRestClient.post()
-                    .uri("/audio/speech")
-                    .body(request);
+    public CompletableFuture<OpenAiSpeechResponse> createSpeech(AiCallContext context, OpenAiSpeechRequest request,
+                                                                MediaType acceptType) {
+        List<Object> coalescingKey = Arrays.asList(request, acceptType != null ? acceptType.toString() : null);
+        return requestCoalescer.executeAsync(PROVIDER, "speech", coalescingKey, () -> doCreateSpeech(context, request, acceptType));
+    }
 
-            if (acceptType != null) {
-                spec = spec.accept(acceptType);
-            }
+    private CompletableFuture<OpenAiSpeechResponse> doCreateSpeech(AiCallContext context, OpenAiSpeechRequest request,
+                                                                   MediaType acceptType) {
+        log.debug("Calling OpenAI speech API with model: {}", request.getModel());
 
-            ResponseEntity<byte[]> responseEntity = spec.retrieve().toEntity(byte[].class);
+        HttpRequest.Builder builder = transport.jsonPost(openAiEndpoint, "/audio/speech", request);
+        if (acceptType != null) {
+            builder.header(HttpHeaders.ACCEPT, acceptType.toString());
+        }
+        HttpRequest httpRequest = builder.build();
+
+        return concurrencyLimiters.executeAsync(PROVIDER, () ->
+                        telemetry.timed(PROVIDER, request.getModel(), context, () -> transport.send(httpRequest)))
+                .handle((responseEntity, error) -> {
+                    if (error != null) {
+                        throw failure("OpenAI speech call failed", error);
+                    }
+                    if (responseEntity.body() == null || responseEntity.body().length == 0) {
+                        throw TechnicalException.of(AI_SERVICE_ERROR)
+                                .with("provider", "OpenAI")
+                                .with("error", "Empty audio data")
+                                .build();
+                    }
+
+                    MediaType responseMediaType = responseEntity.headers().firstValue(HttpHeaders.CONTENT_TYPE)
+                            .map(MediaType::parseMediaType)
+                            .orElse(acceptType);
+
+                    telemetry.recordUsage(PROVIDER, request.getModel(), context, AiUsage.builder()
+                            .audioSeconds(estimateSpeechSeconds(request))
+                            .build());
+
+                    return OpenAiSpeechResponse.builder()
+                            .audio(responseEntity.body())
+                            .mediaType(responseMediaType)
+                            .requestId(requestId(responseEntity))
+                            .build();
+                });
+    }
 
-            if (!responseEntity.getStatusCode().is2xxSuccessful() || responseEntity.getBody() == null) {
-                throw TechnicalException.of(AI_SERVICE_ERROR)
-                        .with("provider", "OpenAI")
-                        .with("error", "Empty audio data")
-                        .build();
+    /**
+     * Like {@link #createSpeech} but completes as soon as the response headers arrive, with the body left to be
+     * read from {@link OpenAiSpeechResponse#getAudioStream()}. The concurrency permit and the latency sample cover
+     * the call up to the headers; the caller owns the stream and must close it. Not coalesced, since a stream
+     * has a single reader.
+     */
+    public CompletableFuture<OpenAiSpeechResponse> createSpeechStream(AiCallContext context, OpenAiSpeechRequest request,
+                                                                      MediaType acceptType) {
+        log.debug("Calling OpenAI speech API (streamed) with model: {}", request.getModel());
+
+        HttpRequest.Builder builder = transport.jsonPost(openAiEndpoint, "/audio/speech", request);
+        if (acceptType != null) {
+            builder.header(HttpHeaders.ACCEPT, acceptType.toString());
+        }
+        HttpRequest httpRequest = builder.build();
+
+        CompletableFuture<HttpResponse<InputStream>> call = concurrencyLimiters.executeAsync(PROVIDER, () ->
+                telemetry.timed(PROVIDER, request.getModel(), context,
+                        () -> transport.send(httpRequest, HttpResponse.BodyHandlers.ofInputStream())));
+        CompletableFuture<OpenAiSpeechResponse> result = call.handle((responseEntity, error) -> {
+            if (error != null) {
+                throw failure("OpenAI speech call failed", error);
             }
 
-            MediaType responseMediaType = responseEntity.getHeaders().getContentType();
-            if (responseMediaType == null) {
-                responseMediaType = acceptType;
-            }
+            MediaType responseMediaType = responseEntity.headers().firstValue(HttpHeaders.CONTENT_TYPE)
+                    .map(MediaType::parseMediaType)
+                    .orElse(acceptType);
+
+            telemetry.recordUsage(PROVIDER, request.getModel(), context, AiUsage.builder()
+                    .audioSeconds(estimateSpeechSeconds(request))
+                    .build());
 
             return OpenAiSpeechResponse.builder()
-                    .audio(responseEntity.getBody())
+                    .audioStream(responseEntity.body())
                     .mediaType(responseMediaType)
-                    .requestId(responseEntity.getHeaders().getFirst("x-request-id"))
+                    .requestId(requestId(responseEntity))
                     .build();
+        });
+        // A body arriving after cancellation has no reader; close it so the connection is released
+        call.thenAccept(responseEntity -> {
+            if (result.isCancelled()) {
+                closeQuietly(responseEntity.body());
+            }
+        });
+        return result;
+    }
+
+    private static double estimateSpeechSeconds(OpenAiSpeechRequest request) {
+        String input = request.getInput() == null ? "" : request.getInput().strip();
+        int words = input.isEmpty() ? 0 : input.split("\\s+").length;
+        double speed = request.getSpeed() != null && request.getSpeed() > 0 ? request.getSpeed() : 1.0;
+        return words / (SPEECH_WORDS_PER_SECOND * speed);
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            log.debug("Failed to close abandoned OpenAI speech stream: {}", e.getMessage());
+        }
+    }
+
+    private static String requestId(HttpResponse<?> response) {
+        return response.headers().firstValue("x-request-id").orElse(null);
+    }
 
-        } catch (RestClientException e) {
-            log.error("OpenAI speech call failed: {}", e.getMessage(), e);
-            throw TechnicalException.of(AI_SERVICE_ERROR)
+    private static RuntimeException failure(String message, Throwable error) {
+        RuntimeException cause = FutureUtils.propagate(error);
+        if (cause instanceof RestClientException) {
+            log.error("{}: {}", message, cause.getMessage(), cause);
+            return TechnicalException.of(AI_SERVICE_ERROR)
                     .with("provider", "OpenAI")
-                    .with("error", e.getMessage())
-                    .cause(e)
+                    .with("error", String.valueOf(cause.getMessage()))
+                    .cause(cause)
                     .build();
         }
+        return cause;
     }
 }
@@ -1,12 +1,9 @@
 package com.notecastai.integration.ai.provider.openai.client;
 
+import com.notecastai.integration.ai.client.AiHttpEndpoint;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.client.JdkClientHttpRequestFactory;
-import org.springframework.web.client.RestClient;
 
 import java.time.Duration;
 
@@ -14,18 +11,14 @@ import java.time.Duration;
 public class OpenAiClientConfig {
 
     @Bean
-    RestClient openAiRestClient(
+    AiHttpEndpoint openAiEndpoint(
             @Value("${ai.openai.api.url:https://api.openai.com/v1}") String apiUrl,
             @Value("${ai.openai.api.key}") String apiKey
     ) {
-        var requestFactory = new JdkClientHttpRequestFactory();
-        requestFactory.setReadTimeout(Duration.ofSeconds(200));
-
-        return RestClient.builder()
+        return AiHttpEndpoint.builder()
                 .baseUrl(apiUrl)
-                .requestFactory(requestFactory)
-                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .apiKey(apiKey)
+                .responseTimeout(Duration.ofSeconds(200))
                 .build();
     }
 }
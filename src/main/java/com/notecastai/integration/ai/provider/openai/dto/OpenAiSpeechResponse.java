@@ -4,10 +4,18 @@ import lombok.Builder;
 import lombok.Value;
 import org.springframework.http.MediaType;
 
+import java.io.InputStream;
+
 @Value
 @Builder
 public class OpenAiSpeechResponse {
     byte[] audio;
+
+    /**
+     * Response body still being received; set instead of {@link #audio} for streamed calls.
+     */
+    InputStream audioStream;
+
     MediaType mediaType;
     String requestId;
 }
@@ -4,14 +4,13 @@ import com.notecastai.voicenote.api.dto.TranscriptionLanguage;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
-import java.io.InputStream;
 import java.util.List;
 
 @Getter
@@ -19,7 +18,12 @@ import java.util.List;
 @AllArgsConstructor
 public class OpenAiTranscriptionRequest {
 
-    private final InputStream audioStream;
+    /** Re-readable audio content, so that retries resend the full file. */
+    private final Resource audio;
+
+    /** SHA-256 of the audio content, used to coalesce identical in-flight requests. */
+    private final String audioSha256;
+
     private final String filename;
     private final String contentType;
     private final OpenAiTranscriptionModel model;
@@ -41,10 +45,7 @@ public class OpenAiTranscriptionRequest {
         fileHeaders.setContentType(MediaType.parseMediaType(
                 contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE));
         fileHeaders.setContentDispositionFormData("file", filename != null ? filename : "audio.mp3");
-        HttpEntity<InputStreamResource> fileEntity = new HttpEntity<>(
-                new InputStreamResource(audioStream),
-                fileHeaders
-        );
+        HttpEntity<Resource> fileEntity = new HttpEntity<>(audio, fileHeaders);
         body.add("file", fileEntity);
 
         body.add("model", model.getModelId());
@@ -3,7 +3,13 @@ package com.notecastai.integration.ai.provider.openrouter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.notecastai.common.exeption.BusinessException;
 import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.common.util.FutureUtils;
 import com.notecastai.common.util.SecurityUtils;
+import com.notecastai.config.AiTranscriptProperties;
+import com.notecastai.integration.ai.AiOperation;
+import com.notecastai.integration.ai.cache.AiCacheKey;
+import com.notecastai.integration.ai.cache.AiResponseCache;
+import com.notecastai.integration.ai.client.AiAsyncRetry;
 import com.notecastai.integration.ai.dto.GameNoteAiRequest;
 import com.notecastai.integration.ai.dto.GameNoteAiResponse;
 import com.notecastai.integration.ai.NoteAiChat;
@@ -15,6 +21,7 @@ import com.notecastai.integration.ai.prompt.*;
 import com.notecastai.integration.ai.provider.openrouter.client.JsonSchemaBuilder;
 import com.notecastai.integration.ai.provider.openrouter.client.OpenRouterClient;
 import com.notecastai.integration.ai.provider.openrouter.dto.*;
+import com.notecastai.integration.ai.telemetry.AiCallContext;
 import com.notecastai.integration.ai.validator.AiNoteResponseValidator;
 import com.notecastai.integration.ai.validator.GameNoteResponseValidator;
 import com.notecastai.integration.ai.validator.TranscriptResponseValidator;
@@ -27,18 +34,21 @@ import com.notecastai.notecast.domain.TranscriptSize;
 import com.notecastai.tag.domain.TagEntity;
 import com.notecastai.tag.repo.TagRepository;
 import com.notecastai.user.infrastructure.repo.UserRepository;
-import io.github.resilience4j.retry.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 
 @Slf4j
 @Component
+@Profile("!stub")
 @RequiredArgsConstructor
 public class OpenRouterAi implements NoteAiEditor, NoteCastTranscriptGenerator, NoteAiChat {
 
@@ -49,11 +59,15 @@ public class OpenRouterAi implements NoteAiEditor, NoteCastTranscriptGenerator,
     private final AiNoteResponseValidator noteValidator;
     private final TranscriptResponseValidator validator;
     private final GameNoteResponseValidator gameNoteValidator;
-    private final Retry noteAiRetry;
+    private final AiAsyncRetry asyncRetry;
     private final ObjectMapper objectMapper;
+    private final AiResponseCache aiResponseCache;
+    private final OpenRouterModelRouter modelRouter;
+    private final SectionedTranscriptGenerator sectionedTranscriptGenerator;
+    private final AiTranscriptProperties transcriptProperties;
 
     @Override
-    public NewNoteAiResponse adjustNote(CreateNoteRequest request) {
+    public CompletableFuture<NewNoteAiResponse> adjustNote(CreateNoteRequest request) {
         Long userId = userRepository.getByClerkUserId(SecurityUtils.getCurrentClerkUserIdOrThrow()).getId();
 
         // Get user's available tags
@@ -71,36 +85,44 @@ public class OpenRouterAi implements NoteAiEditor, NoteCastTranscriptGenerator,
                 .userInstructions(request.getInstructions())
                 .build();
 
-        // Execute with retry
-        return Retry.decorateSupplier(noteAiRetry, () -> {
-            log.info("Calling OpenRouter AI for new note adjustment (attempt)");
-
-            OpenRouterResponse response = openRouterClient.chatCompletion(
-                    OpenRouterModel.GROK_FAST_1,
-                    promptBuilder.getSystemPrompt(),
-                    promptBuilder.getUserPrompt(),
-                    JsonSchemaBuilder.buildNewNoteSchema()
-            );
-
-            // Validate and parse response
-            NewNoteAiResponse aiResponse = noteValidator.validateNewNoteResponse(response.getContent(), userId);
-
-            // Filter and map valid tags
-            List<Long> validTagIds = noteValidator.filterAndMapTagsToIds(aiResponse.getProposedTags(), userId);
-            aiResponse.setTagIds(validTagIds);
-
-            log.info("AI adjustment successful: title={}, validTags={}/{}, actions={}",
-                    aiResponse.getAdjustedTitle(),
-                    validTagIds.size(),
-                    aiResponse.getProposedTags().size(),
-                    aiResponse.getProposedAiActions().size());
-
-            return aiResponse;
-        }).get();
+        String systemPrompt = promptBuilder.getSystemPrompt();
+        String userPrompt = promptBuilder.getUserPrompt();
+        OpenRouterJsonSchema jsonSchema = JsonSchemaBuilder.buildNewNoteSchema();
+
+        AiCacheKey cacheKey = cacheKey(AiOperation.ADJUST_NOTE, String.valueOf(userId),
+                systemPrompt, userPrompt, jsonSchema);
+        AiCallContext context = AiCallContext.of(AiOperation.ADJUST_NOTE, userId);
+
+        // Execute with retry over the model chain (validated response is cached, tag ids are always resolved fresh)
+        return aiResponseCache.getOrCompute(cacheKey, NewNoteAiResponse.class, () ->
+                        asyncRetry.execute(AiOperation.ADJUST_NOTE, () -> modelRouter.execute(AiOperation.ADJUST_NOTE, model -> {
+                            log.info("Calling OpenRouter AI ({}) for new note adjustment (attempt)", model.getModelId());
+
+                            return openRouterClient.chatCompletion(
+                                    context,
+                                    model,
+                                    systemPrompt,
+                                    userPrompt,
+                                    jsonSchema
+                            ).thenApply(response -> noteValidator.validateNewNoteResponse(response.getContent(), userId));
+                        })))
+                .thenApply(aiResponse -> {
+                    // Filter and map valid tags
+                    List<Long> validTagIds = noteValidator.filterAndMapTagsToIds(aiResponse.getProposedTags(), userId);
+                    aiResponse.setTagIds(validTagIds);
+
+                    log.info("AI adjustment successful: title={}, validTags={}/{}, actions={}",
+                            aiResponse.getAdjustedTitle(),
+                            validTagIds.size(),
+                            aiResponse.getProposedTags().size(),
+                            aiResponse.getProposedAiActions().size());
+
+                    return aiResponse;
+                });
     }
 
     @Override
-    public FormatNoteAiResponse formatNoteKnowledgeBase(Long noteId, NoteKnowledgeFormatRequest request) {
+    public CompletableFuture<FormatNoteAiResponse> formatNoteKnowledgeBase(Long noteId, NoteKnowledgeFormatRequest request) {
         NoteEntity note = noteRepository.getOrThrow(noteId);
         Long userId = note.getUser().getId();
 
@@ -117,30 +139,39 @@ public class OpenRouterAi implements NoteAiEditor, NoteCastTranscriptGenerator,
                 .userInstructions(request.getInstructions())
                 .build();
 
-        // Execute with retry
-        return Retry.decorateSupplier(noteAiRetry, () -> {
-            log.info("Calling OpenRouter AI for note formatting (attempt)");
-
-            OpenRouterResponse response = openRouterClient.chatCompletion(
-                    OpenRouterModel.GROK_FAST_1,
-                    promptBuilder.getSystemPrompt(),
-                    promptBuilder.getUserPrompt(),
-                    JsonSchemaBuilder.buildFormatNoteSchema()
-            );
-
-            FormatNoteAiResponse aiResponse = noteValidator.validateFormatNoteResponse(response.getContent(), userId);
-
-            List<Long> validTagIds = noteValidator.filterAndMapTagsToIds(aiResponse.getProposedTags(), userId);
-            aiResponse.setTagIds(validTagIds);
-
-            log.info("AI formatting successful: title={}, validTags={}/{}, actions={}",
-                    aiResponse.getAdjustedTitle(),
-                    validTagIds.size(),
-                    aiResponse.getProposedTags().size(),
-                    aiResponse.getProposedAiActions().size());
-
-            return aiResponse;
-        }).get();
+        String systemPrompt = promptBuilder.getSystemPrompt();
+        String userPrompt = promptBuilder.getUserPrompt();
+        OpenRouterJsonSchema jsonSchema = JsonSchemaBuilder.buildFormatNoteSchema();
+
+        AiCacheKey cacheKey = cacheKey(AiOperation.FORMAT_NOTE, String.valueOf(userId),
+                systemPrompt, userPrompt, jsonSchema);
+        AiCallContext context = AiCallContext.of(AiOperation.FORMAT_NOTE, userId);
+
+        // Execute with retry over the model chain (validated response is cached, tag ids are always resolved fresh)
+        return aiResponseCache.getOrCompute(cacheKey, FormatNoteAiResponse.class, () ->
+                        asyncRetry.execute(AiOperation.FORMAT_NOTE, () -> modelRouter.execute(AiOperation.FORMAT_NOTE, model -> {
+                            log.info("Calling OpenRouter AI ({}) for note formatting (attempt)", model.getModelId());
+
+                            return openRouterClient.chatCompletion(
+                                    context,
+                                    model,
+                                    systemPrompt,
+                                    userPrompt,
+                                    jsonSchema
+                            ).thenApply(response -> noteValidator.validateFormatNoteResponse(response.getContent(), userId));
+                        })))
+                .thenApply(aiResponse -> {
+                    List<Long> validTagIds = noteValidator.filterAndMapTagsToIds(aiResponse.getProposedTags(), userId);
+                    aiResponse.setTagIds(validTagIds);
+
+                    log.info("AI formatting successful: title={}, validTags={}/{}, actions={}",
+                            aiResponse.getAdjustedTitle(),
+                            validTagIds.size(),
+                            aiResponse.getProposedTags().size(),
+                            aiResponse.getProposedAiActions().size());
+
+                    return aiResponse;
+                });
     }
 
     @Override
@@ -160,6 +191,29 @@ public class OpenRouterAi implements NoteAiEditor, NoteCastTranscriptGenerator,
             throw new IllegalArgumentException("Note content cannot be empty");
         }
 
+        TranscriptAiResponse response = FutureUtils.join(generateTranscriptResponse(noteContent, targetStyle, targetSize));
+
+        log.info("Transcript generation successful - style: {}, size: {}, wordCount: {}, duration: {}",
+                targetStyle.getLabel(),
+                targetSize.getLabel(),
+                response.getWordCount(),
+                response.getEstimatedDuration());
+
+        return response.getTranscript();
+    }
+
+    private CompletableFuture<TranscriptAiResponse> generateTranscriptResponse(String noteContent, NoteCastStyle targetStyle, TranscriptSize targetSize) {
+        // Long notes are transcribed section by section and stitched together
+        AiTranscriptProperties.Chunking chunking = transcriptProperties.getChunking();
+        if (chunking.appliesTo(noteContent)) {
+            List<String> sections = MarkdownSectionSplitter.split(
+                    noteContent, chunking.getMinSectionChars(), chunking.getMaxSections());
+            if (sections.size() > 1) {
+                return sectionedTranscriptGenerator.generate(sections, targetStyle, targetSize);
+            }
+            log.info("Note content has no usable sections, falling back to single-pass transcript");
+        }
+
         // Build prompts
         TranscriptPromptBuilder promptBuilder = TranscriptPromptBuilder.builder()
                 .noteContent(noteContent)
@@ -167,32 +221,104 @@ public class OpenRouterAi implements NoteAiEditor, NoteCastTranscriptGenerator,
                 .size(targetSize)
                 .build();
 
-        // Execute with retry
-        TranscriptAiResponse response = Retry.decorateSupplier(noteAiRetry, () -> {
-            log.info("Calling OpenRouter AI for transcript generation (attempt)");
-
-            OpenRouterResponse aiResponse = openRouterClient.chatCompletion(
-                    OpenRouterModel.GROK_FAST_1,
-                    promptBuilder.getSystemPrompt(),
-                    promptBuilder.getUserPrompt(),
-                    JsonSchemaBuilder.buildTranscriptSchema()
-            );
+        String systemPrompt = promptBuilder.getSystemPrompt();
+        String userPrompt = promptBuilder.getUserPrompt();
+        OpenRouterJsonSchema jsonSchema = JsonSchemaBuilder.buildTranscriptSchema();
+
+        AiCacheKey cacheKey = cacheKey(AiOperation.NOTECAST_TRANSCRIPT, null,
+                systemPrompt, userPrompt, jsonSchema);
+        AiCallContext context = AiCallContext.of(AiOperation.NOTECAST_TRANSCRIPT);
+
+        // Execute with retry over the model chain
+        return aiResponseCache.getOrCompute(cacheKey, TranscriptAiResponse.class, () ->
+                asyncRetry.execute(AiOperation.NOTECAST_TRANSCRIPT, () -> modelRouter.execute(AiOperation.NOTECAST_TRANSCRIPT, model -> {
+                    log.info("Calling OpenRouter AI ({}) for transcript generation (attempt)", model.getModelId());
+
+                    return openRouterClient.chatCompletion(
+                            context,
+                            model,
+                            systemPrompt,
+                            userPrompt,
+                            jsonSchema
+                    ).thenApply(aiResponse ->
+                            // Validate and parse response with size context
+                            validator.validateTranscriptResponse(aiResponse.getContent(), targetSize));
+                })));
+    }
 
-            // Validate and parse response with size context
-            return validator.validateTranscriptResponse(aiResponse.getContent(), targetSize);
-        }).get();
+    @Override
+    public CompletableFuture<NoteQuestionResponse> askQuestion(Long noteId, NoteQuestionRequest request) {
+        NoteChatPromptBuilder promptBuilder = buildNoteChatPrompt(noteId, request);
+        String systemPrompt = promptBuilder.getSystemPrompt();
+        String userPrompt = promptBuilder.getUserPrompt();
 
-        log.info("Transcript generation successful - style: {}, size: {}, wordCount: {}, duration: {}",
-                targetStyle.getLabel(),
-                targetSize.getLabel(),
-                response.getWordCount(),
-                response.getEstimatedDuration());
+        // Convert chat history to OpenRouter format
+        List<OpenRouterChatMessage> messageHistory = convertChatHistory(request.getHistory());
+        AiCallContext context = AiCallContext.of(AiOperation.NOTE_CHAT);
 
-        return response.getTranscript();
+        // Execute with retry
+        return asyncRetry.execute(AiOperation.NOTE_CHAT, () -> modelRouter.execute(AiOperation.NOTE_CHAT, model -> {
+                    log.info("Calling OpenRouter AI ({}) for note chat (attempt)", model.getModelId());
+
+                    return openRouterClient.chatCompletionMarkdown(
+                            context,
+                            model,
+                            systemPrompt,
+                            userPrompt,
+                            messageHistory
+                    ).thenApply(response -> {
+                        // Validate response
+                        if (response.getContent() == null || response.getContent().isBlank()) {
+                            throw TechnicalException.of(TechnicalException.Code.AI_SERVICE_ERROR)
+                                    .with("noteId", noteId)
+                                    .with("error", "Empty response from AI")
+                                    .build();
+                        }
+
+                        return response.getContent();
+                    });
+                }))
+                .thenApply(responseText -> {
+                    log.info("Note chat response generated successfully for note ID: {}, response length: {} chars",
+                            noteId, responseText.length());
+
+                    return NoteQuestionResponse.builder()
+                            .responseText(responseText)
+                            .build();
+                });
     }
 
     @Override
-    public NoteQuestionResponse askQuestion(Long noteId, NoteQuestionRequest request) {
+    public CompletableFuture<NoteQuestionResponse> streamQuestion(
+            Long noteId,
+            NoteQuestionRequest request,
+            Consumer<String> onToken
+    ) {
+        // Prompts are rendered here, on the caller thread, while lazy note fields are still reachable
+        NoteChatPromptBuilder promptBuilder = buildNoteChatPrompt(noteId, request);
+        List<OpenRouterChatMessage> messageHistory = convertChatHistory(request.getHistory());
+        AiCallContext context = AiCallContext.of(AiOperation.NOTE_CHAT);
+
+        // No retry or fallback: once tokens have reached the client a replay would duplicate them
+        return openRouterClient.streamChatCompletionMarkdown(
+                        context,
+                        modelRouter.primaryAvailable(AiOperation.NOTE_CHAT),
+                        promptBuilder.getSystemPrompt(),
+                        promptBuilder.getUserPrompt(),
+                        messageHistory,
+                        onToken
+                )
+                .thenApply(response -> {
+                    log.info("Note chat stream completed for note ID: {}, response length: {} chars",
+                            noteId, response.getContent().length());
+
+                    return NoteQuestionResponse.builder()
+                            .responseText(response.getContent())
+                            .build();
+                });
+    }
+
+    private NoteChatPromptBuilder buildNoteChatPrompt(Long noteId, NoteQuestionRequest request) {
         // Validate input
         if (request.getQuestion() == null || request.getQuestion().isBlank()) {
             throw new IllegalArgumentException("Question cannot be empty");
@@ -205,43 +331,10 @@ public class OpenRouterAi implements NoteAiEditor, NoteCastTranscriptGenerator,
                 noteId, request.getQuestion().length(),
                 request.getHistory() != null ? request.getHistory().size() : 0);
 
-        // Build prompts
-        NoteChatPromptBuilder promptBuilder = NoteChatPromptBuilder.builder()
+        return NoteChatPromptBuilder.builder()
                 .note(note)
                 .userQuestion(request.getQuestion())
                 .build();
-
-        // Convert chat history to OpenRouter format
-        List<OpenRouterChatMessage> messageHistory = convertChatHistory(request.getHistory());
-
-        // Execute with retry
-        String responseText = Retry.decorateSupplier(noteAiRetry, () -> {
-            log.info("Calling OpenRouter AI for note chat (attempt)");
-
-            OpenRouterResponse response = openRouterClient.chatCompletionMarkdown(
-                    OpenRouterModel.GROK_FAST_1,
-                    promptBuilder.getSystemPrompt(),
-                    promptBuilder.getUserPrompt(),
-                    messageHistory
-            );
-
-            // Validate response
-            if (response.getContent() == null || response.getContent().isBlank()) {
-                throw TechnicalException.of(TechnicalException.Code.AI_SERVICE_ERROR)
-                        .with("noteId", noteId)
-                        .with("error", "Empty response from AI")
-                        .build();
-            }
-
-            return response.getContent();
-        }).get();
-
-        log.info("Note chat response generated successfully for note ID: {}, response length: {} chars",
-                noteId, responseText.length());
-
-        return NoteQuestionResponse.builder()
-                .responseText(responseText)
-                .build();
     }
 
     private List<OpenRouterChatMessage> convertChatHistory(List<ChatMessage> history) {
@@ -280,7 +373,7 @@ public class OpenRouterAi implements NoteAiEditor, NoteCastTranscriptGenerator,
     }
 
     @Override
-    public GameNoteAiResponse generateGameQuestions(GameNoteAiRequest request) {
+    public CompletableFuture<GameNoteAiResponse> generateGameQuestions(GameNoteAiRequest request) {
         log.info("Generating game questions: type={}, difficulty={}, count={}",
                 request.getQuestionType(), request.getDifficulty(), request.getNumberOfQuestions());
 
@@ -350,29 +443,53 @@ public class OpenRouterAi implements NoteAiEditor, NoteCastTranscriptGenerator,
                     .append(" Unknown question type: " + request.getQuestionType()));
         }
 
-        return Retry.decorateSupplier(noteAiRetry, () -> {
-            log.debug("Calling OpenRouter AI for {} question generation", request.getQuestionType());
-
-            OpenRouterResponse response = openRouterClient.chatCompletion(
-                    OpenRouterModel.GROK_FAST_1,
-                    systemPrompt,
-                    userPrompt,
-                    jsonSchema
-            );
-
-            // Validate and parse with validator
-            GameNoteAiResponse aiResponse = gameNoteValidator.validateGameNoteResponse(
-                    response.getContent(),
-                    request.getQuestionType(),
-                    request.getNumberOfQuestions()
-            );
-
-            log.info("Game questions generated and validated successfully: type={}, count={}/{}",
-                    request.getQuestionType(),
-                    aiResponse.getQuestions().size(),
-                    request.getNumberOfQuestions());
-
-            return aiResponse;
-        }).get();
+        AiCallContext context = AiCallContext.of(AiOperation.GAME_QUESTIONS);
+        AiCacheKey cacheKey = cacheKey(AiOperation.GAME_QUESTIONS, null,
+                systemPrompt, userPrompt, jsonSchema);
+
+        return aiResponseCache.getOrCompute(cacheKey, GameNoteAiResponse.class, () ->
+                asyncRetry.execute(AiOperation.GAME_QUESTIONS, () -> modelRouter.execute(AiOperation.GAME_QUESTIONS, model -> {
+                    log.debug("Calling OpenRouter AI ({}) for {} question generation",
+                            model.getModelId(), request.getQuestionType());
+
+                    return openRouterClient.chatCompletion(
+                            context,
+                            model,
+                            systemPrompt,
+                            userPrompt,
+                            jsonSchema
+                    ).thenApply(response -> {
+                        // Validate and parse with validator
+                        GameNoteAiResponse aiResponse = gameNoteValidator.validateGameNoteResponse(
+                                response.getContent(),
+                                request.getQuestionType(),
+                                request.getNumberOfQuestions()
+                        );
+
+                        log.info("Game questions generated and validated successfully: type={}, count={}/{}",
+                                request.getQuestionType(),
+                                aiResponse.getQuestions().size(),
+                                request.getNumberOfQuestions());
+
+                        return aiResponse;
+                    });
+                })));
+    }
+
+    private AiCacheKey cacheKey(
+            AiOperation operation,
+            String scope,
+            String systemPrompt,
+            String userPrompt,
+            OpenRouterJsonSchema jsonSchema
+    ) {
+        return AiCacheKey.builder()
+                .operation(operation)
+                .scope(scope)
+                .model(modelRouter.chainId(operation))
+                .systemPrompt(systemPrompt)
+                .userPrompt(userPrompt)
+                .schema(jsonSchema)
+                .build();
     }
 }
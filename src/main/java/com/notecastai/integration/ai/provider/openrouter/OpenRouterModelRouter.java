@@ -0,0 +1,331 @@
+package com.notecastai.integration.ai.provider.openrouter;
+
+import com.notecastai.common.exeption.AiValidationException;
+import com.notecastai.common.exeption.BusinessException;
+import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.common.util.FutureUtils;
+import com.notecastai.config.AiRoutingProperties;
+import com.notecastai.integration.ai.AiOperation;
+import com.notecastai.integration.ai.provider.openrouter.dto.OpenRouterModel;
+import com.notecastai.integration.ai.telemetry.AiTelemetry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs an OpenRouter operation against its configured model chain.
+ * <p>
+ * Models are tried in order. A model whose circuit breaker is open is skipped. A failed attempt, including
+ * a response that fails validation, falls through to the next model. With hedging enabled, the next model
+ * also gets a parallel request once the current one has run longer than its observed p95 latency. The first
+ * valid response wins and the slower one is discarded when it arrives. Attempts are asynchronous, so neither
+ * waiting nor hedging holds a thread. Every decision is logged and counted under {@code ai.routing.*}.
+ */
+@Slf4j
+@Component
+public class OpenRouterModelRouter {
+
+    private static final String BREAKER_PREFIX = "openrouter:";
+
+    private final AiRoutingProperties properties;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final MeterRegistry meterRegistry;
+    private final AiTelemetry telemetry;
+
+    public OpenRouterModelRouter(AiRoutingProperties properties, CircuitBreakerRegistry circuitBreakerRegistry,
+                                 MeterRegistry meterRegistry, AiTelemetry telemetry) {
+        this.properties = properties;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.meterRegistry = meterRegistry;
+        this.telemetry = telemetry;
+    }
+
+    /**
+     * @param attempt starts the call for the given model and validates the result; a failure of the returned
+     *                future other than {@link BusinessException} counts as a failure of that model
+     */
+    public <T> CompletableFuture<T> execute(AiOperation operation, Function<OpenRouterModel, CompletableFuture<T>> attempt) {
+        List<OpenRouterModel> chain = properties.chainFor(operation);
+        return executeFrom(operation, chain, 0, EnumSet.noneOf(OpenRouterModel.class), null, attempt);
+    }
+
+    private <T> CompletableFuture<T> executeFrom(
+            AiOperation operation,
+            List<OpenRouterModel> chain,
+            int index,
+            Set<OpenRouterModel> tried,
+            RuntimeException lastFailure,
+            Function<OpenRouterModel, CompletableFuture<T>> attempt
+    ) {
+        for (int i = index; i < chain.size(); i++) {
+            OpenRouterModel model = chain.get(i);
+            if (!tried.add(model)) {
+                continue;
+            }
+            if (!isPermitted(model)) {
+                record(operation, model, "skipped_open");
+                log.info("Routing {}: skipping {} (circuit open)", operation, model.getModelId());
+                continue;
+            }
+
+            OpenRouterModel hedgeModel = properties.getHedging().isEnabled() ? nextPermitted(chain, i + 1, tried) : null;
+            Long hedgeDelayMs = hedgeModel != null ? hedgeDelayMs(operation, model) : null;
+
+            CompletableFuture<T> result = hedgeDelayMs != null
+                    ? executeHedged(operation, model, hedgeModel, hedgeDelayMs, attempt, tried)
+                    : callModel(operation, model, attempt);
+
+            int position = i;
+            return result.handle((value, error) -> {
+                if (error == null) {
+                    if (position > 0) {
+                        log.info("Routing {}: served by fallback {} after {}", operation, model.getModelId(),
+                                chain.subList(0, position).stream().map(OpenRouterModel::getModelId).collect(Collectors.joining(", ")));
+                    }
+                    return CompletableFuture.completedFuture(value);
+                }
+
+                RuntimeException failure = FutureUtils.propagate(error);
+                if (failure instanceof BusinessException) {
+                    return CompletableFuture.<T>failedFuture(failure);
+                }
+                if (failure instanceof CallNotPermittedException) {
+                    record(operation, model, "skipped_open");
+                    return executeFrom(operation, chain, position + 1, tried, lastFailure, attempt);
+                }
+                log.warn("Routing {}: model {} failed ({}), trying next in chain",
+                        operation, model.getModelId(), failure.getMessage());
+                return executeFrom(operation, chain, position + 1, tried, failure, attempt);
+            }).thenCompose(Function.identity());
+        }
+
+        if (lastFailure != null) {
+            return CompletableFuture.failedFuture(lastFailure);
+        }
+        return CompletableFuture.failedFuture(TechnicalException.of(TechnicalException.Code.AI_SERVICE_ERROR)
+                .with("operation", operation.name())
+                .with("error", "No model available, all circuit breakers are open")
+                .build());
+    }
+
+    /**
+     * First model of the chain whose circuit breaker currently admits calls, for callers (such as token
+     * streaming) that cannot fall back once the response has started.
+     */
+    public OpenRouterModel primaryAvailable(AiOperation operation) {
+        List<OpenRouterModel> chain = properties.chainFor(operation);
+        return chain.stream()
+                .filter(this::isPermitted)
+                .findFirst()
+                .orElse(chain.get(0));
+    }
+
+    /**
+     * Stable description of the chain including each model's temperature, used where the serving model
+     * is not known in advance (cache keys).
+     */
+    public String chainId(AiOperation operation) {
+        return properties.chainFor(operation).stream()
+                .map(model -> model.getModelId() + "@" + model.getTemperature())
+                .collect(Collectors.joining(">"));
+    }
+
+    /**
+     * Starts {@code primary}; if it has not completed after {@code hedgeDelayMs}, also starts {@code hedge}.
+     * The first success wins and the other attempt is cancelled. A primary failure before the delay fails fast
+     * so the chain walk can fall back.
+     */
+    private <T> CompletableFuture<T> executeHedged(
+            AiOperation operation,
+            OpenRouterModel primary,
+            OpenRouterModel hedge,
+            long hedgeDelayMs,
+            Function<OpenRouterModel, CompletableFuture<T>> attempt,
+            Set<OpenRouterModel> tried
+    ) {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicBoolean hedged = new AtomicBoolean();
+        AtomicInteger pending = new AtomicInteger(1);
+
+        CompletableFuture<T> primaryCall = callModel(operation, primary, attempt);
+        winner.whenComplete((value, error) -> primaryCall.cancel(true));
+        primaryCall.whenComplete((value, error) ->
+                settleHedged(operation, primary, hedge, winner, hedged, pending, value, error));
+
+        CompletableFuture.delayedExecutor(hedgeDelayMs, TimeUnit.MILLISECONDS).execute(() -> {
+            if (winner.isDone()) {
+                return;
+            }
+            pending.incrementAndGet();
+            if (!hedged.compareAndSet(false, true)) {
+                // The primary failed in the meantime and already handed control back to the chain walk
+                pending.decrementAndGet();
+                return;
+            }
+            tried.add(hedge);
+            counter("ai.routing.hedges", operation, hedge, "launched").increment();
+            log.info("Routing {}: {} exceeded p95 ({} ms), hedging with {}",
+                    operation, primary.getModelId(), hedgeDelayMs, hedge.getModelId());
+
+            CompletableFuture<T> hedgeCall = callModel(operation, hedge, attempt);
+            winner.whenComplete((value, error) -> hedgeCall.cancel(true));
+            hedgeCall.whenComplete((value, error) ->
+                    settleHedged(operation, hedge, hedge, winner, hedged, pending, value, error));
+        });
+
+        return winner;
+    }
+
+    private <T> void settleHedged(
+            AiOperation operation,
+            OpenRouterModel model,
+            OpenRouterModel hedge,
+            CompletableFuture<T> winner,
+            AtomicBoolean hedged,
+            AtomicInteger pending,
+            T value,
+            Throwable error
+    ) {
+        int remaining = pending.decrementAndGet();
+        if (error == null) {
+            if (winner.complete(value) && hedged.get()) {
+                counter("ai.routing.hedges", operation, model, model == hedge ? "hedge_won" : "primary_won")
+                        .increment();
+            }
+            return;
+        }
+        if (winner.isDone()) {
+            // The loser, cancelled once the other attempt decided the call
+            return;
+        }
+
+        RuntimeException failure = FutureUtils.propagate(error);
+        if (failure instanceof BusinessException) {
+            winner.completeExceptionally(failure);
+            return;
+        }
+        if (hedged.get()) {
+            log.warn("Routing {}: hedged attempt on {} failed ({})", operation, model.getModelId(), failure.getMessage());
+        }
+        // Before the hedge fired (or once both attempts failed) the failure goes back to the chain walk
+        if (hedged.compareAndSet(false, true) || remaining == 0) {
+            winner.completeExceptionally(failure);
+        }
+    }
+
+    private <T> CompletableFuture<T> callModel(
+            AiOperation operation,
+            OpenRouterModel model,
+            Function<OpenRouterModel, CompletableFuture<T>> attempt
+    ) {
+        CircuitBreaker breaker = breaker(model);
+        if (!breaker.tryAcquirePermission()) {
+            return CompletableFuture.failedFuture(CallNotPermittedException.createCallNotPermittedException(breaker));
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<T> call;
+        try {
+            call = attempt.apply(model);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+
+        // Completed after the bookkeeping below, which stays attached to the call itself so that cancelling the
+        // returned future still releases the breaker permission once the call ends
+        CompletableFuture<T> result = new CompletableFuture<>();
+        call.whenComplete((value, error) -> {
+            long duration = System.nanoTime() - start;
+            if (error == null) {
+                breaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+                latencyTimer(operation, model).record(duration, TimeUnit.NANOSECONDS);
+                record(operation, model, "success");
+            } else if (FutureUtils.unwrap(error) instanceof CancellationException) {
+                breaker.releasePermission();
+                record(operation, model, "cancelled");
+            } else if (FutureUtils.unwrap(error) instanceof AiValidationException invalid) {
+                breaker.onError(duration, TimeUnit.NANOSECONDS, invalid);
+                telemetry.recordValidationFailure(operation, model.getModelId());
+                record(operation, model, "invalid_response");
+            } else {
+                breaker.onError(duration, TimeUnit.NANOSECONDS, FutureUtils.unwrap(error));
+                record(operation, model, "failure");
+            }
+            if (error == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(error);
+            }
+        });
+        return FutureUtils.cancelling(call, result);
+    }
+
+    private OpenRouterModel nextPermitted(List<OpenRouterModel> chain, int from, Set<OpenRouterModel> tried) {
+        for (int i = from; i < chain.size(); i++) {
+            OpenRouterModel candidate = chain.get(i);
+            if (!tried.contains(candidate) && isPermitted(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private boolean isPermitted(OpenRouterModel model) {
+        CircuitBreaker.State state = breaker(model).getState();
+        return state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    private Long hedgeDelayMs(AiOperation operation, OpenRouterModel model) {
+        Timer timer = latencyTimer(operation, model);
+        if (timer.count() < properties.getHedging().getMinSamples()) {
+            return null;
+        }
+
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.95) {
+                long p95 = (long) percentile.value(TimeUnit.MILLISECONDS);
+                return Math.max(p95, properties.getHedging().getMinDelay().toMillis());
+            }
+        }
+        return null;
+    }
+
+    private CircuitBreaker breaker(OpenRouterModel model) {
+        return circuitBreakerRegistry.circuitBreaker(BREAKER_PREFIX + model.getModelId());
+    }
+
+    private Timer latencyTimer(AiOperation operation, OpenRouterModel model) {
+        return Timer.builder("ai.routing.latency")
+                .tag("operation", operation.getTag())
+                .tag("model", model.getModelId())
+                .publishPercentiles(0.95)
+                .register(meterRegistry);
+    }
+
+    private void record(AiOperation operation, OpenRouterModel model, String outcome) {
+        counter("ai.routing.attempts", operation, model, outcome).increment();
+    }
+
+    private Counter counter(String name, AiOperation operation, OpenRouterModel model, String outcome) {
+        return Counter.builder(name)
+                .tag("operation", operation.getTag())
+                .tag("model", model.getModelId())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,206 @@
+package com.notecastai.integration.ai.provider.openrouter;
+
+import com.notecastai.config.AiTranscriptProperties;
+import com.notecastai.integration.ai.AiOperation;
+import com.notecastai.integration.ai.cache.AiCacheKey;
+import com.notecastai.integration.ai.cache.AiResponseCache;
+import com.notecastai.integration.ai.client.AiAsyncRetry;
+import com.notecastai.integration.ai.prompt.TranscriptSectionPromptBuilder;
+import com.notecastai.integration.ai.prompt.TranscriptStitchPromptBuilder;
+import com.notecastai.integration.ai.provider.openrouter.client.JsonSchemaBuilder;
+import com.notecastai.integration.ai.provider.openrouter.client.OpenRouterClient;
+import com.notecastai.integration.ai.provider.openrouter.dto.OpenRouterJsonSchema;
+import com.notecastai.integration.ai.provider.openrouter.dto.TranscriptAiResponse;
+import com.notecastai.integration.ai.provider.openrouter.dto.TranscriptStitchAiResponse;
+import com.notecastai.integration.ai.telemetry.AiCallContext;
+import com.notecastai.integration.ai.validator.TranscriptResponseValidator;
+import com.notecastai.notecast.domain.NoteCastStyle;
+import com.notecastai.notecast.domain.TranscriptSize;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Map-reduce transcript generation for long notes.
+ * <p>
+ * Each markdown section gets its own transcript fragment with a word budget proportional to its length,
+ * generated concurrently with at most {@code maxParallelSections} requests in flight per note. A final stitching
+ * call writes only the opening, the transitions and the closing, which are then assembled around the fragments.
+ * The connective text gets the share of the {@link TranscriptSize} budget the fragments left over.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SectionedTranscriptGenerator {
+
+    private static final int MIN_SECTION_WORDS = 60;
+    private static final int MIN_STITCH_WORDS = 40;
+    private static final double SECTION_WORD_TOLERANCE = 0.15;
+    private static final int WORDS_PER_MINUTE = 150;
+
+    private final OpenRouterClient openRouterClient;
+    private final TranscriptResponseValidator validator;
+    private final AiAsyncRetry asyncRetry;
+    private final AiResponseCache aiResponseCache;
+    private final OpenRouterModelRouter modelRouter;
+    private final AiTranscriptProperties properties;
+
+    public CompletableFuture<TranscriptAiResponse> generate(List<String> sections, NoteCastStyle style, TranscriptSize size) {
+        double stitchShare = properties.getChunking().getStitchWordShare();
+        int bodyWords = (int) Math.round(size.getAverageWords() * (1 - stitchShare));
+        long totalChars = sections.stream().mapToLong(String::length).sum();
+
+        log.info("Generating sectioned transcript - sections: {}, inputChars: {}, bodyWords: {}",
+                sections.size(), totalChars, bodyWords);
+
+        // Sections are spread over a fixed number of lanes; each lane starts its next section when the previous one completes
+        // Later sections and the stitch run on completion threads, so the caller's context is captured here
+        AiCallContext context = AiCallContext.of(AiOperation.NOTECAST_TRANSCRIPT);
+
+        int lanes = Math.max(1, Math.min(properties.getChunking().getMaxParallelSections(), sections.size()));
+        List<CompletableFuture<TranscriptAiResponse>> futures = new ArrayList<>(sections.size());
+        for (int i = 0; i < sections.size(); i++) {
+            String section = sections.get(i);
+            int targetWords = Math.max(MIN_SECTION_WORDS, (int) Math.round((double) bodyWords * section.length() / totalChars));
+
+            TranscriptSectionPromptBuilder promptBuilder = TranscriptSectionPromptBuilder.builder()
+                    .sectionContent(section)
+                    .sectionNumber(i + 1)
+                    .sectionCount(sections.size())
+                    .style(style)
+                    .minWords((int) Math.round(targetWords * (1 - SECTION_WORD_TOLERANCE)))
+                    .maxWords((int) Math.round(targetWords * (1 + SECTION_WORD_TOLERANCE)))
+                    .build();
+
+            futures.add(i < lanes
+                    ? generateSection(context, promptBuilder, size)
+                    : futures.get(i - lanes).thenCompose(previous -> generateSection(context, promptBuilder, size)));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenCompose(ignored -> {
+                    List<String> fragments = futures.stream()
+                            .map(CompletableFuture::join)
+                            .map(TranscriptAiResponse::getTranscript)
+                            .map(String::strip)
+                            .toList();
+
+                    return stitchAndAssemble(context, fragments, style, size, stitchShare);
+                });
+    }
+
+    private CompletableFuture<TranscriptAiResponse> stitchAndAssemble(AiCallContext context, List<String> fragments,
+                                                                      NoteCastStyle style, TranscriptSize size,
+                                                                      double stitchShare) {
+        int fragmentWords = fragments.stream().mapToInt(SectionedTranscriptGenerator::countWords).sum();
+        int stitchWords = Math.max(MIN_STITCH_WORDS, Math.min(size.getMaxWords() - fragmentWords,
+                (int) Math.round(size.getAverageWords() * stitchShare * 2)));
+
+        return stitch(context, fragments, style, stitchWords).thenApply(stitch -> {
+            String transcript = assemble(fragments, stitch);
+            int wordCount = countWords(transcript);
+
+            if (wordCount < size.getMinWords() || wordCount > size.getMaxWords()) {
+                log.warn("Sectioned transcript outside word budget - size: {}, wordCount: {}, expected: {}-{}",
+                        size.getLabel(), wordCount, size.getMinWords(), size.getMaxWords());
+            }
+
+            return TranscriptAiResponse.builder()
+                    .transcript(transcript)
+                    .wordCount(wordCount)
+                    .estimatedDuration(estimateDuration(wordCount))
+                    .build();
+        });
+    }
+
+    private CompletableFuture<TranscriptAiResponse> generateSection(AiCallContext context,
+                                                                    TranscriptSectionPromptBuilder promptBuilder,
+                                                                    TranscriptSize size) {
+        String systemPrompt = promptBuilder.getSystemPrompt();
+        String userPrompt = promptBuilder.getUserPrompt();
+        OpenRouterJsonSchema jsonSchema = JsonSchemaBuilder.buildTranscriptSchema();
+
+        AiCacheKey cacheKey = cacheKey(systemPrompt, userPrompt, jsonSchema);
+
+        return aiResponseCache.getOrCompute(cacheKey, TranscriptAiResponse.class, () ->
+                asyncRetry.execute(AiOperation.NOTECAST_TRANSCRIPT, () -> modelRouter.execute(AiOperation.NOTECAST_TRANSCRIPT, model -> {
+                    log.info("Calling OpenRouter AI ({}) for transcript section {}/{} (attempt)",
+                            model.getModelId(), promptBuilder.getSectionNumber(), promptBuilder.getSectionCount());
+
+                    return openRouterClient.chatCompletion(
+                            context,
+                            model,
+                            systemPrompt,
+                            userPrompt,
+                            jsonSchema
+                    ).thenApply(aiResponse -> validator.validateTranscriptResponse(aiResponse.getContent(), size));
+                })));
+    }
+
+    private CompletableFuture<TranscriptStitchAiResponse> stitch(AiCallContext context, List<String> fragments,
+                                                                 NoteCastStyle style, int maxWords) {
+        TranscriptStitchPromptBuilder promptBuilder = TranscriptStitchPromptBuilder.builder()
+                .fragments(fragments)
+                .style(style)
+                .maxWords(maxWords)
+                .build();
+
+        String systemPrompt = promptBuilder.getSystemPrompt();
+        String userPrompt = promptBuilder.getUserPrompt();
+        OpenRouterJsonSchema jsonSchema = JsonSchemaBuilder.buildTranscriptStitchSchema();
+
+        AiCacheKey cacheKey = cacheKey(systemPrompt, userPrompt, jsonSchema);
+
+        return aiResponseCache.getOrCompute(cacheKey, TranscriptStitchAiResponse.class, () ->
+                asyncRetry.execute(AiOperation.NOTECAST_TRANSCRIPT, () -> modelRouter.execute(AiOperation.NOTECAST_TRANSCRIPT, model -> {
+                    log.info("Calling OpenRouter AI ({}) for transcript stitching (attempt)", model.getModelId());
+
+                    return openRouterClient.chatCompletion(
+                            context,
+                            model,
+                            systemPrompt,
+                            userPrompt,
+                            jsonSchema
+                    ).thenApply(aiResponse ->
+                            validator.validateStitchResponse(aiResponse.getContent(), promptBuilder.getTransitionCount()));
+                })));
+    }
+
+    private static String assemble(List<String> fragments, TranscriptStitchAiResponse stitch) {
+        List<String> parts = new ArrayList<>(fragments.size() * 2 + 1);
+        parts.add(stitch.getOpening().strip());
+        for (int i = 0; i < fragments.size(); i++) {
+            if (i > 0) {
+                parts.add(stitch.getTransitions().get(i - 1).strip());
+            }
+            parts.add(fragments.get(i));
+        }
+        parts.add(stitch.getClosing().strip());
+        return String.join("\n\n", parts);
+    }
+
+    private AiCacheKey cacheKey(String systemPrompt, String userPrompt, OpenRouterJsonSchema jsonSchema) {
+        return AiCacheKey.builder()
+                .operation(AiOperation.NOTECAST_TRANSCRIPT)
+                .model(modelRouter.chainId(AiOperation.NOTECAST_TRANSCRIPT))
+                .systemPrompt(systemPrompt)
+                .userPrompt(userPrompt)
+                .schema(jsonSchema)
+                .build();
+    }
+
+    private static int countWords(String text) {
+        String trimmed = text.strip();
+        return trimmed.isEmpty() ? 0 : trimmed.split("\\s+").length;
+    }
+
+    private static String estimateDuration(int wordCount) {
+        // Round to the nearest 15 seconds, as the single-pass prompt asks the model to do
+        long seconds = Math.round(wordCount * 60.0 / WORDS_PER_MINUTE / 15) * 15;
+        return String.format("%d min %d sec", seconds / 60, seconds % 60);
+    }
+}
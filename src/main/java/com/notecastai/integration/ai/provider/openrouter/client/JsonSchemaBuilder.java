@@ -138,6 +138,36 @@ public class JsonSchemaBuilder {
                 .build();
     }
 
+    /**
+     * Build schema for the connective text of a sectioned transcript
+     */
+    public static OpenRouterJsonSchema buildTranscriptStitchSchema() {
+        return OpenRouterJsonSchema.builder()
+                .name("transcript_stitch_response")
+                .strict(true)
+                .schema(Map.of(
+                        "type", "object",
+                        "properties", Map.of(
+                                "opening", Map.of(
+                                        "type", "string",
+                                        "description", "Short spoken hook placed before the first part"
+                                ),
+                                "transitions", Map.of(
+                                        "type", "array",
+                                        "description", "One short spoken bridge per boundary between consecutive parts",
+                                        "items", Map.of("type", "string")
+                                ),
+                                "closing", Map.of(
+                                        "type", "string",
+                                        "description", "Short spoken conclusion placed after the last part"
+                                )
+                        ),
+                        "required", List.of("opening", "transitions", "closing"),
+                        "additionalProperties", false
+                ))
+                .build();
+    }
+
     /**
      * Build schema for Flashcard game questions
      */
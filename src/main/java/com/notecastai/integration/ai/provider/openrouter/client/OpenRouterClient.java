@@ -1,50 +1,93 @@
 package com.notecastai.integration.ai.provider.openrouter.client;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.common.util.FutureUtils;
+import com.notecastai.integration.ai.client.AiConcurrencyLimiters;
+import com.notecastai.integration.ai.client.AiHttpEndpoint;
+import com.notecastai.integration.ai.client.AiHttpTransport;
+import com.notecastai.integration.ai.client.AiRequestCoalescer;
 import com.notecastai.integration.ai.provider.openrouter.dto.*;
-import lombok.RequiredArgsConstructor;
+import com.notecastai.integration.ai.telemetry.AiCallContext;
+import com.notecastai.integration.ai.telemetry.AiTelemetry;
+import com.notecastai.integration.ai.telemetry.AiUsage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
 
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class OpenRouterClient {
 
-    private final RestClient openRouterRestClient;
+    private static final String PROVIDER = "openrouter";
+    private static final String CHAT_COMPLETIONS_PATH = "/chat/completions";
+    private static final String SSE_DATA_PREFIX = "data:";
+    private static final String SSE_DONE_MARKER = "[DONE]";
+
+    private final AiHttpEndpoint openRouterEndpoint;
+    private final AiHttpTransport transport;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final AiRequestCoalescer requestCoalescer;
+    private final AiConcurrencyLimiters concurrencyLimiters;
+    private final AiTelemetry telemetry;
+
+    public OpenRouterClient(AiHttpEndpoint openRouterEndpoint, AiHttpTransport transport, ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry, AiRequestCoalescer requestCoalescer,
+                            AiConcurrencyLimiters concurrencyLimiters, AiTelemetry telemetry) {
+        this.openRouterEndpoint = openRouterEndpoint;
+        this.transport = transport;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.requestCoalescer = requestCoalescer;
+        this.concurrencyLimiters = concurrencyLimiters;
+        this.telemetry = telemetry;
+    }
 
     /**
      * Execute chat completion with system and user prompts only (no history, no schema)
      */
-    public OpenRouterResponse chatCompletion(
+    public CompletableFuture<OpenRouterResponse> chatCompletion(
+            AiCallContext context,
             OpenRouterModel model,
             String systemPrompt,
             String userPrompt
     ) {
-        return chatCompletion(model, systemPrompt, userPrompt, null, null);
+        return chatCompletion(context, model, systemPrompt, userPrompt, null, null);
     }
 
     /**
      * Execute chat completion with structured output schema
      */
-    public OpenRouterResponse chatCompletion(
+    public CompletableFuture<OpenRouterResponse> chatCompletion(
+            AiCallContext context,
             OpenRouterModel model,
             String systemPrompt,
             String userPrompt,
             OpenRouterJsonSchema jsonSchema
     ) {
-        return chatCompletion(model, systemPrompt, userPrompt, null, jsonSchema);
+        return chatCompletion(context, model, systemPrompt, userPrompt, null, jsonSchema);
     }
 
     /**
      * Execute chat completion for conversational responses (markdown, no structured JSON)
      */
-    public OpenRouterResponse chatCompletionMarkdown(
+    public CompletableFuture<OpenRouterResponse> chatCompletionMarkdown(
+            AiCallContext context,
             OpenRouterModel model,
             String systemPrompt,
             String userPrompt,
@@ -61,13 +104,40 @@ public class OpenRouterClient {
                 .build();
 
         // No response format - let AI respond naturally in markdown
-        return executeRequest(request, model);
+        return executeRequest(context, request, model);
+    }
+
+    /**
+     * Stream a conversational (markdown) chat completion. Every content delta is handed to {@code onToken}
+     * as soon as OpenRouter emits it; the returned future completes with the fully assembled response.
+     * Lines are consumed as they arrive on the HTTP client's completion threads, so no thread waits on the stream.
+     */
+    public CompletableFuture<OpenRouterResponse> streamChatCompletionMarkdown(
+            AiCallContext context,
+            OpenRouterModel model,
+            String systemPrompt,
+            String userPrompt,
+            List<OpenRouterChatMessage> messageHistory,
+            Consumer<String> onToken
+    ) {
+        List<OpenRouterChatMessage> messages = buildMessages(systemPrompt, userPrompt, messageHistory);
+
+        OpenRouterChatRequest request = OpenRouterChatRequest.builder()
+                .model(model.getModelId())
+                .messages(messages)
+                .maxTokens(model.getMaxTokens())
+                .temperature(model.getTemperature())
+                .stream(true)
+                .build();
+
+        return executeStreamingRequest(context, request, model, onToken);
     }
 
     /**
      * Execute chat completion with system prompt, user prompt, optional history, and optional schema
      */
-    public OpenRouterResponse chatCompletion(
+    public CompletableFuture<OpenRouterResponse> chatCompletion(
+            AiCallContext context,
             OpenRouterModel model,
             String systemPrompt,
             String userPrompt,
@@ -96,14 +166,14 @@ public class OpenRouterClient {
                     .build());
         }
 
-        return executeRequest(requestBuilder.build(), model);
+        return executeRequest(context, requestBuilder.build(), model);
     }
 
     /**
      * Execute chat completion with full control over request
      */
-    public OpenRouterResponse chatCompletion(OpenRouterChatRequest request) {
-        return executeRequest(request, null);
+    public CompletableFuture<OpenRouterResponse> chatCompletion(AiCallContext context, OpenRouterChatRequest request) {
+        return executeRequest(context, request, null);
     }
 
     private List<OpenRouterChatMessage> buildMessages(
@@ -135,39 +205,272 @@ public class OpenRouterClient {
         return messages;
     }
 
-    private OpenRouterResponse executeRequest(OpenRouterChatRequest request, OpenRouterModel model) {
+    private CompletableFuture<OpenRouterResponse> executeRequest(AiCallContext context, OpenRouterChatRequest request,
+                                                                 OpenRouterModel model) {
         String modelInfo = model != null ? model.getModelId() : request.getModel();
         log.info("Executing OpenRouter chat completion for model: {}", modelInfo);
         log.debug("Request - MaxTokens: {}, Temperature: {}, ResponseFormat: {}",
                 request.getMaxTokens(), request.getTemperature(),
                 request.getResponseFormat() != null ? request.getResponseFormat().getType() : "none");
 
-        try {
-            OpenRouterChatResponse rawResponse = openRouterRestClient.post()
-                    .uri("/chat/completions")
-                    .body(request)
-                    .retrieve()
-                    .body(OpenRouterChatResponse.class);
+        // Only the coalescing leader reaches the provider, so its caller is the one charged for the call
+        return requestCoalescer.executeAsync(PROVIDER, "chat_completion", request, () ->
+                        concurrencyLimiters.executeAsync(PROVIDER, () -> telemetry.timed(PROVIDER, modelInfo, context,
+                                        () -> transport.send(jsonRequest(request, MediaType.APPLICATION_JSON))))
+                                .thenApply(response -> transport.readJson(response, OpenRouterChatResponse.class))
+                                .thenApply(rawResponse -> {
+                                    if (rawResponse != null) {
+                                        recordUsage(context, modelInfo, rawResponse.getUsage());
+                                    }
+                                    return rawResponse;
+                                }))
+                .handle((rawResponse, error) -> {
+                    if (error != null) {
+                        throw failure(modelInfo, error);
+                    }
+                    if (rawResponse == null) {
+                        throw TechnicalException.of(TechnicalException.Code.AI_SERVICE_ERROR)
+                                .with("model", modelInfo)
+                                .with("error", "Empty response from OpenRouter")
+                                .build();
+                    }
+                    return mapToCustomResponse(rawResponse);
+                });
+    }
+
+    private CompletableFuture<OpenRouterResponse> executeStreamingRequest(
+            AiCallContext context,
+            OpenRouterChatRequest request,
+            OpenRouterModel model,
+            Consumer<String> onToken
+    ) {
+        String modelInfo = model.getModelId();
+        log.info("Executing streaming OpenRouter chat completion for model: {}", modelInfo);
+
+        long startNanos = System.nanoTime();
+
+        // Stream duration depends on answer length, so it is not used as a latency signal by the limiter
+        return concurrencyLimiters.executeAsync(PROVIDER, false, () -> {
+                    HttpRequest httpRequest = jsonRequest(request, MediaType.TEXT_EVENT_STREAM);
+                    SseChatSubscriber subscriber = new SseChatSubscriber(httpRequest, modelInfo, startNanos, onToken);
+                    transport.send(httpRequest, HttpResponse.BodyHandlers.fromLineSubscriber(subscriber))
+                            .whenComplete((response, error) -> {
+                                if (error != null) {
+                                    subscriber.fail(FutureUtils.unwrap(error));
+                                }
+                            });
+                    return subscriber.result;
+                })
+                .handle((response, error) -> {
+                    long totalNanos = System.nanoTime() - startNanos;
+                    telemetry.recordLatency(PROVIDER, modelInfo, context, totalNanos, error);
+                    if (error != null) {
+                        throw failure(modelInfo, error);
+                    }
+                    if (response.getTokenUsage() != null) {
+                        recordUsage(context, modelInfo, response.getTokenUsage().getPromptTokens(),
+                                response.getTokenUsage().getCompletionTokens());
+                    }
+
+                    streamTimer("ai.chat.stream.duration", modelInfo).record(totalNanos, TimeUnit.NANOSECONDS);
+                    log.info("OpenRouter stream finished for model {}: total={}ms, finishReason={}, contentLength={}",
+                            modelInfo,
+                            TimeUnit.NANOSECONDS.toMillis(totalNanos),
+                            response.getFinishReason(),
+                            response.getContent().length());
+
+                    return response;
+                });
+    }
+
+    private HttpRequest jsonRequest(OpenRouterChatRequest request, MediaType accept) {
+        return transport.jsonPost(openRouterEndpoint, CHAT_COMPLETIONS_PATH, request)
+                .header(HttpHeaders.ACCEPT, accept.toString())
+                .build();
+    }
+
+    private RuntimeException failure(String modelInfo, Throwable error) {
+        RuntimeException cause = FutureUtils.propagate(error);
+        if (cause instanceof RestClientException) {
+            log.error("OpenRouter API call failed for model {}: {}", modelInfo, cause.getMessage(), cause);
+            return TechnicalException.of(TechnicalException.Code.AI_SERVICE_ERROR)
+                    .with("model", modelInfo)
+                    .with("error", String.valueOf(cause.getMessage()))
+                    .cause(cause)
+                    .build();
+        }
+        return cause;
+    }
+
+    /**
+     * Parses the {@code text/event-stream} body line by line as it arrives and assembles the answer.
+     * A parse error, an upstream error chunk or a failing {@code onToken} (client went away) cancels the
+     * subscription, which aborts the exchange instead of paying for the rest of the answer.
+     */
+    private class SseChatSubscriber implements Flow.Subscriber<String> {
+
+        private final CompletableFuture<OpenRouterResponse> result = new CompletableFuture<>();
+        private final HttpRequest request;
+        private final String modelInfo;
+        private final long startNanos;
+        private final Consumer<String> onToken;
+
+        private final StringBuilder content = new StringBuilder();
+        private Flow.Subscription subscription;
+        private String finishReason;
+        private String responseModel;
+        private OpenRouterResponse.TokenUsage tokenUsage;
+        private boolean firstTokenSeen;
+
+        private SseChatSubscriber(HttpRequest request, String modelInfo, long startNanos, Consumer<String> onToken) {
+            this.request = request;
+            this.modelInfo = modelInfo;
+            this.responseModel = modelInfo;
+            this.startNanos = startNanos;
+            this.onToken = onToken;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                handleLine(line);
+            } catch (Exception e) {
+                fail(e);
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            fail(error);
+        }
+
+        @Override
+        public void onComplete() {
+            finish();
+        }
 
-            if (rawResponse == null) {
+        void fail(Throwable error) {
+            result.completeExceptionally(AiHttpTransport.toTransportException(request, error));
+        }
+
+        private void handleLine(String line) throws IOException {
+            // SSE comments (": OPENROUTER PROCESSING") and blank separators carry no payload
+            if (!line.startsWith(SSE_DATA_PREFIX)) {
+                return;
+            }
+
+            String data = line.substring(SSE_DATA_PREFIX.length()).trim();
+            if (SSE_DONE_MARKER.equals(data)) {
+                finish();
+                return;
+            }
+            if (data.isEmpty()) {
+                return;
+            }
+
+            OpenRouterChatResponse chunk = objectMapper.readValue(data, OpenRouterChatResponse.class);
+            if (chunk.getModel() != null) {
+                responseModel = chunk.getModel();
+            }
+            if (chunk.getUsage() != null) {
+                tokenUsage = OpenRouterResponse.TokenUsage.builder()
+                        .promptTokens(chunk.getUsage().getPromptTokens())
+                        .completionTokens(chunk.getUsage().getCompletionTokens())
+                        .totalTokens(chunk.getUsage().getTotalTokens())
+                        .build();
+            }
+            if (chunk.getChoices() == null || chunk.getChoices().isEmpty()) {
+                return;
+            }
+
+            OpenRouterChatResponse.Choice choice = chunk.getChoices().get(0);
+            if (choice.getError() != null) {
                 throw TechnicalException.of(TechnicalException.Code.AI_SERVICE_ERROR)
                         .with("model", modelInfo)
-                        .with("error", "Empty response from OpenRouter")
+                        .with("error", choice.getError().getMessage())
                         .build();
             }
+            if (choice.getFinishReason() != null) {
+                finishReason = choice.getFinishReason();
+            }
 
-            return mapToCustomResponse(rawResponse);
+            String delta = choice.getDelta() != null ? choice.getDelta().getContent() : null;
+            if (delta == null || delta.isEmpty()) {
+                return;
+            }
 
-        } catch (RestClientException e) {
-            log.error("OpenRouter API call failed for model {}: {}", modelInfo, e.getMessage(), e);
-            throw TechnicalException.of(TechnicalException.Code.AI_SERVICE_ERROR)
-                    .with("model", modelInfo)
-                    .with("error", e.getMessage())
-                    .cause(e)
-                    .build();
+            if (!firstTokenSeen) {
+                firstTokenSeen = true;
+                long ttftNanos = System.nanoTime() - startNanos;
+                streamTimer("ai.chat.stream.time-to-first-token", modelInfo).record(ttftNanos, TimeUnit.NANOSECONDS);
+                log.info("OpenRouter first token for model {} after {}ms",
+                        modelInfo, TimeUnit.NANOSECONDS.toMillis(ttftNanos));
+            }
+
+            content.append(delta);
+            onToken.accept(delta);
+        }
+
+        private void finish() {
+            if (result.isDone()) {
+                return;
+            }
+            if (content.isEmpty()) {
+                result.completeExceptionally(TechnicalException.of(TechnicalException.Code.AI_SERVICE_ERROR)
+                        .with("model", modelInfo)
+                        .with("error", "Empty streamed response from OpenRouter")
+                        .build());
+                return;
+            }
+
+            if (tokenUsage != null) {
+                log.info("OpenRouter token usage for model {}: prompt={}, completion={}, total={}",
+                        responseModel,
+                        tokenUsage.getPromptTokens(),
+                        tokenUsage.getCompletionTokens(),
+                        tokenUsage.getTotalTokens());
+            }
+
+            result.complete(OpenRouterResponse.builder()
+                    .content(content.toString())
+                    .model(responseModel)
+                    .finishReason(finishReason)
+                    .tokenUsage(tokenUsage)
+                    .build());
+        }
+    }
+
+    private Timer streamTimer(String name, String model) {
+        return Timer.builder(name)
+                .tag("provider", PROVIDER)
+                .tag("model", model)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private void recordUsage(AiCallContext context, String model, OpenRouterChatResponse.Usage usage) {
+        if (usage != null) {
+            recordUsage(context, model, usage.getPromptTokens(), usage.getCompletionTokens());
         }
     }
 
+    private void recordUsage(AiCallContext context, String model, Integer promptTokens, Integer completionTokens) {
+        telemetry.recordUsage(PROVIDER, model, context, AiUsage.builder()
+                .promptTokens(promptTokens)
+                .completionTokens(completionTokens)
+                .build());
+    }
+
     private OpenRouterResponse mapToCustomResponse(OpenRouterChatResponse rawResponse) {
         // Extract content
         String content = extractContent(rawResponse);
@@ -42,6 +42,10 @@ public class OpenRouterChatResponse {
         private String nativeFinishReason;
 
         private Message message;
+
+        /** Incremental content, only present on streamed (stream=true) chunks. */
+        private Message delta;
+
         private ErrorResponse error;
     }
 
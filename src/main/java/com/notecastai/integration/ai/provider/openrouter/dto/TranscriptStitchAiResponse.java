@@ -0,0 +1,25 @@
+package com.notecastai.integration.ai.provider.openrouter.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranscriptStitchAiResponse {
+
+    @JsonProperty("opening")
+    private String opening;
+
+    @JsonProperty("transitions")
+    private List<String> transitions;
+
+    @JsonProperty("closing")
+    private String closing;
+}
@@ -0,0 +1,151 @@
+package com.notecastai.integration.ai.provider.stub;
+
+import com.notecastai.integration.ai.AiOperation;
+import com.notecastai.integration.ai.TextToSpeechService;
+import com.notecastai.integration.ai.TranscriptionService;
+import com.notecastai.integration.ai.audio.AudioBytes;
+import com.notecastai.integration.ai.audio.ChunkedSpeechSynthesizer;
+import com.notecastai.integration.ai.audio.ChunkedTranscriber;
+import com.notecastai.integration.ai.audio.Mp3Frames;
+import com.notecastai.integration.ai.client.AiAsyncRetry;
+import com.notecastai.integration.ai.dto.SegmentTimestamp;
+import com.notecastai.integration.ai.dto.TextToSpeechFormat;
+import com.notecastai.integration.ai.dto.TextToSpeechRequest;
+import com.notecastai.integration.ai.dto.TextToSpeechResult;
+import com.notecastai.integration.ai.dto.TranscriptionMetadata;
+import com.notecastai.integration.ai.dto.TranscriptionResult;
+import com.notecastai.voicenote.api.dto.TranscriptionLanguage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Offline replacement for {@code OpenAiAudioService} under the {@code stub} profile, registered under the same
+ * bean name so qualified injection points pick it up. Uploaded audio and long transcripts are chunked like in the
+ * real service; speech is returned as silent MP3 of the length the transcript would take to read aloud.
+ */
+@Slf4j
+@Service("openAiAudioService")
+@Profile("stub")
+@RequiredArgsConstructor
+public class StubAudioService implements TranscriptionService, TextToSpeechService {
+
+    private static final String PROVIDER = "stub";
+    private static final double WORDS_PER_SECOND = 2.5; // ~150 wpm
+    /** Compressed speech at 128 kbit/s, used to guess the duration of uploaded audio. */
+    private static final int UPLOAD_BYTES_PER_SECOND = 16_000;
+
+    /** MPEG-1 Layer III, 128 kbit/s, 44.1 kHz, mono: every frame holds 1152 samples in 417 bytes. */
+    private static final byte[] MP3_FRAME_HEADER = {(byte) 0xFF, (byte) 0xFB, (byte) 0x90, (byte) 0xC4};
+    private static final int MP3_FRAME_BYTES = 417;
+    private static final double MP3_FRAME_SECONDS = 1152 / 44_100.0;
+
+    private final StubFaultInjector faults;
+    private final AiAsyncRetry asyncRetry;
+    private final ChunkedTranscriber chunkedTranscriber;
+    private final AudioBytes audioBytes;
+    private final ChunkedSpeechSynthesizer chunkedSynthesizer;
+
+    @Override
+    public CompletableFuture<TranscriptionResult> transcribeAudioFile(
+            InputStream audioStream,
+            String filename,
+            String contentType,
+            TranscriptionLanguage language
+    ) {
+        long start = System.currentTimeMillis();
+        byte[] audio = audioBytes.read(audioStream, filename);
+
+        return chunkedTranscriber.transcribe(audio, filename, contentType,
+                chunk -> transcribe(chunk.getAudio(), language, start));
+    }
+
+    private CompletableFuture<TranscriptionResult> transcribe(byte[] audio, TranscriptionLanguage language, long start) {
+        int durationSeconds = Math.max(1, audio.length / UPLOAD_BYTES_PER_SECOND);
+        String transcript = StubPayloads.spokenText((int) Math.ceil(durationSeconds * WORDS_PER_SECOND));
+
+        return asyncRetry.execute(AiOperation.TRANSCRIPTION, () ->
+                faults.call(AiOperation.TRANSCRIPTION, () -> TranscriptionResult.builder()
+                        .transcript(transcript)
+                        .language(language != null && language != TranscriptionLanguage.AUTO
+                                ? language.getCode()
+                                : TranscriptionLanguage.ENGLISH.getCode())
+                        .durationSeconds(durationSeconds)
+                        .segmentTimestamps(segments(transcript, durationSeconds))
+                        .metadata(TranscriptionMetadata.builder()
+                                .provider(PROVIDER)
+                                .modelUsed(PROVIDER)
+                                .processingTimeMs(System.currentTimeMillis() - start)
+                                .build())
+                        .build()));
+    }
+
+    @Override
+    public CompletableFuture<TextToSpeechResult> synthesizeSpeech(TextToSpeechRequest request) {
+        if (request == null || request.getTranscript() == null || request.getTranscript().isBlank()) {
+            throw new IllegalArgumentException("Transcript cannot be empty");
+        }
+        if (request.getFormat() != null && request.getFormat() != TextToSpeechFormat.MP3) {
+            log.debug("Stub TTS only produces MP3, ignoring requested format {}", request.getFormat());
+        }
+
+        return chunkedSynthesizer.synthesize(request, this::synthesize);
+    }
+
+    private CompletableFuture<TextToSpeechResult> synthesize(TextToSpeechRequest request) {
+        long start = System.currentTimeMillis();
+        double durationSeconds = Math.round(StubPayloads.wordCount(request.getTranscript()) / WORDS_PER_SECOND * 10.0) / 10.0;
+        String voice = request.getVoice() != null ? request.getVoice().getId() : "alloy";
+
+        return asyncRetry.execute(AiOperation.TEXT_TO_SPEECH, () ->
+                faults.call(AiOperation.TEXT_TO_SPEECH, () -> {
+                    byte[] audio = silentMp3(durationSeconds);
+                    return TextToSpeechResult.builder()
+                            .audioBytes(audio)
+                            .mediaType(TextToSpeechFormat.MP3.getContentType())
+                            .fileExtension(TextToSpeechFormat.MP3.getFileExtension())
+                            .provider(PROVIDER)
+                            .model(PROVIDER)
+                            .voice(voice)
+                            .processingTimeMs(System.currentTimeMillis() - start)
+                            .sizeBytes((long) audio.length)
+                            .estimatedDurationSeconds(durationSeconds)
+                            .durationSeconds(Mp3Frames.parse(audio).durationSeconds())
+                            .build();
+                }));
+    }
+
+    private static List<SegmentTimestamp> segments(String transcript, int durationSeconds) {
+        String[] sentences = transcript.split("(?<=\\.)\\s+");
+        double sentenceSeconds = (double) durationSeconds / sentences.length;
+
+        List<SegmentTimestamp> segments = new ArrayList<>(sentences.length);
+        for (int i = 0; i < sentences.length; i++) {
+            segments.add(SegmentTimestamp.builder()
+                    .id(i)
+                    .text(sentences[i])
+                    .startTime(i * sentenceSeconds)
+                    .endTime((i + 1) * sentenceSeconds)
+                    .build());
+        }
+        return segments;
+    }
+
+    /**
+     * Frames with empty side information and main data decode as silence.
+     */
+    private static byte[] silentMp3(double durationSeconds) {
+        int frames = Math.max(1, (int) Math.ceil(durationSeconds / MP3_FRAME_SECONDS));
+        byte[] audio = new byte[frames * MP3_FRAME_BYTES];
+        for (int frame = 0; frame < frames; frame++) {
+            System.arraycopy(MP3_FRAME_HEADER, 0, audio, frame * MP3_FRAME_BYTES, MP3_FRAME_HEADER.length);
+        }
+        return audio;
+    }
+}
@@ -0,0 +1,109 @@
+package com.notecastai.integration.ai.provider.stub;
+
+import com.notecastai.config.AiStubProperties;
+import com.notecastai.integration.ai.AiOperation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Plays the provider side of a stubbed AI call: completes after a sampled latency, without holding a thread
+ * while waiting, and injects the failures configured in {@link AiStubProperties}. Failures are the same
+ * exceptions the real clients raise, so retries, circuit breakers and metrics react as they would in production.
+ */
+@Slf4j
+@Component
+@Profile("stub")
+@RequiredArgsConstructor
+class StubFaultInjector {
+
+    /** z-score of the 99th percentile of the standard normal distribution. */
+    private static final double Z_99 = 2.3263;
+
+    private final AiStubProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<AiOperation, AtomicLong> rateLimitedUntil = new ConcurrentHashMap<>();
+
+    /**
+     * Completes with {@code response} once the sampled latency has passed, unless a fault was injected.
+     */
+    <T> CompletableFuture<T> call(AiOperation operation, Supplier<T> response) {
+        AiStubProperties.Behavior behavior = properties.behaviorFor(operation);
+        long delayMillis = sampleLatencyMillis(behavior);
+
+        return CompletableFuture.supplyAsync(() -> {
+            injectFailure(operation, behavior);
+            return response.get();
+        }, CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Like {@link #call}, but the JSON document may come back truncated.
+     */
+    CompletableFuture<String> callJson(AiOperation operation, Supplier<String> json) {
+        double malformedJsonRate = properties.behaviorFor(operation).getMalformedJsonRate();
+        return call(operation, json).thenApply(body -> {
+            if (ThreadLocalRandom.current().nextDouble() < malformedJsonRate) {
+                count(operation, "malformed_json");
+                return body.substring(0, ThreadLocalRandom.current().nextInt(1, body.length()));
+            }
+            return body;
+        });
+    }
+
+    private void injectFailure(AiOperation operation, AiStubProperties.Behavior behavior) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        AtomicLong burstEnd = rateLimitedUntil.computeIfAbsent(operation, op -> new AtomicLong());
+        long now = System.nanoTime();
+
+        if (now - burstEnd.get() < 0) {
+            count(operation, "rate_limited");
+            throw HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests (stub)",
+                    null, null, null);
+        }
+        if (random.nextDouble() < behavior.getRateLimitBurstRate()) {
+            burstEnd.set(now + behavior.getRateLimitBurstDuration().toNanos());
+            log.info("Stub AI rate limit burst started for {} ({})", operation, behavior.getRateLimitBurstDuration());
+            count(operation, "rate_limited");
+            throw HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests (stub)",
+                    null, null, null);
+        }
+        if (random.nextDouble() < behavior.getErrorRate()) {
+            count(operation, "server_error");
+            throw HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable (stub)",
+                    null, null, null);
+        }
+    }
+
+    private long sampleLatencyMillis(AiStubProperties.Behavior behavior) {
+        double median = behavior.getMedianLatency().toMillis();
+        double p99 = Math.max(median, behavior.getP99Latency().toMillis());
+        if (median <= 0) {
+            return 0;
+        }
+        double sigma = Math.log(p99 / median) / Z_99;
+        return Math.round(median * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    private void count(AiOperation operation, String fault) {
+        Counter.builder("ai.stub.faults")
+                .tag("operation", operation.getTag())
+                .tag("fault", fault)
+                .register(meterRegistry)
+                .increment();
+    }
+}
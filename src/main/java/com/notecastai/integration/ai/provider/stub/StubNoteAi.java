@@ -0,0 +1,156 @@
+package com.notecastai.integration.ai.provider.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.notecastai.common.util.FutureUtils;
+import com.notecastai.common.util.SecurityUtils;
+import com.notecastai.integration.ai.AiOperation;
+import com.notecastai.integration.ai.NoteAiChat;
+import com.notecastai.integration.ai.NoteAiEditor;
+import com.notecastai.integration.ai.NoteCastTranscriptGenerator;
+import com.notecastai.integration.ai.client.AiAsyncRetry;
+import com.notecastai.integration.ai.dto.GameNoteAiRequest;
+import com.notecastai.integration.ai.dto.GameNoteAiResponse;
+import com.notecastai.integration.ai.provider.openrouter.dto.FormatNoteAiResponse;
+import com.notecastai.integration.ai.provider.openrouter.dto.NewNoteAiResponse;
+import com.notecastai.integration.ai.provider.openrouter.dto.TranscriptAiResponse;
+import com.notecastai.integration.ai.validator.AiNoteResponseValidator;
+import com.notecastai.integration.ai.validator.GameNoteResponseValidator;
+import com.notecastai.integration.ai.validator.TranscriptResponseValidator;
+import com.notecastai.note.api.dto.CreateNoteRequest;
+import com.notecastai.note.api.dto.NoteKnowledgeFormatRequest;
+import com.notecastai.note.api.dto.NoteQuestionRequest;
+import com.notecastai.note.api.dto.NoteQuestionResponse;
+import com.notecastai.note.domain.NoteEntity;
+import com.notecastai.note.infrastructure.repo.NoteRepository;
+import com.notecastai.notecast.domain.NoteCastStyle;
+import com.notecastai.notecast.domain.TranscriptSize;
+import com.notecastai.tag.domain.TagEntity;
+import com.notecastai.tag.repo.TagRepository;
+import com.notecastai.user.infrastructure.repo.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Offline replacement for {@code OpenRouterAi} under the {@code stub} profile. Reads notes and tags and runs
+ * the validators and retries like the real implementation; only the model call is replaced by
+ * {@link StubFaultInjector}. The response cache is skipped so that every request reaches the stub.
+ */
+@Slf4j
+@Component
+@Profile("stub")
+@RequiredArgsConstructor
+public class StubNoteAi implements NoteAiEditor, NoteCastTranscriptGenerator, NoteAiChat {
+
+    private static final Pattern TOKEN_BOUNDARY = Pattern.compile("(?<=\\s)");
+
+    private final StubFaultInjector faults;
+    private final TagRepository tagRepository;
+    private final NoteRepository noteRepository;
+    private final UserRepository userRepository;
+    private final AiNoteResponseValidator noteValidator;
+    private final TranscriptResponseValidator validator;
+    private final GameNoteResponseValidator gameNoteValidator;
+    private final AiAsyncRetry asyncRetry;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public CompletableFuture<NewNoteAiResponse> adjustNote(CreateNoteRequest request) {
+        Long userId = userRepository.getByClerkUserId(SecurityUtils.getCurrentClerkUserIdOrThrow()).getId();
+        List<String> availableTags = availableTags(userId);
+
+        return asyncRetry.execute(AiOperation.ADJUST_NOTE, () -> faults.callJson(AiOperation.ADJUST_NOTE, () ->
+                                StubPayloads.newNote(objectMapper, request.getTitle(), request.getKnowledgeBase(), availableTags))
+                        .thenApply(json -> noteValidator.validateNewNoteResponse(json, userId)))
+                .thenApply(aiResponse -> {
+                    aiResponse.setTagIds(noteValidator.filterAndMapTagsToIds(aiResponse.getProposedTags(), userId));
+                    return aiResponse;
+                });
+    }
+
+    @Override
+    public CompletableFuture<FormatNoteAiResponse> formatNoteKnowledgeBase(Long noteId, NoteKnowledgeFormatRequest request) {
+        NoteEntity note = noteRepository.getOrThrow(noteId);
+        Long userId = note.getUser().getId();
+        String title = note.getTitle();
+        String knowledgeBase = note.getKnowledgeBase();
+        List<String> availableTags = availableTags(userId);
+
+        return asyncRetry.execute(AiOperation.FORMAT_NOTE, () -> faults.callJson(AiOperation.FORMAT_NOTE, () ->
+                                StubPayloads.formatNote(objectMapper, title, knowledgeBase, availableTags))
+                        .thenApply(json -> noteValidator.validateFormatNoteResponse(json, userId)))
+                .thenApply(aiResponse -> {
+                    aiResponse.setTagIds(noteValidator.filterAndMapTagsToIds(aiResponse.getProposedTags(), userId));
+                    return aiResponse;
+                });
+    }
+
+    @Override
+    public String generateTranscript(String noteContent, NoteCastStyle style, TranscriptSize size) {
+        if (noteContent == null || noteContent.isBlank()) {
+            throw new IllegalArgumentException("Note content cannot be empty");
+        }
+        TranscriptSize targetSize = size != null ? size : TranscriptSize.MEDIUM;
+
+        TranscriptAiResponse response = FutureUtils.join(asyncRetry.execute(AiOperation.NOTECAST_TRANSCRIPT, () ->
+                faults.callJson(AiOperation.NOTECAST_TRANSCRIPT, () -> StubPayloads.transcript(objectMapper, targetSize))
+                        .thenApply(json -> validator.validateTranscriptResponse(json, targetSize))));
+
+        log.info("Stub transcript generated - size: {}, wordCount: {}", targetSize.getLabel(), response.getWordCount());
+        return response.getTranscript();
+    }
+
+    @Override
+    public CompletableFuture<NoteQuestionResponse> askQuestion(Long noteId, NoteQuestionRequest request) {
+        String question = readQuestion(noteId, request);
+
+        return asyncRetry.execute(AiOperation.NOTE_CHAT, () ->
+                        faults.call(AiOperation.NOTE_CHAT, () -> StubPayloads.chatAnswer(question)))
+                .thenApply(answer -> NoteQuestionResponse.builder().responseText(answer).build());
+    }
+
+    @Override
+    public CompletableFuture<NoteQuestionResponse> streamQuestion(Long noteId, NoteQuestionRequest request,
+                                                                  Consumer<String> onToken) {
+        String question = readQuestion(noteId, request);
+
+        // The sampled latency is the time to the first token; the rest of the answer follows at once
+        return faults.call(AiOperation.NOTE_CHAT, () -> StubPayloads.chatAnswer(question))
+                .thenApply(answer -> {
+                    for (String token : TOKEN_BOUNDARY.split(answer)) {
+                        onToken.accept(token);
+                    }
+                    return NoteQuestionResponse.builder().responseText(answer).build();
+                });
+    }
+
+    @Override
+    public CompletableFuture<GameNoteAiResponse> generateGameQuestions(GameNoteAiRequest request) {
+        int count = request.getNumberOfQuestions();
+
+        return asyncRetry.execute(AiOperation.GAME_QUESTIONS, () -> faults.callJson(AiOperation.GAME_QUESTIONS, () ->
+                        StubPayloads.gameQuestions(objectMapper, request.getQuestionType(), count))
+                .thenApply(json -> gameNoteValidator.validateGameNoteResponse(json, request.getQuestionType(), count)));
+    }
+
+    private String readQuestion(Long noteId, NoteQuestionRequest request) {
+        if (request.getQuestion() == null || request.getQuestion().isBlank()) {
+            throw new IllegalArgumentException("Question cannot be empty");
+        }
+        // Loaded for the same database work the real prompt builder causes
+        noteRepository.getOrThrow(noteId);
+        return request.getQuestion();
+    }
+
+    private List<String> availableTags(Long userId) {
+        return tagRepository.findAllByUserId(userId).stream()
+                .map(TagEntity::getName)
+                .toList();
+    }
+}
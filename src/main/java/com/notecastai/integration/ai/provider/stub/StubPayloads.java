@@ -0,0 +1,158 @@
+package com.notecastai.integration.ai.provider.stub;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.gamenote.api.dto.GameQuestionDTO;
+import com.notecastai.gamenote.domain.QuestionType;
+import com.notecastai.integration.ai.dto.GameNoteAiResponse;
+import com.notecastai.integration.ai.prompt.AiAction;
+import com.notecastai.integration.ai.provider.openrouter.dto.FormatNoteAiResponse;
+import com.notecastai.integration.ai.provider.openrouter.dto.NewNoteAiResponse;
+import com.notecastai.integration.ai.provider.openrouter.dto.TranscriptAiResponse;
+import com.notecastai.notecast.domain.TranscriptSize;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Canned provider answers shaped to pass {@code AiNoteResponseValidator}, {@code TranscriptResponseValidator}
+ * and {@code GameNoteResponseValidator}. Sizes follow the request, so downstream storage and TTS see
+ * realistic payloads.
+ */
+final class StubPayloads {
+
+    private static final int MAX_TAGS = 3;
+
+    private static final List<String> SPOKEN_SENTENCES = List.of(
+            "This episode walks through the main ideas of the note one step at a time.",
+            "Each point builds on the previous one, so it helps to keep the big picture in mind.",
+            "The key takeaway is that small and steady steps add up over time.",
+            "Think of it as a short conversation with your future self about what matters most.",
+            "When you come back to this topic, start with the core idea and expand from there.",
+            "That is a good moment to pause and connect the idea with what you already know."
+    );
+
+    private static final List<AiAction> AI_ACTIONS = List.of(
+            new AiAction("Summarize key points", "Summarize the key points of this note in a short list."),
+            new AiAction("Explain simply", "Explain the content of this note as if to a beginner."),
+            new AiAction("Create study questions", "Write five study questions that test the ideas in this note."),
+            new AiAction("Find open questions", "List the questions this note leaves unanswered."),
+            new AiAction("Suggest next steps", "Suggest practical next steps based on the content of this note."),
+            new AiAction("Give real examples", "Give three real world examples that illustrate this note.")
+    );
+
+    private StubPayloads() {
+    }
+
+    static String newNote(ObjectMapper objectMapper, String title, String knowledgeBase, List<String> availableTags) {
+        return toJson(objectMapper, NewNoteAiResponse.builder()
+                .adjustedTitle(title(title))
+                .formattedNote("## Overview\n\n" + body(knowledgeBase))
+                .proposedTags(tags(availableTags))
+                .proposedAiActions(AI_ACTIONS)
+                .build());
+    }
+
+    static String formatNote(ObjectMapper objectMapper, String title, String knowledgeBase, List<String> availableTags) {
+        return toJson(objectMapper, FormatNoteAiResponse.builder()
+                .adjustedTitle(title(title))
+                .knowledgeBase("## Overview\n\n" + body(knowledgeBase))
+                .proposedTags(tags(availableTags))
+                .proposedAiActions(AI_ACTIONS)
+                .build());
+    }
+
+    static String transcript(ObjectMapper objectMapper, TranscriptSize size) {
+        String transcript = spokenText(size.getAverageWords());
+        return toJson(objectMapper, TranscriptAiResponse.builder()
+                .transcript(transcript)
+                .estimatedDuration(size.getApproximateDuration())
+                .wordCount(wordCount(transcript))
+                .build());
+    }
+
+    static String chatAnswer(String question) {
+        return "**Short answer:** based on this note, the question \"" + question.trim() + "\" comes down to the core idea.\n\n"
+                + "- " + SPOKEN_SENTENCES.get(0) + "\n"
+                + "- " + SPOKEN_SENTENCES.get(2) + "\n\n"
+                + SPOKEN_SENTENCES.get(4);
+    }
+
+    static String gameQuestions(ObjectMapper objectMapper, QuestionType type, int count) {
+        List<GameQuestionDTO> questions = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            questions.add(gameQuestion(type, id));
+        }
+        return toJson(objectMapper, GameNoteAiResponse.builder().questions(questions).build());
+    }
+
+    /**
+     * Plain spoken text with about {@code words} words and no markup the transcript validator rejects.
+     */
+    static String spokenText(int words) {
+        StringBuilder text = new StringBuilder();
+        int written = 0;
+        for (int i = 0; written < words; i++) {
+            String sentence = SPOKEN_SENTENCES.get(i % SPOKEN_SENTENCES.size());
+            if (!text.isEmpty()) {
+                text.append(' ');
+            }
+            text.append(sentence);
+            written += wordCount(sentence);
+        }
+        return text.toString();
+    }
+
+    static int wordCount(String text) {
+        return text.isBlank() ? 0 : text.trim().split("\\s+").length;
+    }
+
+    private static GameQuestionDTO gameQuestion(QuestionType type, int id) {
+        GameQuestionDTO.GameQuestionDTOBuilder question = GameQuestionDTO.builder()
+                .id(id)
+                .type(type)
+                .questionText("Question " + id + ": what is the main idea of this part of the note?")
+                .explanation("The note states this idea directly in its overview section.")
+                .hint("Look at the overview.");
+
+        return switch (type) {
+            case FLASHCARD -> question.answer("The main idea " + id).build();
+            case MULTIPLE_CHOICE -> question
+                    .options(List.of("Option A", "Option B", "Option C", "Option D"))
+                    .correctAnswer(List.of("Option A", "Option B", "Option C", "Option D").get(id % 4))
+                    .build();
+            case TRUE_FALSE -> question.correctAnswer(id % 2 == 0 ? "true" : "false").build();
+            case OPEN_QUESTION -> question.answer("Small and steady steps add up over time, as point " + id + " shows.").build();
+        };
+    }
+
+    private static String title(String source) {
+        List<String> words = source == null ? List.of() : Arrays.stream(source.trim().split("\\s+"))
+                .filter(word -> !word.isBlank())
+                .limit(6)
+                .toList();
+        return words.isEmpty() ? "Stub generated note" : "Notes on " + String.join(" ", words);
+    }
+
+    private static String body(String knowledgeBase) {
+        String text = knowledgeBase == null ? "" : knowledgeBase.trim();
+        return text.length() >= 50 ? text : text + "\n\n" + SPOKEN_SENTENCES.get(0) + " " + SPOKEN_SENTENCES.get(1);
+    }
+
+    private static List<String> tags(List<String> availableTags) {
+        return availableTags.stream().limit(MAX_TAGS).toList();
+    }
+
+    private static String toJson(ObjectMapper objectMapper, Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw TechnicalException.of(TechnicalException.Code.INTERNAL_ERROR)
+                    .with("payload", payload.getClass().getSimpleName())
+                    .cause(e)
+                    .build();
+        }
+    }
+}
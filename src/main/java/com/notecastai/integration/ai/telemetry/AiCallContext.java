@@ -0,0 +1,28 @@
+package com.notecastai.integration.ai.telemetry;
+
+import com.notecastai.integration.ai.AiOperation;
+import lombok.Value;
+
+/**
+ * What an outbound AI call is made for. Captured on the calling thread and passed down to the provider
+ * client, which tags its latency, token and cost metrics with it.
+ */
+@Value
+public class AiCallContext {
+
+    AiOperation operation;
+
+    /** User the cost is attributed to; null for calls not made on behalf of a user. */
+    Long userId;
+
+    public static AiCallContext of(AiOperation operation, Long userId) {
+        return new AiCallContext(operation, userId);
+    }
+
+    /**
+     * Attributes the call to the user of the current {@link AiUsageScope}.
+     */
+    public static AiCallContext of(AiOperation operation) {
+        return new AiCallContext(operation, AiUsageScope.currentUserId());
+    }
+}
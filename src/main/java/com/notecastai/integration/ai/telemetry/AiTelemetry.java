@@ -0,0 +1,175 @@
+package com.notecastai.integration.ai.telemetry;
+
+import com.notecastai.common.util.FutureUtils;
+import com.notecastai.config.AiTelemetryProperties;
+import com.notecastai.integration.ai.AiOperation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Metrics and cost accounting for outbound AI calls.
+ * <ul>
+ *   <li>{@code ai.call.latency}: provider round trip histogram by provider, model, operation and outcome</li>
+ *   <li>{@code ai.tokens}: prompt and completion tokens; {@code ai.audio.seconds}: audio transcribed or synthesized</li>
+ *   <li>{@code ai.cost.usd}: cost from {@code ai.telemetry.prices}, also written per user to the usage ledger</li>
+ *   <li>{@code ai.call.retries} and {@code ai.validation.failures}: retried attempts and rejected responses</li>
+ * </ul>
+ * Model tags carry the requested model id, which keeps their cardinality bounded by configuration.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiTelemetry {
+
+    private static final BigDecimal ONE_MILLION = BigDecimal.valueOf(1_000_000);
+    private static final BigDecimal SECONDS_PER_MINUTE = BigDecimal.valueOf(60);
+
+    private final MeterRegistry meterRegistry;
+    private final AiTelemetryProperties properties;
+    private final AiUsageLedger ledger;
+    private final Set<String> unpricedModels = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Records the latency of the provider round trip started by {@code call}.
+     */
+    public <T> CompletableFuture<T> timed(String provider, String model, AiCallContext context,
+                                          Supplier<CompletableFuture<T>> call) {
+        long start = System.nanoTime();
+        return call.get().whenComplete((result, error) ->
+                recordLatency(provider, model, context, System.nanoTime() - start, error));
+    }
+
+    public void recordLatency(String provider, String model, AiCallContext context, long durationNanos, Throwable error) {
+        Timer.builder("ai.call.latency")
+                .tag("provider", provider)
+                .tag("model", model)
+                .tag("operation", context.getOperation().getTag())
+                .tag("outcome", outcome(error))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordUsage(String provider, String model, AiCallContext context, AiUsage usage) {
+        String operation = context.getOperation().getTag();
+        if (usage.getPromptTokens() != null) {
+            tokenCounter(provider, model, operation, "prompt").increment(usage.getPromptTokens());
+        }
+        if (usage.getCompletionTokens() != null) {
+            tokenCounter(provider, model, operation, "completion").increment(usage.getCompletionTokens());
+        }
+        if (usage.getAudioSeconds() != null) {
+            counter("ai.audio.seconds", provider, model, operation).increment(usage.getAudioSeconds());
+        }
+
+        BigDecimal cost = cost(model, usage);
+        if (cost != null) {
+            counter("ai.cost.usd", provider, model, operation).increment(cost.doubleValue());
+        }
+
+        ledger.append(AiUsageLedgerEntity.builder()
+                .userId(context.getUserId())
+                .provider(provider)
+                .model(model)
+                .operation(context.getOperation())
+                .promptTokens(usage.getPromptTokens())
+                .completionTokens(usage.getCompletionTokens())
+                .audioSeconds(usage.getAudioSeconds())
+                .costUsd(cost)
+                .createdDate(Instant.now())
+                .build());
+    }
+
+    public void recordRetry(AiOperation operation) {
+        Counter.builder("ai.call.retries")
+                .tag("operation", operation.getTag())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordValidationFailure(AiOperation operation, String model) {
+        Counter.builder("ai.validation.failures")
+                .tag("operation", operation.getTag())
+                .tag("model", model)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private BigDecimal cost(String model, AiUsage usage) {
+        AiTelemetryProperties.Price price = properties.getPrices().get(model);
+        if (price == null) {
+            if (unpricedModels.add(model)) {
+                log.warn("No price configured for AI model {}, its calls are recorded without cost", model);
+            }
+            return null;
+        }
+
+        BigDecimal cost = BigDecimal.ZERO;
+        if (usage.getPromptTokens() != null) {
+            cost = cost.add(perMillion(price.getPromptPerMillionTokens(), usage.getPromptTokens()));
+        }
+        if (usage.getCompletionTokens() != null) {
+            cost = cost.add(perMillion(price.getCompletionPerMillionTokens(), usage.getCompletionTokens()));
+        }
+        if (usage.getAudioSeconds() != null) {
+            cost = cost.add(price.getPerAudioMinute()
+                    .multiply(BigDecimal.valueOf(usage.getAudioSeconds()))
+                    .divide(SECONDS_PER_MINUTE, MathContext.DECIMAL64));
+        }
+        return cost;
+    }
+
+    private static BigDecimal perMillion(BigDecimal pricePerMillion, int units) {
+        return pricePerMillion.multiply(BigDecimal.valueOf(units)).divide(ONE_MILLION, MathContext.DECIMAL64);
+    }
+
+    private static String outcome(Throwable error) {
+        if (error == null) {
+            return "success";
+        }
+        Throwable cause = FutureUtils.unwrap(error);
+        if (cause instanceof RestClientResponseException responseException) {
+            return "http_" + responseException.getStatusCode().value();
+        }
+        if (cause instanceof ResourceAccessException) {
+            return "io_error";
+        }
+        if (cause instanceof CancellationException) {
+            return "cancelled";
+        }
+        return "error";
+    }
+
+    private Counter tokenCounter(String provider, String model, String operation, String type) {
+        return Counter.builder("ai.tokens")
+                .tag("provider", provider)
+                .tag("model", model)
+                .tag("operation", operation)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private Counter counter(String name, String provider, String model, String operation) {
+        return Counter.builder(name)
+                .tag("provider", provider)
+                .tag("model", model)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
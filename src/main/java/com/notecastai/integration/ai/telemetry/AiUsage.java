@@ -0,0 +1,18 @@
+package com.notecastai.integration.ai.telemetry;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Billable units reported for (or, for speech, estimated from) one provider call. Unused units are null.
+ */
+@Value
+@Builder
+public class AiUsage {
+
+    Integer promptTokens;
+    Integer completionTokens;
+
+    /** Audio transcribed or synthesized, in seconds. */
+    Double audioSeconds;
+}
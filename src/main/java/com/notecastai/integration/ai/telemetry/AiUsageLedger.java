@@ -0,0 +1,74 @@
+package com.notecastai.integration.ai.telemetry;
+
+import com.notecastai.config.AiTelemetryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Postgres ledger of billable AI calls. Entries are recorded on HTTP completion threads, so they are only
+ * buffered there and written in batches by a scheduled flush.
+ */
+@Slf4j
+@Component
+class AiUsageLedger {
+
+    private final AiUsageLedgerDao dao;
+    private final AiTelemetryProperties properties;
+    private final Counter droppedCounter;
+    private final ConcurrentLinkedQueue<AiUsageLedgerEntity> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+
+    AiUsageLedger(AiUsageLedgerDao dao, AiTelemetryProperties properties, MeterRegistry meterRegistry) {
+        this.dao = dao;
+        this.properties = properties;
+        this.droppedCounter = Counter.builder("ai.usage.ledger.dropped").register(meterRegistry);
+        meterRegistry.gauge("ai.usage.ledger.buffered", buffered);
+    }
+
+    void append(AiUsageLedgerEntity entry) {
+        if (!properties.getLedger().isEnabled()) {
+            return;
+        }
+        if (buffered.incrementAndGet() > properties.getLedger().getMaxBuffered()) {
+            buffered.decrementAndGet();
+            droppedCounter.increment();
+            return;
+        }
+        buffer.add(entry);
+    }
+
+    @Scheduled(fixedDelayString = "${ai.telemetry.ledger.flush-interval:PT10S}")
+    public void flush() {
+        List<AiUsageLedgerEntity> batch = new ArrayList<>();
+        AiUsageLedgerEntity entry;
+        while ((entry = buffer.poll()) != null) {
+            batch.add(entry);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        buffered.addAndGet(-batch.size());
+
+        try {
+            dao.saveAll(batch);
+            log.debug("AI usage ledger flushed {} entries", batch.size());
+        } catch (RuntimeException e) {
+            droppedCounter.increment(batch.size());
+            log.error("Failed to write {} AI usage ledger entries", batch.size(), e);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
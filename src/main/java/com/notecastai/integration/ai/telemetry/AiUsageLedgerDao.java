@@ -0,0 +1,8 @@
+package com.notecastai.integration.ai.telemetry;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AiUsageLedgerDao extends JpaRepository<AiUsageLedgerEntity, Long> {
+}
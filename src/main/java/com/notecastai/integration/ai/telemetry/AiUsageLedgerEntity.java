@@ -0,0 +1,60 @@
+package com.notecastai.integration.ai.telemetry;
+
+import com.notecastai.integration.ai.AiOperation;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One billable provider call. Append-only accounting data, so like the AI response cache this entity does
+ * not extend {@code BaseEntity}.
+ */
+@Entity
+@Table(
+        name = "ai_usage_ledger",
+        indexes = {
+                @Index(name = "idx_ai_usage_user_created", columnList = "user_id, created_date")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AiUsageLedgerEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "provider", nullable = false, length = 40)
+    private String provider;
+
+    @Column(name = "model", nullable = false, length = 100)
+    private String model;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false, length = 40)
+    private AiOperation operation;
+
+    @Column(name = "prompt_tokens")
+    private Integer promptTokens;
+
+    @Column(name = "completion_tokens")
+    private Integer completionTokens;
+
+    @Column(name = "audio_seconds")
+    private Double audioSeconds;
+
+    /** Null when the model has no entry in the price table. */
+    @Column(name = "cost_usd", precision = 14, scale = 8)
+    private BigDecimal costUsd;
+
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+}
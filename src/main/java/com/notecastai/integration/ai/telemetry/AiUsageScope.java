@@ -0,0 +1,54 @@
+package com.notecastai.integration.ai.telemetry;
+
+/**
+ * The user AI work on the current thread is done for, used to attribute cost in the usage ledger.
+ * <p>
+ * Opened per request by {@code OwnerHibernateFilter} and carried into {@code @Async} executors by
+ * {@link #wrap(Runnable)}. AI entry points read it once on the calling thread into an {@link AiCallContext};
+ * everything downstream (retries, fallbacks, completion threads) uses that context instead.
+ */
+public final class AiUsageScope implements AutoCloseable {
+
+    private static final ThreadLocal<Long> CURRENT_USER = new ThreadLocal<>();
+
+    private final Long previousUserId;
+
+    private AiUsageScope(Long previousUserId) {
+        this.previousUserId = previousUserId;
+    }
+
+    public static AiUsageScope open(Long userId) {
+        AiUsageScope scope = new AiUsageScope(CURRENT_USER.get());
+        set(userId);
+        return scope;
+    }
+
+    public static Long currentUserId() {
+        return CURRENT_USER.get();
+    }
+
+    /**
+     * Binds the submitting thread's user to {@code task}; used as the {@code TaskDecorator} of the async executors.
+     */
+    public static Runnable wrap(Runnable task) {
+        Long userId = CURRENT_USER.get();
+        return () -> {
+            try (AiUsageScope ignored = open(userId)) {
+                task.run();
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        set(previousUserId);
+    }
+
+    private static void set(Long userId) {
+        if (userId == null) {
+            CURRENT_USER.remove();
+        } else {
+            CURRENT_USER.set(userId);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.notecastai.common.exeption.AiValidationException;
 import com.notecastai.integration.ai.provider.openrouter.dto.TranscriptAiResponse;
+import com.notecastai.integration.ai.provider.openrouter.dto.TranscriptStitchAiResponse;
 import com.notecastai.notecast.domain.TranscriptSize;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -97,6 +98,60 @@ public class TranscriptResponseValidator {
         }
     }
 
+    public TranscriptStitchAiResponse validateStitchResponse(String rawJson, int expectedTransitions) {
+        String cleanedJson = cleanJsonString(rawJson);
+
+        try {
+            JsonNode rootNode = lenientObjectMapper.readTree(cleanedJson);
+            List<String> errors = new ArrayList<>();
+
+            validateRequiredTextField(rootNode, "opening", errors);
+            validateRequiredTextField(rootNode, "closing", errors);
+
+            JsonNode transitions = rootNode.path("transitions");
+            if (!transitions.isArray()) {
+                errors.add("transitions is not an array");
+            } else if (transitions.size() != expectedTransitions) {
+                errors.add(String.format("Expected %d transitions, got %d", expectedTransitions, transitions.size()));
+            }
+
+            if (!errors.isEmpty()) {
+                log.error("TranscriptStitchAiResponse validation failed: {}", String.join(", ", errors));
+                throw new AiValidationException("Transcript stitch validation failed", errors, rawJson);
+            }
+
+            TranscriptStitchAiResponse response = lenientObjectMapper.treeToValue(rootNode, TranscriptStitchAiResponse.class);
+
+            validateTranscriptFragment(response.getOpening(), "opening", errors);
+            validateTranscriptFragment(response.getClosing(), "closing", errors);
+            for (int i = 0; i < response.getTransitions().size(); i++) {
+                validateTranscriptFragment(response.getTransitions().get(i), "transitions[" + i + "]", errors);
+            }
+
+            if (!errors.isEmpty()) {
+                log.error("TranscriptStitchAiResponse validation failed: {}", String.join(", ", errors));
+                throw new AiValidationException("Transcript stitch validation failed", errors, rawJson);
+            }
+
+            return response;
+
+        } catch (AiValidationException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to parse TranscriptStitchAiResponse: {}", e.getMessage(), e);
+            throw new AiValidationException("Failed to parse transcript stitch response: " + e.getMessage(), rawJson);
+        }
+    }
+
+    private void validateTranscriptFragment(String text, String fieldName, List<String> errors) {
+        if (text == null || text.isBlank()) {
+            errors.add(fieldName + " cannot be empty");
+        } else if (STAGE_DIRECTION_PATTERN.matcher(text).find() || MARKDOWN_PATTERN.matcher(text).find()
+                || URL_PATTERN.matcher(text).find()) {
+            errors.add(fieldName + " contains markup - should be plain spoken text");
+        }
+    }
+
     private void validateRequiredTextField(JsonNode node, String fieldName, List<String> errors) {
         JsonNode field = node.path(fieldName);
         if (field.isMissingNode()) {
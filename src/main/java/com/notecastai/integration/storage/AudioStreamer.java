@@ -0,0 +1,184 @@
+package com.notecastai.integration.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.notecastai.common.exeption.BusinessException;
+import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.config.AudioStreamingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Optional;
+
+import static com.notecastai.common.exeption.BusinessException.BusinessCode.RESOURCE_NOT_FOUND;
+
+/**
+ * Streams stored audio to the caller with byte ranges, so players can seek, and ETag revalidation, so a replay
+ * costs a 304 instead of the file. Ranges are proxied from storage through a fixed buffer; only the first
+ * {@code storage.streaming.hot-segment-size} bytes of recently played files are held in memory.
+ */
+@Component
+public class AudioStreamer {
+
+    /** Clients keep the audio but revalidate it, since the object behind a key can be replaced. */
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    private final StorageService storageService;
+    private final AudioStreamingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, StoredObject> objects;
+    private final Cache<String, byte[]> hotSegments;
+
+    public AudioStreamer(StorageService storageService, AudioStreamingProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.storageService = storageService;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.objects = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(properties.getMetadataTtl())
+                .build();
+        this.hotSegments = Caffeine.newBuilder()
+                .maximumWeight(properties.getHotCacheSize().toBytes())
+                .weigher((String key, byte[] segment) -> segment.length)
+                .expireAfterAccess(properties.getHotCacheTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, hotSegments, "audio.stream.hot");
+    }
+
+    /**
+     * Answers a GET or HEAD for the object at {@code key}; {@code source} tags the metrics. The caller has
+     * checked that the requesting user may read it.
+     */
+    public void stream(String key, String source, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        stream(key, source, CACHE_CONTROL, request, response);
+    }
+
+    /** As {@link #stream(String, String, HttpServletRequest, HttpServletResponse)}, with its own Cache-Control. */
+    public void stream(String key, String source, String cacheControl, HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        StoredObject object = find(key);
+        long size = object.getSize();
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if (object.getEtag() != null) {
+            response.setHeader(HttpHeaders.ETAG, object.getEtag());
+        }
+        if (ByteRange.notModified(request.getHeader(HttpHeaders.IF_NONE_MATCH), object.getEtag())) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            countRequest(source, HttpStatus.NOT_MODIFIED);
+            return;
+        }
+
+        Optional<ByteRange> resolved = ByteRange.resolve(request.getHeader(HttpHeaders.RANGE),
+                request.getHeader(HttpHeaders.IF_RANGE), object.getEtag(), size);
+        if (resolved.isEmpty()) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            countRequest(source, HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        ByteRange range = resolved.get();
+        if (range.isPartial()) {
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, range.contentRange(size));
+        }
+        response.setContentType(object.getContentType() != null
+                ? object.getContentType()
+                : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(range.getLength());
+        countRequest(source, range.isPartial() ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK);
+
+        if (!"HEAD".equals(request.getMethod()) && range.getLength() > 0) {
+            long sent = write(object, range, response.getOutputStream());
+            DistributionSummary.builder("audio.stream.bytes")
+                    .baseUnit("bytes")
+                    .tag("source", source)
+                    .register(meterRegistry)
+                    .record(sent);
+        }
+    }
+
+    /** Absent objects are not cached, as a pending upload can appear at any moment. */
+    private StoredObject find(String key) {
+        StoredObject cached = objects.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        StoredObject object = storageService.head(key).orElseThrow(() ->
+                BusinessException.of(RESOURCE_NOT_FOUND.append(" Audio is not available")));
+        objects.put(key, object);
+        return object;
+    }
+
+    /**
+     * Sends the part of the range inside the hot segment from memory and the rest straight from storage;
+     * returns the bytes sent.
+     */
+    private long write(StoredObject object, ByteRange range, OutputStream out) throws IOException {
+        long offset = range.getOffset();
+        long end = range.getEnd() + 1;
+        if (offset < properties.getHotSegmentSize().toBytes()) {
+            byte[] segment = hotSegment(object);
+            if (offset < segment.length) {
+                int to = (int) Math.min(end, segment.length);
+                out.write(segment, (int) offset, to - (int) offset);
+                offset = to;
+            }
+        }
+        if (offset < end) {
+            byte[] buffer = new byte[(int) properties.getCopyBufferSize().toBytes()];
+            try (InputStream in = storageService.getRange(object.getKey(), offset, end - offset)) {
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    out.write(buffer, 0, read);
+                    offset += read;
+                }
+            }
+        }
+        out.flush();
+        return offset - range.getOffset();
+    }
+
+    /** Cached by ETag, so a replaced object never serves old bytes; without an ETag nothing is cached. */
+    private byte[] hotSegment(StoredObject object) {
+        if (object.getEtag() == null) {
+            return new byte[0];
+        }
+        long length = Math.min(properties.getHotSegmentSize().toBytes(), object.getSize());
+        return hotSegments.get(object.getKey() + object.getEtag(), ignored -> read(object.getKey(), length));
+    }
+
+    private byte[] read(String key, long length) {
+        try (InputStream in = storageService.getRange(key, 0, length)) {
+            return in.readNBytes((int) length);
+        } catch (IOException e) {
+            throw TechnicalException.of(TechnicalException.Code.STORAGE_ERROR)
+                    .with("key", key)
+                    .cause(e)
+                    .build();
+        }
+    }
+
+    private void countRequest(String source, HttpStatus status) {
+        Counter.builder("audio.stream.requests")
+                .tag("source", source)
+                .tag("status", String.valueOf(status.value()))
+                .register(meterRegistry)
+                .increment();
+    }
+}
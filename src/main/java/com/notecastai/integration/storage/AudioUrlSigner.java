@@ -0,0 +1,84 @@
+package com.notecastai.integration.storage;
+
+import com.notecastai.common.exeption.BusinessException;
+import com.notecastai.config.AudioStreamingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+import static com.notecastai.common.exeption.BusinessException.BusinessCode.FORBIDDEN;
+
+/**
+ * Signs the short-lived audio URLs served by {@link SignedAudioController}. The signature is an HMAC-SHA256 over
+ * the storage key, the metrics source and the expiry, so the URL plays that object only and needs no token.
+ */
+@Slf4j
+@Component
+public class AudioUrlSigner {
+
+    private final AudioStreamingProperties properties;
+    private final SecretKeySpec signingKey;
+    private final Clock clock = Clock.systemUTC();
+
+    public AudioUrlSigner(AudioStreamingProperties properties) {
+        this.properties = properties;
+        byte[] key;
+        if (properties.getSigningKey() == null || properties.getSigningKey().isBlank()) {
+            log.warn("storage.streaming.signing-key is not set; signed audio URLs will not survive a restart");
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = properties.getSigningKey().getBytes(StandardCharsets.UTF_8);
+        }
+        this.signingKey = new SecretKeySpec(key, "HmacSHA256");
+    }
+
+    /** A URL for the object at {@code key}; the caller has checked that the requesting user may read it. */
+    public SignedAudioUrl sign(String key, String source) {
+        Instant expiresAt = Instant.now(clock).plus(properties.getUrlTtl());
+        long expires = expiresAt.getEpochSecond();
+        String path = Arrays.stream(key.split("/"))
+                .map(segment -> UriUtils.encodePathSegment(segment, StandardCharsets.UTF_8))
+                .collect(Collectors.joining("/"));
+        return SignedAudioUrl.builder()
+                .url("%s%s/%s?source=%s&expires=%d&signature=%s".formatted(properties.getPublicUrl(),
+                        SignedAudioController.PATH, path, UriUtils.encodeQueryParam(source, StandardCharsets.UTF_8),
+                        expires, signature(key, source, expires)))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    public void verify(String key, String source, long expires, String signature) {
+        if (Instant.now(clock).getEpochSecond() > expires) {
+            throw BusinessException.of(FORBIDDEN.append(" Audio URL expired"));
+        }
+        byte[] expected = signature(key, source, expires).getBytes(StandardCharsets.US_ASCII);
+        if (signature == null || !MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII))) {
+            throw BusinessException.of(FORBIDDEN.append(" Invalid audio URL signature"));
+        }
+    }
+
+    private String signature(String key, String source, long expires) {
+        String canonical = key + '\n' + source + '\n' + expires;
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(signingKey);
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.notecastai.integration.storage;
+
+import lombok.Value;
+import org.springframework.http.HttpRange;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The part of a stored object to send for a GET with optional {@code Range} and {@code If-Range} headers.
+ */
+@Value
+public class ByteRange {
+    long offset;
+    long length;
+    /** False when the whole object is sent with 200. */
+    boolean partial;
+
+    public long getEnd() {
+        return offset + length - 1;
+    }
+
+    public String contentRange(long size) {
+        return "bytes %d-%d/%d".formatted(offset, getEnd(), size);
+    }
+
+    /**
+     * Resolves the requested range of an object of {@code size} bytes, or empty if it cannot be satisfied (416).
+     * A malformed Range header is ignored, as RFC 9110 requires; several ranges and a Range for an older version
+     * of the object (If-Range) get the whole object.
+     */
+    public static Optional<ByteRange> resolve(String range, String ifRange, String etag, long size) {
+        ByteRange whole = new ByteRange(0, size, false);
+        if (range == null || (ifRange != null && !ifRange.equals(etag))) {
+            return Optional.of(whole);
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return Optional.of(whole);
+        }
+        if (ranges.size() != 1) {
+            return Optional.of(whole);
+        }
+        // HttpRange does not check the start against the size; a start at or past the end, including any
+        // range of an empty object, cannot be satisfied
+        long offset = ranges.get(0).getRangeStart(size);
+        if (offset >= size) {
+            return Optional.empty();
+        }
+        long end = ranges.get(0).getRangeEnd(size);
+        return Optional.of(new ByteRange(offset, end - offset + 1, true));
+    }
+
+    /** Whether an {@code If-None-Match} header matches {@code etag}, so a 304 can be sent. */
+    public static boolean notModified(String ifNoneMatch, String etag) {
+        return ifNoneMatch != null && etag != null && (ifNoneMatch.equals("*") || ifNoneMatch.contains(etag));
+    }
+}
@@ -0,0 +1,20 @@
+package com.notecastai.integration.storage;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A URL a client can PUT one object to directly. The request must carry {@link #headers} exactly, since they
+ * are part of the signature.
+ */
+@Value
+@Builder
+public class PresignedUpload {
+    String url;
+    Map<String, List<String>> headers;
+    Instant expiresAt;
+}
@@ -0,0 +1,40 @@
+package com.notecastai.integration.storage;
+
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * Serves the URLs of {@link AudioUrlSigner} to media elements, with the ranges and revalidation of
+ * {@link AudioStreamer}. The signature is the authorization; the URLs are handed out by the authenticated
+ * {@code /{id}/audio-url} endpoints of voice notes and notecasts.
+ */
+@Hidden
+@RestController
+@RequestMapping(SignedAudioController.PATH)
+@RequiredArgsConstructor
+public class SignedAudioController {
+
+    public static final String PATH = "/api/v1/audio";
+
+    private final AudioUrlSigner signer;
+    private final AudioStreamer audioStreamer;
+
+    @GetMapping("/{*key}")
+    public void stream(
+            @PathVariable String key,
+            @RequestParam String source,
+            @RequestParam long expires,
+            @RequestParam String signature,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        String objectKey = key.substring(1);
+        signer.verify(objectKey, source, expires, signature);
+        audioStreamer.stream(objectKey, source, request, response);
+    }
+}
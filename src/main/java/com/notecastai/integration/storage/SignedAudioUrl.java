@@ -0,0 +1,16 @@
+package com.notecastai.integration.storage;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * A URL a media element can play stored audio from without an Authorization header, until {@link #expiresAt}.
+ */
+@Value
+@Builder
+public class SignedAudioUrl {
+    String url;
+    Instant expiresAt;
+}
@@ -1,15 +1,58 @@
 package com.notecastai.integration.storage;
 
 import java.io.InputStream;
-import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.SortedMap;
 import java.util.concurrent.CompletableFuture;
 
 public interface StorageService {
     String put(String key, InputStream data, long size, String contentType);
 
-    String presignedPut(String key, String contentType) throws URISyntaxException;
+    /**
+     * Uploads {@code data} of unknown length, reading it to the end in bounded chunks. The caller closes
+     * {@code data}.
+     */
+    String putStream(String key, InputStream data, String contentType);
 
-    CompletableFuture<String> putAsync(String key, InputStream data, long size, String contentType);
+    /**
+     * Lets a client upload {@code key} itself; the signature pins the content type and length.
+     */
+    PresignedUpload presignedPut(String key, String contentType, long contentLength);
+
+    /** Size and type of a stored object, or empty if there is none. */
+    Optional<StoredObject> head(String key);
+
+    /** {@code length} bytes of {@code key} from {@code offset}; the caller closes the stream. */
+    InputStream getRange(String key, long offset, long length);
+
+    /**
+     * Starts an upload of {@code key} assembled from parts sent separately, possibly out of order and across
+     * requests; returns its upload id. Every part but the last must be at least 5 MB.
+     */
+    String createMultipartUpload(String key, String contentType);
+
+    /**
+     * Stores part {@code partNumber} (from 1) of {@code size} bytes, replacing an earlier one with that number.
+     * Returns false, storing nothing, when the bytes do not match {@code sha256} (Base64). The caller closes
+     * {@code data}.
+     */
+    boolean uploadPart(String key, String uploadId, int partNumber, InputStream data, long size, String sha256);
+
+    /** Sizes of the parts stored so far, by part number. */
+    SortedMap<Integer, Long> listParts(String key, String uploadId);
+
+    /** Joins the stored parts, in part number order, into {@code key}. */
+    void completeMultipartUpload(String key, String uploadId);
+
+    /** Discards the stored parts; failures are only logged. */
+    void abortMultipartUpload(String key, String uploadId);
+
+    /**
+     * Uploads {@code file} without blocking the caller; the caller keeps the file until the returned future
+     * completes.
+     */
+    CompletableFuture<String> putAsync(String key, Path file, String contentType);
 
     String presignedAndGet(String key);
 
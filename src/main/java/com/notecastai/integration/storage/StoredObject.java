@@ -0,0 +1,14 @@
+package com.notecastai.integration.storage;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class StoredObject {
+    String key;
+    long size;
+    String contentType;
+    /** Quoted, as sent in an HTTP ETag header; changes whenever the content does. */
+    String etag;
+}
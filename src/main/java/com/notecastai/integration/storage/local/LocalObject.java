@@ -0,0 +1,22 @@
+package com.notecastai.integration.storage.local;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * A stored object as served by {@link LocalStorageController}.
+ */
+@Value
+@Builder
+public class LocalObject {
+    String key;
+    Path path;
+    long size;
+    String contentType;
+    /** Quoted, derived from size and modification time like the ETags of common web servers. */
+    String etag;
+    Instant lastModified;
+}
@@ -0,0 +1,93 @@
+package com.notecastai.integration.storage.local;
+
+import com.notecastai.common.exeption.BusinessException;
+import com.notecastai.integration.storage.ByteRange;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.Optional;
+
+import static com.notecastai.common.exeption.BusinessException.BusinessCode.RESOURCE_NOT_FOUND;
+
+/**
+ * Serves the signed URLs of {@link LocalStorageService}: GET with ETag revalidation and single byte ranges, so
+ * audio players can seek, and PUT for direct uploads. The signature is the authorization, as with presigned S3
+ * URLs.
+ */
+@Hidden
+@RestController
+@Profile("local-storage")
+@RequestMapping(LocalStorageController.PATH)
+@RequiredArgsConstructor
+public class LocalStorageController {
+
+    public static final String PATH = "/storage";
+
+    private final LocalStorageService storage;
+
+    @GetMapping("/{*key}")
+    public void get(
+            @PathVariable String key,
+            @RequestParam long expires,
+            @RequestParam String signature,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        String objectKey = key.substring(1);
+        storage.verify("GET", objectKey, expires, signature);
+        LocalObject object = storage.find(objectKey).orElseThrow(() ->
+                BusinessException.of(RESOURCE_NOT_FOUND.append(" No stored object " + objectKey)));
+
+        response.setHeader(HttpHeaders.ETAG, object.getEtag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, object.getLastModified().toEpochMilli());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (ByteRange.notModified(request.getHeader(HttpHeaders.IF_NONE_MATCH), object.getEtag())) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long size = object.getSize();
+        Optional<ByteRange> resolved = ByteRange.resolve(request.getHeader(HttpHeaders.RANGE),
+                request.getHeader(HttpHeaders.IF_RANGE), object.getEtag(), size);
+        if (resolved.isEmpty()) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            return;
+        }
+        ByteRange range = resolved.get();
+        if (range.isPartial()) {
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, range.contentRange(size));
+        }
+
+        response.setContentType(object.getContentType());
+        response.setContentLengthLong(range.getLength());
+        if (!"HEAD".equals(request.getMethod())) {
+            storage.transfer(object, range.getOffset(), range.getLength(), Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    @PutMapping("/{*key}")
+    @ResponseStatus(HttpStatus.OK)
+    public void put(
+            @PathVariable String key,
+            @RequestParam long expires,
+            @RequestParam String signature,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(HttpHeaders.CONTENT_LENGTH) long contentLength,
+            InputStream body
+    ) {
+        String objectKey = key.substring(1);
+        storage.verify("PUT", objectKey, expires, signature, contentType, String.valueOf(contentLength));
+        storage.receive(objectKey, contentType, body, contentLength);
+    }
+}
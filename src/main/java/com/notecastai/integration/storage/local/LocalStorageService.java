@@ -0,0 +1,468 @@
+package com.notecastai.integration.storage.local;
+
+import com.notecastai.common.exeption.BusinessException;
+import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.common.util.ContentHashUtil;
+import com.notecastai.config.LocalStorageProperties;
+import com.notecastai.integration.storage.PresignedUpload;
+import com.notecastai.integration.storage.StorageService;
+import com.notecastai.integration.storage.StoredObject;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.notecastai.common.exeption.BusinessException.BusinessCode.FORBIDDEN;
+
+/**
+ * {@link StorageService} on a local directory, for development, offline benchmarks and single-node installs
+ * without S3 ({@code local-storage} profile).
+ * <p>
+ * Every write goes to a temp file in the same directory tree and is moved into place atomically, so readers see
+ * the old object or the new one, never a partial one. Reads map the file instead of copying it through a buffer.
+ * Clients reach objects through URLs signed with HMAC-SHA256 and served by {@link LocalStorageController}, which
+ * take the place of presigned S3 URLs.
+ */
+@Slf4j
+@Service
+@Profile("local-storage")
+public class LocalStorageService implements StorageService {
+
+    /** Largest region mapped at once when serving an object. */
+    private static final long MAP_BYTES = 8L * 1024 * 1024;
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    private static final String PART_PREFIX = "part-";
+    private static final String UPLOAD_INFO = "upload.properties";
+
+    private final LocalStorageProperties properties;
+    private final Path objects;
+    private final Path contentTypes;
+    private final Path uploads;
+    private final Path temp;
+    private final SecretKeySpec signingKey;
+    private final Clock clock = Clock.systemUTC();
+
+    public LocalStorageService(LocalStorageProperties properties) throws IOException {
+        this.properties = properties;
+        Path root = properties.getRoot().toAbsolutePath().normalize();
+        this.objects = Files.createDirectories(root.resolve("objects"));
+        this.contentTypes = Files.createDirectories(root.resolve("content-types"));
+        this.uploads = Files.createDirectories(root.resolve("uploads"));
+        this.temp = Files.createDirectories(root.resolve("tmp"));
+
+        byte[] key;
+        if (properties.getSigningKey() == null || properties.getSigningKey().isBlank()) {
+            log.warn("storage.local.signing-key is not set; signed storage URLs will not survive a restart");
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = properties.getSigningKey().getBytes(StandardCharsets.UTF_8);
+        }
+        this.signingKey = new SecretKeySpec(key, "HmacSHA256");
+        log.info("Local storage initialized in {}", root);
+    }
+
+    @Override
+    public String put(String key, InputStream data, long size, String contentType) {
+        return putStream(key, data, contentType);
+    }
+
+    @Override
+    public String putStream(String key, InputStream data, String contentType) {
+        write(key, contentType, target -> Files.copy(data, target, StandardCopyOption.REPLACE_EXISTING));
+        return key;
+    }
+
+    /** The copy is done before returning; it is a local file-to-file copy. */
+    @Override
+    public CompletableFuture<String> putAsync(String key, Path file, String contentType) {
+        try {
+            write(key, contentType, target -> Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING));
+            return CompletableFuture.completedFuture(key);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Stores the body of a signed PUT, which must be exactly {@code size} bytes.
+     */
+    public void receive(String key, String contentType, InputStream data, long size) {
+        write(key, contentType, target -> {
+            long written = Files.copy(data, target, StandardCopyOption.REPLACE_EXISTING);
+            if (written != size) {
+                throw new IOException("Expected %d bytes, received %d".formatted(size, written));
+            }
+        });
+    }
+
+    @Override
+    public PresignedUpload presignedPut(String key, String contentType, long contentLength) {
+        Instant expiresAt = Instant.now(clock).plus(properties.getUploadUrlTtl());
+        return PresignedUpload.builder()
+                .url(signedUrl("PUT", key, expiresAt, contentType, String.valueOf(contentLength)))
+                .headers(Map.of(HttpHeaders.CONTENT_TYPE, List.of(contentType)))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    @Override
+    public String presignedAndGet(String key) {
+        if (key == null || key.isEmpty()) return null;
+        return signedUrl("GET", key, Instant.now(clock).plus(properties.getDownloadUrlTtl()));
+    }
+
+    /**
+     * Checks a signed URL; {@code signed} are the request values the signature covers beyond method and key.
+     */
+    public void verify(String method, String key, long expires, String signature, String... signed) {
+        if (Instant.now(clock).getEpochSecond() > expires) {
+            throw BusinessException.of(FORBIDDEN.append(" Storage URL expired"));
+        }
+        byte[] expected = sign(method, key, expires, signed).getBytes(StandardCharsets.US_ASCII);
+        if (signature == null || !MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII))) {
+            throw BusinessException.of(FORBIDDEN.append(" Invalid storage URL signature"));
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> head(String key) {
+        return find(key).map(object -> StoredObject.builder()
+                .key(key)
+                .size(object.getSize())
+                .contentType(object.getContentType())
+                .etag(object.getEtag())
+                .build());
+    }
+
+    public Optional<LocalObject> find(String key) {
+        Path path = objectPath(key);
+        try {
+            if (!Files.isRegularFile(path)) {
+                return Optional.empty();
+            }
+            long size = Files.size(path);
+            FileTime modified = Files.getLastModifiedTime(path);
+            Path contentType = contentTypePath(key);
+            return Optional.of(LocalObject.builder()
+                    .key(key)
+                    .path(path)
+                    .size(size)
+                    .contentType(Files.exists(contentType) ? Files.readString(contentType) : DEFAULT_CONTENT_TYPE)
+                    .etag("\"%x-%x\"".formatted(modified.toMillis(), size))
+                    .lastModified(modified.toInstant())
+                    .build());
+        } catch (IOException e) {
+            throw failure(key, "Failed to read object", e);
+        }
+    }
+
+    @Override
+    public InputStream getRange(String key, long offset, long length) {
+        try (FileChannel channel = FileChannel.open(objectPath(key))) {
+            long available = Math.max(0, Math.min(length, channel.size() - offset));
+            // The mapping stays valid after the channel is closed
+            return new ByteBufferInputStream(channel.map(FileChannel.MapMode.READ_ONLY, offset, available));
+        } catch (IOException e) {
+            throw failure(key, "Failed to read range " + offset + "+" + length, e);
+        }
+    }
+
+    /**
+     * Writes {@code length} bytes of the object from {@code offset} to {@code target}, one mapped region at a time.
+     */
+    public void transfer(LocalObject object, long offset, long length, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(object.getPath())) {
+            long end = offset + length;
+            for (long position = offset; position < end; position += MAP_BYTES) {
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(MAP_BYTES, end - position));
+                while (region.hasRemaining()) {
+                    target.write(region);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String createMultipartUpload(String key, String contentType) {
+        String uploadId = UUID.randomUUID().toString();
+        Properties info = new Properties();
+        info.setProperty("key", key);
+        info.setProperty("contentType", contentType);
+        try {
+            Path directory = Files.createDirectories(uploads.resolve(uploadId));
+            try (Writer writer = Files.newBufferedWriter(directory.resolve(UPLOAD_INFO))) {
+                info.store(writer, null);
+            }
+            return uploadId;
+        } catch (IOException e) {
+            throw failure(key, "Failed to start multipart upload", e);
+        }
+    }
+
+    /**
+     * Hashes the part while writing it, like S3 does with the checksum sent along.
+     */
+    @Override
+    public boolean uploadPart(String key, String uploadId, int partNumber, InputStream data, long size, String sha256) {
+        Path directory = uploadDirectory(key, uploadId);
+        Path part = null;
+        try {
+            part = Files.createTempFile(temp, PART_PREFIX, ".tmp");
+            MessageDigest digest = ContentHashUtil.newSha256();
+            long written = Files.copy(new DigestInputStream(data, digest), part, StandardCopyOption.REPLACE_EXISTING);
+            if (written != size) {
+                throw new IOException("Expected %d bytes, received %d".formatted(size, written));
+            }
+            if (sha256 != null && !sha256.equals(Base64.getEncoder().encodeToString(digest.digest()))) {
+                log.info("Part {} of multipart upload for {} failed its checksum", partNumber, key);
+                return false;
+            }
+            Files.move(part, directory.resolve(PART_PREFIX + "%05d".formatted(partNumber)),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            part = null;
+            return true;
+        } catch (IOException e) {
+            throw failure(key, "Failed to store part " + partNumber, e);
+        } finally {
+            deleteQuietly(part);
+        }
+    }
+
+    @Override
+    public SortedMap<Integer, Long> listParts(String key, String uploadId) {
+        SortedMap<Integer, Long> sizes = new TreeMap<>();
+        try (DirectoryStream<Path> parts = Files.newDirectoryStream(uploadDirectory(key, uploadId), PART_PREFIX + "*")) {
+            for (Path part : parts) {
+                sizes.put(Integer.parseInt(part.getFileName().toString().substring(PART_PREFIX.length())), Files.size(part));
+            }
+            return sizes;
+        } catch (IOException e) {
+            throw failure(key, "Failed to list parts", e);
+        }
+    }
+
+    @Override
+    public void completeMultipartUpload(String key, String uploadId) {
+        Path directory = uploadDirectory(key, uploadId);
+        SortedMap<Integer, Long> parts = listParts(key, uploadId);
+        write(key, readUploadInfo(directory).getProperty("contentType"), target -> {
+            try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE)) {
+                for (Integer partNumber : parts.keySet()) {
+                    try (FileChannel in = FileChannel.open(directory.resolve(PART_PREFIX + "%05d".formatted(partNumber)))) {
+                        long size = in.size();
+                        for (long position = 0; position < size; ) {
+                            position += in.transferTo(position, size - position, out);
+                        }
+                    }
+                }
+            }
+        });
+        deleteRecursively(directory);
+        log.info("Multipart upload completed: {}, {} parts", key, parts.size());
+    }
+
+    @Override
+    public void abortMultipartUpload(String key, String uploadId) {
+        try {
+            deleteRecursively(uploadDirectory(key, uploadId));
+        } catch (RuntimeException e) {
+            log.warn("Failed to abort multipart upload {} for {}: {}", uploadId, key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(objectPath(key));
+            Files.deleteIfExists(contentTypePath(key));
+        } catch (IOException e) {
+            throw failure(key, "Failed to delete object", e);
+        }
+    }
+
+    private void write(String key, String contentType, ContentWriter writer) {
+        Path target = objectPath(key);
+        Path data = null;
+        Path type = null;
+        try {
+            data = Files.createTempFile(temp, "object-", ".tmp");
+            writer.write(data);
+            type = Files.createTempFile(temp, "content-type-", ".tmp");
+            Files.writeString(type, contentType != null ? contentType : DEFAULT_CONTENT_TYPE);
+
+            Files.createDirectories(target.getParent());
+            Files.createDirectories(contentTypePath(key).getParent());
+            Files.move(type, contentTypePath(key), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(data, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw failure(key, "Failed to write object", e);
+        } finally {
+            deleteQuietly(data);
+            deleteQuietly(type);
+        }
+    }
+
+    private String signedUrl(String method, String key, Instant expiresAt, String... signed) {
+        long expires = expiresAt.getEpochSecond();
+        String path = Arrays.stream(key.split("/"))
+                .map(segment -> UriUtils.encodePathSegment(segment, StandardCharsets.UTF_8))
+                .collect(Collectors.joining("/"));
+        return "%s%s/%s?expires=%d&signature=%s".formatted(properties.getPublicUrl(), LocalStorageController.PATH,
+                path, expires, sign(method, key, expires, signed));
+    }
+
+    private String sign(String method, String key, long expires, String... signed) {
+        StringBuilder canonical = new StringBuilder(method).append('\n').append(key).append('\n').append(expires);
+        for (String value : signed) {
+            canonical.append('\n').append(value);
+        }
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(signingKey);
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private Path objectPath(String key) {
+        return resolve(objects, key);
+    }
+
+    private Path contentTypePath(String key) {
+        return resolve(contentTypes, key);
+    }
+
+    /** Keys are relative paths; one that would leave the directory is rejected. */
+    private static Path resolve(Path directory, String key) {
+        Path path = directory.resolve(key).normalize();
+        if (key.isBlank() || !path.startsWith(directory) || path.equals(directory)) {
+            throw BusinessException.of(FORBIDDEN.append(" Invalid storage key"));
+        }
+        return path;
+    }
+
+    private Path uploadDirectory(String key, String uploadId) {
+        Path directory = resolve(uploads, uploadId);
+        if (!key.equals(readUploadInfo(directory).getProperty("key"))) {
+            throw failure(key, "No multipart upload " + uploadId + " for this key", null);
+        }
+        return directory;
+    }
+
+    private static Properties readUploadInfo(Path directory) {
+        Properties info = new Properties();
+        try (Reader reader = Files.newBufferedReader(directory.resolve(UPLOAD_INFO))) {
+            info.load(reader);
+            return info;
+        } catch (IOException e) {
+            throw failure(directory.getFileName().toString(), "Unknown multipart upload", e);
+        }
+    }
+
+    private static void deleteRecursively(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(LocalStorageService::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static TechnicalException failure(String key, String error, Throwable cause) {
+        return TechnicalException.of(TechnicalException.Code.STORAGE_ERROR)
+                .with("key", key)
+                .with("error", cause != null ? error + ": " + cause.getMessage() : error)
+                .cause(cause)
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface ContentWriter {
+        void write(Path target) throws IOException;
+    }
+
+    /** Reads a mapped region without copying it onto the heap first. */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
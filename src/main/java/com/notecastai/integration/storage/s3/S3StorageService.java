@@ -1,7 +1,10 @@
 package com.notecastai.integration.storage.s3;
 
 import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.common.util.FutureUtils;
+import com.notecastai.integration.storage.PresignedUpload;
 import com.notecastai.integration.storage.StorageService;
+import com.notecastai.integration.storage.StoredObject;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.AllArgsConstructor;
@@ -9,28 +12,50 @@ import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.ChecksumAlgorithm;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListPartsRequest;
+import software.amazon.awssdk.services.s3.model.Part;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
+@Profile("!local-storage")
 @RequiredArgsConstructor
 public class S3StorageService implements StorageService {
 
     private final S3Client s3;
     private final S3Presigner presigner;
+    private final S3TransferEngine transferEngine;
     private final Clock clock = Clock.systemUTC();
 
     @Value("${aws.s3.bucket}")
@@ -38,6 +63,8 @@ public class S3StorageService implements StorageService {
 
     // how long the presigned URL is valid
     private static final Duration PRESIGNED_URL_TTL = Duration.ofHours(24);
+    // how long a client has to start a direct upload
+    private static final Duration UPLOAD_URL_TTL = Duration.ofMinutes(30);
     // minimal remaining lifetime we accept when reusing from cache
     private static final Duration MIN_REMAINING_TTL = Duration.ofMinutes(2);
 
@@ -48,42 +75,153 @@ public class S3StorageService implements StorageService {
 
     @Override
     public String put(String key, InputStream data, long size, String ct) {
-        s3.putObject(
-                PutObjectRequest.builder().bucket(bucket).key(key).contentType(ct).build(),
-                RequestBody.fromInputStream(data, size)
-        );
-        getCache.invalidate(key);
-        return key;
+        return putStream(key, data, ct);
     }
 
     @Override
-    @Async("storageUploadExecutor")
-    public CompletableFuture<String> putAsync(String key, InputStream data, long size, String ct) {
-        log.info("Starting async S3 upload: {}", key);
+    public String putStream(String key, InputStream data, String ct) {
         try {
-            s3.putObject(
-                    PutObjectRequest.builder().bucket(bucket).key(key).contentType(ct).build(),
-                    RequestBody.fromInputStream(data, size)
-            );
-            // object changed -> cached GET URL may be stale; drop it
+            transferEngine.uploadStream(key, data, ct);
             getCache.invalidate(key);
-            log.info("Async S3 upload completed: {}", key);
-            return CompletableFuture.completedFuture(key);
-        } catch (Exception e) {
-            log.error("Async S3 upload failed: {}", key, e);
-            return CompletableFuture.failedFuture(e);
+            return key;
+        } catch (IOException | RuntimeException e) {
+            Throwable cause = FutureUtils.unwrap(e);
+            throw TechnicalException.of(TechnicalException.Code.S3_ERROR)
+                    .with("key", key)
+                    .with("error", String.valueOf(cause.getMessage()))
+                    .cause(cause)
+                    .build();
         }
     }
 
+    /**
+     * Parts carry their SHA-256, so S3 verifies every part as it is received and the checksums are kept for
+     * the completed object.
+     */
     @Override
-    public String presignedPut(String key, String ct) {
-        if (key == null || key.isEmpty()) return null;
-        var req = PutObjectRequest.builder().bucket(bucket).key(key).contentType(ct).build();
-        var url = presigner.presignPutObject(b -> b.signatureDuration(PRESIGNED_URL_TTL).putObjectRequest(req)).url();
+    public String createMultipartUpload(String key, String ct) {
+        try {
+            return s3.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                    .bucket(bucket).key(key).contentType(ct).checksumAlgorithm(ChecksumAlgorithm.SHA256).build())
+                    .uploadId();
+        } catch (S3Exception ex) {
+            throw TechnicalException.of(TechnicalException.Code.S3_ERROR)
+                    .with("key", key)
+                    .cause(ex)
+                    .build();
+        }
+    }
+
+    @Override
+    public boolean uploadPart(String key, String uploadId, int partNumber, InputStream data, long size, String sha256) {
+        try {
+            s3.uploadPart(UploadPartRequest.builder()
+                            .bucket(bucket).key(key).uploadId(uploadId).partNumber(partNumber)
+                            .checksumAlgorithm(ChecksumAlgorithm.SHA256).checksumSHA256(sha256)
+                            .build(),
+                    RequestBody.fromInputStream(data, size));
+            return true;
+        } catch (S3Exception ex) {
+            String code = ex.awsErrorDetails() != null ? ex.awsErrorDetails().errorCode() : null;
+            if ("BadDigest".equals(code) || "InvalidDigest".equals(code)) {
+                log.info("Part {} of multipart S3 upload for {} failed its checksum", partNumber, key);
+                return false;
+            }
+            throw TechnicalException.of(TechnicalException.Code.S3_ERROR)
+                    .with("key", key)
+                    .with("part", partNumber)
+                    .cause(ex)
+                    .build();
+        }
+    }
+
+    @Override
+    public SortedMap<Integer, Long> listParts(String key, String uploadId) {
+        try {
+            SortedMap<Integer, Long> sizes = new TreeMap<>();
+            for (Part part : s3.listPartsPaginator(ListPartsRequest.builder()
+                    .bucket(bucket).key(key).uploadId(uploadId).build()).parts()) {
+                sizes.put(part.partNumber(), part.size());
+            }
+            return sizes;
+        } catch (S3Exception ex) {
+            throw TechnicalException.of(TechnicalException.Code.S3_ERROR)
+                    .with("key", key)
+                    .cause(ex)
+                    .build();
+        }
+    }
+
+    @Override
+    public void completeMultipartUpload(String key, String uploadId) {
         try {
-            // usually you want the full URL, not just path;
-            // return url.toString() if the client needs the complete link
-            return url.getPath();
+            List<CompletedPart> parts = new ArrayList<>();
+            for (Part part : s3.listPartsPaginator(ListPartsRequest.builder()
+                    .bucket(bucket).key(key).uploadId(uploadId).build()).parts()) {
+                parts.add(CompletedPart.builder()
+                        .partNumber(part.partNumber())
+                        .eTag(part.eTag())
+                        .checksumSHA256(part.checksumSHA256())
+                        .build());
+            }
+            s3.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket).key(key).uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+            getCache.invalidate(key);
+            log.info("Multipart S3 upload completed: {}, {} parts", key, parts.size());
+        } catch (S3Exception ex) {
+            throw TechnicalException.of(TechnicalException.Code.S3_ERROR)
+                    .with("key", key)
+                    .cause(ex)
+                    .build();
+        }
+    }
+
+    @Override
+    public void abortMultipartUpload(String key, String uploadId) {
+        try {
+            s3.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket).key(key).uploadId(uploadId).build());
+        } catch (RuntimeException e) {
+            log.warn("Failed to abort multipart S3 upload {} for {}: {}", uploadId, key, e.getMessage());
+        }
+    }
+
+    @Override
+    public CompletableFuture<String> putAsync(String key, Path file, String ct) {
+        log.info("Starting async S3 upload: {}", key);
+        return transferEngine.uploadFile(key, file, ct)
+                .handle((result, error) -> {
+                    if (error != null) {
+                        Throwable cause = FutureUtils.unwrap(error);
+                        log.error("Async S3 upload failed: {}", key, cause);
+                        throw TechnicalException.of(TechnicalException.Code.S3_ERROR)
+                                .with("key", key)
+                                .with("error", String.valueOf(cause.getMessage()))
+                                .cause(cause)
+                                .build();
+                    }
+                    // object changed -> cached GET URL may be stale; drop it
+                    getCache.invalidate(key);
+                    log.info("Async S3 upload completed: {}", key);
+                    return key;
+                });
+    }
+
+    @Override
+    public PresignedUpload presignedPut(String key, String ct, long contentLength) {
+        var req = PutObjectRequest.builder().bucket(bucket).key(key).contentType(ct).contentLength(contentLength).build();
+        try {
+            var presigned = presigner.presignPutObject(b -> b.signatureDuration(UPLOAD_URL_TTL).putObjectRequest(req));
+            // Host is set by the HTTP client itself
+            Map<String, List<String>> headers = new HashMap<>(presigned.signedHeaders());
+            headers.keySet().removeIf(name -> name.equalsIgnoreCase("host"));
+            return PresignedUpload.builder()
+                    .url(presigned.url().toString())
+                    .headers(headers)
+                    .expiresAt(presigned.expiration())
+                    .build();
         } catch (Exception ex) {
             throw TechnicalException.of(TechnicalException.Code.S3_ERROR)
                     .with("key", key)
@@ -92,6 +230,44 @@ public class S3StorageService implements StorageService {
         }
     }
 
+    @Override
+    public Optional<StoredObject> head(String key) {
+        try {
+            var response = s3.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build());
+            return Optional.of(StoredObject.builder()
+                    .key(key)
+                    .size(response.contentLength())
+                    .contentType(response.contentType())
+                    .etag(response.eTag())
+                    .build());
+        } catch (S3Exception ex) {
+            if (ex.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw TechnicalException.of(TechnicalException.Code.S3_ERROR)
+                    .with("key", key)
+                    .cause(ex)
+                    .build();
+        }
+    }
+
+    @Override
+    public InputStream getRange(String key, long offset, long length) {
+        try {
+            return s3.getObject(GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .range("bytes=" + offset + "-" + (offset + length - 1))
+                    .build());
+        } catch (S3Exception ex) {
+            throw TechnicalException.of(TechnicalException.Code.S3_ERROR)
+                    .with("key", key)
+                    .with("range", offset + "+" + length)
+                    .cause(ex)
+                    .build();
+        }
+    }
+
     @Override
     public String presignedAndGet(String key) {
         if (key == null || key.isEmpty()) return null;
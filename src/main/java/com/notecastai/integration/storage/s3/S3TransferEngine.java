@@ -0,0 +1,261 @@
+package com.notecastai.integration.storage.s3;
+
+import com.notecastai.config.S3TransferProperties;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Uploads to S3 over {@link S3AsyncClient}, so no thread is held while requests are in flight. Objects above
+ * {@code aws.s3.transfer.multipart-threshold} go up as multipart uploads with several parts in flight; each part
+ * that fails is sent again on its own, and an upload that still fails is aborted so no orphaned parts are billed.
+ */
+@Slf4j
+@Component
+@Profile("!local-storage")
+@RequiredArgsConstructor
+public class S3TransferEngine {
+
+    private final S3AsyncClient s3;
+    private final S3TransferProperties properties;
+
+    @Value("${aws.s3.bucket}")
+    String bucket;
+
+    /**
+     * Uploads a file with its parts read from disk as they are sent. The caller keeps the file until the returned
+     * future completes.
+     */
+    public CompletableFuture<Void> uploadFile(String key, Path file, String contentType) {
+        long size;
+        try {
+            size = Files.size(file);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (size <= properties.getMultipartThreshold().toBytes()) {
+            return s3.putObject(putRequest(key, contentType), AsyncRequestBody.fromFile(file)).thenApply(response -> null);
+        }
+
+        PartPlan plan = PartPlan.of(size, properties);
+        return s3.createMultipartUpload(createRequest(key, contentType))
+                .thenApply(CreateMultipartUploadResponse::uploadId)
+                .thenCompose(uploadId -> {
+                    CompletedPart[] parts = new CompletedPart[plan.getPartCount()];
+                    AtomicInteger nextPart = new AtomicInteger(1);
+                    AtomicBoolean failed = new AtomicBoolean();
+                    // Each lane sends one part at a time and takes the next when it is stored
+                    CompletableFuture<?>[] lanes = IntStream.range(0, plan.getLanes())
+                            .mapToObj(lane -> fileLane(key, uploadId, file, plan, parts, nextPart, failed))
+                            .toArray(CompletableFuture[]::new);
+                    return CompletableFuture.allOf(lanes)
+                            .thenCompose(ignored -> complete(key, uploadId, Arrays.asList(parts)))
+                            .whenComplete((result, error) -> {
+                                if (error != null) {
+                                    abort(key, uploadId);
+                                } else {
+                                    log.info("Multipart S3 upload completed: {}, {} parts of {} bytes, {} in flight",
+                                            key, plan.getPartCount(), plan.getPartSize(), plan.getLanes());
+                                }
+                            });
+                });
+    }
+
+    /**
+     * Uploads {@code data} of unknown length, read to the end on the caller's thread while earlier parts are being
+     * sent. At most {@code max-parts-in-flight} parts plus the one being read are held in memory. The caller
+     * closes {@code data}.
+     */
+    public void uploadStream(String key, InputStream data, String contentType) throws IOException {
+        int partSize = (int) properties.getMinPartSize().toBytes();
+        byte[] part = data.readNBytes(partSize);
+        if (part.length < partSize) {
+            s3.putObject(putRequest(key, contentType), AsyncRequestBody.fromBytesUnsafe(part)).join();
+            return;
+        }
+
+        String uploadId = s3.createMultipartUpload(createRequest(key, contentType)).join().uploadId();
+        try {
+            Semaphore inFlight = new Semaphore(properties.getMaxPartsInFlight());
+            AtomicBoolean failed = new AtomicBoolean();
+            List<CompletableFuture<CompletedPart>> sent = new ArrayList<>();
+            long total = 0;
+            while (part.length > 0 && !failed.get()) {
+                inFlight.acquire();
+                byte[] bytes = part;
+                CompletableFuture<CompletedPart> result = sendPart(key, uploadId, sent.size() + 1,
+                        () -> AsyncRequestBody.fromBytesUnsafe(bytes), 1);
+                result.whenComplete((completed, error) -> {
+                    if (error != null) {
+                        failed.set(true);
+                    }
+                    inFlight.release();
+                });
+                sent.add(result);
+                total += part.length;
+                part = data.readNBytes(partSize);
+            }
+
+            CompletableFuture.allOf(sent.toArray(CompletableFuture[]::new)).join();
+            complete(key, uploadId, sent.stream().map(CompletableFuture::join).toList()).join();
+            log.info("Multipart S3 upload completed: {}, {} parts, {} bytes", key, sent.size(), total);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(key, uploadId);
+            throw new InterruptedIOException("Interrupted while uploading " + key);
+        } catch (IOException | RuntimeException e) {
+            abort(key, uploadId);
+            throw e;
+        }
+    }
+
+    private CompletableFuture<Void> fileLane(String key, String uploadId, Path file, PartPlan plan,
+                                             CompletedPart[] parts, AtomicInteger nextPart, AtomicBoolean failed) {
+        int partNumber = nextPart.getAndIncrement();
+        if (partNumber > plan.getPartCount() || failed.get()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long offset = (partNumber - 1) * plan.getPartSize();
+        int length = (int) Math.min(plan.getPartSize(), plan.getSize() - offset);
+        return sendPart(key, uploadId, partNumber, () -> AsyncRequestBody.fromBytesUnsafe(read(file, offset, length)), 1)
+                .whenComplete((part, error) -> {
+                    if (error != null) {
+                        failed.set(true);
+                    }
+                })
+                .thenCompose(part -> {
+                    parts[partNumber - 1] = part;
+                    return fileLane(key, uploadId, file, plan, parts, nextPart, failed);
+                });
+    }
+
+    /**
+     * Sends one part, and sends it again on failure until {@code part-attempts} is reached; these attempts come
+     * on top of the client's own retries of throttling and server errors.
+     */
+    private CompletableFuture<CompletedPart> sendPart(String key, String uploadId, int partNumber,
+                                                      Callable<AsyncRequestBody> body, int attempt) {
+        CompletableFuture<CompletedPart> sent;
+        try {
+            sent = s3.uploadPart(UploadPartRequest.builder()
+                                    .bucket(bucket).key(key).uploadId(uploadId).partNumber(partNumber).build(),
+                            body.call())
+                    .thenApply(response -> CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build());
+        } catch (Exception e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        return sent.exceptionallyCompose(error -> {
+            if (attempt >= properties.getPartAttempts()) {
+                return CompletableFuture.failedFuture(error);
+            }
+            log.warn("Part {} of multipart S3 upload for {} failed (attempt {}), sending it again: {}",
+                    partNumber, key, attempt, error.getMessage());
+            return sendPart(key, uploadId, partNumber, body, attempt + 1);
+        });
+    }
+
+    private CompletableFuture<Void> complete(String key, String uploadId, List<CompletedPart> parts) {
+        return s3.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                        .bucket(bucket).key(key).uploadId(uploadId)
+                        .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                        .build())
+                .thenApply(response -> null);
+    }
+
+    private void abort(String key, String uploadId) {
+        s3.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucket).key(key).uploadId(uploadId).build())
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        log.warn("Failed to abort multipart S3 upload {} for {}: {}", uploadId, key, error.getMessage());
+                    }
+                });
+    }
+
+    private PutObjectRequest putRequest(String key, String contentType) {
+        return PutObjectRequest.builder().bucket(bucket).key(key).contentType(contentType).build();
+    }
+
+    private CreateMultipartUploadRequest createRequest(String key, String contentType) {
+        return CreateMultipartUploadRequest.builder().bucket(bucket).key(key).contentType(contentType).build();
+    }
+
+    private static byte[] read(Path file, long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try (FileChannel channel = FileChannel.open(file)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new IOException("File ended at byte " + (offset + buffer.position()));
+                }
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Part size and parallelism for an object of known size: parts are sized to spread the object over all lanes,
+     * within the configured bounds and the S3 limit of 10,000 parts, so mid-sized objects use every lane and
+     * large ones need fewer, larger requests.
+     */
+    @Getter
+    static class PartPlan {
+
+        private static final int MAX_PARTS = 10_000;
+        private static final long MEGABYTE = 1024 * 1024;
+
+        private final long size;
+        private final long partSize;
+        private final int partCount;
+        private final int lanes;
+
+        private PartPlan(long size, long partSize, int maxLanes) {
+            this.size = size;
+            this.partSize = partSize;
+            this.partCount = (int) ceilDiv(size, partSize);
+            this.lanes = Math.min(maxLanes, partCount);
+        }
+
+        static PartPlan of(long size, S3TransferProperties properties) {
+            int maxLanes = Math.max(1, properties.getMaxPartsInFlight());
+            long partSize = ceilDiv(ceilDiv(size, maxLanes), MEGABYTE) * MEGABYTE;
+            partSize = Math.max(properties.getMinPartSize().toBytes(),
+                    Math.min(properties.getMaxPartSize().toBytes(), partSize));
+            partSize = Math.max(partSize, ceilDiv(size, MAX_PARTS));
+            return new PartPlan(size, partSize, maxLanes);
+        }
+
+        private static long ceilDiv(long dividend, long divisor) {
+            return (dividend + divisor - 1) / divisor;
+        }
+    }
+}
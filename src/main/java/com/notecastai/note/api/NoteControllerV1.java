@@ -16,11 +16,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Tag(name = "Notes", description = "AI-powered Notes management")
 @RestController
@@ -170,7 +173,7 @@ public class NoteControllerV1 {
             @ApiResponse(responseCode = "400", description = "Invalid question", content = @Content)
     })
     @PostMapping("/{noteId}/ask")
-    public NoteQuestionResponse askQuestion(
+    public CompletableFuture<NoteQuestionResponse> askQuestion(
             @Parameter(description = "Note ID to query", required = true)
             @PathVariable Long noteId,
             @Valid @RequestBody NoteQuestionRequest request
@@ -178,6 +181,26 @@ public class NoteControllerV1 {
         return noteService.askQuestion(noteId, request);
     }
 
+    @Operation(
+            summary = "Ask question about note (streaming)",
+            description = "Same as /ask, but streams the AI answer as Server-Sent Events: 'token' events carry " +
+                    "content deltas as they are generated, a final 'done' event carries the full answer and " +
+                    "an 'error' event is sent if generation fails"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Answer stream opened"),
+            @ApiResponse(responseCode = "404", description = "Note not found", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid question", content = @Content)
+    })
+    @PostMapping(value = "/{noteId}/ask/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter askQuestionStream(
+            @Parameter(description = "Note ID to query", required = true)
+            @PathVariable Long noteId,
+            @Valid @RequestBody NoteQuestionRequest request
+    ) {
+        return noteService.askQuestionStream(noteId, request);
+    }
+
     @Operation(
             summary = "List available formats",
             description = "Get all available note formatting types"
@@ -0,0 +1,19 @@
+package com.notecastai.note.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Payload of a single {@code token} event emitted by the streaming note chat endpoint.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NoteQuestionStreamChunk {
+
+    private String content;
+
+}
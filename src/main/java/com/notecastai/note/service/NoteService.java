@@ -1,16 +1,25 @@
 package com.notecastai.note.service;
 
+import com.notecastai.integration.ai.provider.openrouter.dto.NewNoteAiResponse;
 import com.notecastai.note.api.dto.*;
 import com.notecastai.note.domain.ExportFormat;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface NoteService {
 
     NoteDTO create(CreateNoteRequest request);
 
+    /**
+     * Persists a note from an AI response obtained beforehand, so callers can keep the AI call outside the
+     * transaction.
+     */
+    NoteDTO create(CreateNoteRequest request, NewNoteAiResponse aiResponse);
+
     NoteDTO updateManual(Long id, NoteAdjustManualRequest request);
 
     Page<NoteDTO> findAll(NotesQueryParam params, Pageable pageable);
@@ -21,7 +30,9 @@ public interface NoteService {
 
     NoteDTO formateNote(Long noteId, FormateNoteRequest request);
 
-    NoteQuestionResponse askQuestion(Long id, NoteQuestionRequest request);
+    CompletableFuture<NoteQuestionResponse> askQuestion(Long id, NoteQuestionRequest request);
+
+    SseEmitter askQuestionStream(Long id, NoteQuestionRequest request);
 
     NoteDTO getById(Long id);
 
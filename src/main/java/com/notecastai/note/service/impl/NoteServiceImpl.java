@@ -1,5 +1,6 @@
 package com.notecastai.note.service.impl;
 
+import com.notecastai.common.util.FutureUtils;
 import com.notecastai.common.util.SecurityUtils;
 import com.notecastai.integration.ai.NoteAiChat;
 import com.notecastai.integration.ai.NoteAiEditor;
@@ -21,13 +22,19 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,6 +42,9 @@ import java.util.stream.Collectors;
 @Slf4j
 public class NoteServiceImpl implements NoteService {
 
+    /** Slightly above the OpenRouter read timeout so the upstream call fails first. */
+    private static final long CHAT_STREAM_TIMEOUT_MS = 210_000L;
+
     private final NoteRepository noteRepository;
     private final UserRepository userRepository;
     private final TagRepository tagRepository;
@@ -46,10 +56,14 @@ public class NoteServiceImpl implements NoteService {
     @Override
     @Transactional
     public NoteDTO create(CreateNoteRequest request) {
-        UserEntity user = userRepository.getByClerkUserId(SecurityUtils.getCurrentClerkUserIdOrThrow());
-
         // Call AI with retry logic
-        NewNoteAiResponse aiResponse = noteAiEditor.adjustNote(request);
+        return create(request, FutureUtils.join(noteAiEditor.adjustNote(request)));
+    }
+
+    @Override
+    @Transactional
+    public NoteDTO create(CreateNoteRequest request, NewNoteAiResponse aiResponse) {
+        UserEntity user = userRepository.getByClerkUserId(SecurityUtils.getCurrentClerkUserIdOrThrow());
 
         // Map AI actions
         List<NoteEntity.AiAction> aiActions = aiResponse.getProposedAiActions().stream()
@@ -140,7 +154,7 @@ public class NoteServiceImpl implements NoteService {
         NoteEntity entity = noteRepository.getOrThrow(noteId);
 
         // Call AI with retry logic
-        FormatNoteAiResponse aiResponse = noteAiEditor.formatNoteKnowledgeBase(noteId, request);
+        FormatNoteAiResponse aiResponse = FutureUtils.join(noteAiEditor.formatNoteKnowledgeBase(noteId, request));
 
         entity.setTitle(aiResponse.getAdjustedTitle());
         entity.setKnowledgeBase(aiResponse.getKnowledgeBase());
@@ -185,7 +199,7 @@ public class NoteServiceImpl implements NoteService {
                 .instructions(request.getInstructions())
                 .build();
 
-        NewNoteAiResponse aiResponse = noteAiEditor.adjustNote(req);
+        NewNoteAiResponse aiResponse = FutureUtils.join(noteAiEditor.adjustNote(req));
 
         note.setFormattedNote(aiResponse.getFormattedNote());
         note.setCurrentFormate(formate);
@@ -207,10 +221,49 @@ public class NoteServiceImpl implements NoteService {
     }
 
     @Override
-    public NoteQuestionResponse askQuestion(Long noteId, NoteQuestionRequest request) {
+    public CompletableFuture<NoteQuestionResponse> askQuestion(Long noteId, NoteQuestionRequest request) {
         return noteAiChat.askQuestion(noteId, request);
     }
 
+    @Override
+    public SseEmitter askQuestionStream(Long noteId, NoteQuestionRequest request) {
+        SseEmitter emitter = new SseEmitter(CHAT_STREAM_TIMEOUT_MS);
+
+        noteAiChat.streamQuestion(noteId, request, token -> sendEvent(emitter, "token",
+                        NoteQuestionStreamChunk.builder().content(token).build()))
+                .whenComplete((response, error) -> {
+                    if (error == null) {
+                        try {
+                            sendEvent(emitter, "done", response);
+                            emitter.complete();
+                        } catch (UncheckedIOException e) {
+                            emitter.completeWithError(e);
+                        }
+                        return;
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    log.warn("Note chat stream failed for note ID {}: {}", noteId, cause.getMessage());
+                    try {
+                        emitter.send(SseEmitter.event().name("error").data("AI response stream failed"));
+                    } catch (IOException | IllegalStateException ignored) {
+                        // Client already gone - nothing left to notify
+                    }
+                    emitter.completeWithError(cause);
+                });
+
+        return emitter;
+    }
+
+    private void sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            // Client disconnected: abort the upstream stream instead of paying for unread tokens
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Override
     public NoteDTO getById(Long id) {
         NoteEntity entity = noteRepository.getOrThrow(id);
@@ -1,29 +1,32 @@
 package com.notecastai.notecast.api;
 
 import com.notecastai.config.TtsVoiceProperties;
+import com.notecastai.integration.storage.AudioStreamer;
+import com.notecastai.integration.storage.AudioUrlSigner;
+import com.notecastai.integration.storage.SignedAudioUrl;
 import com.notecastai.notecast.api.dto.*;
 import com.notecastai.notecast.api.mapper.TtsVoiceMapper;
 import com.notecastai.notecast.domain.TtsVoice;
 import com.notecastai.notecast.service.NoteCastService;
+import com.notecastai.notecast.service.impl.VoiceSampleCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @Tag(name = "NoteCasts", description = "NoteCast creation and management - AI-generated content from notes")
@@ -33,6 +36,9 @@ import java.util.List;
 public class NoteCastControllerV1 {
 
     private final NoteCastService noteCastService;
+    private final AudioStreamer audioStreamer;
+    private final AudioUrlSigner audioUrlSigner;
+    private final VoiceSampleCache voiceSampleCache;
     private final TtsVoiceMapper ttsVoiceMapper;
     private final TtsVoiceProperties ttsVoiceProperties;
 
@@ -67,6 +73,48 @@ public class NoteCastControllerV1 {
         return noteCastService.getById(id);
     }
 
+    @Operation(
+            summary = "Stream notecast audio",
+            description = "The audio itself, for players: supports Range requests for seeking and ETag " +
+                    "revalidation with If-None-Match and If-Range. Media elements that cannot send an " +
+                    "Authorization header play the signed URL of GET /{id}/audio-url instead"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Whole audio file"),
+            @ApiResponse(responseCode = "206", description = "Requested byte range"),
+            @ApiResponse(responseCode = "304", description = "Audio unchanged since the given ETag", content = @Content),
+            @ApiResponse(responseCode = "404", description = "NoteCast or its audio not found", content = @Content),
+            @ApiResponse(responseCode = "416", description = "Range outside the audio file", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    @GetMapping("/{id}/audio")
+    public void streamAudio(
+            @Parameter(description = "NoteCast ID", required = true)
+            @PathVariable Long id,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        audioStreamer.stream(noteCastService.getAudioKey(id), "notecast", request, response);
+    }
+
+    @Operation(
+            summary = "Get signed notecast audio URL",
+            description = "A short-lived URL that plays the audio like GET /{id}/audio without an Authorization " +
+                    "header, for media elements; valid for storage.streaming.url-ttl"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Signed audio URL"),
+            @ApiResponse(responseCode = "404", description = "NoteCast or its audio not found", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    @GetMapping("/{id}/audio-url")
+    public SignedAudioUrl getAudioUrl(
+            @Parameter(description = "NoteCast ID", required = true)
+            @PathVariable Long id
+    ) {
+        return audioUrlSigner.sign(noteCastService.getAudioKey(id), "notecast");
+    }
+
     @Operation(
             summary = "List all notecasts",
             description = "Get paginated list of notecasts with optional filtering"
@@ -149,29 +197,33 @@ public class NoteCastControllerV1 {
 
     @Operation(
             summary = "Get voice sample audio by enum name",
-            description = "Stream the sample audio file for a specific TTS voice using its enum name (e.g., ALLOY, ECHO, FABLE)"
+            description = "Stream the sample audio file for a specific TTS voice using its enum name (e.g., ALLOY, ECHO, FABLE). " +
+                    "A compressed variant is sent when one exists and the Accept header allows it; supports Range " +
+                    "and ETag revalidation"
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Audio file streamed successfully"),
+            @ApiResponse(responseCode = "206", description = "Requested byte range"),
+            @ApiResponse(responseCode = "304", description = "Sample unchanged since the given ETag", content = @Content),
             @ApiResponse(responseCode = "404", description = "Voice not found", content = @Content)
     })
     @GetMapping("/voices/{voiceEnumName}/sample")
-    public ResponseEntity<Resource> getVoiceSample(
+    public void getVoiceSample(
             @Parameter(description = "Voice enum name (e.g., ALLOY, ECHO, FABLE)", required = true)
-            @PathVariable String voiceEnumName
-    ) {
+            @PathVariable String voiceEnumName,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        TtsVoice voice;
         try {
-            TtsVoice voice = TtsVoice.valueOf(voiceEnumName.toUpperCase());
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType("audio/wav"))
-                    .body(new ClassPathResource(voice.getSampleResourcePath()));
+            voice = TtsVoice.valueOf(voiceEnumName.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw com.notecastai.common.exeption.BusinessException.of(
                     com.notecastai.common.exeption.BusinessException.BusinessCode.ENTITY_NOT_FOUND
                             .append(": Voice '" + voiceEnumName + "' not found")
             );
         }
+        voiceSampleCache.serve(voice, request, response);
     }
 
     @Operation(
@@ -191,6 +243,25 @@ public class NoteCastControllerV1 {
         return noteCastService.generateShareLink(id);
     }
 
+    @Operation(
+            summary = "Revoke share links of notecast",
+            description = "Stop every share link issued so far from resolving; caches may serve it for up to " +
+                    "notecast.share.max-age. A new link can be generated afterwards"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Share links revoked"),
+            @ApiResponse(responseCode = "404", description = "NoteCast not found", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    @DeleteMapping("/{id}/share")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void revokeShare(
+            @Parameter(description = "NoteCast ID", required = true)
+            @PathVariable Long id
+    ) {
+        noteCastService.revokeShareLinks(id);
+    }
+
     @Operation(
             summary = "Add tag to notecast",
             description = "Associate a tag with a specific notecast"
@@ -0,0 +1,72 @@
+package com.notecastai.notecast.api;
+
+import com.notecastai.config.NoteCastShareProperties;
+import com.notecastai.notecast.api.dto.PublicNoteCastDTO;
+import com.notecastai.notecast.service.PublicNoteCastService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@Tag(name = "Public NoteCasts", description = "Notecasts opened through share links, without authentication")
+@RestController
+@RequestMapping(PublicNoteCastControllerV1.PATH)
+@RequiredArgsConstructor
+public class PublicNoteCastControllerV1 {
+
+    public static final String PATH = "/api/v1/public/notecasts";
+
+    private final PublicNoteCastService publicNoteCastService;
+    private final NoteCastShareProperties shareProperties;
+
+    @Operation(
+            summary = "Resolve share link",
+            description = "Notecast details for the token of a share link. Responses may be cached publicly, " +
+                    "for at most notecast.share.max-age and never past the link's expiry"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Shared notecast found"),
+            @ApiResponse(responseCode = "404", description = "Link invalid, expired or revoked, or notecast deleted", content = @Content)
+    })
+    @GetMapping("/{token}")
+    public ResponseEntity<PublicNoteCastDTO> getShared(
+            @Parameter(description = "Share token", required = true)
+            @PathVariable String token
+    ) {
+        PublicNoteCastDTO noteCast = publicNoteCastService.getShared(token);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(shareProperties.maxAge(noteCast.getExpiresAt())).cachePublic())
+                .body(noteCast);
+    }
+
+    @Operation(
+            summary = "Stream shared notecast audio",
+            description = "The audio of a shared notecast, with Range, If-None-Match and If-Range support"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Whole audio file"),
+            @ApiResponse(responseCode = "206", description = "Requested byte range"),
+            @ApiResponse(responseCode = "304", description = "Audio unchanged since the given ETag", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Link invalid, expired or revoked, or notecast deleted", content = @Content),
+            @ApiResponse(responseCode = "416", description = "Range outside the audio file", content = @Content)
+    })
+    @GetMapping("/{token}/audio")
+    public void streamAudio(
+            @Parameter(description = "Share token", required = true)
+            @PathVariable String token,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        publicNoteCastService.streamSharedAudio(token, request, response);
+    }
+}
@@ -0,0 +1,31 @@
+package com.notecastai.notecast.api.dto;
+
+import com.notecastai.notecast.domain.NoteCastStyle;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A notecast as seen through its public share link.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PublicNoteCastDTO {
+
+    private String title;
+    @NotNull
+    private NoteCastStyle style;
+    private String voiceName;
+    private Integer durationSeconds;
+    /** Path of the audio under the same link, with Range support. */
+    @NotNull
+    private String audioUrl;
+    @NotNull
+    private Instant expiresAt;
+}
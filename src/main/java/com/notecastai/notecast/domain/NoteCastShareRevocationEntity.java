@@ -0,0 +1,32 @@
+package com.notecastai.notecast.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Revoked share links of a notecast: those expiring up to {@code revokedThrough}, i.e. every link issued before
+ * the revocation. Not a {@code BaseEntity}, as rows are read by every node regardless of owner.
+ */
+@Entity
+@Table(
+        name = "note_cast_share_revocation",
+        indexes = {
+                @Index(name = "idx_share_revocation_through", columnList = "revoked_through")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NoteCastShareRevocationEntity {
+
+    @Id
+    @Column(name = "note_cast_id")
+    private Long noteCastId;
+
+    @Column(name = "revoked_through", nullable = false)
+    private Instant revokedThrough;
+}
@@ -3,9 +3,34 @@ package com.notecastai.notecast.infrastructure.repo;
 import com.notecastai.notecast.domain.NoteCastEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface NoteCastDao extends JpaRepository<NoteCastEntity, Long>, JpaSpecificationExecutor<NoteCastEntity> {
 
-}
\ No newline at end of file
+    /**
+     * A processed notecast for public share links. Native SQL, so the owner filter does not apply: the caller
+     * is anonymous and the signed link is the authorization.
+     */
+    @Query(value = """
+        SELECT nc.id AS id, nc.title AS title, nc.style AS style, nc.voice AS voice,
+               nc.duration_seconds AS durationSeconds, nc.s3_file_url AS s3FileUrl
+        FROM note_cast nc
+        WHERE nc.id = :id AND nc.status = 'PROCESSED' AND nc.inactive = FALSE AND nc.s3_file_url IS NOT NULL
+        """, nativeQuery = true)
+    Optional<SharedNoteCastProjection> findShared(@Param("id") Long id);
+
+    interface SharedNoteCastProjection {
+        Long getId();
+        String getTitle();
+        String getStyle();
+        String getVoice();
+        Integer getDurationSeconds();
+        String getS3FileUrl();
+    }
+
+}
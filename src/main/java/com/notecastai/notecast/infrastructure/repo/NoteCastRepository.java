@@ -38,6 +38,19 @@ public class NoteCastRepository extends BaseRepository<NoteCastEntity, Long, Not
         );
     }
 
+    /**
+     * The notecast if its note belongs to the current user. Lookups by id are not covered by the owner filter, so
+     * anything loaded for a user's request goes through here; someone else's notecast looks like a missing one.
+     */
+    public NoteCastEntity getOwnedOrThrow(Long id) {
+        NoteCastEntity entity = getOrThrow(id);
+        Long userId = userRepository.getByClerkUserId(SecurityUtils.getCurrentClerkUserIdOrThrow()).getId();
+        if (!entity.getNote().getUser().getId().equals(userId)) {
+            throw BusinessException.of(ENTITY_NOT_FOUND.append(" NoteCast with id %d not found".formatted(id)));
+        }
+        return entity;
+    }
+
     public Page<NoteCastEntity> findAll(NoteCastQueryParam params, Pageable pageable) {
         SecurityUtils.getCurrentClerkUserIdOrThrow();
         return CriteriaQueryBuilder.forEntity(NoteCastEntity.class, entityManager)
@@ -53,6 +66,10 @@ public class NoteCastRepository extends BaseRepository<NoteCastEntity, Long, Not
                 .paginate(pageable);
     }
 
+    public Optional<NoteCastDao.SharedNoteCastProjection> findShared(Long id) {
+        return dao.findShared(id);
+    }
+
     @Override
     public Optional<NoteCastEntity> findById(Long id) {
         return super.findById(id);
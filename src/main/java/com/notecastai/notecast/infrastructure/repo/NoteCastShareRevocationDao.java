@@ -0,0 +1,30 @@
+package com.notecastai.notecast.infrastructure.repo;
+
+import com.notecastai.notecast.domain.NoteCastShareRevocationEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface NoteCastShareRevocationDao extends JpaRepository<NoteCastShareRevocationEntity, Long> {
+
+    List<NoteCastShareRevocationEntity> findAllByRevokedThroughAfter(Instant now);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO note_cast_share_revocation (note_cast_id, revoked_through)
+        VALUES (:noteCastId, :revokedThrough)
+        ON CONFLICT (note_cast_id) DO UPDATE
+        SET revoked_through = GREATEST(note_cast_share_revocation.revoked_through, EXCLUDED.revoked_through)
+        """, nativeQuery = true)
+    void upsert(@Param("noteCastId") Long noteCastId, @Param("revokedThrough") Instant revokedThrough);
+
+    @Modifying
+    @Query(value = "DELETE FROM note_cast_share_revocation WHERE revoked_through <= :now", nativeQuery = true)
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -13,6 +13,9 @@ public interface NoteCastService {
 
     NoteCastResponseDTO getById(Long id);
 
+    /** Storage key of the notecast's audio, for streaming it to its owner. */
+    String getAudioKey(Long id);
+
     Page<NoteCastResponseDTO> findAll(NoteCastQueryParam params, Pageable pageable);
 
     Page<NoteCastShortDTO> findAllShort(NoteCastQueryParam params, Pageable pageable);
@@ -31,6 +34,9 @@ public interface NoteCastService {
 
     NoteCastShareResponse generateShareLink(Long id);
 
+    /** Revokes every share link issued so far; a new one can be generated afterwards. */
+    void revokeShareLinks(Long id);
+
     NoteCastResponseDTO addTag(Long noteCastId, Long tagId);
 
     NoteCastResponseDTO removeTag(Long noteCastId, Long tagId);
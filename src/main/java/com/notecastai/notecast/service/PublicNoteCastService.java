@@ -0,0 +1,17 @@
+package com.notecastai.notecast.service;
+
+import com.notecastai.notecast.api.dto.PublicNoteCastDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * Notecasts opened through public share links, without authentication.
+ */
+public interface PublicNoteCastService {
+
+    PublicNoteCastDTO getShared(String token);
+
+    void streamSharedAudio(String token, HttpServletRequest request, HttpServletResponse response) throws IOException;
+}
@@ -1,10 +1,11 @@
 package com.notecastai.notecast.service.impl;
 
 import com.notecastai.common.exeption.AiValidationException;
+import com.notecastai.common.util.FutureUtils;
 import com.notecastai.integration.ai.NoteCastTranscriptGenerator;
 import com.notecastai.integration.ai.TextToSpeechService;
 import com.notecastai.integration.ai.dto.TextToSpeechRequest;
-import com.notecastai.integration.ai.dto.TextToSpeechResult;
+import com.notecastai.integration.ai.dto.TextToSpeechStream;
 import com.notecastai.integration.storage.StorageService;
 import com.notecastai.notecast.domain.NoteCastStatus;
 import com.notecastai.notecast.domain.event.NoteCastCreatedEvent;
@@ -16,8 +17,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.io.ByteArrayInputStream;
-
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -64,18 +63,25 @@ public class NoteCastEventListener {
                     .size(event.getSize())
                     .build();
 
-            TextToSpeechResult speechResult = textToSpeechService.synthesizeSpeech(ttsRequest);
-            String audioKey = uploadAudio(noteCastId, speechResult);
+            // Audio goes from the provider response into S3 as it arrives, never held in memory as a whole
+            long ttsStart = System.currentTimeMillis();
+            String audioKey;
+            Integer durationSeconds;
+            try (TextToSpeechStream speech = FutureUtils.join(textToSpeechService.streamSpeech(ttsRequest))) {
+                audioKey = uploadAudio(noteCastId, speech);
 
-            Integer durationSeconds = speechResult.getEstimatedDurationSeconds() != null
-                    ? speechResult.getEstimatedDurationSeconds().intValue()
-                    : null;
+                // Measured from the audio when the format is parsed, otherwise estimated from the word count
+                Double duration = speech.getDurationSeconds() != null
+                        ? speech.getDurationSeconds()
+                        : speech.getEstimatedDurationSeconds();
+                durationSeconds = duration != null ? (int) Math.round(duration) : null;
+            }
 
             noteCastService.updateWithAudio(
                     noteCastId,
                     audioKey,
                     durationSeconds,
-                    speechResult.getProcessingTimeMs()
+                    System.currentTimeMillis() - ttsStart
             );
 
             log.info("NoteCast TTS completed successfully for ID: {}, audioKey: {}, duration: {}s",
@@ -100,23 +106,21 @@ public class NoteCastEventListener {
         }
     }
 
-    private String uploadAudio(Long noteCastId, TextToSpeechResult result) {
-        byte[] audioBytes = result.getAudioBytes();
-        if (audioBytes == null || audioBytes.length == 0) {
+    private String uploadAudio(Long noteCastId, TextToSpeechStream speech) {
+        String extension = speech.getFileExtension() != null ? speech.getFileExtension() : ".mp3";
+        String key = String.format(NOTECAST_AUDIO_KEY_TEMPLATE, noteCastId, extension);
+        String contentType = speech.getMediaType() != null ? speech.getMediaType() : "audio/mpeg";
+
+        log.info("Streaming NoteCast audio to S3: key={}", key);
+        storageService.putStream(key, speech.getAudio(), contentType);
+
+        // Size is only known once the stream is drained
+        if (speech.getSizeBytes() == 0) {
+            storageService.delete(key);
             throw new IllegalStateException("Text-to-speech service returned empty audio payload");
         }
-
-        String extension = result.getFileExtension() != null ? result.getFileExtension() : ".mp3";
-        String key = String.format(NOTECAST_AUDIO_KEY_TEMPLATE, noteCastId, extension);
-        String contentType = result.getMediaType() != null ? result.getMediaType() : "audio/mpeg";
-
-        log.info("Uploading NoteCast audio to S3: key={}, size={} bytes", key, audioBytes.length);
-        return storageService.put(
-                key,
-                new ByteArrayInputStream(audioBytes),
-                audioBytes.length,
-                contentType
-        );
+        log.info("NoteCast audio uploaded to S3: key={}, size={} bytes", key, speech.getSizeBytes());
+        return key;
     }
 
 }
\ No newline at end of file
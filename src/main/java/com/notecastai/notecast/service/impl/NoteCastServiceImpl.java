@@ -2,6 +2,7 @@ package com.notecastai.notecast.service.impl;
 
 import com.notecastai.common.exeption.BusinessException;
 import com.notecastai.common.util.SecurityUtils;
+import com.notecastai.config.NoteCastShareProperties;
 import com.notecastai.config.TtsVoiceProperties;
 import com.notecastai.integration.storage.StorageService;
 import com.notecastai.note.domain.NoteEntity;
@@ -31,6 +32,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.notecastai.common.exeption.BusinessException.BusinessCode.INVALID_REQUEST;
+import static com.notecastai.common.exeption.BusinessException.BusinessCode.RESOURCE_NOT_FOUND;
 
 @Slf4j
 @Service
@@ -45,6 +47,9 @@ public class NoteCastServiceImpl implements NoteCastService {
     private final TagRepository tagRepository;
     private final TtsVoiceProperties ttsVoiceProperties;
     private final StorageService s3StorageService;
+    private final ShareTokenSigner shareTokenSigner;
+    private final NoteCastShareDenyList shareDenyList;
+    private final NoteCastShareProperties shareProperties;
 
     @org.springframework.beans.factory.annotation.Value("${application.domain}")
     private String applicationDomain;
@@ -129,6 +134,16 @@ public class NoteCastServiceImpl implements NoteCastService {
         return mapper.toDto(entity).withS3FileUrl(s3StorageService.presignedAndGet(entity.getS3FileUrl()));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getAudioKey(Long id) {
+        NoteCastEntity entity = noteCastRepository.getOwnedOrThrow(id);
+        if (entity.getS3FileUrl() == null) {
+            throw BusinessException.of(RESOURCE_NOT_FOUND.append(" NoteCast audio is not generated yet"));
+        }
+        return entity.getS3FileUrl();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<NoteCastResponseDTO> findAll(NoteCastQueryParam params, Pageable pageable) {
@@ -158,6 +173,9 @@ public class NoteCastServiceImpl implements NoteCastService {
     @Transactional
     public void delete(Long id) {
         NoteCastEntity entity = noteCastRepository.getOrThrow(id);
+        if (entity.getShareToken() != null) {
+            revokeShareLinks(entity);
+        }
         noteCastRepository.delete(entity);
     }
 
@@ -228,15 +246,14 @@ public class NoteCastServiceImpl implements NoteCastService {
         java.time.Instant now = java.time.Instant.now();
         if (noteCast.getShareToken() == null ||
                 noteCast.getShareExpiresAt() == null ||
-                noteCast.getShareExpiresAt().isBefore(now)) {
-
-            // Generate new token
-            String token = java.util.UUID.randomUUID().toString().replace("-", "");
+                noteCast.getShareExpiresAt().isBefore(now) ||
+                shareTokenSigner.verify(noteCast.getShareToken()).filter(t -> !shareDenyList.isRevoked(t)).isEmpty()) {
 
-            // Set expiration to 30 days from now
-            java.time.Instant expiresAt = now.plus(30, java.time.temporal.ChronoUnit.DAYS);
+            // Signed token, resolved by the public endpoint without a database read
+            java.time.Instant expiresAt = shareDenyList.outlastRevocation(noteCast.getId(),
+                    now.plus(shareProperties.getTtl()).truncatedTo(java.time.temporal.ChronoUnit.SECONDS));
 
-            noteCast.setShareToken(token);
+            noteCast.setShareToken(shareTokenSigner.sign(noteCast.getId(), expiresAt));
             noteCast.setShareExpiresAt(expiresAt);
 
             noteCast = noteCastRepository.save(noteCast);
@@ -252,6 +269,25 @@ public class NoteCastServiceImpl implements NoteCastService {
                 .build();
     }
 
+    @Override
+    @Transactional
+    public void revokeShareLinks(Long id) {
+        NoteCastEntity noteCast = noteCastRepository.getOwnedOrThrow(id);
+        revokeShareLinks(noteCast);
+        noteCast.setShareToken(null);
+        noteCast.setShareExpiresAt(null);
+        noteCastRepository.save(noteCast);
+    }
+
+    /** Covers every link issued so far, as none expires later than a full TTL from now or the current link. */
+    private void revokeShareLinks(NoteCastEntity noteCast) {
+        java.time.Instant through = java.time.Instant.now().plus(shareProperties.getTtl());
+        if (noteCast.getShareExpiresAt() != null && noteCast.getShareExpiresAt().isAfter(through)) {
+            through = noteCast.getShareExpiresAt();
+        }
+        shareDenyList.revoke(noteCast.getId(), through);
+    }
+
     @Override
     @Transactional
     public NoteCastResponseDTO addTag(Long noteCastId, Long tagId) {
@@ -0,0 +1,85 @@
+package com.notecastai.notecast.service.impl;
+
+import com.notecastai.notecast.domain.NoteCastShareRevocationEntity;
+import com.notecastai.notecast.infrastructure.repo.NoteCastShareRevocationDao;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Revoked share links, held in memory so resolving a link never reads the database. An entry covers the links
+ * of one notecast expiring up to an instant, so it is one row per notecast and disappears once those links
+ * have expired anyway. Revocations made on other nodes arrive with the next refresh.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NoteCastShareDenyList {
+
+    private final NoteCastShareRevocationDao dao;
+
+    private volatile Map<Long, Instant> revoked = Map.of();
+
+    public boolean isRevoked(ShareTokenSigner.ShareToken token) {
+        Instant through = revoked.get(token.getNoteCastId());
+        return through != null && !token.getExpiresAt().isAfter(through);
+    }
+
+    /**
+     * Revokes the links of {@code noteCastId} expiring up to {@code through}. The in-memory list only follows once
+     * the caller's transaction commits: a rolled back revocation must not deny links, and a refresh reading before
+     * the commit would otherwise drop the entry again until the next one.
+     */
+    @Transactional
+    public void revoke(Long noteCastId, Instant through) {
+        dao.upsert(noteCastId, through);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deny(noteCastId, through);
+                }
+            });
+        } else {
+            deny(noteCastId, through);
+        }
+    }
+
+    /** {@code expiresAt}, moved past a revocation so that a link issued after it is not revoked too. */
+    public Instant outlastRevocation(Long noteCastId, Instant expiresAt) {
+        Instant through = revoked.get(noteCastId);
+        return through != null && !expiresAt.isAfter(through) ? through.plusSeconds(1) : expiresAt;
+    }
+
+    /** Synchronized with {@link #refresh}, so an entry is either merged into its result or read by it. */
+    private synchronized void deny(Long noteCastId, Instant through) {
+        Map<Long, Instant> updated = new HashMap<>(revoked);
+        updated.merge(noteCastId, through, (a, b) -> a.isAfter(b) ? a : b);
+        revoked = Map.copyOf(updated);
+        log.info("Share links of notecast {} revoked through {}", noteCastId, through);
+    }
+
+    @Scheduled(fixedDelayString = "${notecast.share.deny-list-refresh:PT30S}")
+    @Transactional
+    public synchronized void refresh() {
+        Instant now = Instant.now();
+        int expired = dao.deleteExpired(now);
+        revoked = dao.findAllByRevokedThroughAfter(now).stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        NoteCastShareRevocationEntity::getNoteCastId,
+                        NoteCastShareRevocationEntity::getRevokedThrough));
+        if (expired > 0) {
+            log.info("Share deny-list refreshed: {} revoked notecasts, {} expired entries removed",
+                    revoked.size(), expired);
+        }
+    }
+}
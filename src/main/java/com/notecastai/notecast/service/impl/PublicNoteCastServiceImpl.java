@@ -0,0 +1,143 @@
+package com.notecastai.notecast.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.notecastai.common.exeption.BusinessException;
+import com.notecastai.config.NoteCastShareProperties;
+import com.notecastai.integration.storage.AudioStreamer;
+import com.notecastai.notecast.api.PublicNoteCastControllerV1;
+import com.notecastai.notecast.api.dto.PublicNoteCastDTO;
+import com.notecastai.notecast.domain.NoteCastStyle;
+import com.notecastai.notecast.domain.TtsVoice;
+import com.notecastai.notecast.infrastructure.repo.NoteCastRepository;
+import com.notecastai.notecast.service.PublicNoteCastService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static com.notecastai.common.exeption.BusinessException.BusinessCode.RESOURCE_NOT_FOUND;
+
+/**
+ * Resolves share links without a database read on the hot path: the token is checked by its signature and the
+ * in-memory deny-list, and the notecast comes from a bounded cache that also remembers notecasts that are gone,
+ * so a widely shared link costs one query per node and {@code notecast.share.cache-ttl}.
+ */
+@Service
+public class PublicNoteCastServiceImpl implements PublicNoteCastService {
+
+    private final ShareTokenSigner shareTokenSigner;
+    private final NoteCastShareDenyList shareDenyList;
+    private final NoteCastRepository noteCastRepository;
+    private final AudioStreamer audioStreamer;
+    private final NoteCastShareProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<Long, Optional<SharedNoteCast>> sharedNoteCasts;
+
+    public PublicNoteCastServiceImpl(ShareTokenSigner shareTokenSigner, NoteCastShareDenyList shareDenyList,
+                                     NoteCastRepository noteCastRepository, AudioStreamer audioStreamer,
+                                     NoteCastShareProperties properties, MeterRegistry meterRegistry) {
+        this.shareTokenSigner = shareTokenSigner;
+        this.shareDenyList = shareDenyList;
+        this.noteCastRepository = noteCastRepository;
+        this.audioStreamer = audioStreamer;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.sharedNoteCasts = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(properties.getCacheTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, sharedNoteCasts, "notecast.share");
+    }
+
+    @Override
+    public PublicNoteCastDTO getShared(String token) {
+        ShareTokenSigner.ShareToken shareToken = verify(token);
+        SharedNoteCast noteCast = load(shareToken);
+        return PublicNoteCastDTO.builder()
+                .title(noteCast.getTitle())
+                .style(noteCast.getStyle())
+                .voiceName(noteCast.getVoice() != null ? noteCast.getVoice().getName() : null)
+                .durationSeconds(noteCast.getDurationSeconds())
+                .audioUrl(PublicNoteCastControllerV1.PATH + "/" + token + "/audio")
+                .expiresAt(shareToken.getExpiresAt())
+                .build();
+    }
+
+    @Override
+    public void streamSharedAudio(String token, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        ShareTokenSigner.ShareToken shareToken = verify(token);
+        SharedNoteCast noteCast = load(shareToken);
+        String cacheControl = CacheControl.maxAge(properties.maxAge(shareToken.getExpiresAt()))
+                .cachePublic()
+                .getHeaderValue();
+        audioStreamer.stream(noteCast.getAudioKey(), "shared_notecast", cacheControl, request, response);
+    }
+
+    /** Invalid, expired and revoked links all look like a missing notecast to the caller. */
+    private ShareTokenSigner.ShareToken verify(String token) {
+        Optional<ShareTokenSigner.ShareToken> verified = shareTokenSigner.verify(token);
+        if (verified.isEmpty()) {
+            countResolution("invalid");
+            throw notFound();
+        }
+        if (shareDenyList.isRevoked(verified.get())) {
+            countResolution("revoked");
+            throw notFound();
+        }
+        return verified.get();
+    }
+
+    private SharedNoteCast load(ShareTokenSigner.ShareToken token) {
+        Optional<SharedNoteCast> noteCast = sharedNoteCasts.get(token.getNoteCastId(), id ->
+                noteCastRepository.findShared(id).map(row -> SharedNoteCast.builder()
+                        .title(row.getTitle())
+                        .style(NoteCastStyle.valueOf(row.getStyle()))
+                        .voice(row.getVoice() == null ? null : Arrays.stream(TtsVoice.values())
+                                .filter(voice -> voice.name().equals(row.getVoice()))
+                                .findFirst()
+                                .orElse(null))
+                        .durationSeconds(row.getDurationSeconds())
+                        .audioKey(row.getS3FileUrl())
+                        .build()));
+        if (noteCast.isEmpty()) {
+            countResolution("missing");
+            throw notFound();
+        }
+        countResolution("ok");
+        return noteCast.get();
+    }
+
+    private void countResolution(String result) {
+        Counter.builder("notecast.share.resolutions")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static BusinessException notFound() {
+        return BusinessException.of(RESOURCE_NOT_FOUND.append(" Share link is invalid or has expired"));
+    }
+
+    @Value
+    @Builder
+    static class SharedNoteCast {
+        String title;
+        NoteCastStyle style;
+        TtsVoice voice;
+        Integer durationSeconds;
+        String audioKey;
+    }
+}
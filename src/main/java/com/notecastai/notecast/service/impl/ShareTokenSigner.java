@@ -0,0 +1,96 @@
+package com.notecastai.notecast.service.impl;
+
+import com.notecastai.config.NoteCastShareProperties;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Signs and verifies notecast share tokens of the form {@code <notecast id>.<expiry epoch seconds>.<key version>.
+ * <signature>}, the signature being the first 128 bits of an HMAC-SHA256 over the rest, Base64url encoded.
+ */
+@Slf4j
+@Component
+public class ShareTokenSigner {
+
+    private static final int SIGNATURE_BYTES = 16;
+
+    private final Map<Integer, SecretKeySpec> keys = new HashMap<>();
+    private final int currentKey;
+
+    public ShareTokenSigner(NoteCastShareProperties properties) {
+        properties.getKeys().forEach((version, secret) -> {
+            if (secret != null && !secret.isBlank()) {
+                keys.put(version, new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            }
+        });
+        this.currentKey = properties.getCurrentKey();
+        if (!keys.containsKey(currentKey)) {
+            log.warn("notecast.share.keys has no key {}; share links will not survive a restart", currentKey);
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            keys.put(currentKey, new SecretKeySpec(key, "HmacSHA256"));
+        }
+    }
+
+    public String sign(long noteCastId, Instant expiresAt) {
+        String payload = "%d.%d.%d".formatted(noteCastId, expiresAt.getEpochSecond(), currentKey);
+        return payload + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(mac(keys.get(currentKey), payload));
+    }
+
+    /** The token's claims if it is well formed, signed with a configured key and not expired. */
+    public Optional<ShareToken> verify(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 4) {
+            return Optional.empty();
+        }
+        try {
+            long noteCastId = Long.parseLong(parts[0]);
+            Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(parts[1]));
+            int keyVersion = Integer.parseInt(parts[2]);
+            SecretKeySpec key = keys.get(keyVersion);
+            if (key == null || !expiresAt.isAfter(Instant.now())) {
+                return Optional.empty();
+            }
+            byte[] signature = Base64.getUrlDecoder().decode(parts[3]);
+            byte[] expected = mac(key, token.substring(0, token.lastIndexOf('.')));
+            return MessageDigest.isEqual(signature, expected)
+                    ? Optional.of(new ShareToken(noteCastId, expiresAt, keyVersion))
+                    : Optional.empty();
+        } catch (IllegalArgumentException | DateTimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static byte[] mac(SecretKeySpec key, String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return Arrays.copyOf(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)), SIGNATURE_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    @Value
+    public static class ShareToken {
+        long noteCastId;
+        Instant expiresAt;
+        int keyVersion;
+    }
+}
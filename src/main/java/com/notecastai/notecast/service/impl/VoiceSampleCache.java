@@ -0,0 +1,190 @@
+package com.notecastai.notecast.service.impl;
+
+import com.notecastai.common.exeption.BusinessException;
+import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.common.util.ContentHashUtil;
+import com.notecastai.integration.storage.ByteRange;
+import com.notecastai.notecast.domain.TtsVoice;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.notecastai.common.exeption.BusinessException.BusinessCode.ENTITY_NOT_FOUND;
+
+/**
+ * Voice samples, read from the classpath once at startup into read-only direct buffers and served with strong
+ * ETags and byte ranges. Next to each {@code .wav} sample, {@code .mp3} and {@code .opus} files with the same
+ * name are picked up as compressed variants and chosen by the {@code Accept} header.
+ */
+@Slf4j
+@Component
+public class VoiceSampleCache {
+
+    /** Samples only change with a deployment; the ETag covers that case after a week. */
+    private static final String CACHE_CONTROL = "public, max-age=604800";
+
+    /**
+     * By server preference when the client accepts several equally: MP3 plays everywhere, Ogg Opus is smaller but
+     * only taken when asked for by name, WAV is the original.
+     */
+    private static final List<Variant> VARIANTS = List.of(
+            new Variant(".mp3", MediaType.parseMediaType("audio/mpeg")),
+            new Variant(".opus", MediaType.parseMediaType("audio/ogg;codecs=opus")),
+            new Variant(".wav", MediaType.parseMediaType("audio/wav")));
+
+    private final Map<TtsVoice, List<Sample>> samples = new EnumMap<>(TtsVoice.class);
+
+    public VoiceSampleCache() {
+        long bytes = 0;
+        for (TtsVoice voice : TtsVoice.values()) {
+            List<Sample> loaded = new ArrayList<>();
+            for (Variant variant : VARIANTS) {
+                String path = voice.getSampleResourcePath().replaceFirst("\\.wav$", variant.extension());
+                load(path, variant.contentType()).ifPresent(loaded::add);
+            }
+            if (loaded.isEmpty()) {
+                log.warn("No sample audio for voice {} at {}", voice, voice.getSampleResourcePath());
+                continue;
+            }
+            samples.put(voice, List.copyOf(loaded));
+            bytes += loaded.stream().mapToLong(sample -> sample.getData().capacity()).sum();
+        }
+        log.info("Loaded samples of {} voices, {} bytes", samples.size(), bytes);
+    }
+
+    /** Answers a GET or HEAD for the sample of {@code voice}, in the variant the client prefers. */
+    public void serve(TtsVoice voice, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        List<Sample> variants = samples.get(voice);
+        if (variants == null) {
+            throw BusinessException.of(ENTITY_NOT_FOUND.append(": No sample for voice '" + voice + "'"));
+        }
+        Sample sample = select(variants, request.getHeader(HttpHeaders.ACCEPT));
+        long size = sample.getData().capacity();
+        response.setHeader(HttpHeaders.ETAG, sample.getEtag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (ByteRange.notModified(request.getHeader(HttpHeaders.IF_NONE_MATCH), sample.getEtag())) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        Optional<ByteRange> resolved = ByteRange.resolve(request.getHeader(HttpHeaders.RANGE),
+                request.getHeader(HttpHeaders.IF_RANGE), sample.getEtag(), size);
+        if (resolved.isEmpty()) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            return;
+        }
+        ByteRange range = resolved.get();
+        if (range.isPartial()) {
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, range.contentRange(size));
+        }
+        response.setContentType(sample.getContentType().toString());
+        response.setContentLengthLong(range.getLength());
+        if (!"HEAD".equals(request.getMethod())) {
+            ByteBuffer slice = sample.getData().duplicate()
+                    .limit((int) (range.getOffset() + range.getLength()))
+                    .position((int) range.getOffset());
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            while (slice.hasRemaining()) {
+                out.write(slice);
+            }
+        }
+    }
+
+    /**
+     * The variant with the highest quality in {@code accept}, each taking the quality of the most specific media
+     * range that matches it; on a tie one named explicitly wins over one matched by a wildcard. The original is
+     * sent when nothing matches.
+     */
+    static Sample select(List<Sample> variants, String accept) {
+        List<MediaType> accepted = parseAccept(accept);
+        Sample best = null;
+        double bestQuality = 0;
+        boolean bestExplicit = false;
+        for (Sample sample : variants) {
+            MediaType match = null;
+            for (MediaType type : accepted) {
+                if (type.includes(sample.getContentType())
+                        && (match == null || specificity(type) > specificity(match))) {
+                    match = type;
+                }
+            }
+            if (match == null) {
+                continue;
+            }
+            double quality = match.getQualityValue();
+            boolean explicit = specificity(match) == 2;
+            if (quality > bestQuality || (quality == bestQuality && quality > 0 && explicit && !bestExplicit)) {
+                best = sample;
+                bestQuality = quality;
+                bestExplicit = explicit;
+            }
+        }
+        return best != null ? best : variants.get(variants.size() - 1);
+    }
+
+    private static List<MediaType> parseAccept(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return List.of(MediaType.ALL);
+        }
+        try {
+            return MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return List.of(MediaType.ALL);
+        }
+    }
+
+    private static int specificity(MediaType type) {
+        return type.isWildcardType() ? 0 : type.isWildcardSubtype() ? 1 : 2;
+    }
+
+    private static Optional<Sample> load(String path, MediaType contentType) {
+        ClassPathResource resource = new ClassPathResource(path);
+        if (!resource.exists()) {
+            return Optional.empty();
+        }
+        try (InputStream in = resource.getInputStream()) {
+            byte[] bytes = in.readAllBytes();
+            ByteBuffer data = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip().asReadOnlyBuffer();
+            String etag = "\"" + ContentHashUtil.sha256Hex(bytes).substring(0, 32) + "\"";
+            return Optional.of(new Sample(contentType, data, etag));
+        } catch (IOException e) {
+            throw TechnicalException.of(TechnicalException.Code.INTERNAL_ERROR)
+                    .with("path", path)
+                    .cause(e)
+                    .build();
+        }
+    }
+
+    private record Variant(String extension, MediaType contentType) {
+    }
+
+    @Value
+    static class Sample {
+        MediaType contentType;
+        /** Read-only; served through duplicates so concurrent requests do not share a position. */
+        ByteBuffer data;
+        String etag;
+    }
+}
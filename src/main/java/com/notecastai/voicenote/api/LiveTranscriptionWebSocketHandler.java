@@ -0,0 +1,164 @@
+package com.notecastai.voicenote.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.notecastai.common.exeption.BusinessException;
+import com.notecastai.common.util.FutureUtils;
+import com.notecastai.voicenote.api.dto.LiveTranscriptionCommand;
+import com.notecastai.voicenote.api.dto.LiveTranscriptionEvent;
+import com.notecastai.voicenote.service.impl.LiveTranscriber;
+import com.notecastai.voicenote.service.impl.LiveTranscriptionSession;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.notecastai.common.exeption.BusinessException.BusinessCode.INVALID_REQUEST;
+
+/**
+ * Live transcription over WebSocket: the client sends a START command, then the recording as binary PCM
+ * messages, then STOP; partial transcripts come back while recording and the saved voice note after STOP.
+ * See {@link LiveTranscriptionCommand} and {@link LiveTranscriptionEvent}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LiveTranscriptionWebSocketHandler extends AbstractWebSocketHandler {
+
+    public static final String PATH = "/api/v1/voice-notes/live";
+
+    private static final int SEND_TIME_LIMIT_MS = 10_000;
+    private static final int SEND_BUFFER_BYTES = 256 * 1024;
+
+    private final LiveTranscriber liveTranscriber;
+    private final ObjectMapper objectMapper;
+
+    /** By raw session id; events are sent through a decorator, since they come from provider threads. */
+    private final Map<String, WebSocketSession> connections = new ConcurrentHashMap<>();
+    private final Map<String, LiveTranscriptionSession> recordings = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        connections.put(session.getId(),
+                new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_BYTES));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        WebSocketSession connection = connections.get(session.getId());
+        try {
+            LiveTranscriptionCommand command = objectMapper.readValue(message.getPayload(), LiveTranscriptionCommand.class);
+            if (command.getType() == LiveTranscriptionCommand.Type.START) {
+                if (recordings.containsKey(session.getId())) {
+                    throw BusinessException.of(INVALID_REQUEST.append(" Recording already started"));
+                }
+                LiveTranscriptionSession recording = liveTranscriber.start(command,
+                        (Authentication) session.getPrincipal(), event -> send(connection, event));
+                recordings.put(session.getId(), recording);
+                send(connection, LiveTranscriptionEvent.builder()
+                        .type(LiveTranscriptionEvent.Type.STARTED)
+                        .sampleRate(recording.getSampleRate())
+                        .build());
+            } else if (command.getType() == LiveTranscriptionCommand.Type.STOP) {
+                stop(session.getId(), connection);
+            } else {
+                throw BusinessException.of(INVALID_REQUEST.append(" Unknown command type"));
+            }
+        } catch (BusinessException e) {
+            sendError(connection, e.getMessage());
+        } catch (IOException e) {
+            sendError(connection, "Malformed command: " + e.getMessage());
+        }
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws IOException {
+        WebSocketSession connection = connections.get(session.getId());
+        LiveTranscriptionSession recording = recordings.get(session.getId());
+        if (recording == null) {
+            sendError(connection, "Send START before audio");
+            return;
+        }
+        recording.onAudio(message.getPayload());
+        if (recording.isFull()) {
+            log.info("Live recording {} reached its maximum duration", session.getId());
+            stop(session.getId(), connection);
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        connections.remove(session.getId());
+        LiveTranscriptionSession recording = recordings.remove(session.getId());
+        if (recording != null) {
+            log.info("Live recording {} closed without STOP ({}), discarding it", session.getId(), status);
+            recording.abort();
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.warn("Live transcription transport error on {}: {}", session.getId(), exception.getMessage());
+    }
+
+    /**
+     * Saving completes after the last window is transcribed and continues even if the client disconnects.
+     */
+    private void stop(String sessionId, WebSocketSession connection) {
+        LiveTranscriptionSession recording = recordings.remove(sessionId);
+        if (recording == null) {
+            sendError(connection, "No recording in progress");
+            return;
+        }
+        recording.stop().whenComplete((response, error) -> {
+            if (error != null) {
+                Throwable cause = FutureUtils.unwrap(error);
+                log.error("Live recording {} could not be saved", sessionId, cause);
+                sendError(connection, cause instanceof BusinessException ? cause.getMessage() : "Recording could not be saved");
+            } else {
+                send(connection, LiveTranscriptionEvent.builder()
+                        .type(LiveTranscriptionEvent.Type.COMPLETED)
+                        .voiceNote(response.getVoiceNote())
+                        .build());
+            }
+            close(connection);
+        });
+    }
+
+    private void sendError(WebSocketSession connection, String message) {
+        send(connection, LiveTranscriptionEvent.builder()
+                .type(LiveTranscriptionEvent.Type.ERROR)
+                .message(message)
+                .build());
+    }
+
+    private void send(WebSocketSession connection, LiveTranscriptionEvent event) {
+        if (connection == null || !connection.isOpen()) {
+            return;
+        }
+        try {
+            connection.sendMessage(new TextMessage(objectMapper.writeValueAsString(event)));
+        } catch (IOException | RuntimeException e) {
+            log.debug("Failed to send live transcription event to {}: {}", connection.getId(), e.getMessage());
+        }
+    }
+
+    private void close(WebSocketSession connection) {
+        try {
+            if (connection != null && connection.isOpen()) {
+                connection.close(CloseStatus.NORMAL);
+            }
+        } catch (IOException e) {
+            log.debug("Failed to close live transcription connection {}: {}", connection.getId(), e.getMessage());
+        }
+    }
+}
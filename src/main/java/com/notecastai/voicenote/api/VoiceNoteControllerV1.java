@@ -1,5 +1,8 @@
 package com.notecastai.voicenote.api;
 
+import com.notecastai.integration.storage.AudioStreamer;
+import com.notecastai.integration.storage.AudioUrlSigner;
+import com.notecastai.integration.storage.SignedAudioUrl;
 import com.notecastai.voicenote.api.dto.*;
 import com.notecastai.voicenote.service.VoiceNoteService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -8,15 +11,22 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 @Tag(name = "Voice Notes", description = "Voice note upload and management endpoints")
 @RestController
@@ -25,23 +35,206 @@ import org.springframework.web.bind.annotation.*;
 public class VoiceNoteControllerV1 {
 
     private final VoiceNoteService voiceNoteService;
+    private final AudioStreamer audioStreamer;
+    private final AudioUrlSigner audioUrlSigner;
 
     @Operation(
             summary = "Upload voice note",
-            description = "Upload an audio file for processing and transcription. Supports various audio formats."
+            description = "Upload an audio file for processing and transcription. Supports various audio formats. " +
+                    "Returns as soon as the file is accepted, with the voice note in PENDING status; follow " +
+                    "processing via /{id}/status or /{id}/events"
     )
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Voice note uploaded successfully"),
+            @ApiResponse(responseCode = "202", description = "Voice note accepted for processing"),
             @ApiResponse(responseCode = "400", description = "Invalid file or request parameters", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
     })
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
     public CreateVoiceNoteResponse upload(
             @Valid @ModelAttribute VoiceNoteCreateRequest request
     ) {
         return voiceNoteService.create(request);
     }
 
+    @Operation(
+            summary = "Start direct voice note upload",
+            description = "Declare an audio file and get a presigned URL to PUT it straight to storage, sending " +
+                    "uploadHeaders with it. The voice note stays AWAITING_UPLOAD until /{id}/upload-complete is called"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Upload URL issued"),
+            @ApiResponse(responseCode = "400", description = "Invalid file metadata or request parameters", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    @PostMapping(value = "/uploads", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public VoiceNoteUploadResponse createUpload(
+            @Valid @RequestBody VoiceNoteUploadRequest request
+    ) {
+        return voiceNoteService.createUpload(request);
+    }
+
+    @Operation(
+            summary = "Start resumable voice note upload",
+            description = "Declare an audio file to upload in numbered chunks with PUT /{id}/chunks/{number}. " +
+                    "Chunks can be retried, sent in parallel and resumed after a dropped connection; the voice " +
+                    "note stays AWAITING_UPLOAD until /{id}/upload-complete is called"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Upload started; the response gives the chunk size and count"),
+            @ApiResponse(responseCode = "400", description = "Invalid file metadata or request parameters", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    @PostMapping(value = "/resumable-uploads", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public VoiceNoteUploadProgressDTO createResumableUpload(
+            @Valid @RequestBody VoiceNoteUploadRequest request
+    ) {
+        return voiceNoteService.createResumableUpload(request);
+    }
+
+    @Operation(
+            summary = "Get resumable upload progress",
+            description = "Which chunks have been received, the offset received without a gap and the next chunk to send"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Progress retrieved"),
+            @ApiResponse(responseCode = "400", description = "Voice note is not awaiting a chunked upload", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Voice note not found", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    @GetMapping("/{id}/chunks")
+    public VoiceNoteUploadProgressDTO getUploadProgress(
+            @Parameter(description = "Voice note ID", required = true)
+            @PathVariable Long id
+    ) {
+        return voiceNoteService.getUploadProgress(id);
+    }
+
+    @Operation(
+            summary = "Upload a chunk",
+            description = "Send chunk {number} (from 1) as the raw request body. Every chunk but the last is exactly " +
+                    "chunkSize bytes. The Upload-Checksum header carries its SHA-256 as 'sha256 <base64>'; a chunk " +
+                    "that does not match is rejected and can be sent again"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Chunk stored"),
+            @ApiResponse(responseCode = "400", description = "Wrong chunk number or size, or checksum mismatch", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Voice note not found", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    @PutMapping(value = "/{id}/chunks/{number}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public VoiceNoteUploadProgressDTO uploadChunk(
+            @Parameter(description = "Voice note ID", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Chunk number, from 1", required = true)
+            @PathVariable int number,
+            @RequestHeader(HttpHeaders.CONTENT_LENGTH) long contentLength,
+            @RequestHeader("Upload-Checksum") String checksum,
+            InputStream body
+    ) {
+        return voiceNoteService.uploadChunk(id, number, body, contentLength, checksum);
+    }
+
+    @Operation(
+            summary = "Complete direct or resumable voice note upload",
+            description = "Check the uploaded audio and start processing it; the voice note moves to PENDING. " +
+                    "For a resumable upload all chunks must have been received. " +
+                    "Audio of another size or format than declared is deleted and the voice note marked FAILED"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Voice note accepted for processing"),
+            @ApiResponse(responseCode = "400", description = "Audio missing or invalid, or not awaiting an upload", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Voice note not found", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    @PostMapping("/{id}/upload-complete")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public CreateVoiceNoteResponse completeUpload(
+            @Parameter(description = "Voice note ID", required = true)
+            @PathVariable Long id
+    ) {
+        return voiceNoteService.completeUpload(id);
+    }
+
+    @Operation(
+            summary = "Get voice note processing status",
+            description = "Lightweight status for polling while a voice note is processed; noteId is set once PROCESSED"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Status retrieved"),
+            @ApiResponse(responseCode = "404", description = "Voice note not found", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    @GetMapping("/{id}/status")
+    public VoiceNoteStatusDTO getStatus(
+            @Parameter(description = "Voice note ID", required = true)
+            @PathVariable Long id
+    ) {
+        return voiceNoteService.getStatus(id);
+    }
+
+    @Operation(
+            summary = "Stream voice note processing status",
+            description = "Server-Sent Events: a 'status' event with the current status right away, then one per " +
+                    "status change or processing step; the stream completes once the voice note is PROCESSED or FAILED"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Status stream opened"),
+            @ApiResponse(responseCode = "404", description = "Voice note not found", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatus(
+            @Parameter(description = "Voice note ID", required = true)
+            @PathVariable Long id
+    ) {
+        return voiceNoteService.streamStatus(id);
+    }
+
+    @Operation(
+            summary = "Stream voice note audio",
+            description = "The audio itself, for players: supports Range requests for seeking and ETag " +
+                    "revalidation with If-None-Match and If-Range. Media elements that cannot send an " +
+                    "Authorization header play the signed URL of GET /{id}/audio-url instead"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Whole audio file"),
+            @ApiResponse(responseCode = "206", description = "Requested byte range"),
+            @ApiResponse(responseCode = "304", description = "Audio unchanged since the given ETag", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Voice note or its audio not found", content = @Content),
+            @ApiResponse(responseCode = "416", description = "Range outside the audio file", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    @GetMapping("/{id}/audio")
+    public void streamAudio(
+            @Parameter(description = "Voice note ID", required = true)
+            @PathVariable Long id,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        audioStreamer.stream(voiceNoteService.getAudioKey(id), "voice_note", request, response);
+    }
+
+    @Operation(
+            summary = "Get signed voice note audio URL",
+            description = "A short-lived URL that plays the audio like GET /{id}/audio without an Authorization " +
+                    "header, for media elements; valid for storage.streaming.url-ttl"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Signed audio URL"),
+            @ApiResponse(responseCode = "404", description = "Voice note or its audio not found", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    @GetMapping("/{id}/audio-url")
+    public SignedAudioUrl getAudioUrl(
+            @Parameter(description = "Voice note ID", required = true)
+            @PathVariable Long id
+    ) {
+        return audioUrlSigner.sign(voiceNoteService.getAudioKey(id), "voice_note");
+    }
+
     @Operation(
             summary = "Get voice note by ID",
             description = "Retrieve a specific voice note with full details including transcription and processing status"
@@ -0,0 +1,34 @@
+package com.notecastai.voicenote.api.dto;
+
+import com.notecastai.note.domain.FormateType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Text message from the client of a live transcription. START opens the recording, after which the audio follows
+ * as binary messages of 16-bit mono little-endian PCM; STOP ends it.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LiveTranscriptionCommand {
+
+    public enum Type {
+        START,
+        STOP
+    }
+
+    private Type type;
+    private Integer sampleRate; // Optional, 16000 by default
+    private TranscriptionLanguage language; // Optional
+    private List<Long> tagIds; // Optional
+    private String title; // Optional
+    private String userInstructions; // Optional
+    private FormateType formateType; // Optional
+
+}
@@ -0,0 +1,36 @@
+package com.notecastai.voicenote.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Text message to the client of a live transcription. A PARTIAL carries the transcript of one window as soon as
+ * it is ready; neighbouring windows share a little audio, so their texts can repeat a few words that the final
+ * transcript has only once. COMPLETED carries the saved voice note, whose processing continues in the background
+ * and can be followed via /api/v1/voice-notes/{id}/events.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LiveTranscriptionEvent {
+
+    public enum Type {
+        STARTED,
+        PARTIAL,
+        COMPLETED,
+        ERROR
+    }
+
+    private Type type;
+    private Integer sampleRate;
+    private Integer window;
+    private Double startSeconds;
+    private Double endSeconds;
+    private String text;
+    private VoiceNoteDTO voiceNote;
+    private String message;
+
+}
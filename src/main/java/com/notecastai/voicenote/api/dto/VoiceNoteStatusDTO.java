@@ -0,0 +1,24 @@
+package com.notecastai.voicenote.api.dto;
+
+import com.notecastai.voicenote.domain.VoiceNoteProcessingStep;
+import com.notecastai.voicenote.domain.VoiceNoteStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class VoiceNoteStatusDTO {
+
+    @NotNull
+    private Long id;
+    @NotNull
+    private VoiceNoteStatus status;
+    private VoiceNoteProcessingStep step; // Last milestone reached, pushed events only
+    private String errorMessage;
+    private Long noteId;
+}
@@ -0,0 +1,27 @@
+package com.notecastai.voicenote.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * State of a resumable upload. Chunks are numbered from 1 and are {@code chunkSize} bytes each except the last;
+ * {@code receivedBytes} counts the chunks received without a gap from the start, and {@code nextChunk} is the
+ * first one missing, or null once all are in.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class VoiceNoteUploadProgressDTO {
+    private Long voiceNoteId;
+    private Long size;
+    private Long chunkSize;
+    private Integer chunkCount;
+    private Long receivedBytes;
+    private List<Integer> receivedChunks;
+    private Integer nextChunk;
+}
@@ -0,0 +1,35 @@
+package com.notecastai.voicenote.api.dto;
+
+import com.notecastai.note.domain.FormateType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Declares an audio file the client uploads straight to storage; the bytes are checked once the upload completes.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class VoiceNoteUploadRequest {
+
+    @NotBlank
+    private String filename;
+    @NotBlank
+    private String contentType;
+    @NotNull
+    @Positive
+    private Long size;
+    private List<Long> tagIds; // Optional
+    private String title; // Optional
+    private String userInstructions; // Optional
+    private FormateType formateType; // Optional
+
+}
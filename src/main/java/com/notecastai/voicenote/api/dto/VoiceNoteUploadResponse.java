@@ -0,0 +1,25 @@
+package com.notecastai.voicenote.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Where to PUT the audio: the request must carry {@code uploadHeaders} exactly, and the URL is valid until
+ * {@code expiresAt}.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class VoiceNoteUploadResponse {
+    private VoiceNoteDTO voiceNote;
+    private String uploadUrl;
+    private Map<String, List<String>> uploadHeaders;
+    private Instant expiresAt;
+}
@@ -1,6 +1,7 @@
 package com.notecastai.voicenote.domain;
 
 import com.notecastai.common.BaseEntity;
+import com.notecastai.note.domain.FormateType;
 import com.notecastai.note.domain.NoteEntity;
 import com.notecastai.tag.domain.TagEntity;
 import com.notecastai.user.domain.UserEntity;
@@ -22,7 +23,8 @@ import java.util.Set;
         name = "voice_note",
         indexes = {
                 @Index(name = "idx_voice_note_user", columnList = "user_id"),
-                @Index(name = "idx_voice_note_status", columnList = "status")
+                @Index(name = "idx_voice_note_status", columnList = "status"),
+                @Index(name = "idx_voice_note_user_content", columnList = "user_id, content_sha256")
         }
 )
 public class VoiceNoteEntity extends BaseEntity {
@@ -54,12 +56,27 @@ public class VoiceNoteEntity extends BaseEntity {
     @Column(name = "file_size", nullable = false)
     private Long fileSize;
 
+    /** Hex SHA-256 of the audio; re-uploads of the same recording reuse this voice note's audio and transcript. */
+    @Column(name = "content_sha256", length = 64)
+    private String contentSha256;
+
     @Column(name = "user_instructions")
     private String userInstructions;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "formate_type", length = 40)
+    private FormateType formateType;
+
     @Column(name = "s3_file_url", nullable = false)
     private String s3FileUrl;
 
+    /** Storage multipart upload of a chunked upload still in progress. */
+    @Column(name = "upload_id", length = 1024)
+    private String uploadId;
+
+    @Column(name = "upload_chunk_size")
+    private Long uploadChunkSize;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false, length = 20)
     private VoiceNoteStatus status;
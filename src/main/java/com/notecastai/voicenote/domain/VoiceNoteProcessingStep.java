@@ -0,0 +1,10 @@
+package com.notecastai.voicenote.domain;
+
+/**
+ * Milestones reported while a voice note is {@link VoiceNoteStatus#PROCESSING}; not persisted.
+ */
+public enum VoiceNoteProcessingStep {
+    UPLOADED,
+    TRANSCRIBED,
+    NOTE_CREATED
+}
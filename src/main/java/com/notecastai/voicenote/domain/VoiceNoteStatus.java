@@ -1,6 +1,7 @@
 package com.notecastai.voicenote.domain;
 
 public enum VoiceNoteStatus {
+    AWAITING_UPLOAD,
     PENDING,
     PROCESSING,
     PROCESSED,
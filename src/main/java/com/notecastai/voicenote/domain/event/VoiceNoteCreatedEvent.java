@@ -0,0 +1,39 @@
+package com.notecastai.voicenote.domain.event;
+
+import com.notecastai.integration.ai.dto.TranscriptionResult;
+import com.notecastai.integration.storage.StoredObject;
+import com.notecastai.note.domain.FormateType;
+import com.notecastai.voicenote.api.dto.TranscriptionLanguage;
+import com.notecastai.voicenote.service.impl.SpooledAudio;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+
+/**
+ * Published once a PENDING voice note is saved. Carries either the spooled audio, which the processing pipeline
+ * owns and deletes from here on, or the object the client uploaded straight to storage, plus the caller's
+ * authentication, since processing runs after the request has ended.
+ */
+@Getter
+@Builder
+@RequiredArgsConstructor
+public class VoiceNoteCreatedEvent {
+
+    private final Long voiceNoteId;
+    private final SpooledAudio audio;
+    /** Set instead of {@link #audio} for direct uploads. */
+    private final StoredObject stored;
+    private final String filename;
+    /** Set when the audio was already transcribed while it was recorded. */
+    private final TranscriptionResult transcription;
+    private final TranscriptionLanguage language;
+    private final String title;
+    private final List<Long> tagIds;
+    private final String userInstructions;
+    private final FormateType formateType;
+    private final Authentication authentication;
+
+}
@@ -1,11 +1,28 @@
 package com.notecastai.voicenote.repo;
 
 import com.notecastai.voicenote.domain.VoiceNoteEntity;
+import com.notecastai.voicenote.domain.VoiceNoteStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface VoiceNoteDao extends JpaRepository<VoiceNoteEntity, Long>, JpaSpecificationExecutor<VoiceNoteEntity> {
 
+    List<VoiceNoteEntity> findByStatusAndCreatedDateBefore(VoiceNoteStatus status, Instant before);
+
+    Optional<VoiceNoteEntity> findFirstByUserIdAndContentSha256AndStatusAndIdNotOrderByIdDesc(
+            Long userId, String contentSha256, VoiceNoteStatus status, Long excludedId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE VoiceNoteEntity v SET v.status = :to WHERE v.id = :id AND v.status = :from")
+    int updateStatus(@Param("id") Long id, @Param("from") VoiceNoteStatus from, @Param("to") VoiceNoteStatus to);
+
 }
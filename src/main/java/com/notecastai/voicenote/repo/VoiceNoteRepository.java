@@ -7,6 +7,7 @@ import com.notecastai.common.util.SecurityUtils;
 import com.notecastai.user.infrastructure.repo.UserRepository;
 import com.notecastai.voicenote.api.dto.VoiceNoteQueryParam;
 import com.notecastai.voicenote.domain.VoiceNoteEntity;
+import com.notecastai.voicenote.domain.VoiceNoteStatus;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +15,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
 import static com.notecastai.common.exeption.BusinessException.BusinessCode.ENTITY_NOT_FOUND;
 
 @Slf4j
@@ -36,6 +41,39 @@ public class VoiceNoteRepository extends BaseRepository<VoiceNoteEntity, Long, V
         );
     }
 
+    /**
+     * The voice note if it belongs to the current user. Lookups by id are not covered by the owner filter, so
+     * anything loaded for a user's request goes through here; someone else's voice note looks like a missing one.
+     */
+    public VoiceNoteEntity getOwnedOrThrow(Long id) {
+        VoiceNoteEntity entity = getOrThrow(id);
+        Long userId = userRepository.getByClerkUserId(SecurityUtils.getCurrentClerkUserIdOrThrow()).getId();
+        if (!entity.getUser().getId().equals(userId)) {
+            throw BusinessException.of(ENTITY_NOT_FOUND.append(" VoiceNote with id %d not found".formatted(id)));
+        }
+        return entity;
+    }
+
+    /**
+     * Moves the voice note from {@code from} to {@code to} in one statement, so of two concurrent callers only one
+     * succeeds. Must run in a transaction.
+     */
+    public boolean transitionStatus(Long id, VoiceNoteStatus from, VoiceNoteStatus to) {
+        return dao.updateStatus(id, from, to) == 1;
+    }
+
+    public List<VoiceNoteEntity> findByStatusCreatedBefore(VoiceNoteStatus status, Instant before) {
+        return dao.findByStatusAndCreatedDateBefore(status, before);
+    }
+
+    /**
+     * The latest processed voice note of the same user with the same audio, other than {@code voiceNote} itself.
+     */
+    public Optional<VoiceNoteEntity> findProcessedDuplicate(VoiceNoteEntity voiceNote) {
+        return dao.findFirstByUserIdAndContentSha256AndStatusAndIdNotOrderByIdDesc(
+                voiceNote.getUser().getId(), voiceNote.getContentSha256(), VoiceNoteStatus.PROCESSED, voiceNote.getId());
+    }
+
     public Page<VoiceNoteEntity> findAll(VoiceNoteQueryParam params, Pageable pageable) {
         SecurityUtils.getCurrentClerkUserIdOrThrow();
         return CriteriaQueryBuilder.forEntity(VoiceNoteEntity.class, entityManager)
@@ -1,27 +1,38 @@
 package com.notecastai.voicenote.service;
 
-import com.notecastai.common.exeption.BusinessException;
+import com.notecastai.common.util.FutureUtils;
+import com.notecastai.integration.ai.NoteAiEditor;
 import com.notecastai.integration.ai.dto.TranscriptionResult;
+import com.notecastai.integration.ai.provider.openrouter.dto.NewNoteAiResponse;
 import com.notecastai.integration.storage.StorageService;
+import com.notecastai.integration.storage.StoredObject;
 import com.notecastai.note.api.dto.CreateNoteRequest;
 import com.notecastai.note.api.dto.NoteDTO;
 import com.notecastai.note.domain.NoteType;
 import com.notecastai.note.service.NoteService;
-import com.notecastai.voicenote.api.dto.TranscriptionLanguage;
-import com.notecastai.voicenote.api.dto.VoiceNoteCreateRequest;
-import com.notecastai.voicenote.api.dto.VoiceNoteDTO;
+import com.notecastai.voicenote.api.dto.VoiceNoteStatusDTO;
+import com.notecastai.voicenote.domain.VoiceNoteProcessingStep;
 import com.notecastai.voicenote.domain.VoiceNoteStatus;
+import com.notecastai.voicenote.domain.event.VoiceNoteCreatedEvent;
+import com.notecastai.voicenote.service.impl.ProcessedAudio;
+import com.notecastai.voicenote.service.impl.SpooledAudio;
 import com.notecastai.voicenote.service.impl.VoiceNoteHelper;
+import com.notecastai.voicenote.service.impl.VoiceNoteIngestor;
+import com.notecastai.voicenote.service.impl.VoiceNoteProgressPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayInputStream;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
-import static com.notecastai.common.exeption.BusinessException.BusinessCode.INTERNAL_ERROR;
-
+/**
+ * Runs the voice note pipeline after the upload request has returned: S3 upload and transcription in parallel,
+ * then the AI note. Remote calls run outside any transaction; every database write is its own short transaction,
+ * and each step is pushed to status subscribers once committed.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -30,55 +41,141 @@ public class VoiceNoteProcessorOrchestrator {
     private final StorageService storageService;
     private final VoiceNoteHelper voiceNoteHelper;
     private final NoteService noteService;
-
-    public VoiceNoteDTO processVoiceNote(Long voiceNoteId, MultipartFile file, TranscriptionLanguage preferredLanguage, VoiceNoteCreateRequest request) {
-        try {
-            byte[] bytes = file.getBytes();
-            String s3Key = buildS3Key(voiceNoteId, file.getOriginalFilename());
-
+    private final NoteAiEditor noteAiEditor;
+    private final VoiceNoteProgressPublisher progressPublisher;
+    private final VoiceNoteIngestor voiceNoteIngestor;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Processes the voice note and deletes its spooled audio when done. Audio uploaded straight to storage is
+     * fetched once for transcription and not uploaded again; audio transcribed while recording is not
+     * transcribed again. Audio the user already had processed reuses that voice note's stored object and transcript.
+     */
+    public void processVoiceNote(VoiceNoteCreatedEvent event) {
+        Long voiceNoteId = event.getVoiceNoteId();
+        StoredObject stored = event.getStored();
+        try (SpooledAudio audio = stored == null ? event.getAudio() : voiceNoteIngestor.download(
+                stored.getKey(), event.getFilename(), stored.getContentType(), stored.getSize())) {
             voiceNoteHelper.updateStatus(voiceNoteId, VoiceNoteStatus.PROCESSING);
+            progressPublisher.publish(progress(voiceNoteId, null));
+            Optional<ProcessedAudio> duplicate = findDuplicate(voiceNoteId, audio);
+
+            CompletableFuture<String> uploadFut;
+            if (duplicate.isPresent()) {
+                uploadFut = CompletableFuture.completedFuture(duplicate.get().getS3Key());
+                progressPublisher.publish(progress(voiceNoteId, VoiceNoteProcessingStep.UPLOADED));
+            } else if (stored != null) {
+                uploadFut = CompletableFuture.completedFuture(stored.getKey());
+                progressPublisher.publish(progress(voiceNoteId, VoiceNoteProcessingStep.UPLOADED));
+            } else {
+                // Upload and transcription each read the spooled file through their own channel
+                uploadFut = storageService.putAsync(
+                        buildS3Key(voiceNoteId, audio.getFilename()), audio.getPath(), audio.getContentType()
+                ).whenComplete((key, error) -> {
+                    if (error == null) {
+                        progressPublisher.publish(progress(voiceNoteId, VoiceNoteProcessingStep.UPLOADED));
+                    }
+                });
+            }
 
-            CompletableFuture<String> uploadFut = storageService.putAsync(
-                    s3Key, new ByteArrayInputStream(bytes), file.getSize(), file.getContentType()
-            );
-
-            CompletableFuture<TranscriptionResult> transFut = voiceNoteHelper.transcribeAsync(
-                    new ByteArrayInputStream(bytes), file.getOriginalFilename(), file.getContentType(), preferredLanguage
-            );
+            CompletableFuture<TranscriptionResult> transFut;
+            if (event.getTranscription() != null) {
+                transFut = CompletableFuture.completedFuture(event.getTranscription());
+            } else if (duplicate.isPresent()) {
+                transFut = CompletableFuture.completedFuture(duplicate.get().getTranscription());
+            } else {
+                transFut = voiceNoteHelper.transcribeAsync(
+                        audio.openStream(), audio.getFilename(), audio.getContentType(), event.getLanguage());
+            }
+            transFut = transFut.whenComplete((result, error) -> {
+                if (error == null) {
+                    progressPublisher.publish(progress(voiceNoteId, VoiceNoteProcessingStep.TRANSCRIBED));
+                }
+            });
 
             // Wait and combine results
-            String s3Url = uploadFut.join();
-            TranscriptionResult tr = transFut.join();
+            String s3Url = FutureUtils.join(uploadFut);
+            TranscriptionResult tr = FutureUtils.join(transFut);
 
-            NoteDTO note = noteService.create(CreateNoteRequest.builder()
-                    .title(request.getTitle())
-                    .tagIds(request.getTagIds())
+            CreateNoteRequest noteRequest = CreateNoteRequest.builder()
+                    .title(event.getTitle())
+                    .tagIds(event.getTagIds())
                     .type(NoteType.VOICENOTE)
                     .knowledgeBase(tr.getTranscript())
-                    .formateType(request.getFormateType())
+                    .formateType(event.getFormateType())
                     .adjustTagsWithAi(true)
-                    .instructions(request.getUserInstructions())
-                    .build());
-
-            String title = request.getTitle();
-            if (request.getTitle() == null || request.getTitle().isBlank()) {
+                    .instructions(event.getUserInstructions())
+                    .build();
+            // The AI call stays outside the transaction that saves the note
+            NewNoteAiResponse aiResponse = FutureUtils.join(noteAiEditor.adjustNote(noteRequest));
+            NoteDTO note = noteService.create(noteRequest, aiResponse);
+            progressPublisher.publish(progress(voiceNoteId, VoiceNoteProcessingStep.NOTE_CREATED));
+
+            String title = event.getTitle();
+            if (title == null || title.isBlank()) {
                 // AI adjusted title
                 log.info("Title is null or blank setting note title: {}", note.getTitle());
                 title = note.getTitle();
             }
 
-            VoiceNoteDTO voiceNote = voiceNoteHelper.saveTranscriptionResult(voiceNoteId, s3Url, tr, title);
+            voiceNoteHelper.saveTranscriptionResult(voiceNoteId, s3Url, tr, title, note.getId());
+            if (duplicate.isPresent() && stored != null) {
+                deleteUnreferenced(stored.getKey());
+            }
+            progressPublisher.publish(VoiceNoteStatusDTO.builder()
+                    .id(voiceNoteId)
+                    .status(VoiceNoteStatus.PROCESSED)
+                    .noteId(note.getId())
+                    .build());
 
             log.info("Voice note processing completed successfully: {}", voiceNoteId);
-            return voiceNote.withNote(note);
         } catch (Exception e) {
             log.error("Processing failed for voiceNoteId={}", voiceNoteId, e);
-            voiceNoteHelper.updateWithError(voiceNoteId, "Processing failed: " + e.getMessage());
-            throw BusinessException.of(INTERNAL_ERROR.append(" Error processing voice note"));
+            String errorMessage = "Processing failed: " + e.getMessage();
+            voiceNoteHelper.updateWithError(voiceNoteId, errorMessage);
+            progressPublisher.publish(VoiceNoteStatusDTO.builder()
+                    .id(voiceNoteId)
+                    .status(VoiceNoteStatus.FAILED)
+                    .errorMessage(errorMessage)
+                    .build());
+        }
+    }
+
+    /**
+     * Runs before transcription, so a duplicate is never transcribed again. Audio uploaded straight to storage is
+     * hashed while it is fetched here rather than at ingest: chunked uploads only have per-chunk checksums, and the
+     * SHA-256 of the whole file cannot be derived from them.
+     */
+    private Optional<ProcessedAudio> findDuplicate(Long voiceNoteId, SpooledAudio audio) {
+        Optional<ProcessedAudio> duplicate = voiceNoteHelper.recordContentHash(voiceNoteId, audio.sha256());
+        Counter.builder("voicenote.dedup.lookups")
+                .description("Voice notes checked for audio the user already had processed; hit/(hit+miss) is the hit rate")
+                .tag("result", duplicate.isPresent() ? "hit" : "miss")
+                .register(meterRegistry)
+                .increment();
+        duplicate.ifPresent(processed -> log.info("Voice note {} has the same audio as {}, reusing its audio and transcript",
+                voiceNoteId, processed.getVoiceNoteId()));
+        return duplicate;
+    }
+
+    /** The client's copy of audio it had already uploaded; the voice note refers to the earlier copy. */
+    private void deleteUnreferenced(String key) {
+        try {
+            storageService.delete(key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete duplicate voice note audio {}: {}", key, e.getMessage());
         }
     }
 
-    private String buildS3Key(Long voiceNoteId, String filename) {
+    private static VoiceNoteStatusDTO progress(Long voiceNoteId, VoiceNoteProcessingStep step) {
+        return VoiceNoteStatusDTO.builder()
+                .id(voiceNoteId)
+                .status(VoiceNoteStatus.PROCESSING)
+                .step(step)
+                .build();
+    }
+
+    public static String buildS3Key(Long voiceNoteId, String filename) {
         return String.format("voice-notes/%d/%s", voiceNoteId, filename);
     }
 
@@ -1,16 +1,40 @@
 package com.notecastai.voicenote.service;
 
+import com.notecastai.integration.ai.dto.TranscriptionResult;
 import com.notecastai.voicenote.api.dto.*;
 import com.notecastai.voicenote.domain.VoiceNoteStatus;
+import com.notecastai.voicenote.service.impl.SpooledAudio;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.InputStream;
 
 public interface VoiceNoteService {
 
     CreateVoiceNoteResponse create(VoiceNoteCreateRequest request);
 
+    CreateVoiceNoteResponse createLive(SpooledAudio audio, TranscriptionResult transcription, LiveTranscriptionCommand command);
+
+    VoiceNoteUploadResponse createUpload(VoiceNoteUploadRequest request);
+
+    VoiceNoteUploadProgressDTO createResumableUpload(VoiceNoteUploadRequest request);
+
+    VoiceNoteUploadProgressDTO getUploadProgress(Long id);
+
+    VoiceNoteUploadProgressDTO uploadChunk(Long id, int chunkNumber, InputStream data, long size, String checksum);
+
+    CreateVoiceNoteResponse completeUpload(Long id);
+
     VoiceNoteDTO getById(Long id);
 
+    /** Storage key of the voice note's audio, for streaming it to its owner. */
+    String getAudioKey(Long id);
+
+    VoiceNoteStatusDTO getStatus(Long id);
+
+    SseEmitter streamStatus(Long id);
+
     Page<VoiceNoteDTO> findAll(VoiceNoteQueryParam params, Pageable pageable);
 
     Page<VoiceNoteShortDTO> findAllShort(VoiceNoteQueryParam params, Pageable pageable);
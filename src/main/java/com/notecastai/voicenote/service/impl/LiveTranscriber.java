@@ -0,0 +1,91 @@
+package com.notecastai.voicenote.service.impl;
+
+import com.notecastai.common.exeption.BusinessException;
+import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.config.AiTranscriptionProperties;
+import com.notecastai.integration.ai.TranscriptionService;
+import com.notecastai.integration.ai.audio.LiveAudioSegmenter;
+import com.notecastai.user.domain.UserEntity;
+import com.notecastai.user.infrastructure.repo.UserRepository;
+import com.notecastai.voicenote.api.dto.LiveTranscriptionCommand;
+import com.notecastai.voicenote.api.dto.LiveTranscriptionEvent;
+import com.notecastai.voicenote.service.VoiceNoteService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import static com.notecastai.common.exeption.BusinessException.BusinessCode.CLERK_USER_ID_MISSING;
+import static com.notecastai.common.exeption.BusinessException.BusinessCode.INVALID_REQUEST;
+
+/**
+ * Opens {@link LiveTranscriptionSession}s: transcription of voice notes while they are recorded.
+ */
+@Slf4j
+@Component
+public class LiveTranscriber {
+
+    private static final int DEFAULT_SAMPLE_RATE = 16_000;
+    private static final int MIN_SAMPLE_RATE = 8_000;
+    private static final int MAX_SAMPLE_RATE = 48_000;
+
+    private final TranscriptionService transcriptionService;
+    private final VoiceNoteService voiceNoteService;
+    private final UserRepository userRepository;
+    private final AiTranscriptionProperties properties;
+    private final Executor saveExecutor;
+
+    public LiveTranscriber(@Qualifier("routingTranscriptionService") TranscriptionService transcriptionService,
+                           VoiceNoteService voiceNoteService, UserRepository userRepository,
+                           AiTranscriptionProperties properties,
+                           @Qualifier("voiceNoteProcessingExecutor") Executor saveExecutor) {
+        this.transcriptionService = transcriptionService;
+        this.voiceNoteService = voiceNoteService;
+        this.userRepository = userRepository;
+        this.properties = properties;
+        this.saveExecutor = saveExecutor;
+    }
+
+    /**
+     * @param listener receives the events of the session, from any thread
+     */
+    public LiveTranscriptionSession start(LiveTranscriptionCommand command, Authentication authentication,
+                                          Consumer<LiveTranscriptionEvent> listener) {
+        if (!(authentication instanceof JwtAuthenticationToken token)) {
+            throw BusinessException.of(CLERK_USER_ID_MISSING);
+        }
+        int sampleRate = command.getSampleRate() != null ? command.getSampleRate() : DEFAULT_SAMPLE_RATE;
+        if (sampleRate < MIN_SAMPLE_RATE || sampleRate > MAX_SAMPLE_RATE) {
+            throw BusinessException.of(INVALID_REQUEST.append(
+                    " Sample rate must be between %d and %d Hz".formatted(MIN_SAMPLE_RATE, MAX_SAMPLE_RATE)
+            ));
+        }
+        UserEntity user = userRepository.getByClerkUserId(token.getToken().getSubject());
+
+        AiTranscriptionProperties.Chunking chunking = properties.getChunking();
+        AiTranscriptionProperties.Live live = properties.getLive();
+        LiveAudioSegmenter segmenter = new LiveAudioSegmenter(sampleRate,
+                live.getWindow().toMillis() / 1000.0,
+                chunking.getOverlap().toMillis() / 1000.0,
+                chunking.getSilenceSearch().toMillis() / 1000.0);
+
+        try {
+            LiveTranscriptionSession session = new LiveTranscriptionSession(command, sampleRate,
+                    command.getLanguage() != null ? command.getLanguage() : user.getPreferredLanguage(),
+                    user.getId(), authentication, transcriptionService, voiceNoteService, saveExecutor, listener,
+                    segmenter, live.getMaxDuration().toMillis() / 1000.0);
+            log.info("Live transcription started for user {} at {} Hz", user.getId(), sampleRate);
+            return session;
+        } catch (IOException e) {
+            throw TechnicalException.of(TechnicalException.Code.INTERNAL_ERROR)
+                    .with("error", "Failed to spool live recording: " + e.getMessage())
+                    .cause(e)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.notecastai.voicenote.service.impl;
+
+import com.notecastai.common.util.FutureUtils;
+import com.notecastai.integration.ai.TranscriptionService;
+import com.notecastai.integration.ai.audio.AudioBytes;
+import com.notecastai.integration.ai.audio.AudioSegment;
+import com.notecastai.integration.ai.audio.ChunkedTranscriber;
+import com.notecastai.integration.ai.audio.LiveAudioSegmenter;
+import com.notecastai.integration.ai.dto.TranscriptionResult;
+import com.notecastai.integration.ai.telemetry.AiUsageScope;
+import com.notecastai.voicenote.api.dto.CreateVoiceNoteResponse;
+import com.notecastai.voicenote.api.dto.LiveTranscriptionCommand;
+import com.notecastai.voicenote.api.dto.LiveTranscriptionEvent;
+import com.notecastai.voicenote.api.dto.TranscriptionLanguage;
+import com.notecastai.voicenote.service.VoiceNoteService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * One recording streamed over a live transcription. The PCM is appended to a WAV spool file as it arrives and cut
+ * into windows, each transcribed as soon as it closes; on stop only the last window is left to transcribe before
+ * the windows are merged and the voice note is saved with the spool file as its audio. If any window fails, the
+ * voice note is saved without a transcription and the pipeline transcribes the spool file instead.
+ * <p>
+ * Audio and stop arrive on the WebSocket's thread, one message at a time; transcripts complete on provider threads
+ * and only send events, and the voice note is saved on {@code voiceNoteProcessingExecutor}.
+ */
+@Slf4j
+public class LiveTranscriptionSession {
+
+    private static final int WAV_HEADER_BYTES = 44;
+
+    private final LiveTranscriptionCommand command;
+    private final int sampleRate;
+    private final TranscriptionLanguage language;
+    private final Long userId;
+    private final Authentication authentication;
+    private final TranscriptionService transcriptionService;
+    private final VoiceNoteService voiceNoteService;
+    private final Executor saveExecutor;
+    private final Consumer<LiveTranscriptionEvent> listener;
+    private final LiveAudioSegmenter segmenter;
+    private final double maxDurationSeconds;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final List<AudioSegment> segments = new ArrayList<>();
+    private final List<CompletableFuture<TranscriptionResult>> results = new ArrayList<>();
+    private long pcmBytes;
+    private boolean finished;
+
+    LiveTranscriptionSession(LiveTranscriptionCommand command, int sampleRate, TranscriptionLanguage language,
+                             Long userId, Authentication authentication, TranscriptionService transcriptionService,
+                             VoiceNoteService voiceNoteService, Executor saveExecutor,
+                             Consumer<LiveTranscriptionEvent> listener, LiveAudioSegmenter segmenter,
+                             double maxDurationSeconds) throws IOException {
+        this.command = command;
+        this.sampleRate = sampleRate;
+        this.language = language;
+        this.userId = userId;
+        this.authentication = authentication;
+        this.transcriptionService = transcriptionService;
+        this.voiceNoteService = voiceNoteService;
+        this.saveExecutor = saveExecutor;
+        this.listener = listener;
+        this.segmenter = segmenter;
+        this.maxDurationSeconds = maxDurationSeconds;
+
+        this.path = Files.createTempFile("voice-note-live-", ".wav");
+        try {
+            this.channel = FileChannel.open(path, StandardOpenOption.WRITE);
+            // Sizes are filled in on stop
+            channel.write(ByteBuffer.wrap(LiveAudioSegmenter.wavHeader(sampleRate, 0)));
+        } catch (IOException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /** Whether the recording reached its maximum duration and should be stopped. */
+    public synchronized boolean isFull() {
+        return segmenter.durationSeconds() >= maxDurationSeconds;
+    }
+
+    public synchronized void onAudio(ByteBuffer pcm) throws IOException {
+        if (finished) {
+            return;
+        }
+        byte[] bytes = new byte[pcm.remaining()];
+        pcm.get(bytes);
+        ByteBuffer spooled = ByteBuffer.wrap(bytes);
+        while (spooled.hasRemaining()) {
+            channel.write(spooled);
+        }
+        pcmBytes += bytes.length;
+
+        for (AudioSegment segment : segmenter.append(bytes, 0, bytes.length)) {
+            transcribe(segment);
+        }
+    }
+
+    /**
+     * Ends the recording: transcribes the last window, merges all windows and saves the voice note, which takes
+     * over the spool file. The recording is kept even if a window could not be transcribed.
+     */
+    public synchronized CompletableFuture<CreateVoiceNoteResponse> stop() {
+        if (finished) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Recording already ended"));
+        }
+        finished = true;
+        long start = System.currentTimeMillis();
+
+        SpooledAudio audio;
+        try {
+            AudioSegment last = segmenter.finish();
+            if (last == null) {
+                throw new IllegalStateException("No audio was recorded");
+            }
+            transcribe(last);
+
+            // An odd trailing byte is half a sample
+            long dataBytes = pcmBytes & ~1L;
+            channel.truncate(WAV_HEADER_BYTES + dataBytes);
+            channel.write(ByteBuffer.wrap(LiveAudioSegmenter.wavHeader(sampleRate, dataBytes)), 0);
+            channel.close();
+            audio = new SpooledAudio(path, WAV_HEADER_BYTES + dataBytes, "live-recording.wav", "audio/wav", () -> { });
+        } catch (IOException | RuntimeException e) {
+            discard();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        List<AudioSegment> windows = List.copyOf(segments);
+        List<CompletableFuture<TranscriptionResult>> transcripts = List.copyOf(results);
+        return CompletableFuture.allOf(transcripts.toArray(CompletableFuture[]::new))
+                .handle((ignored, error) -> {
+                    if (error != null) {
+                        // Already logged per window; the pipeline transcribes the whole recording instead
+                        return null;
+                    }
+                    return ChunkedTranscriber.merge(windows,
+                            transcripts.stream().map(CompletableFuture::join).toList(),
+                            System.currentTimeMillis() - start);
+                })
+                .thenApplyAsync(merged -> save(audio, merged), saveExecutor)
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        // Not handed over to a voice note
+                        audio.close();
+                    }
+                });
+    }
+
+    /** The client went away without stopping: drops the recording and the windows in flight. */
+    public synchronized void abort() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        results.forEach(result -> result.cancel(true));
+        discard();
+    }
+
+    private void transcribe(AudioSegment segment) {
+        segments.add(segment);
+        CompletableFuture<TranscriptionResult> result;
+        try (AiUsageScope ignored = AiUsageScope.open(userId)) {
+            result = transcriptionService.transcribeAudioFile(AudioBytes.stream(segment.getAudio()),
+                    "live-" + segment.getIndex() + ".wav", "audio/wav", language);
+        }
+        results.add(result);
+        result.whenComplete((transcript, error) -> {
+            if (error != null) {
+                log.warn("Live transcription of window {} failed: {}", segment.getIndex(),
+                        FutureUtils.unwrap(error).getMessage());
+                return;
+            }
+            listener.accept(LiveTranscriptionEvent.builder()
+                    .type(LiveTranscriptionEvent.Type.PARTIAL)
+                    .window(segment.getIndex())
+                    .startSeconds(segment.getKeepFromSeconds())
+                    .endSeconds(Math.min(segment.getKeepUntilSeconds(), segment.getEndSeconds()))
+                    .text(transcript.getTranscript())
+                    .build());
+        });
+    }
+
+    private CreateVoiceNoteResponse save(SpooledAudio audio, TranscriptionResult transcription) {
+        // Runs on a pool thread, which has no security context of its own
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            return voiceNoteService.createLive(audio, transcription, command);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void discard() {
+        try {
+            channel.close();
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete live recording {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.notecastai.voicenote.service.impl;
+
+import com.notecastai.integration.ai.dto.TranscriptionResult;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Stored artifacts of an earlier voice note with the same audio, reused instead of uploading and transcribing it
+ * again.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProcessedAudio {
+
+    private final Long voiceNoteId;
+    private final String s3Key;
+    private final TranscriptionResult transcription;
+
+}
@@ -0,0 +1,93 @@
+package com.notecastai.voicenote.service.impl;
+
+import com.notecastai.common.util.ContentHashUtil;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * An uploaded voice note spooled to a temp file. Every consumer opens its own {@code FileChannel} backed stream,
+ * so the S3 upload and the transcription read the same file concurrently without the audio being copied onto the
+ * heap for them. Closing deletes the file.
+ */
+@Slf4j
+@Getter
+public class SpooledAudio implements AutoCloseable {
+
+    private final Path path;
+    private final long size;
+    private final String filename;
+    private final String contentType;
+    private final Runnable onClose;
+    @Getter(AccessLevel.NONE)
+    private String sha256;
+    private boolean closed;
+
+    SpooledAudio(Path path, long size, String filename, String contentType, Runnable onClose) {
+        this(path, size, filename, contentType, null, onClose);
+    }
+
+    /**
+     * @param sha256 hex hash of the file when it was computed while spooling, otherwise null
+     */
+    SpooledAudio(Path path, long size, String filename, String contentType, String sha256, Runnable onClose) {
+        this.path = path;
+        this.size = size;
+        this.filename = filename;
+        this.contentType = contentType;
+        this.sha256 = sha256;
+        this.onClose = onClose;
+    }
+
+    /** Hex SHA-256 of the audio, read from the file on first use unless it was hashed while spooling. */
+    public synchronized String sha256() {
+        if (sha256 == null) {
+            MessageDigest digest = ContentHashUtil.newSha256();
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            try (FileChannel channel = FileChannel.open(path)) {
+                while (channel.read(buffer) >= 0) {
+                    buffer.flip();
+                    digest.update(buffer);
+                    buffer.clear();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to hash spooled voice note " + path, e);
+            }
+            sha256 = HexFormat.of().formatHex(digest.digest());
+        }
+        return sha256;
+    }
+
+    /** A new stream over the whole file; the caller closes it. */
+    public InputStream openStream() {
+        try {
+            return Files.newInputStream(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open spooled voice note " + path, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete spooled voice note {}: {}", path, e.getMessage());
+        }
+        onClose.run();
+    }
+}
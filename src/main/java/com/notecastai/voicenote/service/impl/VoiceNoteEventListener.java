@@ -0,0 +1,44 @@
+package com.notecastai.voicenote.service.impl;
+
+import com.notecastai.voicenote.domain.event.VoiceNoteCreatedEvent;
+import com.notecastai.voicenote.service.VoiceNoteProcessorOrchestrator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VoiceNoteEventListener {
+
+    private final VoiceNoteProcessorOrchestrator orchestrator;
+
+    @Async("voiceNoteProcessingExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleVoiceNoteCreated(VoiceNoteCreatedEvent event) {
+        log.info("Processing voice note creation event for ID: {}", event.getVoiceNoteId());
+
+        // Note creation resolves the owner from the security context, which does not follow the task here
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(event.getAuthentication());
+        SecurityContextHolder.setContext(context);
+        try {
+            orchestrator.processVoiceNote(event);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void handleVoiceNoteRolledBack(VoiceNoteCreatedEvent event) {
+        log.warn("Voice note creation rolled back for ID: {}, discarding spooled audio", event.getVoiceNoteId());
+        if (event.getAudio() != null) {
+            event.getAudio().close();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.notecastai.voicenote.service.impl;
 
 import com.notecastai.integration.ai.TranscriptionService;
 import com.notecastai.integration.ai.dto.TranscriptionResult;
+import com.notecastai.note.infrastructure.repo.NoteRepository;
 import com.notecastai.voicenote.api.Mapper.VoiceNoteMapper;
 import com.notecastai.voicenote.api.dto.TranscriptionLanguage;
 import com.notecastai.voicenote.api.dto.VoiceNoteDTO;
@@ -10,12 +11,12 @@ import com.notecastai.voicenote.domain.VoiceNoteStatus;
 import com.notecastai.voicenote.repo.VoiceNoteRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.InputStream;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 @Slf4j
@@ -23,12 +24,14 @@ import java.util.concurrent.CompletableFuture;
 public class VoiceNoteHelper {
 
     private final VoiceNoteRepository voiceNoteRepository;
+    private final NoteRepository noteRepository;
     private final VoiceNoteMapper mapper;
     private final TimestampJsonMapper timestampJsonMapper;
     private final TranscriptionService transcriptionService;
 
-    public VoiceNoteHelper(VoiceNoteRepository voiceNoteRepository, VoiceNoteMapper mapper, TimestampJsonMapper timestampJsonMapper, @Qualifier("openAiAudioService") TranscriptionService transcriptionService) {
+    public VoiceNoteHelper(VoiceNoteRepository voiceNoteRepository, NoteRepository noteRepository, VoiceNoteMapper mapper, TimestampJsonMapper timestampJsonMapper, @Qualifier("routingTranscriptionService") TranscriptionService transcriptionService) {
         this.voiceNoteRepository = voiceNoteRepository;
+        this.noteRepository = noteRepository;
         this.mapper = mapper;
         this.timestampJsonMapper = timestampJsonMapper;
         this.transcriptionService = transcriptionService;
@@ -46,7 +49,35 @@ public class VoiceNoteHelper {
         return voiceNoteRepository.saveAndFlush(entity);
     }
 
-    @Async("voiceNoteProcessingExecutor")
+    /**
+     * Records the hash of the voice note's audio and looks up the latest processed voice note of the same user with
+     * the same audio. Matches are per user, so a hash never reveals another user's recordings.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<ProcessedAudio> recordContentHash(Long voiceNoteId, String sha256) {
+        VoiceNoteEntity entity = voiceNoteRepository.getOrThrow(voiceNoteId);
+        entity.setContentSha256(sha256);
+        voiceNoteRepository.saveAndFlush(entity);
+
+        return voiceNoteRepository.findProcessedDuplicate(entity)
+                .filter(duplicate -> duplicate.getS3FileUrl() != null && duplicate.getTranscript() != null)
+                .map(duplicate -> new ProcessedAudio(duplicate.getId(), duplicate.getS3FileUrl(),
+                        TranscriptionResult.builder()
+                                .transcript(duplicate.getTranscript())
+                                .language(duplicate.getLanguage() != null ? duplicate.getLanguage().getCode() : null)
+                                .durationSeconds(duplicate.getDurationSeconds())
+                                .wordTimestamps(timestampJsonMapper.deserializeWordTimestamps(
+                                        duplicate.getWordTimestampsJson()))
+                                .segmentTimestamps(timestampJsonMapper.deserializeSegmentTimestamps(
+                                        duplicate.getSegmentTimestampsJson()))
+                                .build()));
+    }
+
+    /**
+     * Runs on the caller's thread up to the provider call, which completes asynchronously. The pipeline already
+     * runs on {@code voiceNoteProcessingExecutor}, and waiting there for a second task on the same pool could
+     * starve it under bursts.
+     */
     public CompletableFuture<TranscriptionResult> transcribeAsync(
             InputStream audioStream,
             String filename,
@@ -68,9 +99,11 @@ public class VoiceNoteHelper {
             Long noteCastId,
             String s3FileUrl,
             TranscriptionResult result,
-            String title
+            String title,
+            Long noteId
     ) {
         VoiceNoteEntity voiceNote = voiceNoteRepository.getOrThrow(noteCastId);
+        voiceNote.setNote(noteRepository.getOrThrow(noteId));
 
         // Set basic transcription data
         voiceNote.setTitle(title);
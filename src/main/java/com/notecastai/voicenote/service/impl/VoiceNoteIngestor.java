@@ -0,0 +1,191 @@
+package com.notecastai.voicenote.service.impl;
+
+import com.notecastai.common.exeption.BusinessException;
+import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.common.util.ContentHashUtil;
+import com.notecastai.common.util.FileValidationUtil;
+import com.notecastai.integration.storage.StorageService;
+import com.notecastai.integration.storage.StoredObject;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.notecastai.common.exeption.BusinessException.BusinessCode.INVALID_REQUEST;
+
+/**
+ * First stage of voice note processing: validates an upload by its declared metadata and its magic bytes, then
+ * spools it once to a temp file that all later stages read from.
+ * <p>
+ * Only the sniffed header is read onto the heap here. Multipart uploads are already on disk by the time the
+ * controller sees them, so spooling is a move or a file-to-file copy. Audio uploaded straight to storage is
+ * fetched with ranged GETs written at their offsets, so no range is held in memory either.
+ */
+@Slf4j
+@Component
+public class VoiceNoteIngestor {
+
+    private static final int SNIFF_BYTES = FileValidationUtil.AUDIO_HEADER_BYTES;
+    /** Per ranged GET; a failed range fails the download, so smaller ranges waste less on a dropped connection. */
+    private static final long RANGE_BYTES = 8L * 1024 * 1024;
+
+    private final MeterRegistry meterRegistry;
+    private final StorageService storageService;
+    private final AtomicLong spooledBytes = new AtomicLong();
+
+    public VoiceNoteIngestor(MeterRegistry meterRegistry, StorageService storageService) {
+        this.meterRegistry = meterRegistry;
+        this.storageService = storageService;
+        Gauge.builder("voicenote.ingest.spooled.bytes", spooledBytes, AtomicLong::get)
+                .baseUnit("bytes")
+                .description("Voice note audio currently spooled to disk")
+                .register(meterRegistry);
+    }
+
+    public SpooledAudio spool(MultipartFile file) {
+        FileValidationUtil.validateAudioFile(file);
+
+        String detectedType = FileValidationUtil.detectAudioType(readHeader(file));
+        if (detectedType == null) {
+            recordRejected("magic_bytes");
+            throw BusinessException.of(INVALID_REQUEST.append(
+                    " File content is not a supported audio format. Declared type: " + file.getContentType()
+            ));
+        }
+
+        String filename = FileValidationUtil.normalizeFilename(file.getOriginalFilename(), file.getContentType());
+        String contentType = FileValidationUtil.normalizeContentType(file.getContentType());
+
+        Path path = null;
+        try {
+            path = Files.createTempFile("voice-note-", ".audio");
+            file.transferTo(path);
+            long size = Files.size(path);
+
+            spooledBytes.addAndGet(size);
+            DistributionSummary.builder("voicenote.ingest.upload.bytes")
+                    .baseUnit("bytes")
+                    .tag("type", detectedType)
+                    .register(meterRegistry)
+                    .record(size);
+            log.debug("Spooled voice note {} ({}, {} bytes) to {}", filename, detectedType, size, path);
+
+            return new SpooledAudio(path, size, filename, contentType, () -> spooledBytes.addAndGet(-size));
+        } catch (IOException e) {
+            deleteQuietly(path);
+            throw TechnicalException.of(TechnicalException.Code.INTERNAL_ERROR)
+                    .with("filename", String.valueOf(filename))
+                    .with("error", "Failed to spool voice note: " + e.getMessage())
+                    .cause(e)
+                    .build();
+        }
+    }
+
+    /**
+     * Checks the magic bytes of audio a client uploaded straight to storage.
+     */
+    public void verifyStored(StoredObject object) {
+        byte[] header;
+        try (InputStream in = storageService.getRange(object.getKey(), 0, Math.min(SNIFF_BYTES, object.getSize()))) {
+            header = in.readNBytes(SNIFF_BYTES);
+        } catch (IOException e) {
+            throw TechnicalException.of(TechnicalException.Code.S3_ERROR)
+                    .with("key", object.getKey())
+                    .with("error", "Failed to read uploaded voice note: " + e.getMessage())
+                    .cause(e)
+                    .build();
+        }
+        if (FileValidationUtil.detectAudioType(header) == null) {
+            recordRejected("magic_bytes");
+            throw BusinessException.of(INVALID_REQUEST.append(
+                    " Uploaded file content is not a supported audio format"
+            ));
+        }
+    }
+
+    /**
+     * Spools audio already in storage, fetching it range by range straight into the temp file and hashing it on
+     * the way, since the ranges arrive in order.
+     */
+    public SpooledAudio download(String key, String filename, String contentType, long size) {
+        Path path = null;
+        try {
+            path = Files.createTempFile("voice-note-", ".audio");
+            MessageDigest digest = ContentHashUtil.newSha256();
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                for (long offset = 0; offset < size; offset += RANGE_BYTES) {
+                    long length = Math.min(RANGE_BYTES, size - offset);
+                    try (InputStream range = storageService.getRange(key, offset, length)) {
+                        ReadableByteChannel source = Channels.newChannel(new DigestInputStream(range, digest));
+                        long written = 0;
+                        while (written < length) {
+                            long transferred = channel.transferFrom(source, offset + written, length - written);
+                            if (transferred <= 0) {
+                                throw new IOException("Range ended early at byte " + (offset + written));
+                            }
+                            written += transferred;
+                        }
+                    }
+                }
+            }
+
+            spooledBytes.addAndGet(size);
+            log.debug("Fetched stored voice note {} ({} bytes) to {}", key, size, path);
+            return new SpooledAudio(path, size, filename, contentType, HexFormat.of().formatHex(digest.digest()),
+                    () -> spooledBytes.addAndGet(-size));
+        } catch (IOException e) {
+            deleteQuietly(path);
+            throw TechnicalException.of(TechnicalException.Code.S3_ERROR)
+                    .with("key", key)
+                    .with("error", "Failed to fetch voice note: " + e.getMessage())
+                    .cause(e)
+                    .build();
+        }
+    }
+
+    private byte[] readHeader(MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            return in.readNBytes(SNIFF_BYTES);
+        } catch (IOException e) {
+            throw TechnicalException.of(TechnicalException.Code.INTERNAL_ERROR)
+                    .with("filename", String.valueOf(file.getOriginalFilename()))
+                    .with("error", "Failed to read voice note: " + e.getMessage())
+                    .cause(e)
+                    .build();
+        }
+    }
+
+    private void recordRejected(String reason) {
+        Counter.builder("voicenote.ingest.rejected")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete spooled voice note {}: {}", path, e.getMessage());
+        }
+    }
+}
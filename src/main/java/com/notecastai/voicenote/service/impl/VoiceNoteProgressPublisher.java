@@ -0,0 +1,83 @@
+package com.notecastai.voicenote.service.impl;
+
+import com.notecastai.voicenote.api.dto.VoiceNoteStatusDTO;
+import com.notecastai.voicenote.domain.VoiceNoteStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Pushes voice note status changes to Server-Sent Event subscribers as 'status' events, and completes their
+ * streams once processing has finished or failed. Subscribers are kept in memory, so only changes made by this
+ * instance are pushed; clients reconnect or fall back to polling the status endpoint.
+ */
+@Slf4j
+@Component
+public class VoiceNoteProgressPublisher {
+
+    private static final long STREAM_TIMEOUT_MS = 15 * 60_000L;
+
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * @param currentStatus read after the subscription is registered, so a change racing with it is not lost
+     */
+    public SseEmitter subscribe(Long voiceNoteId, Supplier<VoiceNoteStatusDTO> currentStatus) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        subscribers.computeIfAbsent(voiceNoteId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+        emitter.onCompletion(() -> unsubscribe(voiceNoteId, emitter));
+        emitter.onTimeout(() -> unsubscribe(voiceNoteId, emitter));
+        emitter.onError(error -> unsubscribe(voiceNoteId, emitter));
+
+        VoiceNoteStatusDTO status = currentStatus.get();
+        if (send(emitter, status) && isFinal(status)) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    public void publish(VoiceNoteStatusDTO status) {
+        List<SseEmitter> emitters = isFinal(status)
+                ? subscribers.remove(status.getId())
+                : subscribers.get(status.getId());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            if (send(emitter, status) && isFinal(status)) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private boolean send(SseEmitter emitter, VoiceNoteStatusDTO status) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(status, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client gone or stream already completed
+            log.debug("Dropping voice note status subscriber for ID {}: {}", status.getId(), e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void unsubscribe(Long voiceNoteId, SseEmitter emitter) {
+        subscribers.computeIfPresent(voiceNoteId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private static boolean isFinal(VoiceNoteStatusDTO status) {
+        return status.getStatus() == VoiceNoteStatus.PROCESSED || status.getStatus() == VoiceNoteStatus.FAILED;
+    }
+}
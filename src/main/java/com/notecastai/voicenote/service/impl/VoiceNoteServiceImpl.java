@@ -1,9 +1,13 @@
 package com.notecastai.voicenote.service.impl;
 
+import com.notecastai.common.exeption.BusinessException;
 import com.notecastai.common.util.FileValidationUtil;
 import com.notecastai.common.util.SecurityUtils;
+import com.notecastai.integration.ai.dto.TranscriptionResult;
+import com.notecastai.integration.storage.PresignedUpload;
 import com.notecastai.integration.storage.StorageService;
-import com.notecastai.note.infrastructure.repo.NoteRepository;
+import com.notecastai.integration.storage.StoredObject;
+import com.notecastai.note.domain.FormateType;
 import com.notecastai.tag.domain.TagEntity;
 import com.notecastai.tag.repo.TagRepository;
 import com.notecastai.user.domain.UserEntity;
@@ -12,76 +16,385 @@ import com.notecastai.voicenote.api.Mapper.VoiceNoteMapper;
 import com.notecastai.voicenote.api.dto.*;
 import com.notecastai.voicenote.domain.VoiceNoteEntity;
 import com.notecastai.voicenote.domain.VoiceNoteStatus;
+import com.notecastai.voicenote.domain.event.VoiceNoteCreatedEvent;
 import com.notecastai.voicenote.repo.VoiceNoteRepository;
 import com.notecastai.voicenote.service.VoiceNoteProcessorOrchestrator;
 import com.notecastai.voicenote.service.VoiceNoteService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import static com.notecastai.common.exeption.BusinessException.BusinessCode.INVALID_REQUEST;
+import static com.notecastai.common.exeption.BusinessException.BusinessCode.RESOURCE_NOT_FOUND;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class VoiceNoteServiceImpl implements VoiceNoteService {
 
     private final VoiceNoteRepository voiceNoteRepository;
-    private final NoteRepository noteRepository;
     private final UserRepository userRepository;
     private final TagRepository tagRepository;
     private final VoiceNoteMapper mapper;
-    private final VoiceNoteProcessorOrchestrator voiceNoteProcessorOrchestrator;
-    private final VoiceNoteHelper voiceNoteHelper;
     private final StorageService s3StorageService;
+    private final VoiceNoteIngestor voiceNoteIngestor;
+    private final VoiceNoteProgressPublisher progressPublisher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Well past the lifetime of the presigned upload URL. */
+    private static final Duration ABANDONED_UPLOAD_AFTER = Duration.ofHours(2);
+    /** Chunked uploads are meant to survive dropped connections, so they get far longer. */
+    private static final Duration ABANDONED_CHUNKED_UPLOAD_AFTER = Duration.ofHours(24);
+    private static final String SHA256_CHECKSUM_PREFIX = "sha256 ";
 
+    @Value("${voicenote.upload.chunk-size:5MB}")
+    DataSize uploadChunkSize;
+
+    /**
+     * Saves the voice note as PENDING and returns; processing starts once this transaction commits, on
+     * {@code voiceNoteProcessingExecutor}, and is followed through {@link #getStatus} or {@link #streamStatus}.
+     */
     @Override
     @Transactional
     public CreateVoiceNoteResponse create(VoiceNoteCreateRequest request) {
-        MultipartFile file = FileValidationUtil.validateAndNormalizeIfNeeded(request.getFile());
+        // Validated and spooled to disk once; the pipeline reads the spooled file and deletes it when done
+        SpooledAudio audio = voiceNoteIngestor.spool(request.getFile());
+        try {
+            return accept(audio, null, request.getTitle(), request.getTagIds(),
+                    request.getUserInstructions(), request.getFormateType());
+        } catch (RuntimeException e) {
+            // No event was published, so nothing else will delete the spooled file
+            audio.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Saves a voice note recorded over a live transcription. Its windows are already transcribed and merged, so
+     * the pipeline only stores the recording and writes the note.
+     */
+    @Override
+    @Transactional
+    public CreateVoiceNoteResponse createLive(SpooledAudio audio, TranscriptionResult transcription, LiveTranscriptionCommand command) {
+        try {
+            return accept(audio, transcription, command.getTitle(), command.getTagIds(),
+                    command.getUserInstructions(), command.getFormateType());
+        } catch (RuntimeException e) {
+            audio.close();
+            throw e;
+        }
+    }
 
+    private CreateVoiceNoteResponse accept(SpooledAudio audio, TranscriptionResult transcription, String title,
+                                           List<Long> tagIds, String userInstructions, FormateType formateType) {
         UserEntity user = userRepository.getByClerkUserId(SecurityUtils.getCurrentClerkUserIdOrThrow());
 
         // Create entity with PENDING status
-        String filename = generateUniqueFilename(file.getOriginalFilename());
+        String filename = generateUniqueFilename(audio.getFilename());
         VoiceNoteEntity entity = VoiceNoteEntity.builder()
                 .user(user)
                 .filename(filename)
-                .originalFilename(file.getOriginalFilename())
-                .contentType(file.getContentType())
-                .fileSize(file.getSize())
+                .originalFilename(audio.getFilename())
+                .contentType(audio.getContentType())
+                .fileSize(audio.getSize())
                 .language(user.getPreferredLanguage())
-                .userInstructions(request.getUserInstructions())
+                .userInstructions(userInstructions)
+                .formateType(formateType)
                 .status(VoiceNoteStatus.PENDING)
                 .build();
 
-        if (request.getTagIds() != null && !request.getTagIds().isEmpty()) {
-            Set<TagEntity> tags = resolveAndValidateTags(user.getId(), request.getTagIds());
+        if (tagIds != null && !tagIds.isEmpty()) {
+            Set<TagEntity> tags = resolveAndValidateTags(user.getId(), tagIds);
             entity.setTags(tags);
         }
 
-        entity = voiceNoteHelper.saveAndFlush(entity);
+        VoiceNoteEntity saved = voiceNoteRepository.saveAndFlush(entity);
 
-        VoiceNoteDTO voiceNote = voiceNoteProcessorOrchestrator.processVoiceNote(entity.getId(), file, user.getPreferredLanguage(), request);
+        eventPublisher.publishEvent(VoiceNoteCreatedEvent.builder()
+                .voiceNoteId(saved.getId())
+                .audio(audio)
+                .transcription(transcription)
+                .language(user.getPreferredLanguage())
+                .title(title)
+                .tagIds(tagIds)
+                .userInstructions(userInstructions)
+                .formateType(formateType)
+                .authentication(SecurityContextHolder.getContext().getAuthentication())
+                .build());
 
-        //reattach
-        entity = voiceNoteRepository.getOrThrow(entity.getId());
-        entity.setNote(noteRepository.getOrThrow(voiceNote.getNote().getId()));
+        log.info("Voice note accepted: id={}, file={}, size={} bytes", saved.getId(), audio.getFilename(), audio.getSize());
 
         return CreateVoiceNoteResponse.builder()
-                .voiceNote(mapper.toDto(voiceNoteRepository.save(entity)))
+                .voiceNote(mapper.toDto(saved))
                 .build();
     }
 
+    /**
+     * Saves the voice note as AWAITING_UPLOAD and presigns a PUT for its audio, so the bytes go from the client
+     * to storage without passing through this service. Processing starts at {@link #completeUpload}.
+     */
+    @Override
+    @Transactional
+    public VoiceNoteUploadResponse createUpload(VoiceNoteUploadRequest request) {
+        VoiceNoteEntity saved = saveAwaitingUpload(request);
+
+        // The declared type and size are signed into the URL, so storage rejects any other upload
+        PresignedUpload upload = s3StorageService.presignedPut(saved.getS3FileUrl(), saved.getContentType(), request.getSize());
+        log.info("Voice note awaiting direct upload: id={}, file={}, size={} bytes",
+                saved.getId(), saved.getOriginalFilename(), request.getSize());
+
+        return VoiceNoteUploadResponse.builder()
+                .voiceNote(mapper.toDto(saved))
+                .uploadUrl(upload.getUrl())
+                .uploadHeaders(upload.getHeaders())
+                .expiresAt(upload.getExpiresAt())
+                .build();
+    }
+
+    /**
+     * Saves the voice note as AWAITING_UPLOAD for an upload in numbered chunks, which can be retried, sent in
+     * parallel and resumed from {@link #getUploadProgress} after a dropped connection. Each chunk is streamed
+     * into a storage multipart upload as it arrives. Processing starts at {@link #completeUpload}.
+     * <p>
+     * The storage key is derived from the id, so the voice note is saved first; the multipart upload is then
+     * created outside a transaction and recorded in a second one, and aborted if that fails.
+     */
+    @Override
+    public VoiceNoteUploadProgressDTO createResumableUpload(VoiceNoteUploadRequest request) {
+        VoiceNoteEntity saved = transactionTemplate.execute(tx -> saveAwaitingUpload(request));
+
+        String uploadId;
+        try {
+            uploadId = s3StorageService.createMultipartUpload(saved.getS3FileUrl(), saved.getContentType());
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(tx -> {
+                VoiceNoteEntity failed = voiceNoteRepository.getOrThrow(saved.getId());
+                failed.setStatus(VoiceNoteStatus.FAILED);
+                failed.setErrorMessage("Upload could not be started");
+            });
+            throw e;
+        }
+
+        VoiceNoteEntity started;
+        try {
+            started = transactionTemplate.execute(tx -> {
+                VoiceNoteEntity entity = voiceNoteRepository.getOrThrow(saved.getId());
+                entity.setUploadId(uploadId);
+                entity.setUploadChunkSize(uploadChunkSize.toBytes());
+                return entity;
+            });
+        } catch (RuntimeException e) {
+            s3StorageService.abortMultipartUpload(saved.getS3FileUrl(), uploadId);
+            throw e;
+        }
+        log.info("Voice note awaiting chunked upload: id={}, file={}, size={} bytes",
+                started.getId(), started.getOriginalFilename(), request.getSize());
+        return toProgressDTO(started, new TreeMap<>());
+    }
+
+    @Override
+    public VoiceNoteUploadProgressDTO getUploadProgress(Long id) {
+        VoiceNoteEntity entity = getChunkedUpload(id);
+        return toProgressDTO(entity, s3StorageService.listParts(entity.getS3FileUrl(), entity.getUploadId()));
+    }
+
+    /**
+     * Streams one chunk into storage. Runs outside a transaction, since the transfer takes as long as the client
+     * takes to send it; a chunk sent again replaces the earlier copy.
+     */
+    @Override
+    public VoiceNoteUploadProgressDTO uploadChunk(Long id, int chunkNumber, InputStream data, long size, String checksum) {
+        VoiceNoteEntity entity = getChunkedUpload(id);
+        int chunkCount = chunkCount(entity);
+        if (chunkNumber < 1 || chunkNumber > chunkCount) {
+            throw BusinessException.of(INVALID_REQUEST.append(
+                    " Chunk number must be between 1 and %d".formatted(chunkCount)
+            ));
+        }
+        long expectedSize = chunkNumber < chunkCount
+                ? entity.getUploadChunkSize()
+                : entity.getFileSize() - (chunkCount - 1) * entity.getUploadChunkSize();
+        if (size != expectedSize) {
+            throw BusinessException.of(INVALID_REQUEST.append(
+                    " Chunk %d must be %d bytes, got %d".formatted(chunkNumber, expectedSize, size)
+            ));
+        }
+
+        if (!s3StorageService.uploadPart(entity.getS3FileUrl(), entity.getUploadId(), chunkNumber, data, size, sha256Of(checksum))) {
+            throw BusinessException.of(INVALID_REQUEST.append(
+                    " Chunk %d does not match its checksum".formatted(chunkNumber)
+            ));
+        }
+        return toProgressDTO(entity, s3StorageService.listParts(entity.getS3FileUrl(), entity.getUploadId()));
+    }
+
+    /**
+     * Checks the uploaded object by its size and magic bytes and starts processing it like a multipart upload.
+     * The voice note is first claimed by moving it to PENDING, so of two concurrent calls only one goes on, and
+     * the storage calls then run outside a transaction. A rejected object is deleted and the voice note marked
+     * FAILED; on any other error, such as a missing chunk, the claim is released so the call can be retried.
+     */
+    @Override
+    public CreateVoiceNoteResponse completeUpload(Long id) {
+        VoiceNoteEntity entity = voiceNoteRepository.getOwnedOrThrow(id);
+        if (!Boolean.TRUE.equals(transactionTemplate.execute(tx -> voiceNoteRepository.transitionStatus(
+                id, VoiceNoteStatus.AWAITING_UPLOAD, VoiceNoteStatus.PENDING)))) {
+            throw BusinessException.of(INVALID_REQUEST.append(
+                    " Voice note %d is not awaiting an upload".formatted(id)
+            ));
+        }
+
+        try {
+            if (entity.getUploadId() != null) {
+                assembleChunks(entity);
+            }
+            StoredObject stored = s3StorageService.head(entity.getS3FileUrl())
+                    .orElseThrow(() -> BusinessException.of(INVALID_REQUEST.append(
+                            " Audio for voice note %d has not been uploaded".formatted(id)
+                    )));
+            try {
+                if (stored.getSize() != entity.getFileSize()) {
+                    throw BusinessException.of(INVALID_REQUEST.append(
+                            " Uploaded %d bytes, declared %d".formatted(stored.getSize(), entity.getFileSize())
+                    ));
+                }
+                voiceNoteIngestor.verifyStored(stored);
+            } catch (BusinessException e) {
+                s3StorageService.delete(stored.getKey());
+                transactionTemplate.executeWithoutResult(tx -> {
+                    VoiceNoteEntity rejected = voiceNoteRepository.getOrThrow(id);
+                    rejected.setStatus(VoiceNoteStatus.FAILED);
+                    rejected.setErrorMessage(e.getMessage());
+                    rejected.setUploadId(null);
+                });
+                throw e;
+            }
+
+            return transactionTemplate.execute(tx -> acceptUpload(id, stored));
+        } catch (RuntimeException e) {
+            releaseUpload(id);
+            throw e;
+        }
+    }
+
+    /** Hands the verified upload to the pipeline, which starts once this transaction commits. */
+    private CreateVoiceNoteResponse acceptUpload(Long id, StoredObject stored) {
+        VoiceNoteEntity entity = voiceNoteRepository.getOrThrow(id);
+        entity.setStatus(VoiceNoteStatus.PENDING);
+        entity.setUploadId(null);
+        eventPublisher.publishEvent(VoiceNoteCreatedEvent.builder()
+                .voiceNoteId(entity.getId())
+                .stored(StoredObject.builder()
+                        .key(stored.getKey())
+                        .size(stored.getSize())
+                        .contentType(entity.getContentType())
+                        .build())
+                .filename(entity.getOriginalFilename())
+                .language(entity.getLanguage())
+                .title(entity.getTitle())
+                .tagIds(entity.getTags().stream().map(TagEntity::getId).toList())
+                .userInstructions(entity.getUserInstructions())
+                .formateType(entity.getFormateType())
+                .authentication(SecurityContextHolder.getContext().getAuthentication())
+                .build());
+
+        log.info("Voice note upload completed: id={}, size={} bytes", id, stored.getSize());
+
+        return CreateVoiceNoteResponse.builder()
+                .voiceNote(mapper.toDto(entity))
+                .build();
+    }
+
+    /** Gives a claimed upload back unless it was rejected meanwhile, which leaves it FAILED. */
+    private void releaseUpload(Long id) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> voiceNoteRepository.transitionStatus(
+                    id, VoiceNoteStatus.PENDING, VoiceNoteStatus.AWAITING_UPLOAD));
+        } catch (RuntimeException e) {
+            log.error("Failed to release the upload of voice note {}", id, e);
+        }
+    }
+
+    /**
+     * Fails voice notes whose upload was never completed: direct uploads once their upload URL has long expired,
+     * chunked uploads after a day without completion, discarding the chunks received. Each voice note is failed in
+     * its own short transaction, claimed like in {@link #completeUpload} so a completion racing the expiry wins or
+     * loses cleanly, and its storage is cleaned up outside it.
+     */
+    @Scheduled(fixedDelayString = "${voicenote.upload.expiry-check-interval:PT15M}")
+    public void expireAbandonedUploads() {
+        Instant now = Instant.now();
+        for (VoiceNoteEntity entity : voiceNoteRepository.findByStatusCreatedBefore(
+                VoiceNoteStatus.AWAITING_UPLOAD, now.minus(ABANDONED_UPLOAD_AFTER))) {
+            if (entity.getUploadId() != null
+                    && entity.getCreatedDate().isAfter(now.minus(ABANDONED_CHUNKED_UPLOAD_AFTER))) {
+                continue;
+            }
+            boolean expired = Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+                if (!voiceNoteRepository.transitionStatus(
+                        entity.getId(), VoiceNoteStatus.AWAITING_UPLOAD, VoiceNoteStatus.FAILED)) {
+                    return false;
+                }
+                VoiceNoteEntity failed = voiceNoteRepository.getOrThrow(entity.getId());
+                failed.setErrorMessage("Upload was not completed");
+                failed.setUploadId(null);
+                return true;
+            }));
+            if (!expired) {
+                continue;
+            }
+
+            try {
+                if (entity.getUploadId() != null) {
+                    s3StorageService.abortMultipartUpload(entity.getS3FileUrl(), entity.getUploadId());
+                } else {
+                    // A client may have uploaded without completing
+                    s3StorageService.delete(entity.getS3FileUrl());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to discard the upload of expired voice note {}: {}", entity.getId(), e.getMessage());
+            }
+            log.info("Voice note {} expired awaiting upload", entity.getId());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VoiceNoteStatusDTO getStatus(Long id) {
+        return toStatusDTO(voiceNoteRepository.getOwnedOrThrow(id));
+    }
+
+    @Override
+    public SseEmitter streamStatus(Long id) {
+        voiceNoteRepository.getOwnedOrThrow(id);
+        return progressPublisher.subscribe(id, () -> getStatus(id));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public VoiceNoteDTO getById(Long id) {
@@ -91,6 +404,16 @@ public class VoiceNoteServiceImpl implements VoiceNoteService {
         return dto;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getAudioKey(Long id) {
+        VoiceNoteEntity entity = voiceNoteRepository.getOwnedOrThrow(id);
+        if (entity.getS3FileUrl() == null) {
+            throw BusinessException.of(RESOURCE_NOT_FOUND.append(" Voice note has no audio"));
+        }
+        return entity.getS3FileUrl();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<VoiceNoteDTO> findAll(VoiceNoteQueryParam params, Pageable pageable) {
@@ -126,6 +449,110 @@ public class VoiceNoteServiceImpl implements VoiceNoteService {
         voiceNoteRepository.save(entity);
     }
 
+    private VoiceNoteEntity saveAwaitingUpload(VoiceNoteUploadRequest request) {
+        String contentType = FileValidationUtil.normalizeContentType(request.getContentType());
+        FileValidationUtil.validateAudioMetadata(request.getFilename(), contentType, request.getSize());
+        String originalFilename = FileValidationUtil.normalizeFilename(request.getFilename(), request.getContentType());
+
+        UserEntity user = userRepository.getByClerkUserId(SecurityUtils.getCurrentClerkUserIdOrThrow());
+        String filename = generateUniqueFilename(originalFilename);
+        VoiceNoteEntity entity = VoiceNoteEntity.builder()
+                .user(user)
+                .title(request.getTitle())
+                .filename(filename)
+                .originalFilename(originalFilename)
+                .contentType(contentType)
+                .fileSize(request.getSize())
+                .language(user.getPreferredLanguage())
+                .userInstructions(request.getUserInstructions())
+                .formateType(request.getFormateType())
+                .status(VoiceNoteStatus.AWAITING_UPLOAD)
+                .build();
+
+        if (request.getTagIds() != null && !request.getTagIds().isEmpty()) {
+            entity.setTags(resolveAndValidateTags(user.getId(), request.getTagIds()));
+        }
+
+        VoiceNoteEntity saved = voiceNoteRepository.saveAndFlush(entity);
+        saved.setS3FileUrl(VoiceNoteProcessorOrchestrator.buildS3Key(saved.getId(), filename));
+        return saved;
+    }
+
+    private VoiceNoteEntity getChunkedUpload(Long id) {
+        VoiceNoteEntity entity = voiceNoteRepository.getOwnedOrThrow(id);
+        if (entity.getStatus() != VoiceNoteStatus.AWAITING_UPLOAD || entity.getUploadId() == null) {
+            throw BusinessException.of(INVALID_REQUEST.append(
+                    " Voice note %d is not awaiting a chunked upload".formatted(id)
+            ));
+        }
+        return entity;
+    }
+
+    /**
+     * Joins the received chunks into the audio object. An earlier attempt may have joined them already and then
+     * failed before the upload id was cleared.
+     */
+    private void assembleChunks(VoiceNoteEntity entity) {
+        if (s3StorageService.head(entity.getS3FileUrl()).isEmpty()) {
+            VoiceNoteUploadProgressDTO progress = toProgressDTO(
+                    entity, s3StorageService.listParts(entity.getS3FileUrl(), entity.getUploadId()));
+            if (progress.getNextChunk() != null) {
+                throw BusinessException.of(INVALID_REQUEST.append(
+                        " Chunk %d of voice note %d has not been uploaded".formatted(progress.getNextChunk(), entity.getId())
+                ));
+            }
+            s3StorageService.completeMultipartUpload(entity.getS3FileUrl(), entity.getUploadId());
+        }
+    }
+
+    private static int chunkCount(VoiceNoteEntity entity) {
+        return (int) ((entity.getFileSize() + entity.getUploadChunkSize() - 1) / entity.getUploadChunkSize());
+    }
+
+    private static VoiceNoteUploadProgressDTO toProgressDTO(VoiceNoteEntity entity, SortedMap<Integer, Long> chunks) {
+        int chunkCount = chunkCount(entity);
+        long receivedBytes = 0;
+        int nextChunk = 1;
+        while (chunks.containsKey(nextChunk)) {
+            receivedBytes += chunks.get(nextChunk);
+            nextChunk++;
+        }
+        return VoiceNoteUploadProgressDTO.builder()
+                .voiceNoteId(entity.getId())
+                .size(entity.getFileSize())
+                .chunkSize(entity.getUploadChunkSize())
+                .chunkCount(chunkCount)
+                .receivedBytes(receivedBytes)
+                .receivedChunks(new ArrayList<>(chunks.keySet()))
+                .nextChunk(nextChunk <= chunkCount ? nextChunk : null)
+                .build();
+    }
+
+    /** The Base64 SHA-256 of an {@code Upload-Checksum: sha256 <base64>} header, as in the tus checksum extension. */
+    private static String sha256Of(String checksum) {
+        if (checksum == null || !checksum.regionMatches(true, 0, SHA256_CHECKSUM_PREFIX, 0, SHA256_CHECKSUM_PREFIX.length())) {
+            throw BusinessException.of(INVALID_REQUEST.append(" Upload-Checksum must be 'sha256 <base64 digest>'"));
+        }
+        String digest = checksum.substring(SHA256_CHECKSUM_PREFIX.length()).trim();
+        try {
+            if (Base64.getDecoder().decode(digest).length == 32) {
+                return digest;
+            }
+        } catch (IllegalArgumentException ignored) {
+            // Reported below
+        }
+        throw BusinessException.of(INVALID_REQUEST.append(" Upload-Checksum is not a Base64 SHA-256 digest"));
+    }
+
+    private VoiceNoteStatusDTO toStatusDTO(VoiceNoteEntity entity) {
+        return VoiceNoteStatusDTO.builder()
+                .id(entity.getId())
+                .status(entity.getStatus())
+                .errorMessage(entity.getErrorMessage())
+                .noteId(entity.getNote() != null ? entity.getNote().getId() : null)
+                .build();
+    }
+
     private String generateUniqueFilename(String originalFilename) {
         String extension = "";
         if (originalFilename != null && originalFilename.contains(".")) {
@@ -0,0 +1,33 @@
+-- =====================================================
+-- CREATE AI RESPONSE CACHE TABLE
+-- =====================================================
+
+-- =====================================================
+-- TABLE: ai_response_cache
+-- =====================================================
+CREATE TABLE IF NOT EXISTS notecastai.ai_response_cache (
+    cache_key VARCHAR(64) PRIMARY KEY,
+    operation VARCHAR(40) NOT NULL,
+    model VARCHAR(100),
+
+    -- Validated response serialized as JSON
+    payload TEXT NOT NULL,
+    size_bytes INTEGER NOT NULL,
+
+    -- Expiry and usage tracking
+    created_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_hit_date TIMESTAMP WITH TIME ZONE,
+    hit_count BIGINT NOT NULL DEFAULT 0
+);
+
+-- Indexes for eviction
+CREATE INDEX IF NOT EXISTS idx_ai_cache_expires ON notecastai.ai_response_cache(expires_at);
+CREATE INDEX IF NOT EXISTS idx_ai_cache_recency ON notecastai.ai_response_cache((COALESCE(last_hit_date, created_date)) DESC);
+
+-- =====================================================
+-- COMMENTS
+-- =====================================================
+COMMENT ON TABLE notecastai.ai_response_cache IS 'Persistent tier of the content-addressed AI response cache';
+COMMENT ON COLUMN notecastai.ai_response_cache.cache_key IS 'SHA-256 of model, temperature, prompts and response schema';
+COMMENT ON COLUMN notecastai.ai_response_cache.payload IS 'Validated AI response serialized as JSON';
@@ -0,0 +1,32 @@
+-- =====================================================
+-- CREATE AI USAGE LEDGER TABLE
+-- =====================================================
+
+-- =====================================================
+-- TABLE: ai_usage_ledger
+-- =====================================================
+CREATE TABLE IF NOT EXISTS notecastai.ai_usage_ledger (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT,
+    provider VARCHAR(40) NOT NULL,
+    model VARCHAR(100) NOT NULL,
+    operation VARCHAR(40) NOT NULL,
+
+    -- Usage as reported by the provider (audio seconds are estimated for speech)
+    prompt_tokens INTEGER,
+    completion_tokens INTEGER,
+    audio_seconds DOUBLE PRECISION,
+    cost_usd NUMERIC(14, 8),
+
+    created_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+-- Index for per-user cost reports
+CREATE INDEX IF NOT EXISTS idx_ai_usage_user_created ON notecastai.ai_usage_ledger(user_id, created_date);
+
+-- =====================================================
+-- COMMENTS
+-- =====================================================
+COMMENT ON TABLE notecastai.ai_usage_ledger IS 'One row per billable AI provider call';
+COMMENT ON COLUMN notecastai.ai_usage_ledger.user_id IS 'User the call was made for, NULL for system work';
+COMMENT ON COLUMN notecastai.ai_usage_ledger.cost_usd IS 'Estimated from ai.telemetry.prices, NULL when the model has no configured price';
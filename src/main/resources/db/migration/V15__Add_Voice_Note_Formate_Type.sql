@@ -0,0 +1,9 @@
+-- =====================================================
+-- ADD FORMATE TYPE TO VOICE NOTE
+-- =====================================================
+
+-- Kept for direct-to-storage uploads, which are processed in a later request than the one that declared them
+ALTER TABLE notecastai.voice_note
+    ADD COLUMN IF NOT EXISTS formate_type VARCHAR(40);
+
+COMMENT ON COLUMN notecastai.voice_note.formate_type IS 'Requested note format, NULL for the default';
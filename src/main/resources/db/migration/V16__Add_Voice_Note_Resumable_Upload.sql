@@ -0,0 +1,11 @@
+-- =====================================================
+-- ADD RESUMABLE UPLOAD STATE TO VOICE NOTE
+-- =====================================================
+
+-- Set while a chunked upload is in progress; the received chunks themselves are tracked by storage
+ALTER TABLE notecastai.voice_note
+    ADD COLUMN IF NOT EXISTS upload_id VARCHAR(1024),
+    ADD COLUMN IF NOT EXISTS upload_chunk_size BIGINT;
+
+COMMENT ON COLUMN notecastai.voice_note.upload_id IS 'Storage multipart upload id of an unfinished chunked upload';
+COMMENT ON COLUMN notecastai.voice_note.upload_chunk_size IS 'Size of every chunk but the last of that upload';
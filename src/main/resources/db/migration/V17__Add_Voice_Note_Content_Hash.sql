@@ -0,0 +1,11 @@
+-- =====================================================
+-- ADD CONTENT HASH TO VOICE NOTE
+-- =====================================================
+
+-- Re-uploads of the same recording reuse the stored audio and transcript of the earlier voice note
+ALTER TABLE notecastai.voice_note
+    ADD COLUMN IF NOT EXISTS content_sha256 VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_voice_note_user_content ON notecastai.voice_note(user_id, content_sha256);
+
+COMMENT ON COLUMN notecastai.voice_note.content_sha256 IS 'Hex SHA-256 of the audio, NULL until processing has read it';
@@ -0,0 +1,14 @@
+-- =====================================================
+-- NOTECAST SHARE LINK REVOCATION
+-- =====================================================
+
+-- Share links are signed tokens checked without the database; revoking them adds the notecast here.
+-- Every node keeps these rows in memory, so rows are deleted once all the links they cover have expired.
+CREATE TABLE IF NOT EXISTS notecastai.note_cast_share_revocation (
+    note_cast_id BIGINT PRIMARY KEY,
+    revoked_through TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_share_revocation_through ON notecastai.note_cast_share_revocation(revoked_through);
+
+COMMENT ON COLUMN notecastai.note_cast_share_revocation.revoked_through IS 'Links of the notecast expiring up to this instant are revoked';
@@ -0,0 +1,9 @@
+-- =====================================================
+-- WIDEN AI RESPONSE CACHE MODEL
+-- =====================================================
+
+-- Holds the whole model chain with temperatures, which outgrows 100 characters with three or more models
+ALTER TABLE notecastai.ai_response_cache
+    ALTER COLUMN model TYPE TEXT;
+
+COMMENT ON COLUMN notecastai.ai_response_cache.model IS 'Model, or model chain with temperatures, the response was cached for';
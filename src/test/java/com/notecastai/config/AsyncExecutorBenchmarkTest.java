@@ -0,0 +1,135 @@
+package com.notecastai.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the {@code @Async} executor modes under a stubbed AI load: every task blocks for a fixed provider
+ * latency, then allocates a response sized buffer.
+ * <p>
+ * Run manually on Java 21: {@code ./gradlew test -PruntimeJava=21 -Pbenchmark --tests '*AsyncExecutorBenchmarkTest'}
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AsyncExecutorBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncExecutorBenchmarkTest.class);
+
+    private static final int TASKS = 2_000;
+    private static final Duration AI_LATENCY = Duration.ofMillis(250);
+    private static final int RESPONSE_BYTES = 16 * 1024;
+    private static final int CONCURRENCY = 200;
+
+    @Test
+    void virtualThreadsMatchPlatformThroughputWithoutPlatformThreads() throws Exception {
+        Result currentPool = run("platform pool 3-8 (defaults)", platformPool(3, 8, 50));
+        Result sizedPool = run("platform pool " + CONCURRENCY, platformPool(CONCURRENCY, CONCURRENCY, TASKS));
+        Result virtual = run("virtual threads, cap " + CONCURRENCY,
+                new BoundedVirtualThreadExecutor("bench-virtual-", CONCURRENCY, Duration.ofMinutes(1)));
+
+        for (Result result : new Result[]{currentPool, sizedPool, virtual}) {
+            log.info("{}: {} tasks in {} ms, {} tasks/s, peak platform threads +{}, peak heap {} MB",
+                    result.name(), TASKS, result.elapsedMs(), String.format("%.1f", result.throughput()),
+                    result.peakThreads(), result.peakHeapBytes() / (1024 * 1024));
+        }
+
+        assertTrue(virtual.throughput() > currentPool.throughput(),
+                "virtual threads should outrun the default pool under blocking load");
+        assertTrue(virtual.peakThreads() < sizedPool.peakThreads(),
+                "virtual threads should not need one platform thread per in-flight call");
+    }
+
+    private Result run(String name, Executor executor) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        System.gc();
+        int baselineThreads = threads.getThreadCount();
+        AtomicLong peakThreads = new AtomicLong();
+        AtomicLong peakHeap = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(TASKS);
+
+        // Sources compile on the Java 17 toolchain, so only pre-21 thread APIs are used here
+        Thread sampler = new Thread(() -> {
+            while (done.getCount() > 0) {
+                peakThreads.accumulateAndGet(threads.getThreadCount() - baselineThreads, Math::max);
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.setDaemon(true);
+        sampler.start();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < TASKS; i++) {
+            executor.execute(() -> {
+                try {
+                    stubbedAiCall();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.MINUTES), name + " did not finish");
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        sampler.interrupt();
+        shutdown(executor);
+
+        return new Result(name, elapsedMs, TASKS * 1000.0 / elapsedMs, peakThreads.get(), peakHeap.get());
+    }
+
+    private static void stubbedAiCall() {
+        try {
+            Thread.sleep(AI_LATENCY.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        byte[] response = new byte[RESPONSE_BYTES];
+        response[0] = 1;
+    }
+
+    private static ThreadPoolTaskExecutor platformPool(int core, int max, int queue) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(core);
+        executor.setMaxPoolSize(max);
+        executor.setQueueCapacity(queue);
+        executor.setThreadNamePrefix("bench-platform-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    private static void shutdown(Executor executor) throws Exception {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        } else if (executor instanceof BoundedVirtualThreadExecutor virtual) {
+            virtual.destroy();
+        }
+    }
+
+    private record Result(String name, long elapsedMs, double throughput, long peakThreads, long peakHeapBytes) {
+    }
+}
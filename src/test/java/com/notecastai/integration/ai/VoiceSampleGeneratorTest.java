@@ -67,7 +67,7 @@ class VoiceSampleGeneratorTest {
                         .build();
 
                 // Generate speech
-                TextToSpeechResult result = textToSpeechService.synthesizeSpeech(request);
+                TextToSpeechResult result = textToSpeechService.synthesizeSpeech(request).join();
 
                 // Save to file
                 String filename = voice.getId() + ".wav";
@@ -115,7 +115,7 @@ class VoiceSampleGeneratorTest {
                 .size(TranscriptSize.MEDIUM)
                 .build();
 
-        TextToSpeechResult result = textToSpeechService.synthesizeSpeech(request);
+        TextToSpeechResult result = textToSpeechService.synthesizeSpeech(request).join();
 
         Path outputDir = Paths.get("src/main/resources/audio/openai");
         Files.createDirectories(outputDir);
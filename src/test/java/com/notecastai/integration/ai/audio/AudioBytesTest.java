@@ -0,0 +1,47 @@
+package com.notecastai.integration.ai.audio;
+
+import com.notecastai.common.exeption.BusinessException;
+import com.notecastai.config.AiTranscriptionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AudioBytesTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void readsUpToTheLimitAndRecordsTheBufferedBytes() {
+        byte[] audio = audioBytes(16).read(new ByteArrayInputStream(new byte[16]), "note.mp3");
+
+        assertEquals(16, audio.length);
+        assertEquals(16, meterRegistry.get("ai.transcription.buffered.bytes").summary().totalAmount());
+    }
+
+    @Test
+    void rejectsStreamsAboveTheLimit() {
+        AudioBytes audioBytes = audioBytes(16);
+
+        assertThrows(BusinessException.class, () ->
+                audioBytes.read(new ByteArrayInputStream(new byte[17]), "note.mp3"));
+        assertEquals(0, meterRegistry.get("ai.transcription.buffered.bytes").summary().count());
+    }
+
+    @Test
+    void sharedArraysAreHandedOverWithoutCopyOrCount() {
+        byte[] audio = new byte[64];
+
+        assertSame(audio, audioBytes(16).read(AudioBytes.stream(audio), "note.mp3"));
+        assertEquals(0, meterRegistry.get("ai.transcription.buffered.bytes").summary().count());
+    }
+
+    private AudioBytes audioBytes(long maxBytes) {
+        AiTranscriptionProperties properties = new AiTranscriptionProperties();
+        properties.setMaxBufferedSize(DataSize.ofBytes(maxBytes));
+        return new AudioBytes(properties, meterRegistry);
+    }
+}
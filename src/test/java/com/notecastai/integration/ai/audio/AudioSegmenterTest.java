@@ -0,0 +1,105 @@
+package com.notecastai.integration.ai.audio;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AudioSegmenterTest {
+
+    private static final int SAMPLE_RATE = 8_000;
+
+    @Test
+    void shortRecordingsAreNotSplit() {
+        byte[] wav = wav(60, -1);
+
+        List<AudioSegment> segments = AudioSegmenter.split(wav, "audio/wav", "note.wav", 120, 2, 4);
+
+        assertEquals(1, segments.size());
+        assertSame(wav, segments.get(0).getAudio());
+    }
+
+    @Test
+    void wavIsCutInTheQuietestSpotNearTheWindow() {
+        // Tone with a half-second pause at 122 s, inside the 4 s search range around the 120 s target
+        byte[] wav = wav(250, 122);
+
+        List<AudioSegment> segments = AudioSegmenter.split(wav, "audio/wav", "note.wav", 120, 2, 4);
+
+        assertEquals(2, segments.size());
+        AudioSegment first = segments.get(0);
+        AudioSegment second = segments.get(1);
+        assertEquals(122, first.getKeepUntilSeconds(), 0.25);
+        assertEquals(first.getKeepUntilSeconds(), second.getKeepFromSeconds());
+        assertEquals(0, first.getStartSeconds());
+        assertEquals(first.getKeepUntilSeconds() + 1, first.getEndSeconds(), 0.01);
+        assertEquals(second.getKeepFromSeconds() - 1, second.getStartSeconds(), 0.01);
+        assertEquals(250, second.getEndSeconds(), 0.01);
+
+        // Every chunk is a complete WAV file of its own length
+        ByteBuffer header = ByteBuffer.wrap(second.getAudio()).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals("RIFF", new String(second.getAudio(), 0, 4, StandardCharsets.US_ASCII));
+        assertEquals(second.getAudio().length - 8, header.getInt(4));
+        assertEquals((second.getEndSeconds() - second.getStartSeconds()) * SAMPLE_RATE * 2, header.getInt(40), 2);
+    }
+
+    @Test
+    void mp3IsCutAtFrameBoundaries() {
+        // MPEG-1 Layer III, 128 kbit/s, 44.1 kHz: 417 bytes and 1152 samples per frame
+        int frames = 10_000;
+        byte[] mp3 = new byte[frames * 417];
+        for (int i = 0; i < frames; i++) {
+            mp3[i * 417] = (byte) 0xFF;
+            mp3[i * 417 + 1] = (byte) 0xFB;
+            mp3[i * 417 + 2] = (byte) 0x90;
+            mp3[i * 417 + 3] = (byte) 0xC4;
+        }
+
+        List<AudioSegment> segments = AudioSegmenter.split(mp3, "audio/mpeg", "note.mp3", 60, 2, 4);
+
+        double frameSeconds = 1152 / 44_100.0;
+        assertEquals(5, segments.size());
+        for (AudioSegment segment : segments) {
+            assertEquals(0, segment.getAudio().length % 417);
+            assertEquals((byte) 0xFF, segment.getAudio()[0]);
+            assertEquals(segment.getAudio().length / 417 * frameSeconds,
+                    segment.getEndSeconds() - segment.getStartSeconds(), 1e-6);
+        }
+        assertEquals(60, segments.get(0).getKeepUntilSeconds(), frameSeconds);
+        assertEquals(frames * frameSeconds, segments.get(4).getEndSeconds(), 1e-6);
+    }
+
+    @Test
+    void unsupportedFormatsAreSentWhole() {
+        byte[] m4a = new byte[5_000_000];
+
+        List<AudioSegment> segments = AudioSegmenter.split(m4a, "audio/mp4", "note.m4a", 60, 2, 4);
+
+        assertEquals(1, segments.size());
+        assertEquals(Double.POSITIVE_INFINITY, segments.get(0).getKeepUntilSeconds());
+    }
+
+    /**
+     * Mono 16-bit PCM with a loud square wave, silent for half a second around {@code pauseAt} (negative for none).
+     */
+    private static byte[] wav(int seconds, double pauseAt) {
+        int samples = seconds * SAMPLE_RATE;
+        ByteBuffer buffer = ByteBuffer.allocate(44 + samples * 2).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + samples * 2)
+                .put("WAVE".getBytes(StandardCharsets.US_ASCII))
+                .put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16)
+                .putShort((short) 1).putShort((short) 1).putInt(SAMPLE_RATE).putInt(SAMPLE_RATE * 2)
+                .putShort((short) 2).putShort((short) 16)
+                .put("data".getBytes(StandardCharsets.US_ASCII)).putInt(samples * 2);
+        for (int i = 0; i < samples; i++) {
+            double time = (double) i / SAMPLE_RATE;
+            boolean silent = pauseAt >= 0 && Math.abs(time - pauseAt) < 0.25;
+            buffer.putShort(silent ? 0 : (short) (i % 40 < 20 ? 8_000 : -8_000));
+        }
+        return buffer.array();
+    }
+}
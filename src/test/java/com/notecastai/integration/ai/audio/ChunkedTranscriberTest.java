@@ -0,0 +1,67 @@
+package com.notecastai.integration.ai.audio;
+
+import com.notecastai.integration.ai.dto.TranscriptionResult;
+import com.notecastai.integration.ai.dto.WordTimestamp;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedTranscriberTest {
+
+    @Test
+    void mergeShiftsTimestampsAndDropsTheOverlap() {
+        // Chunk 1 covers 0-61 s and keeps up to the cut at 60 s; chunk 2 covers 59-100 s
+        AudioSegment first = segment(0, 0, 61, 0, 60);
+        AudioSegment second = segment(1, 59, 100, 60, Double.POSITIVE_INFINITY);
+
+        TranscriptionResult firstResult = result("We planned the launch for next week.",
+                word("launch", 57.0, 57.5), word("for", 58.0, 58.2), word("next", 59.5, 59.8), word("week.", 60.2, 60.8));
+        TranscriptionResult secondResult = result("next week. Then we review the budget.",
+                word("next", 0.5, 0.8), word("week.", 1.2, 1.8), word("Then", 3.0, 3.2));
+
+        TranscriptionResult merged = ChunkedTranscriber.merge(List.of(first, second), List.of(firstResult, secondResult), 10);
+
+        assertEquals("We planned the launch for next week. Then we review the budget.", merged.getTranscript());
+        assertEquals(List.of("launch", "for", "next", "week.", "Then"),
+                merged.getWordTimestamps().stream().map(WordTimestamp::getWord).toList());
+        // "week." is kept from the second chunk, shifted by its 59 s start
+        assertEquals(60.2, merged.getWordTimestamps().get(3).getStartTime(), 1e-9);
+        assertEquals(62.0, merged.getWordTimestamps().get(4).getStartTime(), 1e-9);
+        assertEquals(100, merged.getDurationSeconds());
+    }
+
+    @Test
+    void unrelatedTextIsNotTreatedAsOverlap() {
+        List<String> words = new ArrayList<>(List.of("the", "end"));
+
+        ChunkedTranscriber.appendWithoutOverlap(words, "End of story");
+
+        assertEquals(List.of("the", "end", "End", "of", "story"), words);
+    }
+
+    private static AudioSegment segment(int index, double start, double end, double keepFrom, double keepUntil) {
+        return AudioSegment.builder()
+                .index(index)
+                .audio(new byte[0])
+                .startSeconds(start)
+                .endSeconds(end)
+                .keepFromSeconds(keepFrom)
+                .keepUntilSeconds(keepUntil)
+                .build();
+    }
+
+    private static TranscriptionResult result(String transcript, WordTimestamp... words) {
+        return TranscriptionResult.builder()
+                .transcript(transcript)
+                .language("en")
+                .wordTimestamps(List.of(words))
+                .build();
+    }
+
+    private static WordTimestamp word(String word, double start, double end) {
+        return new WordTimestamp(word, start, end);
+    }
+}
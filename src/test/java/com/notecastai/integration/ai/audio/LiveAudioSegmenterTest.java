@@ -0,0 +1,70 @@
+package com.notecastai.integration.ai.audio;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveAudioSegmenterTest {
+
+    private static final int SAMPLE_RATE = 1000;
+
+    @Test
+    void closesWindowsAtTheQuietestSpotWhileAudioArrives() {
+        // 20 s of loud samples with a pause at 11.0-11.2 s
+        byte[] pcm = pcm(20, 11.0, 11.2);
+        LiveAudioSegmenter segmenter = new LiveAudioSegmenter(SAMPLE_RATE, 10, 1, 2);
+
+        List<AudioSegment> segments = new ArrayList<>();
+        // Odd piece sizes split samples across appends
+        for (int offset = 0, step = 333; offset < pcm.length; offset += step) {
+            segments.addAll(segmenter.append(pcm, offset, Math.min(step, pcm.length - offset)));
+            if (offset + step < 12_000 * 2) {
+                assertTrue(segments.isEmpty(), "window closed before the search range was recorded");
+            }
+        }
+        segments.add(segmenter.finish());
+
+        assertEquals(2, segments.size());
+        AudioSegment first = segments.get(0);
+        AudioSegment last = segments.get(1);
+        assertTrue(first.getKeepUntilSeconds() > 11.0 && first.getKeepUntilSeconds() < 11.2, "cut outside the pause");
+        assertEquals(first.getKeepUntilSeconds(), last.getKeepFromSeconds());
+        assertEquals(first.getKeepUntilSeconds() + 0.5, first.getEndSeconds(), 1e-9);
+        assertEquals(last.getKeepFromSeconds() - 0.5, last.getStartSeconds(), 1e-9);
+        assertEquals(Double.POSITIVE_INFINITY, last.getKeepUntilSeconds());
+        assertEquals(20.0, last.getEndSeconds(), 1e-9);
+
+        // Every window is a WAV file of the recorded samples it spans
+        for (AudioSegment segment : segments) {
+            byte[] audio = segment.getAudio();
+            int from = (int) Math.round(segment.getStartSeconds() * SAMPLE_RATE) * 2;
+            int to = (int) Math.round(segment.getEndSeconds() * SAMPLE_RATE) * 2;
+            assertArrayEquals(LiveAudioSegmenter.wavHeader(SAMPLE_RATE, to - from), Arrays.copyOf(audio, 44));
+            assertArrayEquals(Arrays.copyOfRange(pcm, from, to), Arrays.copyOfRange(audio, 44, audio.length));
+        }
+    }
+
+    @Test
+    void nothingRecordedYieldsNoWindow() {
+        LiveAudioSegmenter segmenter = new LiveAudioSegmenter(SAMPLE_RATE, 10, 1, 2);
+
+        assertNull(segmenter.finish());
+    }
+
+    private static byte[] pcm(double seconds, double pauseFrom, double pauseUntil) {
+        int frames = (int) (seconds * SAMPLE_RATE);
+        ByteBuffer buffer = ByteBuffer.allocate(frames * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (int frame = 0; frame < frames; frame++) {
+            double time = (double) frame / SAMPLE_RATE;
+            boolean pause = time >= pauseFrom && time < pauseUntil;
+            buffer.putShort((short) (pause ? 0 : (frame % 2 == 0 ? 8000 : -8000)));
+        }
+        return buffer.array();
+    }
+}
@@ -0,0 +1,102 @@
+package com.notecastai.integration.ai.audio;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Mp3FrameInputStreamTest {
+
+    /** MPEG-1 Layer III, 128 kbit/s, 44.1 kHz: 417 bytes and 1152 samples per frame. */
+    private static final byte[] HEADER = {(byte) 0xFF, (byte) 0xFB, (byte) 0x90, (byte) 0xC4};
+    private static final int FRAME_BYTES = 417;
+    /** After the header and the 17 bytes of MPEG-1 mono side information. */
+    private static final int XING_OFFSET = 21;
+
+    @Test
+    void passesOnlyAudioFramesAndCountsTheirDuration() throws IOException {
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        file.write(id3Tag(100));
+        file.write(frame("Xing", XING_OFFSET));
+        for (int i = 0; i < 50; i++) {
+            file.write(frame(null, 0));
+            if (i == 20) {
+                file.write(new byte[]{1, 2, 3});
+            }
+        }
+        byte[] bytes = file.toByteArray();
+
+        Mp3FrameInputStream frames = new Mp3FrameInputStream(new ByteArrayInputStream(bytes));
+        byte[] streamed = readInSmallSteps(frames);
+
+        assertEquals(50 * FRAME_BYTES, streamed.length);
+        assertEquals(streamed.length, frames.getBytesRead());
+        assertEquals(50 * 1152 / 44_100.0, frames.getSecondsRead(), 1e-9);
+        // Same frames as the in-memory index picks out of the whole file
+        Mp3Frames index = Mp3Frames.parse(bytes);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        index.writeTo(expected, 0, index.count());
+        assertArrayEquals(expected.toByteArray(), streamed);
+    }
+
+    @Test
+    void vbrTagLettersInsideAudioAreKept() throws IOException {
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        file.write(frame("Info", 200));
+        file.write(frame("Xing", 36));
+        byte[] bytes = file.toByteArray();
+
+        assertEquals(2, Mp3Frames.parse(bytes).count());
+        assertEquals(2 * FRAME_BYTES, readInSmallSteps(new Mp3FrameInputStream(new ByteArrayInputStream(bytes))).length);
+    }
+
+    @Test
+    void vbriHeaderIsLeftOut() {
+        assertEquals(0, Mp3Frames.parse(frame("VBRI", 36)).count());
+        assertEquals(1, Mp3Frames.parse(frame(null, 0)).count());
+    }
+
+    @Test
+    void nonMp3InputYieldsNothing() throws IOException {
+        Mp3FrameInputStream frames = new Mp3FrameInputStream(
+                new ByteArrayInputStream("not audio at all".getBytes(StandardCharsets.US_ASCII)));
+
+        assertEquals(-1, frames.read());
+        assertEquals(0, frames.getBytesRead());
+    }
+
+    private static byte[] readInSmallSteps(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[100];
+        int read;
+        while ((read = in.read(chunk)) >= 0) {
+            out.write(chunk, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] frame(String marker, int at) {
+        byte[] frame = new byte[FRAME_BYTES];
+        System.arraycopy(HEADER, 0, frame, 0, HEADER.length);
+        if (marker != null) {
+            byte[] text = marker.getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(text, 0, frame, at, text.length);
+        }
+        return frame;
+    }
+
+    private static byte[] id3Tag(int bodyBytes) {
+        byte[] tag = new byte[10 + bodyBytes];
+        tag[0] = 'I';
+        tag[1] = 'D';
+        tag[2] = '3';
+        tag[3] = 4;
+        tag[9] = (byte) bodyBytes;
+        return tag;
+    }
+}
@@ -0,0 +1,66 @@
+package com.notecastai.integration.ai.audio;
+
+import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.config.AiTranscriptionProperties;
+import com.notecastai.config.AiTranscriptionProperties.Routing.Policy;
+import com.notecastai.integration.ai.TranscriptionService;
+import com.notecastai.integration.ai.dto.TranscriptionResult;
+import com.notecastai.voicenote.api.dto.TranscriptionLanguage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoutingTranscriptionServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void fallbackTriesTheNextProviderOnFailure() {
+        TranscriptionService failing = (audio, filename, contentType, language) -> CompletableFuture.failedFuture(
+                TechnicalException.of(TechnicalException.Code.AI_SERVICE_ERROR).with("error", "down").build());
+        TranscriptionService working = (audio, filename, contentType, language) ->
+                CompletableFuture.completedFuture(result("from backup"));
+
+        RoutingTranscriptionService service = service(Policy.FALLBACK, Map.of("primary", failing, "backup", working));
+
+        assertEquals("from backup", transcribe(service).join().getTranscript());
+        assertEquals(1, meterRegistry.get("ai.transcription.routing.wins")
+                .tag("provider", "backup").tag("role", "backup").counter().count());
+    }
+
+    @Test
+    void raceCancelsTheLosingProvider() {
+        CompletableFuture<TranscriptionResult> slow = new CompletableFuture<>();
+        TranscriptionService hanging = (audio, filename, contentType, language) -> slow;
+        TranscriptionService fast = (audio, filename, contentType, language) ->
+                CompletableFuture.completedFuture(result("from backup"));
+
+        RoutingTranscriptionService service = service(Policy.RACE, Map.of("primary", hanging, "backup", fast));
+
+        assertEquals("from backup", transcribe(service).join().getTranscript());
+        assertTrue(slow.isCancelled());
+    }
+
+    private RoutingTranscriptionService service(Policy policy, Map<String, TranscriptionService> services) {
+        AiTranscriptionProperties properties = new AiTranscriptionProperties();
+        properties.getRouting().setPolicy(policy);
+        properties.getRouting().setProviders(List.of("primary", "backup"));
+        return new RoutingTranscriptionService(properties, services, meterRegistry,
+                new AudioBytes(properties, meterRegistry));
+    }
+
+    private static CompletableFuture<TranscriptionResult> transcribe(RoutingTranscriptionService service) {
+        return service.transcribeAudioFile(new ByteArrayInputStream(new byte[16]), "note.mp3", "audio/mpeg",
+                TranscriptionLanguage.AUTO);
+    }
+
+    private static TranscriptionResult result(String transcript) {
+        return TranscriptionResult.builder().transcript(transcript).build();
+    }
+}
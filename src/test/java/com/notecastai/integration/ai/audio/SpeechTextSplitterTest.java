@@ -0,0 +1,48 @@
+package com.notecastai.integration.ai.audio;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpeechTextSplitterTest {
+
+    @Test
+    void paragraphsArePackedUpToTheTarget() {
+        String text = "First paragraph here.\n\nSecond paragraph here.\n\nThird paragraph here.";
+
+        List<String> pieces = SpeechTextSplitter.split(text, 50, 100);
+
+        assertEquals(List.of("First paragraph here.\n\nSecond paragraph here.", "Third paragraph here."), pieces);
+    }
+
+    @Test
+    void longParagraphsAreCutBetweenSentences() {
+        String text = "One two three. Four five six! Seven eight nine? Ten eleven twelve.";
+
+        List<String> pieces = SpeechTextSplitter.split(text, 40, 100);
+
+        assertEquals(List.of("One two three. Four five six!", "Seven eight nine? Ten eleven twelve."), pieces);
+        assertEquals(text, String.join(" ", pieces));
+    }
+
+    @Test
+    void sentencesOverTheLimitAreCutBetweenWords() {
+        String text = "alpha beta gamma delta epsilon zeta eta theta";
+
+        List<String> pieces = SpeechTextSplitter.split(text, 10, 20);
+
+        assertTrue(pieces.stream().allMatch(piece -> piece.length() <= 20));
+        assertEquals(text, String.join(" ", pieces));
+    }
+
+    @Test
+    void shortRemainderIsFoldedIntoThePreviousPiece() {
+        String text = "A fairly long opening sentence that fills a piece. Ok.";
+
+        List<String> pieces = SpeechTextSplitter.split(text, 50, 100);
+
+        assertEquals(List.of(text), pieces);
+    }
+}
@@ -0,0 +1,129 @@
+package com.notecastai.integration.ai.client;
+
+import com.notecastai.common.exeption.TechnicalException;
+import com.notecastai.config.AiLimiterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shedsWhenLimitReachedAndQueueDisabled() throws Exception {
+        AiLimiterProperties.Settings settings = new AiLimiterProperties.Settings();
+        settings.setInitialLimit(1);
+        settings.setMinLimit(1);
+        settings.setMaxQueue(0);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("openrouter", settings, meterRegistry);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> limiter.execute(true, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "done";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        TechnicalException shed = assertThrows(TechnicalException.class, () -> limiter.execute(true, () -> "second"));
+        assertEquals(TechnicalException.Code.AI_SERVICE_OVERLOADED, shed.getCode());
+
+        release.countDown();
+        assertEquals("done", running.get(5, TimeUnit.SECONDS));
+        assertEquals("third", limiter.execute(true, () -> "third"));
+    }
+
+    @Test
+    void rateLimitResponseShrinksLimit() {
+        AiLimiterProperties.Settings settings = new AiLimiterProperties.Settings();
+        settings.setInitialLimit(10);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("groq", settings, meterRegistry);
+
+        assertThrows(HttpClientErrorException.class, () -> limiter.execute(true, () -> {
+            throw HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests",
+                    new HttpHeaders(), new byte[0], null);
+        }));
+
+        assertEquals(7.0, meterRegistry.get("ai.limiter.limit").tag("provider", "groq").gauge().value(), 0.001);
+    }
+
+    @Test
+    void failuresOfCallsInFlightShrinkLimitOnce() {
+        AiLimiterProperties.Settings settings = new AiLimiterProperties.Settings();
+        settings.setInitialLimit(10);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("openai", settings, meterRegistry);
+
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<String> call = new CompletableFuture<>();
+            calls.add(call);
+            limiter.executeAsync(true, () -> call);
+        }
+        calls.forEach(call -> call.completeExceptionally(rateLimited()));
+        assertEquals(7.0, meterRegistry.get("ai.limiter.limit").tag("provider", "openai").gauge().value(), 0.001);
+
+        // Started under the reduced limit, so its failure counts
+        assertThrows(HttpClientErrorException.class, () -> limiter.execute(true, () -> {
+            throw rateLimited();
+        }));
+        assertEquals(4.9, meterRegistry.get("ai.limiter.limit").tag("provider", "openai").gauge().value(), 0.001);
+    }
+
+    @Test
+    void cancellingAQueuedCallGivesUpItsPlace() {
+        AiLimiterProperties.Settings settings = new AiLimiterProperties.Settings();
+        settings.setInitialLimit(1);
+        settings.setMinLimit(1);
+        settings.setMaxQueue(1);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("groq", settings, meterRegistry);
+
+        CompletableFuture<String> running = new CompletableFuture<>();
+        limiter.executeAsync(true, () -> running);
+        AtomicBoolean started = new AtomicBoolean();
+        CompletableFuture<String> queued = limiter.executeAsync(true, () -> {
+            started.set(true);
+            return CompletableFuture.completedFuture("queued");
+        });
+        assertEquals(1.0, meterRegistry.get("ai.limiter.queue_depth").tag("provider", "groq").gauge().value());
+
+        assertTrue(queued.cancel(true));
+        assertEquals(0.0, meterRegistry.get("ai.limiter.queue_depth").tag("provider", "groq").gauge().value());
+
+        CompletableFuture<String> next = limiter.executeAsync(true, () -> CompletableFuture.completedFuture("next"));
+        running.complete("running");
+        assertEquals("next", next.join());
+        assertFalse(started.get());
+    }
+
+    @Test
+    void parsesRetryAfterSeconds() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "12");
+
+        assertEquals(Duration.ofSeconds(12), AdaptiveConcurrencyLimiter.retryAfter(headers));
+        assertNull(AdaptiveConcurrencyLimiter.retryAfter(new HttpHeaders()));
+    }
+
+    private static HttpClientErrorException rateLimited() {
+        return HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests",
+                new HttpHeaders(), new byte[0], null);
+    }
+}
@@ -0,0 +1,78 @@
+package com.notecastai.integration.ai.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AiRequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AiRequestCoalescer coalescer = new AiRequestCoalescer(meterRegistry);
+
+    @Test
+    void identicalConcurrentCallsShareOneProviderCall() throws Exception {
+        AtomicInteger providerCalls = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() ->
+                coalescer.execute("openrouter", "chat_completion", Map.of("prompt", "hi"), () -> {
+                    providerCalls.incrementAndGet();
+                    leaderStarted.countDown();
+                    await(release);
+                    return "answer";
+                }));
+
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() ->
+                coalescer.execute("openrouter", "chat_completion", Map.of("prompt", "hi"), () -> {
+                    providerCalls.incrementAndGet();
+                    return "duplicate";
+                }));
+
+        // Give the follower time to join before the leader finishes
+        Thread.sleep(100);
+        release.countDown();
+
+        assertEquals("answer", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("answer", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, providerCalls.get());
+        assertEquals(1.0, meterRegistry.get("ai.requests.coalesced").counter().count());
+    }
+
+    @Test
+    void differentPayloadsAreNotCoalesced() {
+        AtomicInteger providerCalls = new AtomicInteger();
+
+        coalescer.execute("openai", "speech", Map.of("input", "a"), providerCalls::incrementAndGet);
+        coalescer.execute("openai", "speech", Map.of("input", "b"), providerCalls::incrementAndGet);
+
+        assertEquals(2, providerCalls.get());
+    }
+
+    @Test
+    void failureIsPropagatedAndNotRemembered() {
+        assertThrows(IllegalStateException.class, () ->
+                coalescer.execute("groq", "transcription", "audio", () -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        assertEquals("ok", coalescer.execute("groq", "transcription", "audio", () -> "ok"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
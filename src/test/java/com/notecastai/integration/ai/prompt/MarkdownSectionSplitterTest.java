@@ -0,0 +1,49 @@
+package com.notecastai.integration.ai.prompt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MarkdownSectionSplitterTest {
+
+    @Test
+    void splitsAtHeadingsOutsideCodeFences() {
+        String markdown = """
+                # Intro
+                Opening text.
+                ## Details
+                ```
+                # not a heading
+                ```
+                ### Summary
+                Closing text.
+                """;
+
+        List<String> sections = MarkdownSectionSplitter.split(markdown, 0, 10);
+
+        assertEquals(3, sections.size());
+        assertTrue(sections.get(0).startsWith("# Intro"));
+        assertTrue(sections.get(1).contains("# not a heading"));
+        assertTrue(sections.get(2).startsWith("### Summary"));
+    }
+
+    @Test
+    void mergesSmallSectionsAndRespectsMaxSections() {
+        String markdown = "# A\n" + "a".repeat(50) + "\n# B\nb\n# C\n" + "c".repeat(50)
+                + "\n# D\n" + "d".repeat(50) + "\n# E\n" + "e".repeat(50);
+
+        List<String> sections = MarkdownSectionSplitter.split(markdown, 20, 3);
+
+        assertEquals(3, sections.size());
+        assertTrue(sections.get(1).startsWith("# B"));
+        assertEquals(markdown.replaceAll("\\s", ""), String.join("", sections).replaceAll("\\s", ""));
+    }
+
+    @Test
+    void noteWithoutHeadingsIsOneSection() {
+        assertEquals(1, MarkdownSectionSplitter.split("plain text\nmore text", 0, 5).size());
+        assertTrue(MarkdownSectionSplitter.split("  ", 0, 5).isEmpty());
+    }
+}
@@ -0,0 +1,62 @@
+package com.notecastai.integration.ai.provider.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.notecastai.config.ObjectMapperConfig;
+import com.notecastai.gamenote.domain.QuestionType;
+import com.notecastai.integration.ai.dto.GameNoteAiResponse;
+import com.notecastai.integration.ai.provider.openrouter.dto.NewNoteAiResponse;
+import com.notecastai.integration.ai.provider.openrouter.dto.TranscriptAiResponse;
+import com.notecastai.integration.ai.validator.AiNoteResponseValidator;
+import com.notecastai.integration.ai.validator.GameNoteResponseValidator;
+import com.notecastai.integration.ai.validator.TranscriptResponseValidator;
+import com.notecastai.notecast.domain.TranscriptSize;
+import com.notecastai.tag.repo.TagRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class StubPayloadsTest {
+
+    private final ObjectMapperConfig objectMapperConfig = new ObjectMapperConfig();
+    private final ObjectMapper objectMapper = objectMapperConfig.objectMapper();
+    private final ObjectMapper lenientObjectMapper = objectMapperConfig.lenientObjectMapper();
+
+    @Test
+    void notePayloadsPassValidation() {
+        AiNoteResponseValidator validator = new AiNoteResponseValidator(lenientObjectMapper, mock(TagRepository.class));
+
+        NewNoteAiResponse newNote = validator.validateNewNoteResponse(
+                StubPayloads.newNote(objectMapper, "Weekly", "short", List.of("work", "ideas", "health", "travel")), 1L);
+        validator.validateFormatNoteResponse(
+                StubPayloads.formatNote(objectMapper, null, null, List.of()), 1L);
+
+        assertEquals(List.of("work", "ideas", "health"), newNote.getProposedTags());
+    }
+
+    @Test
+    void transcriptPayloadsPassValidationForEverySize() {
+        TranscriptResponseValidator validator = new TranscriptResponseValidator(lenientObjectMapper);
+
+        for (TranscriptSize size : TranscriptSize.values()) {
+            TranscriptAiResponse response = validator.validateTranscriptResponse(
+                    StubPayloads.transcript(objectMapper, size), size);
+
+            assertTrue(response.getWordCount() >= size.getAverageWords(), size.name());
+        }
+    }
+
+    @Test
+    void gamePayloadsPassValidationForEveryQuestionType() {
+        GameNoteResponseValidator validator = new GameNoteResponseValidator(lenientObjectMapper);
+
+        for (QuestionType type : QuestionType.values()) {
+            GameNoteAiResponse response = validator.validateGameNoteResponse(
+                    StubPayloads.gameQuestions(objectMapper, type, 5), type, 5);
+
+            assertEquals(5, response.getQuestions().size(), type.name());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.notecastai.integration.storage;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ByteRangeTest {
+
+    private static final String ETAG = "\"abc\"";
+
+    @Test
+    void singleRangeIsPartial() {
+        ByteRange range = ByteRange.resolve("bytes=100-199", null, ETAG, 1000).orElseThrow();
+
+        assertTrue(range.isPartial());
+        assertEquals(100, range.getOffset());
+        assertEquals(100, range.getLength());
+        assertEquals("bytes 100-199/1000", range.contentRange(1000));
+    }
+
+    @Test
+    void suffixAndOpenRangesAreClampedToTheObject() {
+        assertEquals(900, ByteRange.resolve("bytes=-100", null, ETAG, 1000).orElseThrow().getOffset());
+        assertEquals(500, ByteRange.resolve("bytes=500-", null, ETAG, 1000).orElseThrow().getLength());
+    }
+
+    @Test
+    void staleIfRangeGetsTheWholeObject() {
+        ByteRange range = ByteRange.resolve("bytes=100-199", "\"old\"", ETAG, 1000).orElseThrow();
+
+        assertFalse(range.isPartial());
+        assertEquals(1000, range.getLength());
+    }
+
+    @Test
+    void malformedAndMultipleRangesGetTheWholeObject() {
+        assertFalse(ByteRange.resolve("pages=1", null, ETAG, 1000).orElseThrow().isPartial());
+        assertFalse(ByteRange.resolve("bytes=0-1,5-6", null, ETAG, 1000).orElseThrow().isPartial());
+    }
+
+    @Test
+    void rangeBeyondTheObjectCannotBeSatisfied() {
+        assertTrue(ByteRange.resolve("bytes=1000-", null, ETAG, 1000).isEmpty());
+        assertTrue(ByteRange.resolve("bytes=5000-", null, ETAG, 1000).isEmpty());
+        assertTrue(ByteRange.resolve("bytes=5000-6000", null, ETAG, 1000).isEmpty());
+    }
+
+    @Test
+    void anyRangeOfAnEmptyObjectCannotBeSatisfied() {
+        assertTrue(ByteRange.resolve("bytes=0-", null, ETAG, 0).isEmpty());
+        assertTrue(ByteRange.resolve("bytes=-100", null, ETAG, 0).isEmpty());
+        assertEquals(0, ByteRange.resolve(null, null, ETAG, 0).orElseThrow().getLength());
+    }
+
+    @Test
+    void ifNoneMatchComparesEtags() {
+        assertTrue(ByteRange.notModified(ETAG, ETAG));
+        assertTrue(ByteRange.notModified("*", ETAG));
+        assertFalse(ByteRange.notModified("\"other\"", ETAG));
+        assertFalse(ByteRange.notModified(null, ETAG));
+    }
+}
@@ -0,0 +1,93 @@
+package com.notecastai.integration.storage.local;
+
+import com.notecastai.common.exeption.BusinessException;
+import com.notecastai.config.LocalStorageProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalStorageServiceTest {
+
+    @TempDir
+    Path root;
+
+    private LocalStorageService storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        LocalStorageProperties properties = new LocalStorageProperties();
+        properties.setRoot(root);
+        properties.setSigningKey("test-key");
+        storage = new LocalStorageService(properties);
+    }
+
+    @Test
+    void storedObjectsAreReadBackByRange() throws IOException {
+        storage.putStream("voice-notes/1/note.mp3", stream("0123456789"), "audio/mpeg");
+
+        assertEquals(10, storage.head("voice-notes/1/note.mp3").orElseThrow().getSize());
+        assertEquals("audio/mpeg", storage.head("voice-notes/1/note.mp3").orElseThrow().getContentType());
+        try (InputStream range = storage.getRange("voice-notes/1/note.mp3", 3, 4)) {
+            assertEquals("3456", new String(range.readAllBytes(), StandardCharsets.US_ASCII));
+        }
+        assertTrue(storage.head("voice-notes/2/missing.mp3").isEmpty());
+    }
+
+    @Test
+    void multipartUploadsJoinPartsInOrderAndRejectBadChecksums() throws Exception {
+        String uploadId = storage.createMultipartUpload("voice-notes/1/note.wav", "audio/wav");
+
+        assertTrue(storage.uploadPart("voice-notes/1/note.wav", uploadId, 2, stream("world"), 5, sha256("world")));
+        assertFalse(storage.uploadPart("voice-notes/1/note.wav", uploadId, 1, stream("hellx"), 5, sha256("hello")));
+        assertEquals(Map.of(2, 5L), storage.listParts("voice-notes/1/note.wav", uploadId));
+
+        assertTrue(storage.uploadPart("voice-notes/1/note.wav", uploadId, 1, stream("hello"), 5, sha256("hello")));
+        storage.completeMultipartUpload("voice-notes/1/note.wav", uploadId);
+
+        try (InputStream object = storage.getRange("voice-notes/1/note.wav", 0, 100)) {
+            assertEquals("helloworld", new String(object.readAllBytes(), StandardCharsets.US_ASCII));
+        }
+        assertEquals("audio/wav", storage.head("voice-notes/1/note.wav").orElseThrow().getContentType());
+    }
+
+    @Test
+    void signedUrlsOnlyAuthorizeWhatWasSigned() {
+        String url = storage.presignedAndGet("voice-notes/1/my note.mp3");
+        assertTrue(url.startsWith("http://localhost:8080/storage/voice-notes/1/my%20note.mp3?expires="));
+        long expires = Long.parseLong(url.replaceAll(".*expires=(\\d+).*", "$1"));
+        String signature = url.replaceAll(".*signature=", "");
+
+        storage.verify("GET", "voice-notes/1/my note.mp3", expires, signature);
+        assertThrows(BusinessException.class,
+                () -> storage.verify("GET", "voice-notes/2/my note.mp3", expires, signature));
+        assertThrows(BusinessException.class,
+                () -> storage.verify("PUT", "voice-notes/1/my note.mp3", expires, signature));
+        assertThrows(BusinessException.class,
+                () -> storage.verify("GET", "voice-notes/1/my note.mp3", expires + 1, signature));
+    }
+
+    @Test
+    void keysCannotLeaveTheStorageDirectory() {
+        assertThrows(BusinessException.class, () -> storage.putStream("../escape", stream("x"), "text/plain"));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String sha256(String content) throws Exception {
+        return Base64.getEncoder().encodeToString(
+                MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -0,0 +1,40 @@
+package com.notecastai.integration.storage.s3;
+
+import com.notecastai.config.S3TransferProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PartPlanTest {
+
+    private static final long MB = 1024 * 1024;
+
+    private final S3TransferProperties properties = new S3TransferProperties();
+
+    @Test
+    void midSizedObjectsUseEveryLane() {
+        S3TransferEngine.PartPlan plan = S3TransferEngine.PartPlan.of(100 * MB, properties);
+
+        assertEquals(13 * MB, plan.getPartSize());
+        assertEquals(8, plan.getPartCount());
+        assertEquals(8, plan.getLanes());
+    }
+
+    @Test
+    void smallObjectsKeepTheMinimumPartSize() {
+        S3TransferEngine.PartPlan plan = S3TransferEngine.PartPlan.of(20 * MB, properties);
+
+        assertEquals(8 * MB, plan.getPartSize());
+        assertEquals(3, plan.getPartCount());
+        assertEquals(3, plan.getLanes());
+    }
+
+    @Test
+    void largeObjectsUseTheMaximumPartSizeWithinTheS3PartLimit() {
+        assertEquals(64 * MB, S3TransferEngine.PartPlan.of(10_000 * MB, properties).getPartSize());
+
+        S3TransferEngine.PartPlan huge = S3TransferEngine.PartPlan.of(1_000_000 * MB, properties);
+        assertEquals(100 * MB, huge.getPartSize());
+        assertEquals(10_000, huge.getPartCount());
+    }
+}
@@ -0,0 +1,59 @@
+package com.notecastai.notecast.service.impl;
+
+import com.notecastai.config.NoteCastShareProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShareTokenSignerTest {
+
+    private final Instant expiresAt = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+
+    @Test
+    void signedTokenVerifies() {
+        ShareTokenSigner signer = signer(Map.of(1, "secret"), 1);
+
+        ShareTokenSigner.ShareToken token = signer.verify(signer.sign(42, expiresAt)).orElseThrow();
+
+        assertEquals(42, token.getNoteCastId());
+        assertEquals(expiresAt, token.getExpiresAt());
+        assertEquals(1, token.getKeyVersion());
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        ShareTokenSigner signer = signer(Map.of(1, "secret"), 1);
+        String token = signer.sign(42, expiresAt);
+
+        assertTrue(signer.verify("43" + token.substring(2)).isEmpty());
+        assertTrue(signer.verify(token.substring(0, token.length() - 1)).isEmpty());
+        assertTrue(signer.verify("not-a-token").isEmpty());
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        ShareTokenSigner signer = signer(Map.of(1, "secret"), 1);
+
+        assertTrue(signer.verify(signer.sign(42, Instant.now().minusSeconds(1))).isEmpty());
+    }
+
+    @Test
+    void oldKeyStillVerifiesAfterRotation() {
+        String token = signer(Map.of(1, "old"), 1).sign(42, expiresAt);
+
+        assertEquals(1, signer(Map.of(1, "old", 2, "new"), 2).verify(token).orElseThrow().getKeyVersion());
+        assertTrue(signer(Map.of(2, "new"), 2).verify(token).isEmpty());
+    }
+
+    private static ShareTokenSigner signer(Map<Integer, String> keys, int currentKey) {
+        NoteCastShareProperties properties = new NoteCastShareProperties();
+        properties.setKeys(keys);
+        properties.setCurrentKey(currentKey);
+        return new ShareTokenSigner(properties);
+    }
+}
@@ -0,0 +1,44 @@
+package com.notecastai.notecast.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class VoiceSampleCacheTest {
+
+    private final VoiceSampleCache.Sample mp3 = sample("audio/mpeg");
+    private final VoiceSampleCache.Sample opus = sample("audio/ogg;codecs=opus");
+    private final VoiceSampleCache.Sample wav = sample("audio/wav");
+    private final List<VoiceSampleCache.Sample> variants = List.of(mp3, opus, wav);
+
+    @Test
+    void wildcardGetsTheServerPreference() {
+        assertSame(mp3, VoiceSampleCache.select(variants, "*/*"));
+        assertSame(mp3, VoiceSampleCache.select(variants, null));
+    }
+
+    @Test
+    void explicitTypeWinsOverWildcardAtTheSameQuality() {
+        assertSame(opus, VoiceSampleCache.select(variants,
+                "audio/webm,audio/ogg,audio/wav,audio/*;q=0.9,application/ogg;q=0.7,*/*;q=0.5"));
+    }
+
+    @Test
+    void excludedVariantIsSkipped() {
+        assertSame(opus, VoiceSampleCache.select(variants, "audio/*, audio/mpeg;q=0"));
+    }
+
+    @Test
+    void originalIsSentWhenNothingMatches() {
+        assertSame(wav, VoiceSampleCache.select(variants, "video/mp4"));
+        assertSame(wav, VoiceSampleCache.select(List.of(wav), "audio/mpeg"));
+    }
+
+    private static VoiceSampleCache.Sample sample(String contentType) {
+        return new VoiceSampleCache.Sample(MediaType.parseMediaType(contentType), ByteBuffer.allocate(0), "\"x\"");
+    }
+}